@@ -7,8 +7,16 @@ import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.UEF.enu.RoutineStatus;
 import org.UEF.enu.RoutineTriggerStatus;
+import org.UEF.jfr.BranchPropagationEvent;
+import org.UEF.others.LatencyHistogram;
+import org.UEF.others.LatencySnapshot;
+import org.UEF.others.LogMessage;
+import org.UEF.others.LogRateLimiter;
+import org.UEF.others.TickStats;
 
 
 /**
@@ -20,6 +28,12 @@ public abstract class UEFBranch extends UEFCell{
 	protected List<UEFCell> list = new Vector<UEFCell>();
 	// iterator사용중 list에 변화가 생길경우 iterator를 다시 호출할 수 있게 알려주는 값
 	private boolean listCouncurrentDanger = false;
+	// 자식에게 상태 변경을 요청한 전파 과정의 시간 히스토그램 (처음 전파할 때 만들어짐)
+	private volatile LatencyHistogram propagationHistogram = null;
+	// 이 Branch와 로거를 연동한 하위 객체의 로그를 제한하는 객체 (null이면 제한하지 않음)
+	private volatile LogRateLimiter logRateLimiter = null;
+	// 생략된 로그의 요약을 이 Branch의 로그로 남기는 리스너
+	private final LogRateLimiter.SummaryListener suppressedLogListener = this::logSuppressed;
 	
 	public UEFBranch(String name, boolean useParentFrame, boolean useParentLogger) {
 		super(name, useParentFrame, useParentLogger);
@@ -29,6 +43,22 @@ public abstract class UEFBranch extends UEFCell{
 		this(name, true, true);
 	}
 	
+	/**
+	 * runtime에 소속된 UEFBranch를 만드는 생성자
+	 * @param runtime 소속될 UEFManager (null이면 기본 런타임)
+	 * */
+	public UEFBranch(String name, boolean useParentFrame, boolean useParentLogger, UEFManager runtime) {
+		super(name, useParentFrame, useParentLogger, runtime);
+	}
+	
+	/**
+	 * runtime에 소속된 UEFBranch를 만드는 생성자로 this(이름, true, true, runtime)를 호출한다.
+	 * @param runtime 소속될 UEFManager (null이면 기본 런타임)
+	 * */
+	public UEFBranch(String name, UEFManager runtime) {
+		this(name, true, true, runtime);
+	}
+	
 	
 	@Override
 	public void run() {
@@ -44,13 +74,18 @@ public abstract class UEFBranch extends UEFCell{
 					
 				}
 				catch (Exception e2) {
-					log(Level.WARNING, "예외가 발생했습니다. "+e2.getMessage()+" ("+e2.getClass()+")");
+					log(Level.WARNING, "예외가 발생했습니다. {} ({})", e2.getMessage(), e2.getClass());
 				}
 				finally {
 					Iterator<UEFCell> itr = list.iterator();
+					// 전파 과정을 기록할 JFR 이벤트와 확인한 자식 수, 상태 변경을 요청한 자식 수
+					BranchPropagationEvent event = new BranchPropagationEvent();
+					int visited = 0, signaled = 0;
+					long passNanos = System.nanoTime();
 					
 					// iterator호출로 안전확보
 					listCouncurrentDanger = false;
+					event.begin();
 					
 					while(itr.hasNext()) {
 						// iterator를 다시 호출해야하는지 확인하는 메소드
@@ -69,6 +104,7 @@ public abstract class UEFBranch extends UEFCell{
 												
 						// 현재 객체 상태
 						RoutineTriggerStatus urts = u.getCurrentTriggerStatus();
+						visited++;
 						
 						if(urts == RoutineTriggerStatus.SHUTDOWN) { // 현재 객체가 종료 상태인지 확인
 							// 제거
@@ -81,29 +117,34 @@ public abstract class UEFBranch extends UEFCell{
 								case NEW: // Branch가 NEW 상태면 실행중이면 실행중, 일시중지 상태인 모든 객체 정지
 									if(urts == RoutineTriggerStatus.EXECUTE || urts == RoutineTriggerStatus.PAUSE) {
 										u.requestStop();
+										signaled++;
 									}
 									break;
 									
 								case EXECUTE: // Branch가 EXECUTE 상태면 실행중이 아니던 모든 객체 실행 시작
 									if(urts != RoutineTriggerStatus.EXECUTE) {
 										u.requestExecute();
+										signaled++;
 									}
 									break;
 									
 								case PAUSE: // Branch가 PAUSE 상태면 실행대기, 실행중 상태인 모든 객체 일시중지
 									if(urts == RoutineTriggerStatus.NEW || urts == RoutineTriggerStatus.EXECUTE) {
 										u.requestPause();
+										signaled++;
 									}
 									break;
 									
 								case STOP: // Branch가 STOP 상태면 정지 상태가 아닌 모든 객체 정지
 									if(urts != RoutineTriggerStatus.STOP) {
 										u.requestStop();
+										signaled++;
 									}
 									break;
 									
 								case SHUTDOWN: // Branch가 SHUTDOWN 상태면 모든 객체 종료
 									u.requestShutdown();
+									signaled++;
 									break;
 								}
 							}
@@ -111,16 +152,30 @@ public abstract class UEFBranch extends UEFCell{
 								
 							}
 							catch (Exception e) {
-								log(Level.WARNING, "예외가 발생했습니다. "+e.getMessage()+" ("+e.getClass()+")");
+								log(Level.WARNING, "예외가 발생했습니다. {} ({})", e.getMessage(), e.getClass());
 							}
 						}
 					}
+					
+					// 자식에게 상태 변경을 요청한 경우 전파 시간을 기록
+					if(signaled > 0) recordPropagation(System.nanoTime() - passNanos);
+					
+					// 전파 시간이 임계값보다 긴 경우에만 JFR 이벤트로 기록
+					event.end();
+					
+					if(event.shouldCommit()) {
+						event.branch = toString();
+						event.trigger = getCurrentTriggerStatus().name();
+						event.visited = visited;
+						event.signaled = signaled;
+						event.commit();
+					}
 				}
 			}
 			
 		}
 		catch (Exception e) {
-			log(Level.WARNING, "예외가 발생했습니다. "+e.getMessage()+" ("+e.getClass()+")");
+			log(Level.WARNING, "예외가 발생했습니다. {} ({})", e.getMessage(), e.getClass());
 		}
 		finally {
 			getLock().unlock();
@@ -144,6 +199,7 @@ public abstract class UEFBranch extends UEFCell{
 		// 인자가 null이면 예외호출
 		if(target == null) throw new NullPointerException("target is null");
 		else if(target.getParent() != null) throw new AccessControlException(target+" already has "+target.getParent()+" as a parent.");
+		else if(target.getRuntime() != getRuntime()) throw new AccessControlException(target+" belongs to another runtime("+target.getRuntime()+").");
 		
 		
 		// branch도 꺼지지 않고 타겟도 꺼져 있지 않아야 한다.
@@ -269,7 +325,7 @@ public abstract class UEFBranch extends UEFCell{
 								if(!result) cell.setParent(null);
 							}
 							catch (AccessControlException e) {
-								log(Level.WARNING, "Failed to register "+cell.getName()+" to "+this);
+								log(Level.WARNING, "Failed to register {} to {}", cell.getName(), this);
 							}
 							
 							
@@ -288,6 +344,46 @@ public abstract class UEFBranch extends UEFCell{
 		}
 	}
 	
+	/**
+	 * 새로 만들어진 객체들을 한번에 list에 연결하는 메소드로 스냅샷 복구에서 사용된다.<br>
+	 * 부모가 없는 객체는 list에 존재할 수 없으므로 list를 탐색하지 않고 부모 여부로 중복을 판단하며
+	 * setParent() 대신 attachParent()를 사용해 스택 확인을 생략한다.
+	 * 
+	 * @param targetList 연결할 객체 리스트
+	 * @return 연결된 객체 수
+	 * */
+	final int attachAll(List<? extends UEFCell> targetList) {
+		int result = 0;
+		listCouncurrentDanger = true;
+		
+		if(targetList == null) throw new NullPointerException("targetList is null");
+		else if(getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) return result;
+		
+		try {
+			getLock().lock();
+			
+			for(UEFCell cell: targetList) {
+				// 이미 부모가 있거나 다른 런타임에 소속되었거나 종료된 객체는 생략
+				if(cell == null || cell.getParent() != null || cell.getRuntime() != getRuntime()
+						|| cell.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) continue;
+				
+				list.add(cell);
+				cell.attachParent(this);
+				result++;
+			}
+			
+			getCommonCondition(0).signal();
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+		}
+		finally {
+			getLock().unlock();
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * list에 target을 삭제하는 메소드 
 	 * 
@@ -443,6 +539,190 @@ public abstract class UEFBranch extends UEFCell{
 		return result;
 	}
 	
+	/**
+	 * UEFBranch는 자신이 실행상태에 들어가고 가진 모든 자식의 시작이 끝났을 때 시작이 끝난것으로 판단한다.
+	 * */
+	@Override
+	public boolean isStartupCompleted() {
+		if(!super.isStartupCompleted()) return false;
+		
+		for(Object o: list.toArray()) {
+			UEFCell cell = (UEFCell) o;
+			
+			if(cell != null && !cell.isStartupCompleted() && cell.getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) 
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 자식 UEFLeaf들(하위 UEFBranch의 UEFLeaf 포함)의 루틴 메소드 실행시간 누적 분포를 합쳐서 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 합쳐진 스냅샷
+	 * */
+	public LatencySnapshot getLatencySnapshot(RoutineStatus status) {
+		List<LatencySnapshot> snapshots = new ArrayList<LatencySnapshot>();
+		
+		collectLatencySnapshots(status, false, snapshots);
+		
+		return LatencySnapshot.merge(snapshots);
+	}
+	
+	/**
+	 * 자식 UEFLeaf들(하위 UEFBranch의 UEFLeaf 포함)의 구간 스냅샷을 합쳐서 리턴하는 메소드<br>
+	 * (각 UEFLeaf의 {@link UEFLeaf#getIntervalLatencySnapshot(RoutineStatus)}를 호출하므로 UEFLeaf의 구간도 함께 넘어간다.)
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 합쳐진 구간 스냅샷
+	 * */
+	public LatencySnapshot getIntervalLatencySnapshot(RoutineStatus status) {
+		List<LatencySnapshot> snapshots = new ArrayList<LatencySnapshot>();
+		
+		collectLatencySnapshots(status, true, snapshots);
+		
+		return LatencySnapshot.merge(snapshots);
+	}
+	
+	private void collectLatencySnapshots(RoutineStatus status, boolean isInterval, List<LatencySnapshot> snapshots) {
+		for(Object o: list.toArray()) {
+			if(o instanceof UEFLeaf) {
+				UEFLeaf leaf = (UEFLeaf) o;
+				
+				snapshots.add(isInterval? leaf.getIntervalLatencySnapshot(status): leaf.getLatencySnapshot(status));
+			}
+			else if(o instanceof UEFBranch) ((UEFBranch) o).collectLatencySnapshots(status, isInterval, snapshots);
+		}
+	}
+	
+	/**
+	 * 실행중인 자식 UEFLeaf들(하위 UEFBranch의 UEFLeaf 포함) 중 지정 프레임을 지키지 못하는 Leaf를 찾는 메소드<br>
+	 * ({@link UEFLeaf#setTickTrackingEnabled(boolean)}로 틱 측정을 켠 경우에만 찾을 수 있음)
+	 * @param minAccuracy 최소 프레임 정확도 ({@link TickStats#getFrameAccuracy()}, 예: 0.9)
+	 * @return 정확도가 minAccuracy보다 낮은 UEFLeaf 리스트
+	 * */
+	public List<UEFLeaf> findLaggingLeaves(double minAccuracy) {
+		List<UEFLeaf> result = new ArrayList<UEFLeaf>();
+		
+		for(Object o: list.toArray()) {
+			if(o instanceof UEFLeaf) {
+				UEFLeaf leaf = (UEFLeaf) o;
+				
+				if(leaf.getCurrentTriggerStatus() != RoutineTriggerStatus.EXECUTE) continue;
+				
+				TickStats stats = leaf.getTickStats();
+				
+				if(stats.getTickCount() > 0 && stats.getFrameAccuracy() < minAccuracy) result.add(leaf);
+			}
+			else if(o instanceof UEFBranch) result.addAll(((UEFBranch) o).findLaggingLeaves(minAccuracy));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 전파 시간을 히스토그램에 기록하는 메소드로 Branch의 스레드에서만 호출된다.
+	 * @param nanos 전파 시간
+	 * */
+	private void recordPropagation(long nanos) {
+		if(propagationHistogram == null) propagationHistogram = new LatencyHistogram();
+		
+		propagationHistogram.record(nanos);
+	}
+	
+	/**
+	 * 자식에게 상태 변경을 요청한 전파 과정의 시간 분포를 리턴하는 메소드
+	 * @return 누적 스냅샷 (기록이 없으면 {@link LatencySnapshot#EMPTY})
+	 * */
+	public LatencySnapshot getPropagationSnapshot() {
+		LatencyHistogram histogram = propagationHistogram;
+		
+		return histogram == null? LatencySnapshot.EMPTY: histogram.snapshot();
+	}
+	
+	/**
+	 * 전파 시간을 스냅샷 없이 경계값별 누적 수로 더하는 메소드 ({@link LatencyHistogram#accumulate(long[], long[])} 참조)
+	 * @param boundaries 오름차순으로 정렬된 경계값(나노초)
+	 * @param cumulative 누적 수를 더할 배열 (boundaries.length + 1 크기)
+	 * @return 기록된 전파 시간의 합 (기록이 없으면 0)
+	 * */
+	public long accumulatePropagation(long[] boundaries, long[] cumulative) {
+		LatencyHistogram histogram = propagationHistogram;
+		
+		return histogram == null? 0l: histogram.accumulate(boundaries, cumulative);
+	}
+	
+	/**
+	 * 이 Branch의 로그 제한 객체를 리턴하는 메소드
+	 * @return 로그 제한 객체 (지정되지 않았으면 null)
+	 * */
+	public LogRateLimiter getLogRateLimiter() {
+		return logRateLimiter;
+	}
+	
+	/**
+	 * 이 Branch와 로거를 연동한 하위 객체(부모 로거 사용여부가 true인 자손)의 로그를 제한할 객체를 지정하는 메소드로
+	 * 같은 실패를 자식들이 한꺼번에 남겨 핸들러가 밀리는 경우에 사용한다. ({@link LogRateLimiter} 참조)<br>
+	 * 하위 Branch에도 지정되어 있으면 로그를 남긴 객체에서 가까운 쪽이 적용되며 바꾸거나 해제하면 이전 객체에 남은 요약을 바로 남긴다.
+	 * @param logRateLimiter 로그 제한 객체 (null이면 제한하지 않음)
+	 * */
+	public void setLogRateLimiter(LogRateLimiter logRateLimiter) {
+		LogRateLimiter previous = this.logRateLimiter;
+		
+		this.logRateLimiter = logRateLimiter;
+		
+		if(previous != null && previous != logRateLimiter) previous.flushSummaries(suppressedLogListener);
+	}
+	
+	/**
+	 * 생략된 로그의 요약을 바로 남기는 메소드로 로그가 더 들어오지 않아 남지 않은 요약을 확인할 때 사용한다.
+	 * */
+	public void flushLogSummaries() {
+		LogRateLimiter tempLimiter = logRateLimiter;
+		
+		if(tempLimiter != null) tempLimiter.flushSummaries(suppressedLogListener);
+	}
+	
+	/**
+	 * 하위 객체의 로그를 남길지 로그 제한 객체에 묻는 메소드로 요약을 남길 때가 되었으면 이 Branch의 로그로 남긴다.
+	 * @param key 로그 제한의 키
+	 * @return 남겨야 하면 true
+	 * */
+	boolean acquireLog(Level logLevel, Object key) {
+		LogRateLimiter tempLimiter = logRateLimiter;
+		
+		if(tempLimiter == null) return true;
+		
+		long nanos = System.nanoTime();
+		long suppressed = tempLimiter.tryAcquire(key, logLevel, nanos);
+		
+		tempLimiter.sweepSummaries(nanos, suppressedLogListener);
+		
+		if(suppressed > 0l) logSuppressed(key, logLevel, suppressed);
+		
+		return suppressed >= 0l;
+	}
+	
+	/**
+	 * 생략된 로그의 요약을 남기는 메소드 (로그 제한을 거치지 않음)
+	 * */
+	private void logSuppressed(Object key, Level logLevel, long count) {
+		Logger tempLogger = getLogger();
+		
+		if(tempLogger.isLoggable(logLevel)) writeLog(tempLogger, logLevel, LogMessage.format("비슷한 로그 {}개를 생략했습니다: {}", count, key));
+	}
+	
+	/**
+	 * 직계 자식들을 잠금없이 복사해서 리턴하는 메소드 (복사 이후의 변경은 반영되지 않는다.)
+	 * @return 자식 리스트
+	 * */
+	public List<UEFCell> getChildren() {
+		List<UEFCell> result = new ArrayList<UEFCell>();
+		
+		for(Object o: list.toArray()) if(o != null) result.add((UEFCell) o);
+		
+		return result;
+	}
+	
 	/**
 	 * UEFBranch에 명책의 UEFCell이 들어있는지 리턴하는 메소드
 	 * @return 들어있는 UEFCell의 갯수만큼 반환, 실패시 -1 반환
@@ -490,7 +770,7 @@ public abstract class UEFBranch extends UEFCell{
 		
 		
 	}
-
+	
 	@Override
 	public void requestExecute() {
 		super.requestExecute();
@@ -516,7 +796,7 @@ public abstract class UEFBranch extends UEFCell{
 		
 		
 	}
-
+	
 	@Override
 	public void requestStop() {
 		super.requestStop();
@@ -2,12 +2,14 @@ package org.UEF.core;
 
 import java.lang.Thread.State;
 import java.security.AccessControlException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
@@ -16,10 +18,18 @@ import java.util.logging.LogManager;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
+import org.UEF.enu.LifecycleEventType;
 import org.UEF.enu.RoutineTriggerStatus;
 import org.UEF.itf.Logable;
 import org.UEF.itf.RoutineTrigger;
 import org.UEF.itf.Routineable;
+import org.UEF.jfr.TriggerTransitionEvent;
+import org.UEF.others.AsyncLogWriter;
+import org.UEF.others.InstrumentedLock;
+import org.UEF.others.LockStats;
+import org.UEF.others.LogMessage;
+import org.UEF.others.LogRateLimiter;
+import org.UEF.others.LogTimestampFormatter;
 
 /**
  * UEF는 Universal Framework의 약자로 유니티의 스레드 실행 사이클을 참고하여 만든 클래스로<br>
@@ -35,24 +45,31 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	private UEFCell 
 		parent = null;
 	
-	// 객체의 스레드
-	private Thread 
+	// 객체가 소속된 UEF 런타임 (생성시 지정되며 바꿀 수 없음)
+	private UEFManager 
+		runtime = null;
+	
+	// 객체의 스레드 (처음 시작을 요청할 때 만들어짐)
+	private volatile Thread 
 		uefThread = null;
 	
-	// 객체의 현재 트리거 상태
-	private RoutineTriggerStatus 
+	// 객체의 현재 트리거 상태 (UEFLeaf는 락 없이 compareAndSetTrigger로 바꿈)
+	private volatile RoutineTriggerStatus 
 		currentTriggerStatus = RoutineTriggerStatus.NEW;
 	
-	// 객체의 기록 파악용 로거 (멀티스레드 환경에서 안전함)
-	private Logger 
+	private static final AtomicReferenceFieldUpdater<UEFCell, RoutineTriggerStatus> 
+		TRIGGER_UPDATER = AtomicReferenceFieldUpdater.newUpdater(UEFCell.class, RoutineTriggerStatus.class, "currentTriggerStatus");
+	
+	// 객체의 기록 파악용 로거 (멀티스레드 환경에서 안전함, 처음 기록할 때 만들어짐)
+	private volatile Logger 
 		logger = null;
 	
-	// 객체의 락으로 메소드의 안전한 사용을 위해 준비함 (예를들어 자식의 추가나 부모의 변경과 같은)
-	private ReentrantLock 
+	// 객체의 락으로 메소드의 안전한 사용을 위해 준비함 (예를들어 자식의 추가나 부모의 변경과 같은, 처음 사용할 때 만들어짐)
+	private volatile ReentrantLock 
 		lock = null;
 	
-	// 락 상태에서 공통으로 사용하기 위한 Condition
-	private List<Condition>
+	// 락 상태에서 공통으로 사용하기 위한 Condition (처음 사용할 때 만들어짐)
+	private volatile List<Condition>
 		commonConds = null;
 	
 	// 객체 사이클의 초당 실행 횟수로 처음 생성시 60으로 지정됨
@@ -69,6 +86,23 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		useParentFrame = false,
 		useParentLogger = false;
 	
+	/*
+	 * 이 객체가 시작(ready)되기 전에 시작이 끝나있어야 하는 객체 리스트 (의존 대상)
+	 * 이 객체를 의존 대상으로 가지고 있는 객체 리스트 (종료시 이 객체보다 먼저 종료되어야 함)
+	 * (의존관계를 처음 추가할 때 만들어짐)
+	 * */
+	private volatile List<UEFCell> 
+		dependencyList = null,
+		dependentList = null;
+	
+	// 의존관계 추가시 순환 검사를 원자적으로 진행하기 위한 공통 락
+	private static final Object 
+		DEPENDENCY_LOCK = new Object();
+	
+	// 로거, 락, Condition 리스트를 처음 사용할 때 한번만 만들기 위한 공통 락 (객체마다 모니터를 따로 두지 않기 위함)
+	private static final Object 
+		LAZY_INIT_LOCK = new Object();
+	
 	/*
 	 * 최대 프레임
 	 * 모든 사이클의 기본프레임
@@ -81,15 +115,19 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		MIN_FRAME = 1,
 		ONE_NANO_SECONED = 1_000_000_000l;
 	
+	// 객체의 락을 잡고 있던 시간, 기다린 시간을 측정하는 InstrumentedLock으로 만들지 정하는 값 (락이 만들어질 때 적용됨, setLockInstrumentationEnabled()로 지정)
+	private static volatile boolean 
+		instrumentLocks = false;
+	
 	/**
 	 * 로그작업에 사용될 공통 포맷 변수
 	 * */
 	public static Formatter COMMON_FORMATTER = new Formatter() {
 		@Override
 		public String getHead(Handler h) {
-			StringBuffer buffer = new StringBuffer();
+			StringBuilder buffer = new StringBuilder();
 			
-			buffer.append(calcDate(System.currentTimeMillis()));
+			LogTimestampFormatter.get().formatTo(System.currentTimeMillis(), buffer);
 			buffer.append(" start\n");
 			
 			return buffer.toString();
@@ -97,10 +135,11 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		
 		@Override
 		public String format(LogRecord record) {
-			StringBuffer buffer = new StringBuffer();
+			String message = record.getMessage();
+			StringBuilder buffer = new StringBuilder(32 + (message == null? 4: message.length()));
 			
-			// 시간추가
-			buffer.append(calcDate(record.getMillis()));
+			// 시간추가 (스레드마다 초 단위 문자열을 기억해둔 포맷터 사용)
+			LogTimestampFormatter.get().formatTo(record.getMillis(), buffer);
 			buffer.append(' ');
 			
 			// 레벨추가
@@ -108,23 +147,17 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 			buffer.append(' ');
 			
 			// 메시지 추가
-			buffer.append(record.getMessage());
+			buffer.append(message);
 			buffer.append('\n');
 			
 			return buffer.toString();
 		}
 		
-		private String calcDate(long millisecs) {
-	        SimpleDateFormat date_format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-	        Date resultdate = new Date(millisecs);
-	        return date_format.format(resultdate);
-	    }
-		
 		@Override
 		public String getTail(Handler h) {
-			StringBuffer buffer = new StringBuffer();
+			StringBuilder buffer = new StringBuilder();
 			
-			buffer.append(calcDate(System.currentTimeMillis()));
+			LogTimestampFormatter.get().formatTo(System.currentTimeMillis(), buffer);
 			buffer.append(" end\n");
 			
 			return buffer.toString();
@@ -132,47 +165,39 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	};
 	
 	/**
-	 * UEFCell의 생성자로 (이름, 부모 프레임 사용여부, 부모 로거 사용여부)를 결정하고
-	 * Logger, ReentrantLock, Thread의 생성을 진행한다.
+	 * UEFCell의 생성자로 (이름, 부모 프레임 사용여부, 부모 로거 사용여부, 소속 런타임)을 결정한다.<br>
+	 * 실행되지 않는 객체도 가볍게 만들 수 있도록 Logger는 처음 기록할 때, ReentrantLock과 Condition은 처음 사용할 때,
+	 * Thread는 처음 시작을 요청할 때 만들어진다.
 	 * @param name 객체이름
 	 * @param useParentFrame 객체의 부모 프레임 사용UEFManager여부
 	 * @param useParentLogger 객체의 부모 로거 사용여부
+	 * @param runtime 객체가 소속될 UEFManager (null인 경우 기본 런타임 {@link UEFManager#getInstance()}에 소속됨)
 	 * */
-	protected UEFCell(String name, boolean useParentFrame, boolean useParentLogger) {
+	protected UEFCell(String name, boolean useParentFrame, boolean useParentLogger, UEFManager runtime) {
 		if(this instanceof UEFManager) {
 			this.name = name;
-			
-			// 로거 생성
-			logger = Logger.getLogger(getClass().getName()+":"+getName()+":"+hashCode());
-			// 락생성
-			lock = new ReentrantLock();
-			// Condition생성
-			commonConds = new Vector<Condition>();
+			this.runtime = (UEFManager) this;
 		}
 		else {
 			this.name = name;
-			
-			// 로거 생성
-			logger = Logger.getLogger(getClass().getName()+":"+getName()+":"+hashCode());
-			// 락생성
-			lock = new ReentrantLock();
-			// Condition생성
-			commonConds = new Vector<Condition>();
+			this.runtime = runtime != null? runtime: UEFManager.getInstance();
 			
 			setUseParentFrame(useParentFrame);
 			setUseParentLogeer(useParentLogger);
 			
-			/*
-			 * 스레드 생성 및 데몬으로 등록
-			 * */
-			uefThread = new Thread(this);
-			uefThread.setDaemon(true);
-			uefThread.setName(getClass().getPackageName()+"."+getName()+"-Thread");
-			//uefThread.start();
-			
-			if(!(this instanceof UEFManager)) UEFManager.addCell(this);
+			if(this.runtime != null) this.runtime.addCell(this);
 		}
-
+	
+	}
+	
+	/**
+	 * UEFCell의 생성자로 this(이름, 부모 프레임 사용여부, 부모 로거 사용여부, null)를 호출하여 기본 런타임에 소속시킨다.
+	 * @param name 객체이름
+	 * @param useParentFrame 객체의 부모 프레임 사용여부
+	 * @param useParentLogger 객체의 부모 로거 사용여부
+	 * */
+	protected UEFCell(String name, boolean useParentFrame, boolean useParentLogger) {
+		this(name, useParentFrame, useParentLogger, null);
 	}
 	
 	/**
@@ -196,7 +221,42 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	 * @param afterStatus 바꿀 다음 상태
 	 * */
 	protected void setTrigger(RoutineTriggerStatus afterStatus) {
-		currentTriggerStatus = afterStatus;
+		RoutineTriggerStatus beforeStatus = TRIGGER_UPDATER.getAndSet(this, afterStatus);
+		
+		recordTransition(beforeStatus, afterStatus);
+	}
+	
+	/**
+	 * 현재 트리거가 expectedStatus인 경우에만 afterStatus로 바꾸는 메소드로 락 없이 트리거를 바꿀 때 사용한다.
+	 * @param expectedStatus 바꾸기 전에 있어야 하는 상태
+	 * @param afterStatus 바꿀 다음 상태
+	 * @return 바꿨으면 true, 그 사이 다른 스레드가 상태를 바꿨으면 false
+	 * */
+	protected final boolean compareAndSetTrigger(RoutineTriggerStatus expectedStatus, RoutineTriggerStatus afterStatus) {
+		if(!TRIGGER_UPDATER.compareAndSet(this, expectedStatus, afterStatus)) return false;
+		
+		recordTransition(expectedStatus, afterStatus);
+		
+		return true;
+	}
+	
+	/**
+	 * 상태가 실제로 바뀐 경우에만 JFR 이벤트로 기록하는 메소드
+	 * */
+	private void recordTransition(RoutineTriggerStatus beforeStatus, RoutineTriggerStatus afterStatus) {
+		if(beforeStatus == afterStatus) return;
+		
+		// 시작하거나 종료된 경우 이 객체의 시작을 기다리는 객체들을 깨움
+		if(beforeStatus == RoutineTriggerStatus.NEW || afterStatus == RoutineTriggerStatus.SHUTDOWN) notifyDependents();
+		
+		TriggerTransitionEvent event = new TriggerTransitionEvent();
+		
+		if(event.shouldCommit()) {
+			event.cell = toString();
+			event.from = beforeStatus.name();
+			event.to = afterStatus.name();
+			event.commit();
+		}
 	}
 	
 	/**
@@ -244,7 +304,15 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	public String getName() {
 		return name;
 	}
-
+	
+	/**
+	 * 객체가 소속된 UEF 런타임을 리턴하는 메소드
+	 * @return 소속된 UEFManager (기본 런타임이 이미 종료된 뒤 생성된 경우 null)
+	 * */
+	public UEFManager getRuntime() {
+		return runtime;
+	}
+	
 	/**
 	 * 객체의 부모를 리턴하는 메소드
 	 * @return 부모객체
@@ -292,11 +360,43 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 				
 				setUseParentFrame(isUseParentFrame());
 				setUseParentLogeer(isUseParentLogger());
+				updateMBean();
 			}
 			
 		}
 	}
 	
+	/**
+	 * 호출한 클래스를 확인하지 않고 부모를 지정하는 메소드로 스냅샷 복구와 같이 새로 만들어진 객체들을 한번에 연결할 때 사용한다.<br>
+	 * (setParent()는 매 호출마다 스택을 확인하므로 많은 객체를 연결할 때 사용하지 않는다.)
+	 * @param parent 부모 객체
+	 * */
+	final void attachParent(UEFCell parent) {
+		this.parent = parent;
+		
+		setUseParentFrame(isUseParentFrame());
+		setUseParentLogeer(isUseParentLogger());
+		updateMBean();
+	}
+	
+	/**
+	 * 런타임의 수명주기 기록기에 이벤트를 기록하는 메소드 ({@link LifecycleEventType} 참조)
+	 * @param type 이벤트 종류
+	 * @param code 종류별 값
+	 * @param arg 종류별 값
+	 * @param detail 종류별 상세값 (없으면 null)
+	 * */
+	final void recordLifecycle(LifecycleEventType type, int code, long arg, Object detail) {
+		if(runtime != null) runtime.getLifecycleRecorder().record(this, type, code, arg, detail);
+	}
+	
+	/**
+	 * 부모가 바뀐 뒤 런타임의 MBean 등록을 새 경로로 갱신하는 메소드
+	 * */
+	private void updateMBean() {
+		if(runtime != null && runtime != this) runtime.getMBeanRegistry().update(this);
+	}
+	
 	/**
 	 * 부모 객체 프레임 사용여부 리턴 메소드
 	 * @return 부모 객체 프레임 사용여부
@@ -318,7 +418,7 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 			this.frame = getParent().getFrame();
 		}
 	}
-
+	
 	/**
 	 * 부모 객체 로거 사용여부 리턴 메소드
 	 * @return 부모 객체 로거 사용여부
@@ -326,7 +426,7 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	public boolean isUseParentLogger() {
 		return useParentLogger;
 	}
-
+	
 	/**
 	 * 부모 객체 로거 사용여부 지정 메소드<br>
 	 * true지정 시 부모가 있으면 값을 연동한다. (부모가 없으면 useParentLogger가 true여도 자신의 로거를 사용한다.)
@@ -336,6 +436,17 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	public void setUseParentLogeer(boolean useParentLogger) {
 		this.useParentLogger = useParentLogger;
 		
+		// 로거가 아직 만들어지지 않았다면 처음 만들 때 연동한다.
+		Logger tempLogger = logger;
+		
+		if(tempLogger != null) linkLogger(tempLogger);
+	}
+	
+	/**
+	 * 부모 로거 사용여부에 따라 logger를 부모의 로거와 연동하는 메소드
+	 * @param logger 연동할 이 객체의 로거
+	 * */
+	private void linkLogger(Logger logger) {
 		if(useParentLogger && getParent() != null) {
 			logger.setUseParentHandlers(true);
 			
@@ -364,7 +475,22 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	 * @return 객체가 가진 Logger
 	 * */
 	public Logger getLogger() {
-		return logger;
+		Logger result = logger;
+		
+		if(result == null) {
+			synchronized (LAZY_INIT_LOCK) {
+				result = logger;
+				
+				if(result == null) {
+					result = Logger.getLogger(getClass().getName()+":"+getName()+":"+hashCode());
+					linkLogger(result);
+					
+					logger = result;
+				}
+			}
+		}
+		
+		return result;
 	}
 	
 	/**
@@ -373,7 +499,54 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	 * @return 객체가 가진 ReentrantLock
 	 * */
 	protected ReentrantLock getLock() {
-		return lock;
+		ReentrantLock result = lock;
+		
+		if(result == null) {
+			synchronized (LAZY_INIT_LOCK) {
+				result = lock;
+				
+				if(result == null) lock = result = instrumentLocks? new InstrumentedLock(this): new ReentrantLock();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 이후에 만들어지는 객체 락을 잡고 있던 시간, 기다린 시간을 측정하는 {@link InstrumentedLock}으로 만들지 지정하는 메소드 (기본값은 false)<br>
+	 * 락은 처음 사용할 때 만들어지므로 이미 락을 만든 객체에는 적용되지 않는다.
+	 * @param enabled 측정하려면 true
+	 * */
+	public static void setLockInstrumentationEnabled(boolean enabled) {
+		instrumentLocks = enabled;
+	}
+	
+	/**
+	 * 새로 만들어지는 객체 락을 측정하는지 리턴하는 메소드
+	 * @return 측정하면 true
+	 * */
+	public static boolean isLockInstrumentationEnabled() {
+		return instrumentLocks;
+	}
+	
+	/**
+	 * 객체 락의 잡고 있던 시간, 기다린 시간, 기다리는 스레드 수를 리턴하는 메소드로 요청 메소드가 틱 루프에 얼마나 막히는지 확인하는데 사용한다.
+	 * @return 측정값을 담은 {@link LockStats} (락이 없거나 측정하지 않는 락이면 {@link LockStats#EMPTY})
+	 * */
+	public final LockStats getLockStats() {
+		ReentrantLock tempLock = lock;
+		
+		return tempLock instanceof InstrumentedLock? ((InstrumentedLock) tempLock).getStats(): LockStats.EMPTY;
+	}
+	
+	/**
+	 * 다른 스레드가 객체 락을 기다린 뒤 잡은 횟수를 스냅샷 없이 리턴하는 메소드로 경합이 있었던 객체만 골라낼 때 사용한다.
+	 * @return 경합 횟수 (락이 없거나 측정하지 않는 락이면 0)
+	 * */
+	public final long getLockContendedCount() {
+		ReentrantLock tempLock = lock;
+		
+		return tempLock instanceof InstrumentedLock? ((InstrumentedLock) tempLock).getContendedCount(): 0l;
 	}
 	
 	/**
@@ -391,33 +564,148 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 			throw new ArrayIndexOutOfBoundsException();
 		}
 		else {
-			if(commonConds.size() < (index + 1)) {
-				for(int i = 0; i < (index + 1) - commonConds.size(); i++) 
-					commonConds.add(lock.newCondition());
+			List<Condition> conds = commonConds;
+			
+			if(conds == null) {
+				synchronized (LAZY_INIT_LOCK) {
+					conds = commonConds;
+					
+					if(conds == null) commonConds = conds = new Vector<Condition>();
+				}
 			}
 			
-			result = commonConds.get(index);
+			synchronized (conds) {
+				while(conds.size() < (index + 1)) 
+					conds.add(getLock().newCondition());
+				
+				result = conds.get(index);
+			}
 		}
 		
 		return result;
 	}
 	
+	/**
+	 * 로그를 남기는 메소드로 런타임이 비동기 로그를 사용하면({@link UEFManager#startAsyncLogging()}) 버퍼에 넣기만 하고 바로 리턴한다.
+	 * (Logger의 레벨보다 낮은 로그는 메시지를 만들지 않고 버림)<br>
+	 * 이 객체나 로거를 연동한 상위 Branch에 {@link LogRateLimiter}가 지정되어 있으면 내용을 키로 제한한다.
+	 * */
 	public void log(Level logLevel, String contents) {
 		if(logLevel != null && contents != null) {
-			contents = contents.trim()+"\n";
+			logLevel = toLoggerLevel(logLevel);
 			
-			if(logLevel == Level.ALL) logLevel = Level.FINEST;
-			else if(logLevel == Level.OFF) logLevel = Level.SEVERE;
-
-			logger.log(logLevel, this+": "+contents);
+			Logger tempLogger = getLogger();
+			
+			if(tempLogger.isLoggable(logLevel) && acquireLog(logLevel, contents)) writeLog(tempLogger, logLevel, contents);
+		}
+	}
+	
+	/**
+	 * 로그가 남겨지는 경우에만 contents를 호출해 내용을 만드는 메소드로 로그 제한({@link LogRateLimiter})의 키는 Supplier의 클래스(호출 위치)이다.
+	 * */
+	@Override
+	public void log(Level logLevel, Supplier<String> contents) {
+		if(isLoggable(logLevel) && acquireLog(toLoggerLevel(logLevel), contents.getClass())) writeLog(getLogger(), toLoggerLevel(logLevel), contents.get());
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드로 로그 제한({@link LogRateLimiter})의 키는 pattern이므로 생략되는 로그는 내용을 만들지 않는다.
+	 * */
+	@Override
+	public void log(Level logLevel, String pattern, Object arg) {
+		if(isLoggable(logLevel) && acquireLog(toLoggerLevel(logLevel), pattern)) writeLog(getLogger(), toLoggerLevel(logLevel), LogMessage.format(pattern, arg));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드 ({@link #log(Level, String, Object)} 참조)
+	 * */
+	@Override
+	public void log(Level logLevel, String pattern, Object arg1, Object arg2) {
+		if(isLoggable(logLevel) && acquireLog(toLoggerLevel(logLevel), pattern)) writeLog(getLogger(), toLoggerLevel(logLevel), LogMessage.format(pattern, arg1, arg2));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드 ({@link #log(Level, String, Object)} 참조)
+	 * */
+	@Override
+	public void log(Level logLevel, String pattern, Object arg1, Object arg2, Object arg3) {
+		if(isLoggable(logLevel) && acquireLog(toLoggerLevel(logLevel), pattern)) writeLog(getLogger(), toLoggerLevel(logLevel), LogMessage.format(pattern, arg1, arg2, arg3));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드 ({@link #log(Level, String, Object)} 참조)
+	 * */
+	@Override
+	public void log(Level logLevel, String pattern, Object... args) {
+		if(isLoggable(logLevel) && acquireLog(toLoggerLevel(logLevel), pattern)) writeLog(getLogger(), toLoggerLevel(logLevel), LogMessage.format(pattern, args));
+	}
+	
+	/**
+	 * 로그를 Logger나 비동기 로그 버퍼에 넘기는 메소드 (레벨과 로그 제한은 확인하지 않음)
+	 * */
+	final void writeLog(Logger logger, Level logLevel, String contents) {
+		if(contents == null) return;
+		
+		AsyncLogWriter tempWriter = runtime == null? null: runtime.getAsyncLogWriter();
+		
+		if(tempWriter != null && tempWriter.offer(this, logLevel, contents)) return;
+		
+		contents = contents.trim()+"\n";
+		
+		logger.log(logLevel, this+": "+contents);
+	}
+	
+	/**
+	 * 이 객체부터 로거를 연동한 부모를 따라 올라가며 처음 만나는 {@link LogRateLimiter}를 가진 Branch에 로그를 남길지 묻는 메소드
+	 * @param key 로그 제한의 키 (null이면 제한하지 않음)
+	 * @return 남겨야 하면 true
+	 * */
+	private boolean acquireLog(Level logLevel, Object key) {
+		if(key == null) return true;
+		
+		UEFCell cell = this;
+		
+		while(cell != null) {
+			if(cell instanceof UEFBranch && ((UEFBranch) cell).getLogRateLimiter() != null) return ((UEFBranch) cell).acquireLog(logLevel, key);
+			else if(!cell.useParentLogger) return true;
+			
+			cell = cell.parent;
 		}
+		
+		return true;
+	}
+	
+	/**
+	 * 객체의 Logger가 logLevel의 로그를 남기는지 확인하는 메소드로 형식 로그 메소드({@link Logable#log(Level, String, Object)} 등)는 false면 메시지를 만들지 않는다.
+	 * */
+	@Override
+	public boolean isLoggable(Level logLevel) {
+		return logLevel != null && getLogger().isLoggable(toLoggerLevel(logLevel));
+	}
+	
+	/**
+	 * ALL은 FINEST로, OFF는 SEVERE로 바꾸는 메소드 (ALL, OFF는 로그 레벨로 사용할 수 없음)
+	 * */
+	private static Level toLoggerLevel(Level logLevel) {
+		if(logLevel == Level.ALL) return Level.FINEST;
+		else if(logLevel == Level.OFF) return Level.SEVERE;
+		
+		return logLevel;
 	}
 	
 	/**
 	 * RoutineTrigger의 메소드를 실행할 때 재지정한 Routineable의 메소드에서 사용된 블로킹 메소드에서 탈출하기 위한 메소드<br>
 	 * 한 번의 블로킹 메소드는 확실하게 탈출하지만 그 다음 블로킹 메소드의 탈출은 장담하지 못함
+	 * @deprecated 스레드가 BLOCKED인 동안 인터럽트를 반복하므로 사용자 코드의 어느 지점이 인터럽트될지 알 수 없다.
+	 * 루틴 메소드에서는 {@link UEFLeaf#getCancellationToken()}의 블로킹 메소드를 사용하고, 멈춘 스레드는 {@link #interruptThread()}를 사용한다.
 	 * */
+	@Deprecated
 	protected void freeBlocked() {
+		Thread uefThread = this.uefThread;
+		
+		// 시작되지 않은 객체는 블로킹될 수 없음
+		if(uefThread == null) return;
+		
 		try {
 			switch (uefThread.getState()) {
 				case WAITING:
@@ -453,17 +741,74 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		}
 	}
 	
+	/**
+	 * 객체 스레드의 현재 호출 스택을 리턴하는 메소드로 멈춘 객체가 어디서 멈췄는지 확인하는데 사용한다.
+	 * @return 호출 스택 (스레드가 없으면 길이 0)
+	 * */
+	public final StackTraceElement[] getThreadStackTrace() {
+		Thread tempThread = uefThread;
+		
+		return tempThread == null? new StackTraceElement[0]: tempThread.getStackTrace();
+	}
+	
+	/**
+	 * LockSupport.park()로 대기중인 객체 스레드를 깨우는 메소드 (대기중이 아니면 다음 park()가 바로 끝난다.)
+	 * */
+	protected final void unparkThread() {
+		Thread tempThread = uefThread;
+		
+		if(tempThread != null) LockSupport.unpark(tempThread);
+	}
+	
+	/**
+	 * 객체 스레드를 인터럽트하는 메소드로 {@link #freeBlocked()}와 달리 스레드의 상태와 관계없이 한 번 인터럽트한다.
+	 * @return 스레드가 있어 인터럽트했으면 true
+	 * */
+	public final boolean interruptThread() {
+		Thread tempThread = uefThread;
+		
+		if(tempThread == null || !tempThread.isAlive()) return false;
+		
+		tempThread.interrupt();
+		
+		return true;
+	}
+	
 	/**
 	 * 만약 스레드가 시작되지 않은 상태라면 스레드를 시작하는 메소드
 	 * */
-	private void checkStart() {
+	private synchronized void checkStart() throws AccessControlException {
+		if(uefThread != null) return;
+		// 스레드 없이 종료된 객체는 시작하지 않음 (shutdownUnstarted() 참조)
+		else if(currentTriggerStatus == RoutineTriggerStatus.SHUTDOWN) return;
+		// 런타임의 스레드 예산을 초과하면 시작하지 않음
+		else if(runtime == null || !runtime.acquireThread(this)) 
+			throw new AccessControlException(getName()+" can't start because the thread budget of "+runtime+" is exhausted.");
+		
 		try {
-			if(uefThread.getState() == State.NEW) {
-				uefThread.start();
-				
-				// 시작후 스레드 안정화를 위해 1마이크로초 대기
-				Thread.sleep(0, 1000);
-			}
+			/*
+			 * 스레드 생성 및 데몬으로 등록
+			 * 스레드가 끝나면 런타임의 스레드 예산을 반납한다.
+			 * */
+			Thread tempThread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						UEFCell.this.run();
+					}
+					finally {
+						UEFCell.this.runtime.releaseThread();
+					}
+				}
+			});
+			tempThread.setDaemon(true);
+			tempThread.setName(getClass().getPackageName()+"."+getName()+"-Thread");
+			
+			uefThread = tempThread;
+			tempThread.start();
+			
+			// 시작후 스레드 안정화를 위해 1마이크로초 대기
+			Thread.sleep(0, 1000);
 		}
 		catch (Exception e) {
 			e.printStackTrace();
@@ -471,10 +816,165 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	}
 	
 	
+	/**
+	 * 스레드를 만든적 없는 NEW 상태의 객체를 스레드 없이 SHUTDOWN 상태로 바꾸는 메소드로 종료 요청에서 사용한다.<br>
+	 * 스레드를 시작하는 메소드와 같은 모니터에서 확인하므로 바꾼 뒤에는 스레드가 만들어지지 않는다.
+	 * @return 스레드 없이 SHUTDOWN으로 바꿨으면 true (이미 스레드가 있거나 NEW가 아니면 false)
+	 * */
+	protected final synchronized boolean shutdownUnstarted() {
+		return uefThread == null && compareAndSetTrigger(RoutineTriggerStatus.NEW, RoutineTriggerStatus.SHUTDOWN);
+	}
+	
 	public void setWaitForEnd(boolean waitForEnd) {
 		this.waitForEnd = waitForEnd;
 	}
 	
+	/**
+	 * 이 객체가 target에 의존하도록 지정하는 메소드<br>
+	 * target의 시작이 끝나기 전까지 이 객체는 시작(ready)되지 않으며, 종료시에는 target보다 먼저 종료된다.
+	 * 
+	 * @param target 이 객체보다 먼저 시작되어야 하는 객체
+	 * @throws NullPointerException target이 null인 경우
+	 * @throws IllegalArgumentException target이 자기 자신이거나 의존관계가 순환하게 되는 경우
+	 * */
+	public void addDependency(UEFCell target) throws NullPointerException, IllegalArgumentException {
+		if(target == null) throw new NullPointerException("target is null");
+		else if(target == this) throw new IllegalArgumentException(this+" can't depend on itself.");
+		
+		synchronized (DEPENDENCY_LOCK) {
+			// target이 이미 이 객체에 의존하고 있다면 순환이 발생하므로 예외호출
+			if(target.isDependOn(this)) 
+				throw new IllegalArgumentException("Circular dependency detected between "+this+" and "+target+".");
+			
+			if(dependencyList == null) dependencyList = new Vector<UEFCell>();
+			if(target.dependentList == null) target.dependentList = new Vector<UEFCell>();
+			
+			if(!dependencyList.contains(target)) {
+				dependencyList.add(target);
+				target.dependentList.add(this);
+			}
+		}
+	}
+	
+	/**
+	 * 이 객체와 target사이의 의존관계를 제거하는 메소드
+	 * 
+	 * @param target 의존관계를 제거할 객체
+	 * @return 제거에 성공하면 true, 의존하고 있지 않았다면 false
+	 * */
+	public boolean removeDependency(UEFCell target) {
+		boolean result = false;
+		
+		if(target != null) {
+			synchronized (DEPENDENCY_LOCK) {
+				result = dependencyList != null && dependencyList.remove(target);
+				
+				if(target.dependentList != null) target.dependentList.remove(this);
+			}
+			
+			// 남은 의존 대상의 시작이 모두 끝났을 수 있으므로 대기중이면 깨움
+			if(result) onDependencyReady(target);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 이 객체가 target에 직접 또는 간접적으로 의존하고 있는지 확인하는 메소드
+	 * 
+	 * @param target 확인할 객체
+	 * @return 의존하고 있으면 true
+	 * */
+	public boolean isDependOn(UEFCell target) {
+		List<UEFCell> visited = new ArrayList<UEFCell>();
+		List<UEFCell> stack = getDependencies();
+		
+		while(!stack.isEmpty()) {
+			UEFCell cell = stack.remove(stack.size() - 1);
+			
+			if(cell == target) return true;
+			else if(visited.contains(cell)) continue;
+			
+			visited.add(cell);
+			stack.addAll(cell.getDependencies());
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * 이 객체가 의존하고 있는 객체들을 리턴하는 메소드
+	 * @return 의존 대상 리스트(복사본)
+	 * */
+	public List<UEFCell> getDependencies() {
+		List<UEFCell> tempList = dependencyList;
+		
+		return tempList == null? new ArrayList<UEFCell>(): new ArrayList<UEFCell>(tempList);
+	}
+	
+	/**
+	 * 이 객체에 의존하고 있는 객체들을 리턴하는 메소드
+	 * @return 이 객체를 의존 대상으로 가진 객체 리스트(복사본)
+	 * */
+	public List<UEFCell> getDependents() {
+		List<UEFCell> tempList = dependentList;
+		
+		return tempList == null? new ArrayList<UEFCell>(): new ArrayList<UEFCell>(tempList);
+	}
+	
+	/**
+	 * 이 객체의 시작이 끝났는지 리턴하는 메소드로 의존하고 있는 객체들이 시작해도 되는지 판단하는데 사용된다.<br>
+	 * (UEFCell은 트리거가 NEW가 아니면 시작된것으로 판단하며 하위 클래스에서 재정의한다.)
+	 * @return 시작이 끝난경우 true
+	 * */
+	public boolean isStartupCompleted() {
+		return currentTriggerStatus != RoutineTriggerStatus.NEW;
+	}
+	
+	/**
+	 * 의존하고 있는 모든 객체의 시작이 끝났는지 확인하는 메소드<br>
+	 * (SHUTDOWN상태인 의존 대상은 더이상 시작될 수 없으므로 대기하지 않는다.)
+	 * @return 모두 시작되었거나 의존 대상이 없는 경우 true
+	 * */
+	public boolean isDependencySatisfied() {
+		List<UEFCell> tempList = dependencyList;
+		
+		if(tempList == null) return true;
+		
+		for(Object o: tempList.toArray()) {
+			UEFCell cell = (UEFCell) o;
+			
+			if(!cell.isStartupCompleted() && cell.getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) 
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 이 객체의 시작이 끝났거나 종료되었을 때 호출하여 이 객체에 의존하는 객체들을 깨우는 메소드<br>
+	 * (Branch의 시작은 자식들의 시작이 끝나야 완료되므로 부모들에 의존하는 객체들도 깨움)
+	 * */
+	protected void notifyDependents() {
+		for(UEFCell cell = this; cell != null; cell = cell.getParent()) {
+			List<UEFCell> tempList = cell.dependentList;
+			
+			if(tempList == null) continue;
+			
+			for(Object o: tempList.toArray()) {
+				((UEFCell) o).onDependencyReady(this);
+			}
+		}
+	}
+	
+	/**
+	 * 의존 대상 중 하나의 시작이 끝났거나 종료되었을 때 또는 의존 대상이 제거되었을 때 호출되는 메소드 (기본 구현은 아무것도 하지 않음)
+	 * @param dependency 상태가 바뀐 의존 대상
+	 * */
+	protected void onDependencyReady(UEFCell dependency) {
+		
+	}
+	
 	/**
 	 * 이 객체가 반드시 종료되는것을 기다려야 하는지 여부를 리턴하는 메소드
 	 * @return true일 경우 join으로 종료를 기다려줘야하는 상태
@@ -506,6 +1006,11 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 	 * 해당 스레드가 종료될 때까지 대기하는 메소드
 	 * */
 	public void join() {
+		Thread uefThread = this.uefThread;
+		
+		// 시작되지 않은 객체는 기다릴 필요가 없음
+		if(uefThread == null) return;
+		
 		try {
 			uefThread.join();
 		}
@@ -514,6 +1019,27 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		}
 	}
 	
+	/**
+	 * 객체가 현재 어떤 자원을 만들어 사용하고 있는지 보여주는 메소드로 실행되지 않는 객체가 가볍게 유지되는지 확인하는데 사용한다.
+	 * @return 이름[thread=상태, logger=생성여부, lock=생성여부, conditions=개수, dependencies=개수, dependents=개수]
+	 * */
+	public String getFootprintReport() {
+		Thread tempThread = uefThread;
+		List<Condition> tempConds = commonConds;
+		List<UEFCell> tempDependencyList = dependencyList, tempDependentList = dependentList;
+		StringBuffer sb = new StringBuffer(getName());
+		
+		sb.append("[thread=").append(tempThread == null? "none": tempThread.getState().toString());
+		sb.append(", logger=").append(logger != null);
+		sb.append(", lock=").append(lock != null);
+		sb.append(", conditions=").append(tempConds == null? 0: tempConds.size());
+		sb.append(", dependencies=").append(tempDependencyList == null? 0: tempDependencyList.size());
+		sb.append(", dependents=").append(tempDependentList == null? 0: tempDependentList.size());
+		sb.append(']');
+		
+		return sb.toString();
+	}
+	
 	@Override
 	public String toString() {
 		
@@ -527,6 +1053,7 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		else if(currentTriggerStatus == RoutineTriggerStatus.EXECUTE)
 			throw new AccessControlException("is "+getName()+" already execute");
 		
+		recordLifecycle(LifecycleEventType.TRIGGER_REQUEST, RoutineTriggerStatus.EXECUTE.ordinal(), currentTriggerStatus.ordinal(), null);
 		checkStart();
 	}
 	
@@ -537,6 +1064,7 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		else if(currentTriggerStatus == RoutineTriggerStatus.PAUSE)
 			throw new AccessControlException("is "+getName()+" already pause");
 		
+		recordLifecycle(LifecycleEventType.TRIGGER_REQUEST, RoutineTriggerStatus.PAUSE.ordinal(), currentTriggerStatus.ordinal(), null);
 		checkStart();
 	}
 	
@@ -545,7 +1073,17 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		if(currentTriggerStatus == RoutineTriggerStatus.SHUTDOWN) 
 			throw new AccessControlException("is "+getName()+" already shutdown");
 		
-		checkStart();
+		recordLifecycle(LifecycleEventType.TRIGGER_REQUEST, RoutineTriggerStatus.SHUTDOWN.ordinal(), currentTriggerStatus.ordinal(), null);
+		
+		// 한번도 시작을 요청하지 않은 객체는 루틴을 실행한적이 없으므로 스레드를 만들지 않는다. (하위 클래스가 shutdownUnstarted()로 종료)
+		if(uefThread == null && currentTriggerStatus == RoutineTriggerStatus.NEW) return;
+		
+		try {
+			checkStart();
+		}
+		catch (AccessControlException e) {
+			// 스레드 예산이 없어 시작하지 못한 객체는 루틴을 실행한적이 없으므로 상태만 SHUTDOWN으로 바꾼다.
+		}
 	}
 	
 	@Override
@@ -555,6 +1093,7 @@ public abstract class UEFCell implements RoutineTrigger, Runnable, Logable{
 		else if(currentTriggerStatus == RoutineTriggerStatus.STOP)
 			throw new AccessControlException("is "+getName()+" already stop");
 		
+		recordLifecycle(LifecycleEventType.TRIGGER_REQUEST, RoutineTriggerStatus.STOP.ordinal(), currentTriggerStatus.ordinal(), null);
 		checkStart();
 	}
 }
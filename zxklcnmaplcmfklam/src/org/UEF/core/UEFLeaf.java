@@ -1,11 +1,24 @@
 package org.UEF.core;
 
 import java.security.AccessControlException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 
+import org.UEF.enu.LifecycleEventType;
 import org.UEF.enu.RoutineStatus;
 import org.UEF.enu.RoutineTriggerStatus;
 import org.UEF.itf.Routineable;
+import org.UEF.jfr.RoutineEvent;
+import org.UEF.others.CancellationToken;
+import org.UEF.others.LatencyHistogram;
+import org.UEF.others.LatencySnapshot;
+import org.UEF.others.LifecycleRecorder;
+import org.UEF.others.ResourceMeter;
+import org.UEF.others.ResourceUsage;
+import org.UEF.others.TickStats;
+import org.UEF.others.TickTracker;
 /**
  * UEFCell클래스를 상속하여 만든 추상 클래스로 실제로 기능을 실행하는 사이클을 구현해 놨으며
  * 사용자는 해당 클래스를 상속하여 기능만 정의하면 된다.<br>
@@ -15,13 +28,38 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 	// 현재 실행 상태 추적을 위한 열거형
 	private RoutineStatus currentStatus = RoutineStatus.NEW;
 	
-	private boolean isInit = false;
+	private volatile boolean isInit = false;
+	// 의존 대상의 시작을 기다리고 있는지 나타내는 값
+	private volatile boolean isAwaitingDependency = false;
+	// 의존 대상의 시작을 기다릴 때 상태를 다시 확인하는 최대 주기(밀리초, 의존 대상의 시작이 끝나거나 종료되면 신호를 받아 바로 깨어나며 이 주기는 신호를 놓친 경우를 대비한 것)
+	public static long DEPENDENCY_CHECK_MILLIS = 1_000l;
 	// 프레임 값 변화 감지를 위한 필드
 	private long beforeFrame = 0l;
 	// 최소실행시간으로 대기시간 계산에 사용됨
 	private long waitNanos = 0l;
 	// 실제로 메소드가 처리될 때까지 걸린 나노초 (초기화가 안됬을 경우 -1)
 	private long[] routineExcutionTimeArray = new long[] {-1l,-1l,-1l,-1l,-1l,-1l,-1l};
+	// 루틴 메소드별 실행시간 히스토그램 (처음 기록할 때 해당 루틴의 히스토그램만 만들어짐)
+	private volatile LatencyHistogram[] latencyHistograms = null;
+	// 실행시간 히스토그램을 기록할지 정하는 값 (히스토그램 하나는 약 4KB, setLatencyHistogramEnabled()로 지정)
+	private static volatile boolean recordLatencyHistogram = false;
+	// execute() 틱의 지연과 실제 프레임 측정기 (처음 execute()를 실행할 때 만들어짐)
+	private volatile TickTracker tickTracker = null;
+	// 틱을 측정할지 정하는 값 (setTickTrackingEnabled()로 지정)
+	private static volatile boolean trackTicks = false;
+	// 루틴 메소드별 CPU 시간과 할당량 측정기 (처음 기록할 때 만들어짐)
+	private volatile ResourceMeter resourceMeter = null;
+	// CPU 시간과 할당량을 측정할지 정하는 값 (루틴 메소드마다 약 0.3us 추가, setResourceTrackingEnabled()로 지정)
+	private static volatile boolean trackResources = false;
+	// 실행중인 루틴 메소드의 시작시간 (실행중이 아니면 0, StallWatchdog이 사용)
+	private volatile long phaseStartNanos = 0l;
+	// 실행중인 루틴 메소드의 취소 토큰 (getCancellationToken()을 처음 호출할 때 만들어지고 루틴이 시작하고 끝날 때 지워짐, 토큰의 시작시간이 phaseStartNanos와 다르면 지난 루틴의 토큰)
+	private volatile CancellationToken phaseToken = null;
+	// 실행중인 루틴 메소드를 시작할 때의 트리거 (취소 토큰을 만들 때 사용)
+	private RoutineTriggerStatus phaseTrigger = null;
+	
+	private static final AtomicReferenceFieldUpdater<UEFLeaf, CancellationToken>
+		TOKEN_UPDATER = AtomicReferenceFieldUpdater.newUpdater(UEFLeaf.class, CancellationToken.class, "phaseToken");
 	
 	/*
 	 * [대기시간 오차 조정 계수]
@@ -55,6 +93,20 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 		this(name, true, true);
 	}
 	
+	/**
+	 * runtime에 소속된 UEFLeaf를 만드는 생성자로 super(이름, 부모 프레임 사용여부, 부모 로거 사용여부, runtime)를 호출한다.
+	 * */
+	protected UEFLeaf(String name, boolean useParentFrame, boolean useParentLogger, UEFManager runtime) {
+		super(name, useParentFrame, useParentLogger, runtime);
+	}
+	
+	/**
+	 * runtime에 소속된 UEFLeaf를 만드는 생성자로 this(이름, true, true, runtime)를 호출한다.
+	 * */
+	protected UEFLeaf(String name, UEFManager runtime) {
+		this(name, true, true, runtime);
+	}
+	
 	
 	@Override
 	public void run() {
@@ -66,13 +118,7 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 			getLock().lock();
 			
 			// NEW인 경우 무한대기
-			while(getCurrentTriggerStatus() == RoutineTriggerStatus.NEW) {
-				try {
-					getCommonCondition(0).awaitUninterruptibly();
-				}
-				catch (Exception e) {
-				}
-			}
+			awaitTriggerChange(RoutineTriggerStatus.NEW);
 			
 			// SHUTDOWN이 아닌경우 반복
 			while(getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) {
@@ -82,8 +128,13 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 					// init 실행요청
 					RoutineCapsule(RoutineStatus.INIT);
 					isInit = true;
+					
+					// 이 객체에 의존하는 객체들에게 시작이 끝났음을 알림
+					notifyDependents();
 				}
 				
+				// 의존 대상들의 시작이 끝날때까지 대기
+				awaitDependencies();
 				
 				// STOP상태에서 복귀한 경우 또는 처음에 진입한경우 READY실행
 				if(currentStatus != RoutineStatus.READY) {
@@ -109,7 +160,7 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 					}
 					
 					// PAUSE인 경우 대기
-					if(getCurrentTriggerStatus() == RoutineTriggerStatus.PAUSE) getCommonCondition(0).awaitUninterruptibly();
+					awaitTriggerChange(RoutineTriggerStatus.PAUSE);
 				}
 				
 				// STOP, SHUTDOWN중 하나이므로  stop실행 후 STOPPED상태로 변경
@@ -121,7 +172,7 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 					
 				
 				// STOP인 경우 대기
-				if(getCurrentTriggerStatus() == RoutineTriggerStatus.STOP) getCommonCondition(0).awaitUninterruptibly();
+				awaitTriggerChange(RoutineTriggerStatus.STOP);
 			}
 			
 			// SHUTDOWN확인 destroy실행, DESTROYED상태로 변경
@@ -137,6 +188,69 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 		}
 	}
 	
+	/**
+	 * 트리거가 status에서 바뀔 때까지 락을 해제하고 대기하는 메소드로 요청 메소드가 트리거를 바꾼 뒤 {@link #unparkThread()}로 깨운다.<br>
+	 * 대기중의 인터럽트는 무시하고 대기가 끝난 뒤 인터럽트 상태를 되돌린다. (awaitUninterruptibly와 같음)
+	 * @param status 대기할 트리거 상태
+	 * */
+	private void awaitTriggerChange(RoutineTriggerStatus status) {
+		if(getCurrentTriggerStatus() != status) return;
+		
+		boolean interrupted = false;
+		
+		getLock().unlock();
+		
+		try {
+			while(getCurrentTriggerStatus() == status) {
+				LockSupport.park(this);
+				
+				// 인터럽트 상태에서는 park가 바로 끝나므로 지워둠
+				if(Thread.interrupted()) interrupted = true;
+			}
+		}
+		finally {
+			getLock().lock();
+			
+			if(interrupted) Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 의존하고 있는 모든 객체의 시작이 끝날때까지 대기하는 메소드로 대기중에는 락을 해제하여 request진입을 허용한다.<br>
+	 * 의존 대상의 시작이 끝나거나 종료되면 {@link #onDependencyReady(UEFCell)}로 깨어나 다시 확인한다. (SHUTDOWN요청이 들어오면 즉시 대기를 중단한다.)
+	 * */
+	private void awaitDependencies() {
+		if(isDependencySatisfied()) return;
+		
+		log(Level.FINE, "의존 대상의 시작을 기다립니다. {}", getDependencies());
+		
+		getLock().unlock();
+		
+		try {
+			isAwaitingDependency = true;
+			
+			while(!isDependencySatisfied() && getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) {
+				LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(DEPENDENCY_CHECK_MILLIS));
+				Thread.interrupted();
+			}
+		}
+		finally {
+			isAwaitingDependency = false;
+			getLock().lock();
+		}
+	}
+	
+	@Override
+	public boolean isStartupCompleted() {
+		return isInit;
+	}
+	
+	@Override
+	protected void onDependencyReady(UEFCell dependency) {
+		// 대기중인 경우에만 깨움 (STOP, PAUSE 대기는 트리거를 다시 확인하고 계속 대기함)
+		if(isAwaitingDependency) unparkThread();
+	}
+	
 	/**
 	 * Routineable 메소드를 호출하는 메소드로 실행할 메소드에 따라 값을 다르게 넣으면 된다.<br>
 	 * 그리고 각 메소드가 실행할 내용을 if, switch를 통해 서술하고 실패에 대한 로깅작업을 진행해야한다.
@@ -151,8 +265,13 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 	 * */
 	private Exception RoutineCapsule(RoutineStatus status) {
 		Exception result = null;
-		long tempNanos = 0l, frameTime = System.nanoTime();
+		long tempNanos = 0l, frameTime = System.nanoTime(), cpuNanos = 0l, allocatedBytes = 0l;
+		boolean trackResources = UEFLeaf.trackResources;
 		int arrayValue = status.getValue();
+		// 루틴을 시작할 때의 트리거 (대기중에 트리거가 바뀌면 대기를 중단하고 다음 루틴으로 넘어감)
+		RoutineTriggerStatus startTrigger = getCurrentTriggerStatus();
+		// JFR 이벤트 (기록중이 아니면 아무것도 하지 않음)
+		RoutineEvent event = new RoutineEvent();
 		
 		try {	
 			if(beforeFrame != getFrame()) { // 프레임 값이 바뀐경우
@@ -167,7 +286,20 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 			waitNanos = UEFCell.ONE_NANO_SECONED / getFrame();
 			
 			// 시간 측정시작
+			event.begin();
+			
+			if(status != RoutineStatus.EXECUTE || LifecycleRecorder.RECORD_EXECUTE_TICKS) recordLifecycle(LifecycleEventType.PHASE_START, arrayValue, 0l, null);
+			
+			if(trackResources) {
+				cpuNanos = ResourceMeter.currentCpuNanos();
+				allocatedBytes = ResourceMeter.currentAllocatedBytes();
+			}
+			
 			tempNanos = System.nanoTime();
+			phaseTrigger = startTrigger;
+			// 지난 루틴이 끝나는 사이에 다른 스레드가 만든 토큰을 치우고 시작
+			phaseToken = null;
+			phaseStartNanos = tempNanos;
 			switch(status) {
 				case INIT:
 					currentStatus = RoutineStatus.INIT;
@@ -212,6 +344,8 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 		catch (Exception e) {
 			int excepProcessResult = exceptionProcessing(e, currentStatus);
 			
+			recordLifecycle(LifecycleEventType.EXCEPTION, excepProcessResult, arrayValue, e.getClass());
+			
 			//log(Level.WARNING, "예외가 발생했습니다. "+e.getMessage()+" ("+e.getClass()+")");
 			
 			if(excepProcessResult == -1) { // 예외처리를 지정하지 않은경우
@@ -225,6 +359,9 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 			} else {
 				requestShutdown();
 			}
+			
+			// 처리되지 않은 예외로 종료되는 경우 수명주기 기록을 파일로 남김
+			if(excepProcessResult != 0 && excepProcessResult != 1 && getRuntime() != null) getRuntime().getLifecycleRecorder().dumpOnFailure(this, e);
 		}
 		finally {
 			// 프레임 계수를 조정하기 위한 시간측정변수
@@ -232,10 +369,45 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 			
 			// 루틴 실행시간 측정 종료
 			tempNanos = System.nanoTime() - tempNanos;
+			phaseStartNanos = 0l;
+			phaseToken = null;
+			
+			// 루틴 메소드의 CPU 시간과 할당량 기록 (측정기 생성 등 이후의 할당이 포함되지 않도록 먼저 읽음)
+			if(trackResources) {
+				cpuNanos = ResourceMeter.currentCpuNanos() - cpuNanos;
+				allocatedBytes = ResourceMeter.currentAllocatedBytes() - allocatedBytes;
+				
+				if(resourceMeter == null) resourceMeter = new ResourceMeter(routineExcutionTimeArray.length);
+				
+				resourceMeter.record(arrayValue, cpuNanos, allocatedBytes);
+			}
 			
 			// 각 루틴 실행시간을 저장
 			routineExcutionTimeArray[arrayValue] = tempNanos;
 			
+			if(recordLatencyHistogram) recordLatency(arrayValue, tempNanos);
+			
+			if(status != RoutineStatus.EXECUTE || LifecycleRecorder.RECORD_EXECUTE_TICKS) recordLifecycle(LifecycleEventType.PHASE_END, arrayValue, tempNanos, null);
+			
+			// 틱의 시작시간, 주기, 실행시간을 기록 (execute()가 아닌 루틴이 실행되면 틱이 끊어진 것으로 처리)
+			if(status == RoutineStatus.EXECUTE && trackTicks) {
+				if(tickTracker == null) tickTracker = new TickTracker();
+				
+				tickTracker.record(frameTime, waitNanos, tempNanos);
+			}
+			else if(tickTracker != null) tickTracker.breakChain();
+			
+			// 실행시간이 임계값보다 긴 경우에만 JFR 이벤트로 기록
+			event.end();
+			
+			if(event.shouldCommit()) {
+				event.leaf = toString();
+				event.phase = status.name();
+				event.frame = getFrame();
+				event.lateness = status == RoutineStatus.EXECUTE && tickTracker != null? tickTracker.getLastLatenessNanos(): 0l;
+				event.commit();
+			}
+			
 			try {
 				// 대기시간 = (최소실행시간 - 루틴실행시간) * 오차조정계수
 				// 대기분할시간 = 실제대기시간을 10으로 나눈 값 (예를 들어 1_000_000_000/60 => 16_666_666 / 10 => 1_666_666)
@@ -247,34 +419,33 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 				if(finalSleepTimeDivide10 > 0) {
 					try {
 						// 락을 해제하여 request진입을 허용해 중간에 다른 명령을 내릴 수 있게 한다.
-						// condition.awaitNanos를 사용할 경우 대기시간이 정확하게 수행되지 않아 스레드를 슬립시키기로 변경
+						// condition.awaitNanos를 사용할 경우 대기시간이 정확하게 수행되지 않아 스레드를 park하기로 변경
 						// 락 해제
 						getLock().unlock();
 						
 						realSleepTime = System.nanoTime();
 						
+						// 트리거가 바뀌어 깨어난 경우 대기를 중단하고 다음 루틴으로 넘어감
+						boolean isWoken = false;
+						
 						do {
-							// 더 정확한 대기를 위해 최종대기시간을 10개로 나눠 10번을 대기함
-							try {
-								// 대기할 밀리초(대기분할시간 / 10 / 1밀리초), 대기할 나노초(대기분할시간 / 10 % 1밀리초)
-								Thread.sleep(finalSleepTimeDivide10 / 1_000_000l, (int)(finalSleepTimeDivide10 % 1_000_000l));
-							}
-							catch (InterruptedException e1) {
+							// 더 정확한 대기를 위해 최종대기시간을 10개로 나눠 10번을 대기함 (요청 메소드의 unpark로 깨어날 수 있음)
+							LockSupport.parkNanos(this, finalSleepTimeDivide10);
+							
+							if(Thread.interrupted() || getCurrentTriggerStatus() != startTrigger) {
+								isWoken = true;
 								break;
 							}
-							catch (Exception e2) {
-								log(Level.WARNING, "예외가 발생했습니다. "+e2.getMessage()+" ("+e2.getClass()+")");
-							}
 							// 대기 마감시간을 현재 넘지 못한경우 다시 대기 (만약 넘게됬다면 그 즉시 탈출)
 						} while(System.nanoTime() <= deadLine);
 						
 						realSleepTime = System.nanoTime() - realSleepTime;
 						
-						// 오차 조정 계수 = 대기시간(대기분할시간 * 10) / (실제 대기시간)
-						innerAwaitTimeAdjustMultiple = (double)finalSleepTimeDivide10 * 10 / (realSleepTime);
+						// 오차 조정 계수 = 대기시간(대기분할시간 * 10) / (실제 대기시간), 중간에 깨어난 경우는 대기시간이 짧으므로 조정하지 않음
+						if(!isWoken) innerAwaitTimeAdjustMultiple = (double)finalSleepTimeDivide10 * 10 / (realSleepTime);
 					}
 					catch (Exception e) {
-						log(Level.WARNING, "예외가 발생했습니다. "+e.getMessage()+" ("+e.getClass()+")");
+						log(Level.WARNING, "예외가 발생했습니다. {} ({})", e.getMessage(), e.getClass());
 					}
 					finally {
 						// 락 진입
@@ -294,14 +465,14 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 			catch (Exception e) {
 				e.printStackTrace();
 			}
-
+		
 		}
 		
 		return result;
 	}
 	
 	
-
+	
 	/**
 	 * 각 루틴메소드를 처리하는데 걸린시간
 	 * @param status 찾고자 하는 루틴 메소드 이름
@@ -311,16 +482,315 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 		return routineExcutionTimeArray[status.getValue()];
 	}
 	
+	/**
+	 * 모든 Leaf가 루틴 메소드의 실행시간을 히스토그램에 기록할지 지정하는 메소드 (기본값은 false)<br>
+	 * 기록하는 Leaf마다 기록한 루틴 메소드 하나당 약 4KB의 히스토그램이 만들어지며 기록을 꺼도 이미 기록된 값은 남아있다.
+	 * @param enabled 기록하려면 true
+	 * */
+	public static void setLatencyHistogramEnabled(boolean enabled) {
+		recordLatencyHistogram = enabled;
+	}
+	
+	/**
+	 * 루틴 메소드의 실행시간을 히스토그램에 기록하는지 리턴하는 메소드
+	 * @return 기록하면 true
+	 * */
+	public static boolean isLatencyHistogramEnabled() {
+		return recordLatencyHistogram;
+	}
+	
+	/**
+	 * 루틴 메소드의 실행시간을 히스토그램에 기록하는 메소드로 Leaf의 스레드에서만 호출된다.
+	 * @param arrayValue 루틴 메소드의 {@link RoutineStatus#getValue()}
+	 * @param nanos 실행시간
+	 * */
+	private void recordLatency(int arrayValue, long nanos) {
+		LatencyHistogram[] histograms = latencyHistograms;
+		
+		if(histograms == null) {
+			histograms = new LatencyHistogram[routineExcutionTimeArray.length];
+			latencyHistograms = histograms;
+		}
+		
+		LatencyHistogram histogram = histograms[arrayValue];
+		
+		if(histogram == null) {
+			histogram = new LatencyHistogram();
+			histograms[arrayValue] = histogram;
+		}
+		
+		histogram.record(nanos);
+	}
+	
+	/**
+	 * 루틴 메소드의 히스토그램을 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 히스토그램 (기록된 적이 없으면 null)
+	 * */
+	private LatencyHistogram getLatencyHistogram(RoutineStatus status) {
+		LatencyHistogram[] histograms = latencyHistograms;
+		
+		return histograms == null? null: histograms[status.getValue()];
+	}
+	
+	/**
+	 * 루틴 메소드를 처리하는데 걸린시간의 누적 분포를 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 지금까지 기록된 실행시간의 스냅샷 (기록이 없거나 {@link #setLatencyHistogramEnabled(boolean)}로 켜지 않았으면 {@link LatencySnapshot#EMPTY})
+	 * */
+	public final LatencySnapshot getLatencySnapshot(RoutineStatus status) {
+		LatencyHistogram histogram = getLatencyHistogram(status);
+		
+		return histogram == null? LatencySnapshot.EMPTY: histogram.snapshot();
+	}
+	
+	/**
+	 * 마지막으로 호출한 이후에 기록된 루틴 메소드 실행시간의 분포를 리턴하는 메소드로 주기적으로 호출하여 구간별 지연시간을 확인하는데 사용한다.<br>
+	 * (UEFBranch의 {@link UEFBranch#getIntervalLatencySnapshot(RoutineStatus)}도 같은 구간을 사용한다.)
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 구간 스냅샷 (기록이 없으면 {@link LatencySnapshot#EMPTY})
+	 * */
+	public final LatencySnapshot getIntervalLatencySnapshot(RoutineStatus status) {
+		LatencyHistogram histogram = getLatencyHistogram(status);
+		
+		return histogram == null? LatencySnapshot.EMPTY: histogram.intervalSnapshot();
+	}
+	
+	/**
+	 * 루틴 메소드 실행시간을 스냅샷 없이 경계값별 누적 수로 더하는 메소드로 많은 Leaf의 분포를 합칠 때 사용한다. ({@link LatencyHistogram#accumulate(long[], long[])} 참조)
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @param boundaries 오름차순으로 정렬된 경계값(나노초)
+	 * @param cumulative 누적 수를 더할 배열 (boundaries.length + 1 크기)
+	 * @return 기록된 실행시간의 합 (기록이 없으면 0)
+	 * */
+	public final long accumulateLatency(RoutineStatus status, long[] boundaries, long[] cumulative) {
+		LatencyHistogram histogram = getLatencyHistogram(status);
+		
+		return histogram == null? 0l: histogram.accumulate(boundaries, cumulative);
+	}
+	
+	/**
+	 * 루틴 메소드를 처리하는데 걸린시간의 백분위수를 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @param percentile 0 ~ 100 사이의 백분위 (예: 99.9)
+	 * @return 백분위수에 해당하는 나노초 (기록이 없으면 0)
+	 * */
+	public final long getRoutineExcutionPercentile(RoutineStatus status, double percentile) {
+		return getLatencySnapshot(status).getValueAtPercentile(percentile);
+	}
+	
+	/**
+	 * 루틴 메소드별 실행시간 히스토그램을 모두 지우는 메소드
+	 * */
+	public final void resetLatencyHistograms() {
+		LatencyHistogram[] histograms = latencyHistograms;
+		
+		if(histograms == null) return;
+		
+		for(LatencyHistogram histogram: histograms) {
+			if(histogram != null) histogram.reset();
+		}
+	}
+	
+	/**
+	 * 모든 Leaf가 execute() 틱의 지연, 실제 프레임, 초과 수를 측정할지 지정하는 메소드 (기본값은 false)<br>
+	 * 측정을 끄면 다음 execute()부터 틱이 끊어진 것으로 처리되며 이미 측정된 값은 남아있다.
+	 * @param enabled 측정하려면 true
+	 * */
+	public static void setTickTrackingEnabled(boolean enabled) {
+		trackTicks = enabled;
+	}
+	
+	/**
+	 * execute() 틱을 측정하는지 리턴하는 메소드
+	 * @return 측정하면 true
+	 * */
+	public static boolean isTickTrackingEnabled() {
+		return trackTicks;
+	}
+	
+	/**
+	 * execute() 틱의 측정값(지수이동평균/구간 실제 프레임, 지연 분포, 초과 수)을 리턴하는 메소드로 프레임을 지키지 못하는 Leaf를 찾는데 사용한다.
+	 * @return 측정값을 담은 {@link TickStats} (execute()를 실행한 적이 없거나 {@link #setTickTrackingEnabled(boolean)}로 켜지 않았으면 모든 값이 0)
+	 * */
+	public final TickStats getTickStats() {
+		TickTracker tracker = tickTracker;
+		
+		if(tracker == null) return new TickStats(getFrame(), 0l, 0l, 0.0, 0.0, 0l, -1l, LatencySnapshot.EMPTY);
+		
+		return tracker.snapshot(getFrame());
+	}
+	
+	/**
+	 * 모든 Leaf가 루틴 메소드별 CPU 시간과 할당량을 측정할지 지정하는 메소드 (기본값은 false)<br>
+	 * 측정하면 루틴 메소드마다 스레드의 CPU 시간과 할당량을 두 번씩 읽으며(약 0.3us) 측정을 꺼도 이미 측정된 값은 남아있다.
+	 * @param enabled 측정하려면 true
+	 * */
+	public static void setResourceTrackingEnabled(boolean enabled) {
+		trackResources = enabled;
+	}
+	
+	/**
+	 * 루틴 메소드별 CPU 시간과 할당량을 측정하는지 리턴하는 메소드
+	 * @return 측정하면 true
+	 * */
+	public static boolean isResourceTrackingEnabled() {
+		return trackResources;
+	}
+	
+	/**
+	 * 루틴 메소드별 CPU 시간과 할당량을 리턴하는 메소드로 CPU나 가비지를 많이 만드는 Leaf를 찾는데 사용한다. ({@link UEFManager#getTopCpuConsumers(int)} 참조)
+	 * @return 사용량을 담은 {@link ResourceUsage} (기록이 없거나 {@link #setResourceTrackingEnabled(boolean)}로 켜지 않았으면 모든 값이 0)
+	 * */
+	public final ResourceUsage getResourceUsage() {
+		ResourceMeter meter = resourceMeter;
+		
+		if(meter == null) {
+			int phases = routineExcutionTimeArray.length;
+			
+			return new ResourceUsage(getPath(), 0l, 0l, new long[phases], new long[phases], new long[phases]);
+		}
+		
+		return meter.snapshot(getPath());
+	}
+	
+	/**
+	 * 모든 루틴 메소드가 사용한 CPU 시간을 스냅샷 없이 리턴하는 메소드
+	 * @return 누적 나노초
+	 * */
+	public final long getCpuNanos() {
+		ResourceMeter meter = resourceMeter;
+		
+		return meter == null? 0l: meter.getTotalCpuNanos();
+	}
+	
+	/**
+	 * 모든 루틴 메소드가 할당한 메모리를 스냅샷 없이 리턴하는 메소드
+	 * @return 누적 바이트
+	 * */
+	public final long getAllocatedBytes() {
+		ResourceMeter meter = resourceMeter;
+		
+		return meter == null? 0l: meter.getTotalAllocatedBytes();
+	}
+	
+	/**
+	 * CPU 시간과 할당량 기록을 모두 지우는 메소드
+	 * */
+	public final void resetResourceUsage() {
+		ResourceMeter meter = resourceMeter;
+		
+		if(meter != null) meter.reset();
+	}
+	
+	/**
+	 * 기록된 execute() 틱 수를 스냅샷 없이 리턴하는 메소드
+	 * @return 틱 수
+	 * */
+	public final long getTickCount() {
+		TickTracker tracker = tickTracker;
+		
+		return tracker == null? 0l: tracker.getTickCount();
+	}
+	
+	/**
+	 * execute()의 실행시간이 주기보다 길었던 틱 수를 스냅샷 없이 리턴하는 메소드
+	 * @return 초과된 틱 수
+	 * */
+	public final long getOverrunCount() {
+		TickTracker tracker = tickTracker;
+		
+		return tracker == null? 0l: tracker.getOverrunCount();
+	}
+	
+	/**
+	 * execute() 틱의 측정값을 모두 지우는 메소드
+	 * */
+	public final void resetTickStats() {
+		TickTracker tracker = tickTracker;
+		
+		if(tracker != null) tracker.reset();
+	}
+	
 	/**
 	 * 실제 프레임을 리턴하는 메소드로 프레임을 변경하고 최소 한 번 이상의  {@link UEFLeaf execute()} 계산이 있어야 정확한 프레임을 구할 수 있으며, 
 	 * 또한 한 번의 계산을 진행하는데 프레임에 따른 최소실행시간과의 오차가 심한 실행시간을 가지는 경우 제대로된 프레임 값을 보장할 수 없음<br>
-	 * (현재의 실행 프레임을 구하므로 프레임간의 실행간격이 일정하지 않을 수 있으며 중간에 루틴의 변경이 잦은경우 정확하지 않을 수 있음)
+	 * (현재의 실행 프레임을 구하므로 프레임간의 실행간격이 일정하지 않을 수 있으며 중간에 루틴의 변경이 잦은경우 정확하지 않을 수 있음)<br>
+	 * 여러 틱에 걸친 실제 프레임은 {@link #getTickStats()}를 사용한다.
 	 * @return 초당 계산횟수(지정 프레임 * 프레임 계산속도 유지 변수)
 	 * */
 	public final double getRealFrame() {
 		return getFrame() * outterAwaitTimeAdjustMultiple;
 	}
-
+	
+	/**
+	 * 실행중인 루틴 메소드의 시작시간을 리턴하는 메소드로 루틴이 멈췄는지 확인하는데 사용한다. (루틴 사이의 대기시간은 포함하지 않음)
+	 * @return 시작시간({@link System#nanoTime()}, 실행중인 루틴이 없으면 0)
+	 * */
+	public final long getPhaseStartNanos() {
+		return phaseStartNanos;
+	}
+	
+	/**
+	 * 실행중인 루틴 메소드의 취소 토큰을 리턴하는 메소드로 루틴 메소드 안에서 사용한다.<br>
+	 * 토큰은 처음 호출할 때 만들어지며(호출하지 않는 Leaf는 할당이 없음) 루틴 메소드를 시작한 뒤 트리거가 바뀌면 취소된다.
+	 * execute()의 마감시간은 루틴 시작시간 + 주기이며 그 외 루틴 메소드는 마감시간이 없다.<br>
+	 * (다른 스레드에서 루틴 메소드를 취소할 때는 루틴이 바뀌는 사이에 다음 루틴의 토큰을 취소하지 않도록 {@link #cancelPhase(long)}를 사용한다.)
+	 * @return 취소 토큰 (실행중인 루틴이 없으면 {@link CancellationToken#NONE})
+	 * */
+	public final CancellationToken getCancellationToken() {
+		long startNanos = phaseStartNanos;
+		
+		if(startNanos == 0l) return CancellationToken.NONE;
+		
+		return getPhaseToken(startNanos);
+	}
+	
+	/**
+	 * startNanos에 시작한 루틴 메소드가 아직 실행중이면 그 루틴의 취소 토큰을 취소하는 메소드로 다른 스레드({@link org.UEF.others.StallWatchdog} 등)에서 사용한다.
+	 * @param startNanos 취소할 루틴 메소드의 시작시간 ({@link #getPhaseStartNanos()}로 얻은 값)
+	 * @return 이 호출로 취소되었으면 true (루틴이 이미 끝났거나 이미 취소된 경우 false)
+	 * */
+	public final boolean cancelPhase(long startNanos) {
+		if(startNanos == 0l) return false;
+		
+		return getPhaseToken(startNanos).cancel(null);
+	}
+	
+	/**
+	 * startNanos에 시작한 루틴 메소드의 토큰을 리턴하고 없으면 만드는 메소드<br>
+	 * 지난 루틴의 토큰은 무시하며, 만드는 사이에 루틴이 끝났으면 만든 토큰을 치우고 {@link CancellationToken#NONE}을 리턴한다.
+	 * @param startNanos 루틴 메소드의 시작시간
+	 * @return startNanos에 시작한 루틴의 토큰 (루틴이 끝났으면 {@link CancellationToken#NONE})
+	 * */
+	private CancellationToken getPhaseToken(long startNanos) {
+		while(true) {
+			CancellationToken token = phaseToken;
+			
+			if(token != null && token.getStartNanos() == startNanos) return token;
+			else if(phaseStartNanos != startNanos) return CancellationToken.NONE;
+			
+			// execute()의 마감시간은 주기만큼, 그 외 루틴 메소드는 프레임과 관계없으므로 마감시간 없음
+			CancellationToken newToken = new CancellationToken(this, startNanos, currentStatus == RoutineStatus.EXECUTE? startNanos + waitNanos: Long.MAX_VALUE);
+			
+			if(!TOKEN_UPDATER.compareAndSet(this, token, newToken)) continue;
+			
+			// 만드는 사이에 루틴이 끝난 경우 (끝날 때 토큰을 지우기 전에 끼어들지 못한 토큰)
+			if(phaseStartNanos != startNanos) {
+				TOKEN_UPDATER.compareAndSet(this, newToken, null);
+				
+				return CancellationToken.NONE;
+			}
+			
+			// 토큰을 만드는 사이에 트리거가 바뀐 경우 (요청 메소드는 토큰이 없어 취소하지 못함)
+			RoutineTriggerStatus tempTrigger = getCurrentTriggerStatus();
+			
+			if(tempTrigger != phaseTrigger) newToken.cancel(tempTrigger);
+			
+			return newToken;
+		}
+	}
+	
 	/**
 	 * 루틴 진행상태 리턴 메소드
 	 * @return 루틴 진행상태
@@ -339,8 +809,11 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 	}
 	
 	/**
-	 * RequestMethod에서 공통으로 처리되는 과정을 묶은 메소드
+	 * RequestMethod에서 공통으로 처리되던 과정을 묶은 메소드로 블로킹 메소드에서 빠져나오도록 {@link #freeBlocked()}를 호출한다.<br>
+	 * (요청 메소드는 락 없이 트리거를 바꾸고 다음 루틴 경계에서 적용하므로 더 이상 이 메소드를 호출하지 않는다.)
+	 * @deprecated 루틴 메소드의 블로킹은 {@link #getCancellationToken()}의 블로킹 메소드를 사용한다.
 	 * */
+	@Deprecated
 	protected final void commonRequestMethod() {
 		freeBlocked();
 	}
@@ -371,10 +844,10 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 		int ret = -1;
 		
 		log(Level.WARNING, "exceptionProcessing를 지정하지 않았습니다."
-				+ "\n발생한 예외: "+e.getMessage()
-				+ "\n발생한 예외 클래스: "+e.getClass()
-				+ "\n발생한 클래스: "+this.getClass()
-				+ "\n발생한 루틴 위치: "+where);
+				+ "\n발생한 예외: {}"
+				+ "\n발생한 예외 클래스: {}"
+				+ "\n발생한 클래스: {}"
+				+ "\n발생한 루틴 위치: {}", e.getMessage(), e.getClass(), this.getClass(), where);
 		
 		return ret;
 	}
@@ -383,101 +856,89 @@ public abstract class UEFLeaf extends UEFCell implements Routineable{
 	public final void requestPause() {
 		super.requestPause();
 		
-		try {
-			if(getCurrentTriggerStatus() == RoutineTriggerStatus.EXECUTE || 
-					getCurrentTriggerStatus() == RoutineTriggerStatus.NEW) {
-				commonRequestMethod();
-				
-				getLock().lock();
-				setTrigger(RoutineTriggerStatus.PAUSE);
-				getCommonCondition(0).signal();
-			}
-			else return;
-		}
-		catch (Exception e) {
-			e.printStackTrace();
-			
-			requestShutdown();
-		}
-		finally {
-			getLock().unlock();
-		}
-		
-		
+		transitTrigger(RoutineTriggerStatus.PAUSE, RoutineTriggerStatus.EXECUTE, RoutineTriggerStatus.NEW);
 	}
-
+	
 	@Override
 	public final void requestExecute() {
 		super.requestExecute();
 		
-		try {
-			if(getCurrentTriggerStatus() == RoutineTriggerStatus.PAUSE ||
-					getCurrentTriggerStatus() == RoutineTriggerStatus.STOP ||
-					getCurrentTriggerStatus() == RoutineTriggerStatus.NEW) {
-				commonRequestMethod();
-				
-				getLock().lock();
-				setTrigger(RoutineTriggerStatus.EXECUTE);
-				getCommonCondition(0).signal();
-			}
-			else return;
-		}
-		catch (Exception e) {
-			e.printStackTrace();
-			
-			requestShutdown();
-		}
-		finally {
-			getLock().unlock();
-		}
-		
-		
+		transitTrigger(RoutineTriggerStatus.EXECUTE, RoutineTriggerStatus.PAUSE, RoutineTriggerStatus.STOP, RoutineTriggerStatus.NEW);
 	}
-
+	
 	@Override
 	public final void requestStop() {
 		super.requestStop();
 		
-		try {
-			if(getCurrentTriggerStatus() == RoutineTriggerStatus.EXECUTE ||
-					getCurrentTriggerStatus() == RoutineTriggerStatus.PAUSE ||
-					getCurrentTriggerStatus() == RoutineTriggerStatus.NEW) {
-				commonRequestMethod();
-				
-				getLock().lock();
-				setTrigger(RoutineTriggerStatus.STOP);
-				getCommonCondition(0).signal();
-				
-			}
-			else return;
-		}
-		catch (Exception e) {
-			e.printStackTrace();
-			
-			requestShutdown();
-		}
-		finally {
-			getLock().unlock();
-		}
+		transitTrigger(RoutineTriggerStatus.STOP, RoutineTriggerStatus.EXECUTE, RoutineTriggerStatus.PAUSE, RoutineTriggerStatus.NEW);
 	}
 	
+	/**
+	 * 종료를 요청하는 메소드로 한번도 시작하지 않은 Leaf(스레드 예산이 없어 시작하지 못한 경우 포함)는 스레드를 만들지 않고
+	 * 이 메소드를 호출한 스레드에서 destroy()만 실행한다. (init()을 실행하지 않았으므로 destroy()는 init()에서 만든 자원이 없을 수 있음을 고려해야한다.)
+	 * */
 	@Override
 	public final void requestShutdown() {
 		super.requestShutdown();
 		
+		if(shutdownUnstarted()) {
+			destroyUnstarted();
+			return;
+		}
+		
+		transitTrigger(RoutineTriggerStatus.SHUTDOWN, RoutineTriggerStatus.NEW, RoutineTriggerStatus.EXECUTE,
+				RoutineTriggerStatus.PAUSE, RoutineTriggerStatus.STOP);
+	}
+	
+	/**
+	 * 스레드 없이 종료된 Leaf의 destroy()를 호출한 스레드에서 실행하는 메소드 (프레임 대기 없이 한번만 실행한다.)
+	 * */
+	private void destroyUnstarted() {
+		int arrayValue = RoutineStatus.DESTROY.getValue();
+		long tempNanos = System.nanoTime();
+		
+		recordLifecycle(LifecycleEventType.PHASE_START, arrayValue, 0l, null);
+		currentStatus = RoutineStatus.DESTROY;
+		
 		try {
-			commonRequestMethod();
-			
-			getLock().lock();
-			setTrigger(RoutineTriggerStatus.SHUTDOWN);
-			getCommonCondition(0).signal();
-
+			destroy();
 		}
 		catch (Exception e) {
-			e.printStackTrace();
+			// 이미 SHUTDOWN 상태이므로 처리 결과와 관계없이 종료됨
+			recordLifecycle(LifecycleEventType.EXCEPTION, exceptionProcessing(e, RoutineStatus.DESTROY), arrayValue, e.getClass());
 		}
-		finally {
-			getLock().unlock();
+		
+		recordLifecycle(LifecycleEventType.PHASE_END, arrayValue, System.nanoTime() - tempNanos, null);
+	}
+	
+	/**
+	 * 트리거가 fromStatus 중 하나인 경우 afterStatus로 바꾸고 스레드를 깨우는 메소드로 요청 메소드에서 사용한다.<br>
+	 * 락을 잡지 않고 CAS로 트리거를 바꾸므로 execute()가 실행중이어도 바로 리턴되며 바뀐 트리거는 다음 루틴 경계(execute()가 끝나거나 틱 사이의 대기)에서 적용된다.
+	 * 실행중인 루틴 메소드의 취소 토큰을 취소하므로 토큰의 블로킹 메소드에서 대기중이면 바로 빠져나오며,
+	 * 그 외의 블로킹 메소드는 인터럽트하지 않으므로 execute()가 멈춘 경우에는 {@link org.UEF.others.StallWatchdog}이나 {@link #interruptThread()}를 사용한다.
+	 * @param afterStatus 바꿀 다음 상태
+	 * @param fromStatus 바꿀 수 있는 현재 상태
+	 * */
+	private void transitTrigger(RoutineTriggerStatus afterStatus, RoutineTriggerStatus... fromStatus) {
+		while(true) {
+			RoutineTriggerStatus beforeStatus = getCurrentTriggerStatus();
+			boolean isAllowed = false;
+			
+			for(RoutineTriggerStatus temp: fromStatus) {
+				if(temp == beforeStatus) {
+					isAllowed = true;
+					break;
+				}
+			}
+			
+			if(!isAllowed) return;
+			else if(compareAndSetTrigger(beforeStatus, afterStatus)) break;
 		}
+		
+		CancellationToken token = phaseToken;
+		
+		if(token != null) token.cancel(afterStatus);
+		
+		unparkThread();
 	}
 }
@@ -1,31 +1,73 @@
 package org.UEF.core;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.security.AccessControlException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 import org.UEF.enu.CoreOrderNumber;
+import org.UEF.enu.LifecycleEventType;
+import org.UEF.enu.OrderLane;
+import org.UEF.enu.QueueOverflowPolicy;
 import org.UEF.enu.RoutineTriggerStatus;
+import org.UEF.enu.StallPolicy;
+import org.UEF.itf.UEFBranchFactory;
+import org.UEF.itf.UEFLeafFactory;
+import org.UEF.jfr.OrderApplyEvent;
+import org.UEF.jfr.OrderEnqueueEvent;
+import org.UEF.jmx.UEFMBeanRegistry;
+import org.UEF.others.AsyncLogWriter;
+import org.UEF.others.CellDescriptor;
 import org.UEF.others.DoubleQueue;
+import org.UEF.others.LifecycleRecorder;
+import org.UEF.others.MetricsExporter;
 import org.UEF.others.Order;
+import org.UEF.others.OrderEndpoint;
+import org.UEF.others.OrderJournal;
+import org.UEF.others.OrderLaneStats;
+import org.UEF.others.OrderQueueStats;
+import org.UEF.others.ResourceUsage;
 import org.UEF.others.ResultWaitter;
+import org.UEF.others.StallWatchdog;
+import org.UEF.others.TopologySnapshot;
 
 /**
- * UEFManager는 UEFCell객체를 한번에 관리하기 위한 클래스로 싱글톤 형식으로 구현되어 있으며 3개의 스레드가 UEFManager를 관리한다.
+ * UEFManager는 UEFCell객체를 한번에 관리하기 위한 클래스로 이름을 가진 런타임 단위로 생성되며 각 런타임은 3개의 스레드가 관리한다.<br>
+ * 런타임마다 명령 큐, 관리 리스트, 스레드 예산을 따로 가지므로 하나의 JVM에서 서로 격리된 런타임을 여러개 실행할 수 있다.
+ * ({@link #getInstance()}는 기본 런타임을 리턴하며 {@link #create(String, int)}로 새로운 런타임을 만든다.)
  * <ul>
  * <li>
  * allCellListThread: 생성되는 모든 UEFCell객체의 존재여부를 담당하는 스레드로 사용자가 지정한 시간에 한번씩(기본 1초) shutdown상태에 들어간 UEFCell객체가 500ms가 지났는지 확인하고 제거한다.
  * </li>
  * <br>
  * <li>
- * orderInterpreterThread: UEFManager를 통해 관리할 수 있도록 설정을 담당하는 스레드로 관리할 UEFLeaf, UEFBranch의 추가, 삭제, 조작 및 UEFManager의 전체 설정을 조작하는 명령을 실행한다.
+ * orderInterpreterThread: UEFManager를 통해 관리할 수 있도록 설정을 담당하는 스레드로 관리할 UEFLeaf, UEFBranch의 추가, 삭제, 조작 및 UEFManager의 전체 설정을 조작하는 명령을 실행한다.<br>
+ * (트리거 조작과 종료 명령({@link OrderLane#CONTROL})은 추가, 삭제 명령({@link OrderLane#CONFIG})보다 먼저 처리된다.
+ * 단, 먼저 들어온 CONFIG 줄의 명령 중 대상 Branch가 겹치는 명령이 있으면 그 명령이 처리된 뒤에 처리된다.)
  * </li>
  * <br>
  * <li>
@@ -34,18 +76,67 @@ import org.UEF.others.ResultWaitter;
  * </ul>
  * */
 public final class UEFManager extends UEFCell {
-	// 싱글톤 인스턴스
-	private static UEFManager 
-		instance = null;
+	// 기본 런타임의 이름
+	public static final String 
+		DEFAULT_RUNTIME_NAME = "UEFManager";
+	
+	// 스레드 예산을 제한하지 않는 경우 사용하는 값
+	public static final int 
+		UNLIMITED_THREAD_BUDGET = 0;
+	
+	// 명령 큐 크기를 지정하지 않은 경우 사용하는 값
+	public static final int 
+		DEFAULT_ORDER_QUEUE_CAPACITY = 65_536;
+	
+	// Leaf만 등록할 때 사용되는 기본 Branch의 이름
+	public static final String 
+		DEFAULT_BRANCH_NAME = "default";
+	
+	// CONTROL 줄의 명령을 연속으로 처리할 수 있는 기본 최대 수
+	public static final int 
+		DEFAULT_CONTROL_BURST_LIMIT = 64;
+	
+	/*
+	 * 명령이 없을때 명령 해석 스레드가 대기하는 최대 시간(나노초)
+	 * 명령 해석 스레드가 관리리스트를 정리하기 전까지 연속으로 처리하는 최대 명령 수
+	 * */
+	private static final long 
+		IDLE_PARK_NANOS = 100_000_000l;
+	private static final int 
+		ORDERS_PER_PASS = 1_024;
+	
+	// 이름별로 생성된 런타임 인스턴스
+	private static final Map<String, UEFManager> 
+		runtimeMap = new ConcurrentHashMap<String, UEFManager>();
+	
+	// 런타임이 동시에 실행할 수 있는 UEFCell 스레드 수 (null이면 제한없음)
+	private final Semaphore 
+		threadBudget;
+	
+	// 런타임에서 실행중인 UEFCell 스레드 수
+	private final AtomicInteger 
+		runningThreadCount = new AtomicInteger();
+	
+	// 스레드 예산이 바닥난 뒤 경고를 남겼는지 여부 (스레드가 예산을 반납하면 다시 false가 됨)
+	private final AtomicBoolean 
+		threadBudgetWarned = new AtomicBoolean();
 	
 	// Cell 전체를 관리하는 리스트
 	protected final List<UEFCell> 
 		allCellList = new Vector<UEFCell>();
 	
+	// 전체 리스트에 객체가 들어있는지 빠르게 확인하기 위한 집합
+	private final Set<UEFCell> 
+		allCellSet = ConcurrentHashMap.newKeySet();
+	
 	// 사용자가 조작하고자 하는 Cell을 등록하는 리스트
 	protected final List<UEFBranch> 
 		manageCellList = new Vector<UEFBranch>();
 	
+	// 관리 리스트의 Branch를 이름으로 찾기 위한 색인
+	private final Map<String, UEFBranch> 
+		manageBranchMap = new ConcurrentHashMap<String, UEFBranch>();
+	
 	/*
 	 * Cell 전체 리스트를 관리하는 스레드
 	 * 명령을 해석해 관리 리스트를 조작하는 스레드
@@ -56,9 +147,106 @@ public final class UEFManager extends UEFCell {
 		orderInterpreterThread = null,	
 		shutdownHook = null;			
 	
-	// 사용자가 처리하고자 할 명령을 담는 Queue로 orderInterpreter에서 사용한다.
-	protected DoubleQueue<Order> 
-		doubleQueue = new DoubleQueue<Order>();
+	// 수명주기 이벤트를 기록하는 링 버퍼
+	private final LifecycleRecorder 
+		lifecycleRecorder = new LifecycleRecorder(this, LifecycleRecorder.CAPACITY);
+	
+	// Branch, Leaf의 MBean 등록을 관리하는 객체
+	private final UEFMBeanRegistry 
+		mbeanRegistry = new UEFMBeanRegistry(this);
+	
+	// 클래스 이름별로 등록된 UEFLeaf, UEFBranch 생성기 (저널, 스냅샷 복구에 사용)
+	private final Map<String, UEFLeafFactory> 
+		leafFactoryMap = new ConcurrentHashMap<String, UEFLeafFactory>();
+	private final Map<String, UEFBranchFactory> 
+		branchFactoryMap = new ConcurrentHashMap<String, UEFBranchFactory>();
+	
+	/*
+	 * 처리된 명령을 기록하는 저널 (사용하지 않으면 null)
+	 * 저널 압축을 진행할 기록 수 (마지막 압축 이후 추가된 기록 수 기준)
+	 * 마지막 압축 직후의 기록 수
+	 * */
+	private OrderJournal 
+		journal = null;
+	private int 
+		journalCompactThreshold = 0,
+		journalCompactedCount = 0;
+	
+	// 프로세스 밖에서 명령을 받는 서버 (사용하지 않으면 null)
+	private volatile OrderEndpoint 
+		endpoint = null;
+	
+	// 측정값을 내보내는 서버 (사용하지 않으면 null)
+	private volatile MetricsExporter 
+		metricsExporter = null;
+	
+	// 멈춘 Leaf를 찾는 감시 객체 (사용하지 않으면 null)
+	private volatile StallWatchdog 
+		watchdog = null;
+	
+	// 로그를 비동기로 남기는 객체 (사용하지 않으면 null)
+	private volatile AsyncLogWriter 
+		asyncLogWriter = null;
+	
+	// 사용자가 처리하고자 할 CONFIG 줄의 명령을 담는 Queue로 orderInterpreter에서 사용한다.
+	protected final DoubleQueue<Order> 
+		doubleQueue;
+	
+	// CONTROL 줄의 명령을 담는 Queue로 doubleQueue보다 먼저 처리된다. (doubleQueue와 같은 크기 제한과 처리 방법을 따로 가짐)
+	protected final DoubleQueue<Order> 
+		controlQueue;
+	
+	/*
+	 * CONTROL 줄의 명령을 연속으로 처리할 수 있는 최대 수 (넘으면 CONFIG 줄의 명령을 하나 처리함)
+	 * 현재 CONTROL 줄의 명령을 연속으로 처리한 수 (명령 해석 스레드에서만 사용)
+	 * */
+	private volatile int 
+		controlBurstLimit = DEFAULT_CONTROL_BURST_LIMIT;
+	private int 
+		controlStreak = 0;
+	
+	/*
+	 * 같은 대상에 대한 대기중인 명령을 새로운 명령으로 대체할지 여부
+	 * 대상별로 가장 최근에 들어온 명령 (대기중인 명령을 찾아 대체하기 위해 사용)
+	 * 대체되어 실행되지 않은 명령 수
+	 * */
+	private volatile boolean 
+		orderCoalescing = true;
+	private final Map<String, Order> 
+		coalesceMap = new ConcurrentHashMap<String, Order>();
+	private final AtomicLong 
+		collapsedOrderCount = new AtomicLong();
+	
+	/*
+	 * 명령이 들어온 순서번호
+	 * 대상 Branch를 알 수 없는 CONFIG 줄 명령의 가장 큰 순서번호
+	 * */
+	private final AtomicLong 
+		orderSequence = new AtomicLong(),
+		untargetedConfigSequence = new AtomicLong();
+	
+	// 아직 꺼내지 않은 CONFIG 줄 명령의 순서번호 (CONTROL 줄의 명령이 앞선 명령을 넘어서지 않도록 확인하는데 사용)
+	private final ConcurrentSkipListSet<Long> 
+		pendingConfigSequences = new ConcurrentSkipListSet<Long>();
+	
+	// 아직 꺼내지 않은 CONFIG 줄 명령의 대상 Branch 이름별 가장 큰 순서번호
+	private final Map<String, Long> 
+		pendingConfigTargets = new ConcurrentHashMap<String, Long>();
+	
+	// 앞선 CONFIG 줄 명령을 기다리는 CONTROL 줄의 명령 (명령 해석 스레드에서만 사용)
+	private Order 
+		heldControlOrder = null;
+	
+	/*
+	 * 줄별로 처리한 명령 수
+	 * 줄별 명령의 총 대기 시간(나노초)
+	 * 줄별 명령의 최대 대기 시간(나노초)
+	 * (OrderLane의 순서를 인덱스로 사용)
+	 * */
+	private final AtomicLongArray 
+		laneProcessedCount = new AtomicLongArray(OrderLane.values().length),
+		laneWaitNanos = new AtomicLongArray(OrderLane.values().length),
+		laneMaxWaitNanos = new AtomicLongArray(OrderLane.values().length);
 	
 	/*
 	 * 스레드 작동을 시작했는지 나타내는 값
@@ -79,9 +267,15 @@ public final class UEFManager extends UEFCell {
 	
 	
 	
-	private UEFManager(String name) {
+	private UEFManager(String name, int threadBudget, int orderQueueCapacity, QueueOverflowPolicy overflowPolicy) {
 		super(name, false, false);
 		
+		this.threadBudget = threadBudget > UNLIMITED_THREAD_BUDGET? new Semaphore(threadBudget): null;
+		
+		// 같은 명령 번호를 같은 종류로 보고, 버려진 명령의 결과를 기다리는 쪽은 null을 받음
+		this.doubleQueue = new DoubleQueue<Order>(orderQueueCapacity, overflowPolicy, Order::getOrderNumber, this::dropOrder);
+		this.controlQueue = new DoubleQueue<Order>(orderQueueCapacity, overflowPolicy, Order::getOrderNumber, this::dropOrder);
+		
 		log(Level.INFO, "UEF 라이브러리를 시작합니다.");
 		/*
 		 * 전체 리스트 관리 Runnable
@@ -102,6 +296,8 @@ public final class UEFManager extends UEFCell {
 							
 							if(cell.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) {
 								itr.remove();
+								allCellSet.remove(cell);
+								mbeanRegistry.remove(cell);
 							}
 						}
 					}
@@ -124,29 +320,18 @@ public final class UEFManager extends UEFCell {
 		Runnable orderInterpreterThreadRunnable = new Runnable() {
 			@Override
 			public void run() {
-				Queue<Order> tempQueue = null;
-				Iterator<Order> itr = null;
+				Order tempOrder = null;
 				Iterator<UEFBranch> manageItr = null;
 				try {
 					log(Level.INFO, "OrderInterpreterThread 시작");
 					
-					UEFBranch defaultBranch = new UEFBranch("default", true, true) {};
-					defaultBranch.setWaitForEnd(true);
-					defaultBranch.setParent(UEFManager.getInstance());
-					
-					manageCellList.add(defaultBranch);
-					
 					while(isOver == false) {
-						do {
-							// 큐가 계속 비어있는 경우 100ms 대기
-							Thread.sleep(100);
-						} while(doubleQueue.isEmpty());
-						
-						// 큐 빌려오기
-						tempQueue = doubleQueue.borrowQueue();
-						
-						// 반복자 생성
-						itr = tempQueue.iterator();
+						// 처리할 수 있는 명령이 없는 경우 명령이 들어오거나 100ms가 지날때까지 대기
+						while(!hasReadyOrder()) {
+							LockSupport.parkNanos(IDLE_PARK_NANOS);
+							
+							if(Thread.interrupted()) throw new InterruptedException();
+						}
 						
 						// 큐관련 작업을 처리하기 전 관리리스트를 정리
 						manageItr = manageCellList.iterator();
@@ -156,74 +341,45 @@ public final class UEFManager extends UEFCell {
 							
 							if(tempBranch.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) {
 								manageItr.remove();
+								manageBranchMap.remove(tempBranch.getName(), tempBranch);
 							}
 								
 						}
 						
-						// 큐가 비어있는지 확인
-						while(itr.hasNext()) {
-							// 큐에서 꺼내오기
-							Order tempOrder = itr.next();
-							
+						// 줄의 우선순위에 따라 꺼내오기 (꺼낸 만큼 자리가 생김)
+						for(int i = 0; i < ORDERS_PER_PASS && (tempOrder = takeNextOrder()) != null; i++) {
 							// System.out.println(tempOrder);
 							
-							// null 일 경우 생략 
-							if(tempOrder == null) continue;
+							// 같은 대상에 대한 새로운 명령으로 대체된 경우 생략
+							if(claimOrder(tempOrder) == false) continue;
+							
+							long waitNanos = recordLaneWait(tempOrder);
+							// 명령 실행을 기록할 JFR 이벤트 (기록중이 아니면 아무것도 하지 않음)
+							OrderApplyEvent event = new OrderApplyEvent();
+							
+							event.begin();
 							
 							try {
-								switch (tempOrder.getOrderNumber()) {
-									case 100: // REGIST_LO - UEFLeaf
-										RegistLeaf(tempOrder); break;
-											
-									case 101: // REGIST_BO - UEFBranch 
-									case 102: // REGIST_BN - UEFBranchName
-										RegistBranch(tempOrder); break;
-									
-									case 103: // REGIST_LOBO - UEFLeaf, UEFBranch 
-										RegistLeafByBranchObject(tempOrder); break;
-										
-									case 104: // REGIST_LOBN - UEFLeaf, UEFBranchName
-										RegistLeafByBranchName(tempOrder); break;
+								applyOrder(tempOrder);
 								
-									
-									case 200: // REMOVE_LO - UEFLeaf
-										RemoveLeaf(tempOrder); break;
-									
-									case 201: // REMOVE_BO - UEFBranch 
-									case 202: // REMOVE_BN - UEFBranchName
-										RemoveBranch(tempOrder); break;
-									 
-									case 203: // REMOVE_LOBO - UEFLeaf, UEFBranch
-										RemoveLeafByBranchObject(tempOrder); break;
-									case 204: // REMOVE_LOBN - UEFLeaf, UEFBranchName
-										RemoveLeafByBranchName(tempOrder); break;
-										
-									case 300: // SET_FRAME - frame
-										SetFrame(tempOrder); break;
-										
-									case 301: // SET_STREAM - OutputStream - deprecated
-										// SetStream(tempOrder);
-										break;
-										
-									case 302: // EXIT_UEFMANAGER
-										ExitUEFManager(tempOrder); break;
-										
-									case 400: // REQUEST_EXECUTE - UEFBranchNamePattern
-									case 401: // REQUEST_PAUSE - UEFBranchNamePattern
-									case 402: // REQUEST_STOP - UEFBranchNamePattern
-									case 403: // REQUEST_SHUTDOWN - UEFBranchNamePattern
-										RequestTrigger(tempOrder); break;
-
-									
-									default:
-										break;
-								}
+								// 처리된 명령을 저널에 기록
+								journalOrder(tempOrder);
+								recordLifecycle(LifecycleEventType.ORDER_APPLY, tempOrder.getOrderNumber(), waitNanos, null);
 							}
 							catch (Exception e) {
-								log(Level.WARNING, tempOrder+" 실행에 실패했습니다. ("+e.getMessage()+")");
+								event.failed = true;
+								recordLifecycle(LifecycleEventType.ORDER_FAILED, tempOrder.getOrderNumber(), waitNanos, e.getClass());
+								log(Level.WARNING, "{} 실행에 실패했습니다. ({})", tempOrder, e.getMessage());
 							}
-							finally {
-								itr.remove();
+							
+							event.end();
+							
+							if(event.shouldCommit()) {
+								event.runtime = getName();
+								event.orderNumber = tempOrder.getOrderNumber();
+								event.lane = OrderLane.of(tempOrder.getOrderNumber()).name();
+								event.queueLatency = waitNanos;
+								event.commit();
 							}
 						}
 					}
@@ -253,10 +409,14 @@ public final class UEFManager extends UEFCell {
 					shutdownHookIsStarted = true;
 				}
 				
-				Iterator<UEFCell> itr = null;
 				// 끝내기 선언
 				isOver = true;
 				
+				// 더이상 밖에서 명령을 받지 않음
+				closeEndpoint();
+				closeMetrics();
+				stopWatchdog();
+				
 				// 스레드 종료선언
 				allCellListThread.interrupt();
 				// 스레드 종료선언
@@ -272,72 +432,74 @@ public final class UEFManager extends UEFCell {
 					
 					
 					
-					// 반복자 생성
-					itr = allCellList.iterator();
+					// 의존관계에 따라 시작순서의 역순으로 종료할 단계(wave)들을 계산
+					List<List<UEFCell>> waves = getDependencyWaves();
+					List<UEFCell> branchWave = new ArrayList<UEFCell>();
 					
 					log(Level.INFO,"------------------------------Shutdown 시작------------------------------");
 					
-					// 종료요청이 가지 않은 모든 Cell에 requestShutdown요청
-					if(itr != null) {
-						while(itr.hasNext()) {
-							UEFCell cell = itr.next();
-							try {
-								cell.requestShutdown();
-								
-								log(Level.INFO, cell+" Shutdown 성공");
-							}
-							catch (AccessControlException e1) {
-								// 이미 셧다운 됬음
-								log(Level.INFO, cell+" Shutdown 성공(already)");
-							}
-							catch (Exception e2) {
-								log(Level.WARNING, cell+" Shutdown 실패: "+e2.getMessage());
+					// Branch는 SHUTDOWN시 모든 자식을 한번에 종료시키므로 Leaf들의 종료가 끝난 후 마지막에 종료한다.
+					for(List<UEFCell> wave: waves) {
+						Iterator<UEFCell> waveItr = wave.iterator();
+						
+						while(waveItr.hasNext()) {
+							UEFCell cell = waveItr.next();
+							
+							if(cell instanceof UEFBranch) {
+								waveItr.remove();
+								branchWave.add(cell);
 							}
 						}
 					}
 					
-					// 반복자 생성
-					itr = allCellList.iterator();
+					waves.add(0, branchWave);
 					
-					
-					log(Level.INFO,"------------------------------join 시작------------------------------");
-					if(itr != null) {
-						// 반드시 종료되어야하는 스레드 join으로 기다리기
-						while(itr.hasNext()) {
-							UEFCell cell = itr.next();
-							
-							if(cell.isWaitForEnd()) {
-								try {
-									cell.join();
-									log(Level.INFO, cell+" join 성공");
-								}
-								catch (Exception e) {
-									log(Level.WARNING, cell+" join 실패: "+e.getMessage());
-								}
-							}
-						}
+					// 의존하는 객체가 먼저 종료될 수 있도록 마지막 단계부터 종료를 진행
+					for(int i = waves.size() - 1; i >= 0; i--) {
+						shutdownWave(waves.get(i));
 					}
 					
+					// 저널을 디스크에 반영하고 닫기
+					closeJournal();
+					
+					// 등록된 MBean 해제
+					mbeanRegistry.removeAll();
 					
 					log(Level.INFO, "ShutdownHook 종료");
 					log(Level.INFO, "------------------------------UEF라이브러리 종료 성공------------------------------");
 				}
 				catch (Exception e2) {
-					log(Level.SEVERE, "시스템 종료 실패: "+e2.getMessage());
+					log(Level.SEVERE, "시스템 종료 실패: {}", e2.getMessage());
 				}
 				finally {
-					
+					// 종료중에 남긴 로그까지 모두 남긴 뒤 비동기 로그 종료
+					stopAsyncLogging();
 				}
 			}
 		};
 		
+		/*
+		 * 'default' Branch 생성
+		 * (launch 이전에 저널을 복구할 수 있도록 생성자에서 만든다.)
+		 * */
+		try {
+			UEFBranch defaultBranch = new UEFBranch(DEFAULT_BRANCH_NAME, true, true, this) {};
+			defaultBranch.setWaitForEnd(true);
+			defaultBranch.setParent(this);
+			
+			addManagedBranch(defaultBranch);
+		}
+		catch (Exception e) {
+			log(Level.SEVERE, "'default' Branch 생성 실패: {}", e.getMessage());
+		}
+		
 		allCellListThread = new Thread(allCellListThreadRunnable);
 		orderInterpreterThread = new Thread(orderInterpreterThreadRunnable);
 		shutdownHook = new Thread(shutdownHookRunnable);
 		
-		allCellListThread.setName("AllCellListThread");
-		orderInterpreterThread.setName("OrderInterpreterThread");
-		shutdownHook.setName("ShutdownHook");
+		allCellListThread.setName(name+"-AllCellListThread");
+		orderInterpreterThread.setName(name+"-OrderInterpreterThread");
+		shutdownHook.setName(name+"-ShutdownHook");
 		
 		Runtime.getRuntime().addShutdownHook(shutdownHook);
 	}
@@ -346,9 +508,179 @@ public final class UEFManager extends UEFCell {
 	 * 전체 Cell 리스트에 new된 객체를 넣는 메소드
 	 * @param cell 전체 리스트에 넣을 값
 	 * */
-	static final void addCell(UEFCell cell) {
-		if(!getInstance().allCellList.contains(cell) && getInstance().isEnd() == false) {
-			getInstance().allCellList.add(cell);
+	final void addCell(UEFCell cell) {
+		if(isEnd() == false && allCellSet.add(cell)) {
+			allCellList.add(cell);
+		}
+	}
+	
+	/**
+	 * 관리 리스트와 이름 색인에 Branch를 추가하는 메소드
+	 * @param branch 추가할 Branch
+	 * @return 추가에 성공하면 true
+	 * */
+	private boolean addManagedBranch(UEFBranch branch) {
+		if(manageCellList.add(branch)) {
+			manageBranchMap.put(branch.getName(), branch);
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * 관리 리스트와 이름 색인에서 Branch를 제거하는 메소드
+	 * @param branch 제거할 Branch
+	 * @return 제거에 성공하면 true
+	 * */
+	private boolean removeManagedBranch(UEFBranch branch) {
+		if(manageCellList.remove(branch)) {
+			manageBranchMap.remove(branch.getName(), branch);
+			
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * 런타임의 스레드 예산에서 스레드 하나를 사용하는 메소드 (UEFCell의 스레드 시작시 호출)<br>
+	 * 예산이 바닥나면 경고를 한번만 남기며 Branch가 매 주기마다 다시 시작을 요청해도 반복해서 남기지 않는다.
+	 * @param cell 스레드를 시작하려는 UEFCell
+	 * @return 예산이 남아있어 스레드를 시작할 수 있으면 true
+	 * */
+	final boolean acquireThread(UEFCell cell) {
+		if(isEnd) return false;
+		else if(threadBudget != null && !threadBudget.tryAcquire()) {
+			if(threadBudgetWarned.compareAndSet(false, true)) 
+				log(Level.WARNING, "스레드 예산을 모두 사용하여 {}를 시작하지 못했습니다. (실행중인 스레드 {}개, 스레드가 종료될 때까지 다시 경고하지 않음)", 
+						cell, runningThreadCount.get());
+			
+			return false;
+		}
+		
+		runningThreadCount.incrementAndGet();
+		
+		return true;
+	}
+	
+	/**
+	 * 사용한 스레드 예산을 반납하는 메소드 (UEFCell의 스레드 종료시 호출)
+	 * */
+	final void releaseThread() {
+		runningThreadCount.decrementAndGet();
+		
+		if(threadBudget != null) {
+			threadBudget.release();
+			
+			// 예산이 다시 생겼으므로 다음에 바닥나면 다시 경고
+			threadBudgetWarned.set(false);
+		}
+	}
+	
+	/**
+	 * 런타임에서 실행중인 UEFCell 스레드 수를 리턴하는 메소드
+	 * @return 실행중인 스레드 수
+	 * */
+	public int getRunningThreadCount() {
+		return runningThreadCount.get();
+	}
+	
+	/**
+	 * 런타임이 추가로 시작할 수 있는 스레드 수를 리턴하는 메소드
+	 * @return 남은 스레드 예산 (제한이 없으면 Integer.MAX_VALUE)
+	 * */
+	public int getAvailableThreadBudget() {
+		return threadBudget == null? Integer.MAX_VALUE: threadBudget.availablePermits();
+	}
+	
+	/**
+	 * 전체 Cell 리스트의 객체들을 의존관계에 따라 동시에 시작할 수 있는 단계(wave)로 나누어 리턴하는 메소드<br>
+	 * 각 단계에 속한 객체들은 이전 단계의 객체들에게만 의존하므로 같은 단계끼리는 병렬로 시작할 수 있으며 종료는 역순으로 진행한다.<br>
+	 * (순환하는 의존관계가 존재하는 경우 해당 객체들은 마지막 단계에 포함된다.)
+	 * @return 시작 순서대로 정렬된 단계 리스트
+	 * */
+	public List<List<UEFCell>> getDependencyWaves() {
+		List<List<UEFCell>> result = new ArrayList<List<UEFCell>>();
+		List<UEFCell> remain = new ArrayList<UEFCell>(allCellList);
+		Set<UEFCell> cellSet = new HashSet<UEFCell>(remain);
+		Map<UEFCell, Integer> inDegree = new HashMap<UEFCell, Integer>();
+		
+		// 전체 리스트 안에 존재하는 의존 대상만 진입차수로 계산
+		for(UEFCell cell: remain) {
+			int degree = 0;
+			
+			for(UEFCell dependency: cell.getDependencies()) {
+				if(cellSet.contains(dependency)) degree++;
+			}
+			
+			inDegree.put(cell, degree);
+		}
+		
+		while(!remain.isEmpty()) {
+			List<UEFCell> wave = new ArrayList<UEFCell>();
+			
+			for(UEFCell cell: remain) {
+				if(inDegree.get(cell) == 0) wave.add(cell);
+			}
+			
+			// 순환이 발생하여 더이상 진행할 수 없는 경우 남은 객체를 마지막 단계로 묶음
+			if(wave.isEmpty()) {
+				wave.addAll(remain);
+			}
+			
+			remain.removeAll(new HashSet<UEFCell>(wave));
+			
+			for(UEFCell cell: wave) {
+				for(UEFCell dependent: cell.getDependents()) {
+					Integer degree = inDegree.get(dependent);
+					
+					if(degree != null) inDegree.put(dependent, degree - 1);
+				}
+			}
+			
+			result.add(wave);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 하나의 단계(wave)에 속한 객체들에게 차례로 requestShutdown을 요청하고 종료를 기다려야하는 객체들의 종료를 기다리는 메소드<br>
+	 * (requestShutdown은 트리거만 바꾸고 바로 리턴되므로 객체마다 스레드를 만들지 않고 한 스레드에서 요청함)<br>
+	 * (종료를 기다려야하는 객체: waitForEnd가 true이거나 다른 객체에 의존하고 있는 객체)
+	 * @param wave 종료할 객체 리스트
+	 * */
+	private void shutdownWave(List<UEFCell> wave) {
+		if(wave.isEmpty()) return;
+		
+		for(UEFCell cell: wave) {
+			try {
+				cell.requestShutdown();
+				
+				log(Level.INFO, "{} Shutdown 성공", cell);
+			}
+			catch (AccessControlException e1) {
+				// 이미 셧다운 됬음
+				log(Level.INFO, "{} Shutdown 성공(already)", cell);
+			}
+			catch (Exception e2) {
+				log(Level.WARNING, "{} Shutdown 실패: {}", cell, e2.getMessage());
+			}
+		}
+		
+		// 다음 단계의 객체들이 종료되기 전에 현재 단계의 객체들이 완전히 종료되도록 join으로 기다리기
+		for(UEFCell cell: wave) {
+			if(cell.isWaitForEnd() || !cell.getDependencies().isEmpty()) {
+				try {
+					cell.join();
+					log(Level.INFO, "{} join 성공", cell);
+				}
+				catch (Exception e) {
+					log(Level.WARNING, "{} join 실패: {}", cell, e.getMessage());
+				}
+			}
 		}
 	}
 	
@@ -365,20 +697,98 @@ public final class UEFManager extends UEFCell {
 	}
 	
 	/**
-	 * UEFManager를 리턴하는 메소드 (UEFManager는 단 한번만 생성된다.)
-	 * @return UEFManager
+	 * 기본 런타임 UEFManager를 리턴하는 메소드 (기본 런타임은 단 한번만 생성된다.)
+	 * @return UEFManager (이미 종료된 경우 null)
 	 * */
 	public static UEFManager getInstance() {
-		if(instance == null) instance = new UEFManager("UEFManager");
+		return getInstance(DEFAULT_RUNTIME_NAME);
+	}
+	
+	/**
+	 * name을 가진 런타임을 리턴하는 메소드로 존재하지 않으면 스레드 예산 제한이 없는 런타임을 만든다.
+	 * @param name 런타임 이름
+	 * @return UEFManager (이미 종료된 경우 null)
+	 * @exception NullPointerException name이 null인 경우
+	 * */
+	public static UEFManager getInstance(String name) {
+		if(name == null) throw new NullPointerException("name is null");
+		
+		UEFManager result = runtimeMap.get(name);
+		
+		if(result == null) {
+			synchronized (runtimeMap) {
+				result = runtimeMap.get(name);
+				
+				if(result == null) {
+					result = new UEFManager(name, UNLIMITED_THREAD_BUDGET, DEFAULT_ORDER_QUEUE_CAPACITY, QueueOverflowPolicy.BLOCK);
+					runtimeMap.put(name, result);
+				}
+			}
+		}
+		
+		return result.isEnd? null: result;
+	}
+	
+	/**
+	 * 새로운 이름의 런타임을 만드는 메소드로 만들어진 런타임은 자신만의 명령 해석 스레드, 명령 큐, 관리 리스트, 스레드 예산을 가진다.<br>
+	 * (같은 이름의 런타임이 종료된 상태라면 새로운 런타임으로 교체한다.)
+	 * @param name 런타임 이름
+	 * @param threadBudget 런타임에서 동시에 실행할 수 있는 UEFCell 스레드 수 ({@link #UNLIMITED_THREAD_BUDGET}이면 제한없음)
+	 * @return 만들어진 UEFManager
+	 * @exception NullPointerException name이 null인 경우
+	 * @exception AccessControlException 같은 이름의 런타임이 이미 실행중인 경우
+	 * */
+	public static UEFManager create(String name, int threadBudget) throws AccessControlException {
+		return create(name, threadBudget, DEFAULT_ORDER_QUEUE_CAPACITY, QueueOverflowPolicy.BLOCK);
+	}
+	
+	/**
+	 * 명령 큐의 크기와 가득 찼을 때의 처리 방법을 지정해 새로운 이름의 런타임을 만드는 메소드<br>
+	 * (같은 이름의 런타임이 종료된 상태라면 새로운 런타임으로 교체한다.)
+	 * @param name 런타임 이름
+	 * @param threadBudget 런타임에서 동시에 실행할 수 있는 UEFCell 스레드 수 ({@link #UNLIMITED_THREAD_BUDGET}이면 제한없음)
+	 * @param orderQueueCapacity 명령 줄(CONFIG, CONTROL)마다 처리되지 않고 대기할 수 있는 명령 수 (0 이하면 제한없음)
+	 * @param overflowPolicy 명령 큐가 가득 찼을 때 {@link #sendOrder(CoreOrderNumber, Object...)}의 처리 방법
+	 * @return 만들어진 UEFManager
+	 * @exception NullPointerException name 또는 overflowPolicy가 null인 경우
+	 * @exception AccessControlException 같은 이름의 런타임이 이미 실행중인 경우
+	 * */
+	public static UEFManager create(String name, int threadBudget, int orderQueueCapacity, QueueOverflowPolicy overflowPolicy) throws AccessControlException {
+		if(name == null) throw new NullPointerException("name is null");
+		if(overflowPolicy == null) throw new NullPointerException("overflowPolicy is null");
+		
+		synchronized (runtimeMap) {
+			UEFManager before = runtimeMap.get(name);
+			
+			if(before != null && !before.isEnd) 
+				throw new AccessControlException("runtime "+name+" already exists");
+			
+			UEFManager result = new UEFManager(name, threadBudget, orderQueueCapacity, overflowPolicy);
+			runtimeMap.put(name, result);
+			
+			return result;
+		}
+	}
+	
+	/**
+	 * 현재 종료되지 않은 모든 런타임을 리턴하는 메소드
+	 * @return 런타임 리스트
+	 * */
+	public static List<UEFManager> getRuntimes() {
+		List<UEFManager> result = new ArrayList<UEFManager>();
 		
-		return instance.isEnd? null: instance;
+		for(UEFManager runtime: runtimeMap.values()) {
+			if(!runtime.isEnd) result.add(runtime);
+		}
+		
+		return result;
 	}
 	
 	@Override
 	public void log(Level logLevel, String contents) {	
 		super.log(logLevel, contents);
 	}
-
+	
 	
 	/**
 	 * UEFManager에 {@link Order}를 전달하는 메소드로 {@link CoreOrderNumber}에 따라 다른 인자값을 넣어야한다.
@@ -389,6 +799,7 @@ public final class UEFManager extends UEFCell {
 	 * <li>{@link CoreOrderNumber REGIST_BN} - String</li>
 	 * <li>{@link CoreOrderNumber REGIST_LOBO} - UEFLeaf, UEFBranch</li>
 	 * <li>{@link CoreOrderNumber REGIST_LOBN} - UEFLeaf, String</li>
+	 * <li>{@link CoreOrderNumber REGIST_BATCH} - ResultWaitter, Map[String, List[UEFLeaf]]</li>
 	 * <li>{@link CoreOrderNumber REMOVE_LO} - UEFLeaf</li>
 	 * <li>{@link CoreOrderNumber REMOVE_BO} - UEFBranch</li>
 	 * <li>{@link CoreOrderNumber REMOVE_BN} - String</li>
@@ -401,79 +812,495 @@ public final class UEFManager extends UEFCell {
 	 * <li>{@link CoreOrderNumber REQUEST_STOP} - String</li>
 	 * <li>{@link CoreOrderNumber REQUEST_SHUTDOWN} - String</li>
 	 * </ul>
+	 * 명령 큐가 가득 찬 경우 런타임을 만들때 지정한 {@link QueueOverflowPolicy}에 따라 대기하거나 거부되거나 같은 명령 번호의 가장 오래된 명령이 버려진다.
+	 * 같은 대상에 대한 SET_FRAME, REQUEST_* 명령이 처리되기 전에 다시 들어오면 이전 명령은 실행되지 않는다. ({@link #setOrderCoalescing(boolean)} 참조)
+	 * @param con 실행하고자 하는 명령
+	 * @param args 명령에 사용될 인자값
+	 * @exception NullPointerException
+	 * @exception RejectedExecutionException 명령 큐가 가득 차서 명령이 거부된 경우
+	 * */
+	public void sendOrder(CoreOrderNumber con, Object ... args) throws RejectedExecutionException {
+		enqueueOrder(con, args, true);
+	}
+	
+	/**
+	 * 명령 큐가 가득 차도 대기하지 않는 {@link #sendOrder(CoreOrderNumber, Object...)}로 네트워크 스레드처럼 막히면 안되는 스레드에서 사용한다.<br>
+	 * BLOCK 정책에서도 대기하지 않고 거부되며 DROP_OLDEST 정책은 sendOrder와 같이 같은 명령 번호의 가장 오래된 명령을 버린다.
 	 * @param con 실행하고자 하는 명령
 	 * @param args 명령에 사용될 인자값
+	 * @return 명령을 큐에 넣었으면 true, 명령 큐가 가득 차서 거부되었으면 false
 	 * @exception NullPointerException
 	 * */
-	public void sendOrder(CoreOrderNumber con, Object ... args) {
+	public boolean trySendOrder(CoreOrderNumber con, Object ... args) {
+		try {
+			enqueueOrder(con, args, false);
+			return true;
+		}
+		catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * 명령을 만들어 줄에 맞는 명령 큐에 넣는 메소드
+	 * @param mayWait false면 명령 큐가 가득 찼을 때 BLOCK 정책에서도 대기하지 않고 거부함
+	 * */
+	private void enqueueOrder(CoreOrderNumber con, Object[] args, boolean mayWait) throws RejectedExecutionException {
 		Order tempOrder = new Order(con.getValue());
 		
 		for(int i = 0; i < args.length; i++) {
 			tempOrder.put("arg"+i, args[i]);
 		}
 		
-		doubleQueue.offer(tempOrder);
+		if(orderCoalescing) coalesceOrder(tempOrder);
+		
+		OrderLane lane = OrderLane.of(tempOrder.getOrderNumber());
+		DoubleQueue<Order> queue = lane == OrderLane.CONTROL? controlQueue: doubleQueue;
+		
+		tempOrder.setSequence(orderSequence.incrementAndGet());
+		
+		// CONFIG 줄의 명령은 대기중으로 표시하고 CONTROL 줄의 명령은 먼저 처리되어야 하는 명령을 지정
+		if(lane == OrderLane.CONFIG) holdPendingConfig(tempOrder);
+		else tempOrder.setBarrier(controlBarrier(tempOrder));
+		
+		try {
+			// 종료 명령은 명령 큐가 가득 차도 거부되거나 버려지지 않도록 크기 제한을 넘겨서 넣음
+			if(tempOrder.getOrderNumber() == CoreOrderNumber.EXIT_UEFMANAGER.getValue()) queue.offerOverCapacity(tempOrder);
+			else if(mayWait) queue.offer(tempOrder);
+			else queue.offerWithoutWait(tempOrder);
+		}
+		catch (RuntimeException e) {
+			if(lane == OrderLane.CONFIG) releasePendingConfig(tempOrder);
+			
+			throw e;
+		}
+		
+		// 명령 삽입을 JFR 이벤트로 기록 (기본으로 꺼져있음)
+		OrderEnqueueEvent event = new OrderEnqueueEvent();
+		
+		if(event.shouldCommit()) {
+			event.runtime = getName();
+			event.orderNumber = tempOrder.getOrderNumber();
+			event.lane = lane.name();
+			event.depth = queue.getDepth();
+			event.commit();
+		}
+		
+		// 대기중인 명령 해석 스레드를 깨움
+		LockSupport.unpark(orderInterpreterThread);
 	}
 	
 	/**
-	 * defaultBranch에 leaf를 등록하는 메소드 (이미 defaultBranch에 leaf가 등록되어있으면 실패함)
-	 * @param leaf UEFManager의 defaultBranch에 등록할 UEFLeaf (성공시 importatnt가 됨)
-	 * @exception NullPointerException leaf가 null인 경우
+	 * 두 명령 줄(CONFIG, CONTROL)의 명령 큐 상태를 합친 현재 상태를 리턴하는 메소드 (명령 줄별 상태는 {@link #getOrderQueueStats(OrderLane)}로 확인한다.)
+	 * @return 크기 제한, 대기중인 명령 수, 거부/버림/대기 횟수의 합을 담은 {@link OrderQueueStats}
 	 * */
-	public void regist(UEFLeaf leaf) {
-		if(leaf == null) throw new NullPointerException("leaf is null");
-		
-		sendOrder(CoreOrderNumber.REGIST_LO, leaf);
+	public OrderQueueStats getOrderQueueStats() {
+		return doubleQueue.getStats().plus(controlQueue.getStats());
 	}
 	
 	/**
-	 * branch를 UEFManager에 등록하는 메소드 (이미 branch가 UEFManger에 등록되어있거나 이름이 동일한 UEFBranch가 존재한다면 실패함)
-	 * @param branch UEFManager에 등록할 UEFBranch (성공시 importatnt가 됨)
-	 * @exception NullPointerException branch가 null인 경우
+	 * 명령 줄의 명령 큐 상태를 리턴하는 메소드
+	 * @param lane 확인할 명령 줄
+	 * @return 크기 제한, 대기중인 명령 수, 거부/버림/대기 횟수를 담은 {@link OrderQueueStats}
+	 * @exception NullPointerException lane이 null인 경우
 	 * */
-	public void regist(UEFBranch branch) {
-		if(branch == null) throw new NullPointerException("branch is null");
+	public OrderQueueStats getOrderQueueStats(OrderLane lane) {
+		if(lane == null) throw new NullPointerException("lane is null");
 		
-		sendOrder(CoreOrderNumber.REGIST_BO, branch);
+		return (lane == OrderLane.CONTROL? controlQueue: doubleQueue).getStats();
 	}
 	
 	/**
-	 * name을 가진 Branch를 UEFManager에 등록하는 메소드 (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
-	 * @param branchName UEFManager에 등록할 UEFBranch의 이름 (성공시 importatnt가 됨)
-	 * @exception NullPointerException branchName이 null인 경우
+	 * 명령 줄의 현재 처리 현황을 리턴하는 메소드
+	 * @param lane 확인할 명령 줄
+	 * @return 대기중인 명령 수, 처리한 명령 수, 대기 시간을 담은 {@link OrderLaneStats}
+	 * @exception NullPointerException lane이 null인 경우
 	 * */
-	public void regist(String branchName) {
-		if(branchName == null) throw new NullPointerException("name is null");
+	public OrderLaneStats getOrderLaneStats(OrderLane lane) {
+		int index = lane.ordinal();
+		DoubleQueue<Order> queue = lane == OrderLane.CONTROL? controlQueue: doubleQueue;
 		
-		sendOrder(CoreOrderNumber.REGIST_BN, branchName);
+		return new OrderLaneStats(lane, queue.getDepth(), 
+				laneProcessedCount.get(index), laneWaitNanos.get(index), laneMaxWaitNanos.get(index));
 	}
 	
 	/**
-	 * branch에 leaf를 등록하는 메소드로 branch가 UEFManager에 포함되어 있지않으면 branch를 UEFManager에 등록한다. (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
-	 * @param leaf branch에 등록할 UEFLeaf (성공시 importatnt가 됨)
-	 * @param branch leaf를 등록시킬 UEFBranch로 UEFManager에 등록되어 있지않으면 등록시킴 (성공시 importatnt가 됨)
-	 * @exception NullPointerException leaf가 null이거나 branch가 null인 경우
+	 * CONTROL 줄의 명령을 연속으로 처리할 수 있는 최대 수를 지정하는 메소드로 넘으면 대기중인 CONFIG 줄의 명령을 하나 처리한다.
+	 * @param controlBurstLimit 연속으로 처리할 수 있는 최대 수 (1 미만이면 1)
 	 * */
-	public void regist(UEFLeaf leaf, UEFBranch branch) {
-		if(leaf == null) throw new NullPointerException("leaf is null");
-		else if(branch == null) throw new NullPointerException("branch is null");
-		
-		sendOrder(CoreOrderNumber.REGIST_LOBO, leaf, branch);
+	public void setControlBurstLimit(int controlBurstLimit) {
+		this.controlBurstLimit = Math.max(controlBurstLimit, 1);
+	}
+	
+	public int getControlBurstLimit() {
+		return controlBurstLimit;
 	}
 	
 	/**
-	 * branchName을 가진 Branch를 등록하고 Branch에 leaf를 등록하는 메소드로 UEFManager에 포함되어 있지않으면 branchName을 가진UEFBranch를 UEFManager에 등록한다. (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
-	 * @param leaf branchName을 가진 UEFBranch에 등록할 UEFLeaf (성공시 importatnt가 됨)
-	 * @param branchName leaf를 등록시킬 UEFBranch의 이름으로 UEFManager에 등록되어 있지않으면 등록시킴 (성공시 importatnt가 됨)
-	 * @exception NullPointerException leaf가 null이거나 branchName이 null인 경우
+	 * 같은 대상에 대한 대기중인 명령을 새로운 명령으로 대체할지 지정하는 메소드로 기본값은 true이다.<br>
+	 * SET_FRAME은 마지막 명령만 실행되고, 같은 패턴에 대한 REQUEST_* 명령은 마지막 상태로 합쳐진다. (대기중인 REQUEST_SHUTDOWN은 대체되지 않음)
+	 * @param orderCoalescing 대체하려면 true
 	 * */
-	public void regist(UEFLeaf leaf, String branchName) {
-		if(leaf == null) throw new NullPointerException("leaf is null");
+	public void setOrderCoalescing(boolean orderCoalescing) {
+		this.orderCoalescing = orderCoalescing;
+	}
+	
+	public boolean isOrderCoalescing() {
+		return orderCoalescing;
+	}
+	
+	/**
+	 * 새로운 명령으로 대체되어 실행되지 않은 명령 수를 리턴하는 메소드
+	 * @return 대체된 명령 수
+	 * */
+	public long getCollapsedOrderCount() {
+		return collapsedOrderCount.get();
+	}
+	
+	/**
+	 * 명령이 대체할 수 있는 대상을 리턴하는 메소드
+	 * @param order 확인할 명령
+	 * @return SET_FRAME은 프레임, REQUEST_*는 패턴을 나타내는 문자열 (대체할 수 없는 명령이면 null)
+	 * */
+	private static String coalesceKey(Order order) {
+		switch(order.getOrderNumber()) {
+			case 300: // SET_FRAME
+				return "frame";
+				
+			case 400: // REQUEST_EXECUTE
+			case 401: // REQUEST_PAUSE
+			case 402: // REQUEST_STOP
+			case 403: // REQUEST_SHUTDOWN
+				Object pattern = order.getMap().get("arg0");
+				
+				return pattern == null? null: "trigger:"+pattern;
+				
+			default:
+				return null;
+		}
+	}
+	
+	/**
+	 * 같은 대상에 대한 대기중인 명령을 새로운 명령으로 대체하는 메소드 (대기중인 REQUEST_SHUTDOWN은 대체하지 않는다.)
+	 * @param order 새로운 명령
+	 * */
+	private void coalesceOrder(Order order) {
+		String key = coalesceKey(order);
+		
+		if(key == null) return;
+		
+		Order before = coalesceMap.put(key, order);
+		
+		if(before != null && before.getOrderNumber() != CoreOrderNumber.REQUEST_SHUTDOWN.getValue() && before.supersede()) 
+			collapsedOrderCount.incrementAndGet();
+	}
+	
+	/**
+	 * 명령 해석 스레드가 명령을 실행하기 전에 호출하는 메소드로 실행할 명령은 더이상 대체되지 않는다.
+	 * @param order 꺼낸 명령
+	 * @return 실행해야 하는 경우 true, 이미 대체된 경우 false
+	 * */
+	private boolean claimOrder(Order order) {
+		if(order.claim() == false) return false;
+		
+		String key = coalesceKey(order);
+		
+		if(key != null) coalesceMap.remove(key, order);
+		
+		return true;
+	}
+	
+	/**
+	 * 다음에 처리할 명령을 꺼내는 메소드로 CONTROL 줄을 먼저 확인하며 연속으로 처리한 수가 제한을 넘으면 CONFIG 줄의 명령을 하나 꺼낸다.<br>
+	 * CONTROL 줄의 명령은 먼저 들어온 CONFIG 줄의 명령 중 대상이 겹치는 명령이 남아있으면 꺼내지 않고 CONFIG 줄의 명령을 먼저 꺼낸다. ({@link #controlBarrier(Order)} 참조)
+	 * @return 다음에 처리할 명령 (처리할 수 있는 명령이 없으면 null)
+	 * */
+	private Order takeNextOrder() {
+		Order result = null;
+		
+		if(controlStreak < controlBurstLimit) result = pollReadyControlOrder();
+		
+		if(result != null) {
+			controlStreak++;
+			return result;
+		}
+		
+		// CONFIG 줄의 명령을 하나 처리해 기아상태를 막음
+		controlStreak = 0;
+		result = doubleQueue.pollOrBorrow();
+		
+		if(result != null) {
+			releasePendingConfig(result);
+			return result;
+		}
+		
+		// CONFIG 줄이 비어있으면 남은 CONTROL 줄의 명령을 처리
+		result = pollReadyControlOrder();
+		
+		if(result != null) controlStreak = 1;
+		
+		return result;
+	}
+	
+	/**
+	 * CONTROL 줄의 다음 명령을 꺼내는 메소드로 먼저 처리되어야 하는 CONFIG 줄의 명령이 남아있으면 보류해두고 null을 리턴한다.
+	 * (보류된 명령 뒤의 CONTROL 줄 명령도 순서를 지키기 위해 함께 기다림)
+	 * @return 처리할 수 있는 CONTROL 줄의 명령 (없으면 null)
+	 * */
+	private Order pollReadyControlOrder() {
+		Order result = heldControlOrder;
+		
+		if(result == null) result = controlQueue.pollOrBorrow();
+		
+		if(result == null) return null;
+		
+		if(isBarrierPassed(result)) {
+			heldControlOrder = null;
+			return result;
+		}
+		
+		heldControlOrder = result;
+		return null;
+	}
+	
+	/**
+	 * 명령 해석 스레드가 처리할 수 있는 명령이 있는지 확인하는 메소드
+	 * @return CONFIG 줄에 명령이 있거나 처리할 수 있는 CONTROL 줄의 명령이 있으면 true
+	 * */
+	private boolean hasReadyOrder() {
+		Order held = heldControlOrder;
+		
+		if(!doubleQueue.isEmpty()) return true;
+		
+		return held == null? !controlQueue.isEmpty(): isBarrierPassed(held);
+	}
+	
+	/**
+	 * CONTROL 줄의 명령보다 먼저 처리되어야 하는 CONFIG 줄의 명령이 모두 꺼내졌는지 확인하는 메소드
+	 * */
+	private boolean isBarrierPassed(Order order) {
+		Long oldest = pendingConfigSequences.ceiling(Long.MIN_VALUE);
+		
+		return oldest == null || oldest > order.getBarrier();
+	}
+	
+	/**
+	 * CONTROL 줄의 명령이 넘어설 수 없는 CONFIG 줄 명령의 순서번호를 정하는 메소드<br>
+	 * REQUEST_*는 패턴과 이름이 일치하는 Branch를 대상으로 하는 명령과 대상을 알 수 없는 명령을, 그 외의 명령은 먼저 들어온 모든 명령을 기다린다.
+	 * (대상이 겹치지 않는 CONFIG 줄의 명령은 먼저 들어왔어도 넘어설 수 있음)
+	 * @param order CONTROL 줄의 명령
+	 * @return 기다려야 하는 CONFIG 줄 명령의 가장 큰 순서번호
+	 * */
+	private long controlBarrier(Order order) {
+		int orderNumber = order.getOrderNumber();
+		
+		if(orderNumber < CoreOrderNumber.REQUEST_EXECUTE.getValue() || orderNumber > CoreOrderNumber.REQUEST_SHUTDOWN.getValue())
+			return order.getSequence() - 1;
+		
+		Object pattern = order.getMap().get("arg0");
+		Pattern compiledPattern;
+		
+		try {
+			compiledPattern = Pattern.compile((String) pattern);
+		}
+		// 잘못된 패턴은 처리될 때 로그를 남기므로 여기서는 모든 명령을 기다림
+		catch (RuntimeException e) {
+			return order.getSequence() - 1;
+		}
+		
+		long result = untargetedConfigSequence.get();
+		
+		for(Map.Entry<String, Long> entry: pendingConfigTargets.entrySet()) {
+			if(entry.getValue() > result && compiledPattern.matcher(entry.getKey()).matches()) result = entry.getValue();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * CONFIG 줄의 명령을 대기중으로 표시하는 메소드 (큐에 넣기 전에 호출)
+	 * */
+	private void holdPendingConfig(Order order) {
+		long sequence = order.getSequence();
+		List<String> targets = configTargetNames(order);
+		
+		pendingConfigSequences.add(sequence);
+		
+		if(targets.isEmpty()) untargetedConfigSequence.accumulateAndGet(sequence, Math::max);
+		else for(String name: targets) pendingConfigTargets.merge(name, sequence, Math::max);
+	}
+	
+	/**
+	 * CONFIG 줄의 명령을 꺼냈거나 버렸을 때 대기중 표시를 지우는 메소드
+	 * */
+	private void releasePendingConfig(Order order) {
+		long sequence = order.getSequence();
+		
+		pendingConfigSequences.remove(sequence);
+		
+		for(String name: configTargetNames(order)) pendingConfigTargets.remove(name, sequence);
+	}
+	
+	/**
+	 * CONFIG 줄의 명령이 대상으로 하는 Branch 이름을 리턴하는 메소드
+	 * @return Branch 이름 리스트 (대상을 알 수 없으면 빈 리스트)
+	 * */
+	private List<String> configTargetNames(Order order) {
+		List<String> result = new ArrayList<String>();
+		
+		// Leaf만 등록하는 명령은 defaultBranch가 대상
+		if(order.getOrderNumber() == CoreOrderNumber.REGIST_LO.getValue()) {
+			result.add(DEFAULT_BRANCH_NAME);
+			return result;
+		}
+		
+		for(Object value: order.getMap().values()) {
+			if(value instanceof UEFBranch) result.add(((UEFBranch) value).getName());
+			else if(value instanceof String) result.add((String) value);
+			// REGIST_BATCH의 [Branch 이름, Leaf 리스트]
+			else if(value instanceof Map) for(Object key: ((Map<?, ?>) value).keySet()) result.add(String.valueOf(key));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 명령이 만들어진 시점부터 꺼낸 시점까지의 대기 시간을 줄별로 기록하는 메소드
+	 * @param order 꺼낸 명령
+	 * @return 대기 나노초
+	 * */
+	private long recordLaneWait(Order order) {
+		int index = OrderLane.of(order.getOrderNumber()).ordinal();
+		long wait = System.nanoTime() - order.getId();
+		
+		laneProcessedCount.incrementAndGet(index);
+		laneWaitNanos.addAndGet(index, wait);
+		
+		if(wait > laneMaxWaitNanos.get(index)) laneMaxWaitNanos.set(index, wait);
+		
+		return wait;
+	}
+	
+	/**
+	 * DROP_OLDEST 정책으로 버려진 명령을 처리하는 메소드로 결과를 기다리는 쪽이 있다면 null을 넘겨준다.
+	 * @param order 버려진 명령
+	 * */
+	private void dropOrder(Order order) {
+		Object arg0 = order.getMap().get("arg0");
+		
+		releasePendingConfig(order);
+		
+		if(arg0 instanceof ResultWaitter) ((ResultWaitter<?>) arg0).setResult(null);
+		
+		log(Level.WARNING, "{} 명령이 명령 큐가 가득 차서 버려졌습니다.", order);
+	}
+	
+	/**
+	 * defaultBranch에 leaf를 등록하는 메소드 (이미 defaultBranch에 leaf가 등록되어있으면 실패함)
+	 * @param leaf UEFManager의 defaultBranch에 등록할 UEFLeaf (성공시 importatnt가 됨)
+	 * @exception NullPointerException leaf가 null인 경우
+	 * */
+	public void regist(UEFLeaf leaf) {
+		if(leaf == null) throw new NullPointerException("leaf is null");
+		
+		sendOrder(CoreOrderNumber.REGIST_LO, leaf);
+	}
+	
+	/**
+	 * branch를 UEFManager에 등록하는 메소드 (이미 branch가 UEFManger에 등록되어있거나 이름이 동일한 UEFBranch가 존재한다면 실패함)
+	 * @param branch UEFManager에 등록할 UEFBranch (성공시 importatnt가 됨)
+	 * @exception NullPointerException branch가 null인 경우
+	 * */
+	public void regist(UEFBranch branch) {
+		if(branch == null) throw new NullPointerException("branch is null");
+		
+		sendOrder(CoreOrderNumber.REGIST_BO, branch);
+	}
+	
+	/**
+	 * name을 가진 Branch를 UEFManager에 등록하는 메소드 (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
+	 * @param branchName UEFManager에 등록할 UEFBranch의 이름 (성공시 importatnt가 됨)
+	 * @exception NullPointerException branchName이 null인 경우
+	 * */
+	public void regist(String branchName) {
+		if(branchName == null) throw new NullPointerException("name is null");
+		
+		sendOrder(CoreOrderNumber.REGIST_BN, branchName);
+	}
+	
+	/**
+	 * branch에 leaf를 등록하는 메소드로 branch가 UEFManager에 포함되어 있지않으면 branch를 UEFManager에 등록한다. (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
+	 * @param leaf branch에 등록할 UEFLeaf (성공시 importatnt가 됨)
+	 * @param branch leaf를 등록시킬 UEFBranch로 UEFManager에 등록되어 있지않으면 등록시킴 (성공시 importatnt가 됨)
+	 * @exception NullPointerException leaf가 null이거나 branch가 null인 경우
+	 * */
+	public void regist(UEFLeaf leaf, UEFBranch branch) {
+		if(leaf == null) throw new NullPointerException("leaf is null");
+		else if(branch == null) throw new NullPointerException("branch is null");
+		
+		sendOrder(CoreOrderNumber.REGIST_LOBO, leaf, branch);
+	}
+	
+	/**
+	 * branchName을 가진 Branch를 등록하고 Branch에 leaf를 등록하는 메소드로 UEFManager에 포함되어 있지않으면 branchName을 가진UEFBranch를 UEFManager에 등록한다. (이름이 겹치는 UEFBranch가 이미 등록되어있으면 실패함) 
+	 * @param leaf branchName을 가진 UEFBranch에 등록할 UEFLeaf (성공시 importatnt가 됨)
+	 * @param branchName leaf를 등록시킬 UEFBranch의 이름으로 UEFManager에 등록되어 있지않으면 등록시킴 (성공시 importatnt가 됨)
+	 * @exception NullPointerException leaf가 null이거나 branchName이 null인 경우
+	 * */
+	public void regist(UEFLeaf leaf, String branchName) {
+		if(leaf == null) throw new NullPointerException("leaf is null");
 		else if(branchName == null) throw new NullPointerException("branchName is null");
 		
 		sendOrder(CoreOrderNumber.REGIST_LOBN, leaf, branchName);
 	}
 	
+	/**
+	 * branchName을 가진 Branch에 leaves를 한번에 등록하는 메소드로 하나의 명령으로 처리된다. (UEFManager에 포함되어 있지않으면 branchName을 가진 UEFBranch를 만들어 등록한다.)<br>
+	 * 이미 부모가 있거나, 다른 런타임에 소속되었거나, SHUTDOWN 상태인 Leaf는 등록하지 않는다.
+	 * @param leaves branchName을 가진 UEFBranch에 등록할 UEFLeaf들 (성공시 importatnt가 됨)
+	 * @param branchName leaves를 등록시킬 UEFBranch의 이름
+	 * @return 등록된 Leaf 수를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
+	 * @exception NullPointerException leaves가 null이거나 branchName이 null인 경우
+	 * */
+	public ResultWaitter<Integer> regist(Collection<? extends UEFLeaf> leaves, String branchName) {
+		if(leaves == null) throw new NullPointerException("leaves is null");
+		else if(branchName == null) throw new NullPointerException("branchName is null");
+		
+		Map<String, Collection<? extends UEFLeaf>> leafMap = new HashMap<String, Collection<? extends UEFLeaf>>();
+		
+		leafMap.put(branchName, leaves);
+		
+		return registAll(leafMap);
+	}
+	
+	/**
+	 * Branch 이름별로 묶인 Leaf들을 한번에 등록하는 메소드로 전체가 하나의 명령으로 처리된다.<br>
+	 * 없는 Branch는 한번만 만들어지며 각 Branch의 Leaf들은 한번의 잠금으로 연결된다.
+	 * (이미 부모가 있거나, 다른 런타임에 소속되었거나, SHUTDOWN 상태인 Leaf는 등록하지 않는다.)
+	 * @param leafMap [Branch 이름, 해당 Branch에 등록할 UEFLeaf들]
+	 * @return 등록된 Leaf 수를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
+	 * @exception NullPointerException leafMap이 null이거나 이름 또는 Leaf 묶음이 null인 경우
+	 * */
+	public ResultWaitter<Integer> registAll(Map<String, ? extends Collection<? extends UEFLeaf>> leafMap) {
+		ResultWaitter<Integer> result = new ResultWaitter<Integer>();
+		
+		if(leafMap == null) throw new NullPointerException("leafMap is null");
+		
+		// 호출한 쪽에서 내용을 바꿔도 영향이 없도록 복사해서 전달
+		Map<String, List<UEFLeaf>> tempMap = new LinkedHashMap<String, List<UEFLeaf>>();
+		
+		for(Map.Entry<String, ? extends Collection<? extends UEFLeaf>> entry: leafMap.entrySet()) {
+			if(entry.getKey() == null) throw new NullPointerException("branchName is null");
+			else if(entry.getValue() == null) throw new NullPointerException("leaves of "+entry.getKey()+" is null");
+			
+			tempMap.put(entry.getKey(), new ArrayList<UEFLeaf>(entry.getValue()));
+		}
+		
+		sendOrder(CoreOrderNumber.REGIST_BATCH, result, tempMap);
+		
+		return result;
+	}
+	
 	/**
 	 * defaultBranch에 leaf를 제거하는 메소드 default에서 제거하지 못한경우 등록된 모든 branch에서 leaf를 찾아서 제거한다. (어떤 branch에도 leaf가 등록되어 있지 않으면 실패함)<br>
 	 * 성공시 leaf는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
@@ -505,184 +1332,1062 @@ public final class UEFManager extends UEFCell {
 		
 		sendOrder(CoreOrderNumber.REMOVE_BO, result, branch);
 		
-		return result;
+		return result;
+	}
+	
+	/**
+	 * UEFManager에 UEFBranch를 branchName으로 찾아 제거하는 메소드 UEFManager에 등록되어 있지 않은경우 실패한다.<br>
+	 * 성공시 UEFBranch는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
+	 * @param branchName UEFManager에서 제거하고자 하는 UEFBranch의 이름
+	 * @return 제거된 UEFBranch를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
+	 * @exception NullPointerException branchName이 null인 경우
+	 * */
+	public ResultWaitter<UEFBranch> remove(String branchName) {
+		ResultWaitter<UEFBranch> result = new ResultWaitter<UEFBranch>();
+		
+		if(branchName == null) throw new NullPointerException("branchName is null");
+		
+		sendOrder(CoreOrderNumber.REMOVE_BO, result, branchName);
+		
+		return result;
+	}
+	
+	/**
+	 * UEFManager의 특정 branch에 leaf를 제거하는 메소드 UEFManager에 branch가 등록되어 있지 않거나 branch에 leaf가 등록되어있지 않은경우 실패한다.<br>
+	 * 성공시 leaf는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
+	 * @param leaf UEFManager에서 제거하고자 하는 UEFUEFLeaf
+	 * @param branch UEFManager에서 제거하고자 하는 leaf를 가지고 있는 UEFBranch
+	 * @return 제거된 UEFLeaf를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
+	 * @exception NullPointerException leaf가 null이거나, branch가 null인 경우
+	 * */
+	public ResultWaitter<UEFLeaf> remove(UEFLeaf leaf, UEFBranch branch) {
+		ResultWaitter<UEFLeaf> result = new ResultWaitter<UEFLeaf>();
+		
+		if(leaf == null) throw new NullPointerException("leaf is null");
+		else if(branch == null) throw new NullPointerException("branch is null");
+		
+		sendOrder(CoreOrderNumber.REMOVE_LOBO, result, leaf, branch);
+		
+		return result;
+	}
+	
+	/**
+	 * UEFManager에서 특정이름을 가진 UEFBranch에서 leaf를 제거하는 메소드 UEFManager에서 해당이름을 가진 UEFBranch가 등록되어 있지 않거나 UEFBranch에 leaf가 등록되어있지 않은경우 실패한다.<br>
+	 * 성공시 leaf는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
+	 * @param leaf UEFManager에서 제거하고자 하는 UEFUEFLeaf
+	 * @param branchName UEFManager에서 제거하고자 하는 leaf를 가지고 있는 UEFBranch의 이름
+	 * @return 제거된 UEFLeaf를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
+	 * @exception NullPointerException leaf가 null이거나, branchName이 null인 경우
+	 * */
+	public ResultWaitter<UEFLeaf> remove(UEFLeaf leaf, String branchName) {
+		ResultWaitter<UEFLeaf> result = new ResultWaitter<UEFLeaf>();
+		
+		if(leaf == null) throw new NullPointerException("leaf is null");
+		else if(branchName == null) throw new NullPointerException("branchName is null");
+		
+		sendOrder(CoreOrderNumber.REMOVE_LOBN, result, leaf, branchName);
+		
+		return result;
+	}
+	
+	/**
+	 * UEFManager의 프레임을 지정하는 메소드로 {@link UEFManager sendOrder(CoreOrderNumber.SET_FRAME, frame)}를 통해 업데이트 되기때문에 호출 즉시 반영되지 않는다.<br>
+	 * <ul>
+	 * <li>MIN_FRAME = 1, MAX_FRAME = 1e+9</li>
+	 * <li></li>
+	 * <li><b>1  frame </b> : this.frame = MIN_FRAME</li>
+	 * <li><b>1  frame  1e+9</b> : this.frame = frame</li>
+	 * <li><b>frame  1e+9</b> : this.frame = MAX_FRAME</li>
+	 * </ul>
+	 * @param frame 지정할 프레임 값
+	 * */
+	@Override
+	public void setFrame(long frame){
+		
+		if(frame < MIN_FRAME) {
+			frame = MIN_FRAME;
+		}
+		else if(frame > MAX_FRAME) {
+			frame = MAX_FRAME;
+		}
+		
+		sendOrder(CoreOrderNumber.SET_FRAME, frame);
+	}
+	
+	/**
+	 * UEFManager의 관리하에있는 UEFBranch들중 패턴이 겹치는 객체를 실행하는 메소드<br>
+	 * @param rts 실행할 Trigger
+	 * @param pattern 실행시킬 UEFBranch 이름패턴("^(.)*$"을 삽입하면 전체를 대상으로 진행)
+	 * @throws IllegalAccessException RoutineTriggerStatus.NEW를 삽입한 경우 예외발생
+	 * 
+	 * */
+	public void requestTrigger(RoutineTriggerStatus rts, String pattern) throws IllegalAccessException {
+		if(pattern == null) throw new NullPointerException("pattern is null");
+		else if(rts == null) throw new NullPointerException("rts is null");
+		else if(rts == RoutineTriggerStatus.NEW) throw new IllegalAccessException("RoutineTriggerStatus.NEW is an invalid request.");
+		
+		switch(rts) {
+		case EXECUTE:
+			sendOrder(CoreOrderNumber.REQUEST_EXECUTE, pattern);
+			break;
+			
+		case PAUSE:
+			sendOrder(CoreOrderNumber.REQUEST_PAUSE, pattern);
+			break;
+			
+		case STOP:
+			sendOrder(CoreOrderNumber.REQUEST_STOP, pattern);
+			break;
+			
+		case SHUTDOWN:
+			sendOrder(CoreOrderNumber.REQUEST_SHUTDOWN, pattern);
+			break;
+			
+		default:
+			break;
+		}
+	}
+	
+	/**
+	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Execute상태로 만든다.
+	 * */
+	@Override
+	public void requestExecute() {
+		try {
+			requestTrigger(RoutineTriggerStatus.EXECUTE, "^(.)*$");
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Pause상태로 만든다.
+	 * */
+	@Override
+	public void requestPause() {
+		try {
+			requestTrigger(RoutineTriggerStatus.PAUSE, "^(.)*$");
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Stop상태로 만든다.
+	 * */
+	@Override
+	public void requestStop() {
+		try {
+			requestTrigger(RoutineTriggerStatus.STOP, "^(.)*$");
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Shutdown상태로 만든다.
+	 * */
+	@Override
+	public void requestShutdown() {
+		try {
+			requestTrigger(RoutineTriggerStatus.SHUTDOWN, "^(.)*$");
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * UEF 라이브러리가 종료됬는지를 반환하는 메소드
+	 * @return 종료된 경우 true를 반환함
+	 * */
+	public boolean isEnd() {
+		return isEnd;
+	}
+	
+	/**
+	 * UEF 라이브러리가 시작됬는지를 반환하는 메소드
+	 * @return 시작된 경우 true를 반환함
+	 * */
+	public boolean isLaunched() {
+		return isLaunched;
+	}
+	
+	/**
+	 * 명령번호에 따라 명령을 실행하는 메소드 (명령 해석 스레드 또는 launch 이전의 저널 복구에서만 호출된다.)
+	 * @param order 처리할 명령
+	 * @throws Exception 명령 실행에 실패한 경우
+	 * */
+	private void applyOrder(Order order) throws Exception {
+		switch (order.getOrderNumber()) {
+			case 100: // REGIST_LO - UEFLeaf
+				RegistLeaf(order); break;
+					
+			case 101: // REGIST_BO - UEFBranch 
+			case 102: // REGIST_BN - UEFBranchName
+				RegistBranch(order); break;
+			
+			case 103: // REGIST_LOBO - UEFLeaf, UEFBranch 
+				RegistLeafByBranchObject(order); break;
+				
+			case 104: // REGIST_LOBN - UEFLeaf, UEFBranchName
+				RegistLeafByBranchName(order); break;
+				
+			case 105: // REGIST_BATCH - ResultWaitter, Map[UEFBranchName, List[UEFLeaf]]
+				RegistLeafBatch(order); break;
+		
+			
+			case 200: // REMOVE_LO - UEFLeaf
+				RemoveLeaf(order); break;
+			
+			case 201: // REMOVE_BO - UEFBranch 
+			case 202: // REMOVE_BN - UEFBranchName
+				RemoveBranch(order); break;
+			 
+			case 203: // REMOVE_LOBO - UEFLeaf, UEFBranch
+				RemoveLeafByBranchObject(order); break;
+			case 204: // REMOVE_LOBN - UEFLeaf, UEFBranchName
+				RemoveLeafByBranchName(order); break;
+				
+			case 300: // SET_FRAME - frame
+				SetFrame(order); break;
+				
+			case 301: // SET_STREAM - OutputStream - deprecated
+				// SetStream(order);
+				break;
+				
+			case 302: // EXIT_UEFMANAGER
+				ExitUEFManager(order); break;
+				
+			case 400: // REQUEST_EXECUTE - UEFBranchNamePattern
+			case 401: // REQUEST_PAUSE - UEFBranchNamePattern
+			case 402: // REQUEST_STOP - UEFBranchNamePattern
+			case 403: // REQUEST_SHUTDOWN - UEFBranchNamePattern
+				RequestTrigger(order); break;
+			
+			
+			default:
+				break;
+		}
+	}
+	
+	/**
+	 * 클래스 이름에 해당하는 UEFLeaf 생성기를 등록하는 메소드로 저널 복구시 해당 클래스의 UEFLeaf를 만드는데 사용한다.
+	 * @param className UEFLeaf 클래스 이름 ({@link Class#getName()})
+	 * @param factory UEFLeaf 생성기
+	 * @exception NullPointerException className이나 factory가 null인 경우
+	 * */
+	public void registLeafFactory(String className, UEFLeafFactory factory) {
+		if(className == null) throw new NullPointerException("className is null");
+		else if(factory == null) throw new NullPointerException("factory is null");
+		
+		leafFactoryMap.put(className, factory);
+	}
+	
+	/**
+	 * 등록된 생성기를 사용하여 이 런타임에 소속된 UEFLeaf를 만드는 메소드
+	 * @param className UEFLeaf 클래스 이름
+	 * @param name 만들 UEFLeaf의 이름
+	 * @return 만들어진 UEFLeaf (생성기가 등록되어 있지 않으면 null)
+	 * */
+	public UEFLeaf createLeaf(String className, String name) {
+		UEFLeafFactory factory = leafFactoryMap.get(className);
+		
+		return factory == null? null: factory.create(name, this);
+	}
+	
+	/**
+	 * 클래스 이름에 해당하는 UEFBranch 생성기를 등록하는 메소드로 저널, 스냅샷 복구시 해당 클래스의 UEFBranch를 만드는데 사용한다.<br>
+	 * (생성기가 등록되지 않은 클래스의 Branch는 기본 UEFBranch로 복구된다.)
+	 * @param className UEFBranch 클래스 이름 ({@link Class#getName()})
+	 * @param factory UEFBranch 생성기
+	 * @exception NullPointerException className이나 factory가 null인 경우
+	 * */
+	public void registBranchFactory(String className, UEFBranchFactory factory) {
+		if(className == null) throw new NullPointerException("className is null");
+		else if(factory == null) throw new NullPointerException("factory is null");
+		
+		branchFactoryMap.put(className, factory);
+	}
+	
+	/**
+	 * 기록된 Branch 정보로 이 런타임에 소속된 UEFBranch를 만드는 메소드<br>
+	 * 기록된 클래스의 생성기가 등록되어 있으면 생성기로 만들고, 없으면 기본 UEFBranch를 만든다.
+	 * @param descriptor 기록된 Branch 정보
+	 * @return 만들어진 UEFBranch (설정값은 적용되지 않음)
+	 * */
+	private UEFBranch createBranch(CellDescriptor descriptor) {
+		UEFBranchFactory factory = branchFactoryMap.get(descriptor.getClassName());
+		
+		if(factory != null) return factory.create(descriptor.getName(), this);
+		
+		return new UEFBranch(descriptor.getName(), descriptor.isUseParentFrame(), descriptor.isUseParentLogger(), this) {};
+	}
+	
+	/**
+	 * 처리된 명령을 메모리 맵 저널에 기록하도록 설정하는 메소드로 반드시 {@link #launch()} 이전에 호출해야한다.<br>
+	 * 저널 파일에 이미 기록이 있다면 기록된 명령들을 명령 큐를 거치지 않고 한번에 실행하여 구조(Branch, Leaf, 프레임, 트리거 상태)를 복구하고
+	 * 현재 상태를 만드는 최소한의 명령으로 저널을 압축한다.<br>
+	 * (Leaf를 복구하려면 {@link #registLeafFactory(String, UEFLeafFactory)}로 생성기를 먼저 등록해야한다.)
+	 * @param path 저널 파일 경로
+	 * @param compactThreshold 마지막 압축 이후 추가된 기록 수가 이 값 이상이 되면 압축을 진행 (0 이하면 자동 압축을 하지 않음)
+	 * @return 복구하며 실행한 명령 수
+	 * @throws IOException 저널 파일을 열지 못한 경우
+	 * @exception AccessControlException 이미 launch된 경우 또는 저널이 이미 설정된 경우
+	 * */
+	public synchronized int enableJournal(Path path, int compactThreshold) throws IOException, AccessControlException {
+		if(isLaunched) throw new AccessControlException("enableJournal() must be called before launch()");
+		else if(journal != null) throw new AccessControlException("journal is already enabled("+journal.getPath()+")");
+		
+		int result = 0;
+		OrderJournal tempJournal = new OrderJournal(path);
+		List<Order> orders = tempJournal.readAll();
+		
+		Map<UEFLeaf, RoutineTriggerStatus> leafTriggerMap = new LinkedHashMap<UEFLeaf, RoutineTriggerStatus>();
+		
+		log(Level.INFO, "저널 복구를 시작합니다. ({}, {}개의 명령)", path, orders.size());
+		
+		for(Order order: orders) {
+			try {
+				leafTriggerMap.clear();
+				
+				if(resolveJournalOrder(order, leafTriggerMap)) {
+					applyOrder(order);
+					result++;
+					
+					// 등록한 Leaf의 트리거 상태는 부모에 연결된 뒤 복구
+					for(Map.Entry<UEFLeaf, RoutineTriggerStatus> entry: leafTriggerMap.entrySet()) {
+						restoreTrigger(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+			catch (Exception e) {
+				log(Level.WARNING, "{} 복구에 실패했습니다. ({})", order, e.getMessage());
+			}
+		}
+		
+		journal = tempJournal;
+		journalCompactThreshold = compactThreshold;
+		
+		// 복구가 끝나면 현재 상태로 압축
+		compactJournal();
+		
+		log(Level.INFO, "저널 복구를 종료합니다. ({}/{})", result, orders.size());
+		
+		return result;
+	}
+	
+	/**
+	 * 저널이 설정되어 있는지 리턴하는 메소드
+	 * @return 저널을 사용하는 경우 true
+	 * */
+	public boolean isJournalEnabled() {
+		return journal != null;
+	}
+	
+	/**
+	 * 현재 관리중인 구조를 만들 수 있는 최소한의 명령으로 저널을 다시 기록하는 메소드<br>
+	 * 명령 해석 스레드({@link #journalOrder(Order)})와 {@link #launch()} 이전의 {@link #enableJournal(Path, int)}, {@link #restoreSnapshot(Path)}에서 호출되며
+	 * 두 메소드는 launch()와 같은 모니터를 잡고 launch 여부를 확인하므로 명령 해석 스레드와 동시에 실행되지 않는다.<br>
+	 * Branch마다 [등록, 트리거 요청, 소속 Leaf들의 REGIST_BATCH] 순서로 기록하며 Leaf의 트리거 상태는 {@link CellDescriptor}에 함께 기록된다.
+	 * (Branch의 트리거를 먼저 요청해야 복구한 Leaf의 트리거 상태가 Branch의 전파로 바뀌지 않음)
+	 * */
+	private void compactJournal() {
+		if(journal == null) return;
+		
+		List<Order> orders = new ArrayList<Order>();
+		Order tempOrder = new Order(CoreOrderNumber.SET_FRAME.getValue());
+		
+		tempOrder.put("arg0", getFrame());
+		orders.add(tempOrder);
+		
+		for(Object o: manageCellList.toArray()) {
+			UEFBranch branch = (UEFBranch) o;
+			boolean isDefault = branch.getName().equals(DEFAULT_BRANCH_NAME);
+			
+			if(branch.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) continue;
+			
+			if(!isDefault) {
+				tempOrder = new Order(CoreOrderNumber.REGIST_BO.getValue());
+				tempOrder.put("arg0", CellDescriptor.of(branch));
+				orders.add(tempOrder);
+			}
+			
+			// Branch의 트리거 상태 기록
+			CoreOrderNumber triggerOrder = null;
+			
+			switch(branch.getCurrentTriggerStatus()) {
+				case EXECUTE: triggerOrder = CoreOrderNumber.REQUEST_EXECUTE; break;
+				case PAUSE: triggerOrder = CoreOrderNumber.REQUEST_PAUSE; break;
+				case STOP: triggerOrder = CoreOrderNumber.REQUEST_STOP; break;
+				default: break;
+			}
+			
+			if(triggerOrder != null) {
+				tempOrder = new Order(triggerOrder.getValue());
+				tempOrder.put("arg0", "^"+Pattern.quote(branch.getName())+"$");
+				orders.add(tempOrder);
+			}
+			
+			// Branch에 소속된 Leaf들은 하나의 REGIST_BATCH로 기록
+			List<CellDescriptor> leafList = new ArrayList<CellDescriptor>();
+			
+			for(Object c: branch.list.toArray()) {
+				if(c instanceof UEFLeaf && ((UEFLeaf) c).getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) 
+					leafList.add(CellDescriptor.of((UEFLeaf) c));
+			}
+			
+			if(!leafList.isEmpty()) {
+				Map<String, List<CellDescriptor>> leafMap = new LinkedHashMap<String, List<CellDescriptor>>();
+				
+				leafMap.put(branch.getName(), leafList);
+				
+				tempOrder = new Order(CoreOrderNumber.REGIST_BATCH.getValue());
+				tempOrder.put("arg0", new ResultWaitter<Integer>());
+				tempOrder.put("arg1", leafMap);
+				orders.add(tempOrder);
+			}
+		}
+		
+		try {
+			journal.rewrite(orders);
+			
+			log(Level.FINE, "저널 압축 완료 ({}개의 명령)", orders.size());
+		}
+		catch (Exception e) {
+			log(Level.WARNING, "저널 압축에 실패했습니다. ({})", e.getMessage());
+		}
+		finally {
+			// 실패한 경우에도 다음 압축은 기준 수만큼 기록이 더 쌓인 뒤 진행
+			journalCompactedCount = journal.getRecordCount();
+		}
+	}
+	
+	/**
+	 * 처리된 명령을 저널에 기록하고 마지막 압축 이후 추가된 기록 수가 압축 기준을 넘으면 압축하는 메소드 (EXIT_UEFMANAGER는 기록하지 않는다.)<br>
+	 * (압축된 저널도 구조의 크기만큼 기록을 가지므로 전체 기록 수로 비교하면 구조가 큰 경우 매 명령마다 압축하게 됨)
+	 * @param order 처리된 명령
+	 * */
+	private void journalOrder(Order order) {
+		if(journal == null || order.getOrderNumber() == CoreOrderNumber.EXIT_UEFMANAGER.getValue()) return;
+		
+		try {
+			journal.append(order);
+			
+			if(journalCompactThreshold > 0 && journal.getRecordCount() - journalCompactedCount >= journalCompactThreshold) compactJournal();
+		}
+		catch (Exception e) {
+			log(Level.WARNING, "{} 저널 기록에 실패했습니다. ({})", order, e.getMessage());
+		}
+	}
+	
+	/**
+	 * 루프백 TCP 포트로 줄 단위 텍스트 명령을 받는 서버를 여는 메소드로 받은 명령은 명령 큐를 거쳐 실행된다. (명령 형식은 {@link OrderEndpoint} 참조)<br>
+	 * 서버는 런타임이 종료될 때 함께 닫힌다.
+	 * @param port 열 포트 (0이면 비어있는 포트를 사용)
+	 * @return 서버가 열린 포트 번호
+	 * @throws IOException 포트를 열지 못한 경우
+	 * @exception AccessControlException 이미 서버가 열려있거나 런타임이 종료된 경우
+	 * */
+	public synchronized int openEndpoint(int port) throws IOException, AccessControlException {
+		if(isEnd) throw new AccessControlException("runtime "+getName()+" is end");
+		else if(endpoint != null && !endpoint.isClosed()) throw new AccessControlException("endpoint is already opened on port "+endpoint.getPort());
+		
+		endpoint = new OrderEndpoint(this, port);
+		log(Level.INFO, "OrderEndpoint를 127.0.0.1:{}에 열었습니다.", endpoint.getPort());
+		
+		return endpoint.getPort();
+	}
+	
+	/**
+	 * 명령을 받는 서버를 닫는 메소드 (열려있지 않으면 무시한다.)
+	 * */
+	public void closeEndpoint() {
+		OrderEndpoint tempEndpoint = endpoint;
+		
+		if(tempEndpoint == null) return;
+		
+		endpoint = null;
+		tempEndpoint.close();
+	}
+	
+	/**
+	 * 명령을 받는 서버를 리턴하는 메소드
+	 * @return 열려있는 {@link OrderEndpoint} (열려있지 않으면 null)
+	 * */
+	public OrderEndpoint getEndpoint() {
+		return endpoint;
+	}
+	
+	/**
+	 * Prometheus 텍스트 형식으로 측정값을 내보내는 HTTP 서버를 루프백 주소에 여는 메소드로 서버는 런타임이 종료될 때 함께 닫힌다. ({@link MetricsExporter} 참조)
+	 * @param port 열 포트 (0이면 비어있는 포트를 사용)
+	 * @return 서버가 열린 포트 번호
+	 * @throws IOException 포트를 열지 못한 경우
+	 * @exception AccessControlException 이미 서버가 열려있거나 런타임이 종료된 경우
+	 * */
+	public synchronized int openMetrics(int port) throws IOException, AccessControlException {
+		if(isEnd) throw new AccessControlException("runtime "+getName()+" is end");
+		else if(metricsExporter != null && !metricsExporter.isClosed()) throw new AccessControlException("metrics exporter is already opened on port "+metricsExporter.getPort());
+		
+		metricsExporter = new MetricsExporter(this, port);
+		log(Level.INFO, "MetricsExporter를 http://127.0.0.1:{}{}에 열었습니다.", metricsExporter.getPort(), MetricsExporter.CONTEXT_PATH);
+		
+		return metricsExporter.getPort();
+	}
+	
+	/**
+	 * 측정값을 내보내는 서버를 닫는 메소드 (열려있지 않으면 무시한다.)
+	 * */
+	public void closeMetrics() {
+		MetricsExporter tempExporter = metricsExporter;
+		
+		if(tempExporter == null) return;
+		
+		metricsExporter = null;
+		tempExporter.close();
+	}
+	
+	/**
+	 * 측정값을 내보내는 서버를 리턴하는 메소드
+	 * @return 열려있는 {@link MetricsExporter} (열려있지 않으면 null)
+	 * */
+	public MetricsExporter getMetricsExporter() {
+		return metricsExporter;
+	}
+	
+	/**
+	 * 루틴 메소드가 끝나지 않는 Leaf를 찾아 처리하는 감시 스레드를 시작하는 메소드로 감시는 런타임이 종료될 때 함께 끝난다. ({@link StallWatchdog} 참조)
+	 * @param policy 멈춘 Leaf를 처리하는 방법
+	 * @return 시작된 감시 객체 (한계시간, 샘플링 설정에 사용)
+	 * @exception AccessControlException 이미 감시중이거나 런타임이 종료된 경우
+	 * */
+	public synchronized StallWatchdog startWatchdog(StallPolicy policy) throws AccessControlException {
+		if(isEnd) throw new AccessControlException("runtime "+getName()+" is end");
+		else if(watchdog != null && !watchdog.isClosed()) throw new AccessControlException("stall watchdog is already started");
+		
+		watchdog = new StallWatchdog(this, policy);
+		log(Level.INFO, "StallWatchdog를 시작했습니다. (policy: {})", policy);
+		
+		return watchdog;
+	}
+	
+	/**
+	 * 감시 스레드를 종료하는 메소드 (감시중이 아니면 무시한다.)
+	 * */
+	public void stopWatchdog() {
+		StallWatchdog tempWatchdog = watchdog;
+		
+		if(tempWatchdog == null) return;
+		
+		watchdog = null;
+		tempWatchdog.close();
+	}
+	
+	/**
+	 * 감시 객체를 리턴하는 메소드
+	 * @return 감시중인 {@link StallWatchdog} (감시중이 아니면 null)
+	 * */
+	public StallWatchdog getWatchdog() {
+		return watchdog;
+	}
+	
+	/**
+	 * 런타임에 소속된 객체의 로그를 비동기로 남기기 시작하는 메소드로 버퍼 크기는 {@link AsyncLogWriter#CAPACITY}를 사용한다.
+	 * @return 시작된 비동기 로그 객체
+	 * @exception AccessControlException 이미 비동기 로그를 사용중이거나 런타임이 종료된 경우
+	 * */
+	public AsyncLogWriter startAsyncLogging() throws AccessControlException {
+		return startAsyncLogging(AsyncLogWriter.CAPACITY);
+	}
+	
+	/**
+	 * 런타임에 소속된 객체의 로그를 비동기로 남기기 시작하는 메소드로 로그는 버퍼에 넣어지고 하나의 스레드가 Logger에 넘긴다. ({@link AsyncLogWriter} 참조)<br>
+	 * 비동기 로그는 런타임이 종료될 때 남은 로그를 모두 남긴 뒤 함께 끝난다.
+	 * @param capacity 버퍼 크기 (2의 거듭제곱으로 올림)
+	 * @return 시작된 비동기 로그 객체
+	 * @exception AccessControlException 이미 비동기 로그를 사용중이거나 런타임이 종료된 경우
+	 * */
+	public synchronized AsyncLogWriter startAsyncLogging(int capacity) throws AccessControlException {
+		if(isEnd) throw new AccessControlException("runtime "+getName()+" is end");
+		else if(asyncLogWriter != null && !asyncLogWriter.isClosed()) throw new AccessControlException("async logging is already started");
+		
+		asyncLogWriter = new AsyncLogWriter(this, capacity);
+		log(Level.INFO, "비동기 로그를 시작했습니다. (capacity: {})", asyncLogWriter.getCapacity());
+		
+		return asyncLogWriter;
+	}
+	
+	/**
+	 * 비동기 로그를 끝내는 메소드로 버퍼에 남은 로그를 모두 남긴 뒤 리턴하며 이후의 로그는 호출한 스레드에서 바로 남겨진다. (사용중이 아니면 무시한다.)
+	 * */
+	public void stopAsyncLogging() {
+		AsyncLogWriter tempWriter = asyncLogWriter;
+		
+		if(tempWriter == null) return;
+		
+		asyncLogWriter = null;
+		tempWriter.close();
+	}
+	
+	/**
+	 * 비동기 로그 객체를 리턴하는 메소드
+	 * @return 사용중인 {@link AsyncLogWriter} (사용중이 아니면 null)
+	 * */
+	public AsyncLogWriter getAsyncLogWriter() {
+		return asyncLogWriter;
+	}
+	
+	/**
+	 * 루틴 메소드에서 CPU 시간을 가장 많이 사용한 Leaf를 리턴하는 메소드로 용량 계획에 사용한다. ({@link UEFLeaf#getResourceUsage()} 참조)<br>
+	 * ({@link UEFLeaf#setResourceTrackingEnabled(boolean)}로 측정을 켠 경우에만 기록됨)
+	 * @param count 리턴할 최대 Leaf 수
+	 * @return CPU 시간이 많은 순서로 정렬된 사용량 리스트 (사용량이 0인 Leaf는 제외)
+	 * */
+	public List<ResourceUsage> getTopCpuConsumers(int count) {
+		return getTopResourceUsers(count, true);
+	}
+	
+	/**
+	 * 루틴 메소드에서 메모리를 가장 많이 할당한 Leaf를 리턴하는 메소드로 가비지를 많이 만드는 Leaf를 찾는데 사용한다.
+	 * @param count 리턴할 최대 Leaf 수
+	 * @return 할당량이 많은 순서로 정렬된 사용량 리스트 (사용량이 0인 Leaf는 제외)
+	 * */
+	public List<ResourceUsage> getTopAllocators(int count) {
+		return getTopResourceUsers(count, false);
+	}
+	
+	/**
+	 * 모든 Leaf를 한 번 순회하며 합계만 비교해 상위 count개를 고른 뒤 고른 Leaf의 스냅샷만 만드는 메소드
+	 * @param count 리턴할 최대 Leaf 수
+	 * @param cpu CPU 시간으로 비교하려면 true, 할당량으로 비교하려면 false
+	 * */
+	private List<ResourceUsage> getTopResourceUsers(int count, boolean cpu) {
+		if(count <= 0) return new ArrayList<ResourceUsage>();
+		
+		// 값이 큰 순서로 정렬된 상위 Leaf와 값
+		UEFLeaf[] topLeaves = new UEFLeaf[count];
+		long[] topValues = new long[count];
+		int[] size = {0};
+		
+		forEachCell(cell -> {
+			if(!(cell instanceof UEFLeaf)) return;
+			
+			UEFLeaf leaf = (UEFLeaf) cell;
+			long value = cpu? leaf.getCpuNanos(): leaf.getAllocatedBytes();
+			
+			if(value <= 0l || (size[0] == count && value <= topValues[count - 1])) return;
+			
+			// 순회 중에 리스트가 바뀌어 같은 Leaf가 다시 전달된 경우
+			for(int i = 0; i < size[0]; i++) {
+				if(topLeaves[i] == leaf) return;
+			}
+			
+			int index = Math.min(size[0], count - 1);
+			
+			while(index > 0 && topValues[index - 1] < value) {
+				topLeaves[index] = topLeaves[index - 1];
+				topValues[index] = topValues[index - 1];
+				index--;
+			}
+			
+			topLeaves[index] = leaf;
+			topValues[index] = value;
+			
+			if(size[0] < count) size[0]++;
+		});
+		
+		List<ResourceUsage> result = new ArrayList<ResourceUsage>(size[0]);
+		
+		for(int i = 0; i < size[0]; i++) result.add(topLeaves[i].getResourceUsage());
+		
+		return result;
+	}
+	
+	/**
+	 * 런타임의 모든 객체에 action을 실행하는 메소드로 전체 리스트를 복사하지 않으므로 객체가 많아도 추가 메모리를 쓰지 않는다.<br>
+	 * (실행중에 리스트가 바뀌면 일부 객체가 빠지거나 두 번 전달될 수 있다.)
+	 * @param action 객체마다 실행할 동작
+	 * */
+	public void forEachCell(Consumer<? super UEFCell> action) {
+		for(int i = 0; i < allCellList.size(); i++) {
+			UEFCell cell;
+			
+			try {
+				cell = allCellList.get(i);
+			}
+			catch (ArrayIndexOutOfBoundsException e) {
+				// 실행중에 리스트가 줄어든 경우
+				break;
+			}
+			
+			if(cell != null) action.accept(cell);
+		}
+	}
+	
+	/**
+	 * 수명주기 이벤트(루틴 시작/종료, 트리거 요청, 예외, 명령 실행)를 기록하는 링 버퍼를 리턴하는 메소드로 {@link LifecycleRecorder#dump(Path)}로 내용을 확인한다.
+	 * @return 런타임의 {@link LifecycleRecorder}
+	 * */
+	public LifecycleRecorder getLifecycleRecorder() {
+		return lifecycleRecorder;
+	}
+	
+	/**
+	 * Branch, Leaf의 MBean 등록을 관리하는 객체를 리턴하는 메소드
+	 * @return 런타임의 {@link UEFMBeanRegistry}
+	 * */
+	public UEFMBeanRegistry getMBeanRegistry() {
+		return mbeanRegistry;
+	}
+	
+	/**
+	 * Leaf의 MBean 등록 여부를 지정하는 메소드로 이미 런타임에 있는 Leaf들도 함께 등록, 해제된다. (기본값은 false)<br>
+	 * Leaf가 많은 경우 필요할 때만 켜고 확인이 끝나면 끄는 것을 권장한다.
+	 * @param leafMBeansEnabled 등록하려면 true
+	 * */
+	public void setLeafMBeansEnabled(boolean leafMBeansEnabled) {
+		mbeanRegistry.setLeafEnabled(leafMBeansEnabled);
+		
+		for(Object o: allCellList.toArray()) {
+			if(o instanceof UEFLeaf) mbeanRegistry.update((UEFLeaf) o);
+		}
+	}
+	
+	public boolean isLeafMBeansEnabled() {
+		return mbeanRegistry.isLeafEnabled();
+	}
+	
+	/**
+	 * 저널을 디스크에 반영하고 닫는 메소드
+	 * */
+	private void closeJournal() {
+		if(journal == null) return;
+		
+		try {
+			journal.close();
+		}
+		catch (Exception e) {
+			log(Level.WARNING, "저널을 닫는데 실패했습니다. ({})", e.getMessage());
+		}
+	}
+	
+	/**
+	 * 저널에서 읽어온 명령의 {@link CellDescriptor} 인자를 실제 UEFCell로 바꾸는 메소드<br>
+	 * 등록 명령(1xx)은 새로운 UEFCell을 만들고, 나머지 명령은 관리중인 UEFCell을 이름으로 찾는다.
+	 * @param order 저널에서 읽어온 명령
+	 * @param leafTriggerMap 등록 명령으로 만든 Leaf와 기록된 트리거 상태를 담을 맵 (명령을 실행한 뒤 복구)
+	 * @return 모든 인자를 찾거나 만든 경우 true
+	 * */
+	private boolean resolveJournalOrder(Order order, Map<UEFLeaf, RoutineTriggerStatus> leafTriggerMap) {
+		boolean isRegist = order.getOrderNumber() / 100 == 1;
+		
+		for(Map.Entry<String, Object> entry: order.getMap().entrySet()) {
+			// REGIST_BATCH의 [Branch 이름, Leaf 정보 리스트]는 Leaf를 만들어 바꿈
+			if(entry.getValue() instanceof Map) {
+				entry.setValue(resolveJournalLeafMap(order, (Map<?, ?>) entry.getValue(), leafTriggerMap));
+				continue;
+			}
+			else if(!(entry.getValue() instanceof CellDescriptor)) continue;
+			
+			CellDescriptor descriptor = (CellDescriptor) entry.getValue();
+			UEFCell cell = null;
+			
+			if(descriptor.isBranch()) {
+				cell = findManagedBranch(descriptor.getName());
+				
+				// 등록 명령인데 관리중인 Branch가 없으면 새로 만듦
+				if(cell == null && isRegist) cell = createBranch(descriptor);
+			}
+			else if(isRegist) {
+				cell = createLeaf(descriptor.getClassName(), descriptor.getName());
+				
+				if(cell != null) leafTriggerMap.put((UEFLeaf) cell, descriptor.getTrigger());
+			}
+			else {
+				cell = findManagedLeaf(descriptor.getClassName(), descriptor.getName());
+			}
+			
+			if(cell == null) {
+				log(Level.WARNING, "{}의 {}를 복구하지 못했습니다.", order, descriptor);
+				return false;
+			}
+			
+			descriptor.applyTo(cell);
+			entry.setValue(cell);
+		}
+		
+		return true;
 	}
 	
 	/**
-	 * UEFManager에 UEFBranch를 branchName으로 찾아 제거하는 메소드 UEFManager에 등록되어 있지 않은경우 실패한다.<br>
-	 * 성공시 UEFBranch는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
-	 * @param branchName UEFManager에서 제거하고자 하는 UEFBranch의 이름
-	 * @return 제거된 UEFBranch를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
-	 * @exception NullPointerException branchName이 null인 경우
+	 * 저널에서 읽어온 [Branch 이름, Leaf 정보 리스트]의 Leaf 정보를 등록된 생성기로 만든 UEFLeaf로 바꾸는 메소드<br>
+	 * (생성기가 없어 만들지 못한 Leaf는 생략한다.)
+	 * @param order 저널에서 읽어온 명령
+	 * @param descriptorMap [Branch 이름, Leaf 정보 리스트]
+	 * @param leafTriggerMap 만든 Leaf와 기록된 트리거 상태를 담을 맵
+	 * @return [Branch 이름, UEFLeaf 리스트]
 	 * */
-	public ResultWaitter<UEFBranch> remove(String branchName) {
-		ResultWaitter<UEFBranch> result = new ResultWaitter<UEFBranch>();
-		
-		if(branchName == null) throw new NullPointerException("branchName is null");
+	private Map<String, List<UEFLeaf>> resolveJournalLeafMap(Order order, Map<?, ?> descriptorMap, Map<UEFLeaf, RoutineTriggerStatus> leafTriggerMap) {
+		Map<String, List<UEFLeaf>> result = new LinkedHashMap<String, List<UEFLeaf>>();
 		
-		sendOrder(CoreOrderNumber.REMOVE_BO, result, branchName);
+		for(Map.Entry<?, ?> entry: descriptorMap.entrySet()) {
+			List<UEFLeaf> leafList = new ArrayList<UEFLeaf>();
+			
+			for(Object o: (List<?>) entry.getValue()) {
+				CellDescriptor descriptor = (CellDescriptor) o;
+				UEFLeaf leaf = createLeaf(descriptor.getClassName(), descriptor.getName());
+				
+				if(leaf == null) {
+					log(Level.WARNING, "{}의 {}를 복구하지 못했습니다.", order, descriptor);
+					continue;
+				}
+				
+				descriptor.applyTo(leaf);
+				leafList.add(leaf);
+				leafTriggerMap.put(leaf, descriptor.getTrigger());
+			}
+			
+			result.put((String) entry.getKey(), leafList);
+		}
 		
 		return result;
 	}
 	
 	/**
-	 * UEFManager의 특정 branch에 leaf를 제거하는 메소드 UEFManager에 branch가 등록되어 있지 않거나 branch에 leaf가 등록되어있지 않은경우 실패한다.<br>
-	 * 성공시 leaf는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
-	 * @param leaf UEFManager에서 제거하고자 하는 UEFUEFLeaf
-	 * @param branch UEFManager에서 제거하고자 하는 leaf를 가지고 있는 UEFBranch
-	 * @return 제거된 UEFLeaf를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
-	 * @exception NullPointerException leaf가 null이거나, branch가 null인 경우
+	 * 복구한 UEFCell에 기록된 트리거 상태를 요청하는 메소드 (NEW, SHUTDOWN이거나 이미 같은 상태면 요청하지 않는다.)
+	 * @param cell 부모에 연결된 UEFCell
+	 * @param trigger 기록된 트리거 상태
 	 * */
-	public ResultWaitter<UEFLeaf> remove(UEFLeaf leaf, UEFBranch branch) {
-		ResultWaitter<UEFLeaf> result = new ResultWaitter<UEFLeaf>();
-		
-		if(leaf == null) throw new NullPointerException("leaf is null");
-		else if(branch == null) throw new NullPointerException("branch is null");
-		
-		sendOrder(CoreOrderNumber.REMOVE_LOBO, result, leaf, branch);
+	private void restoreTrigger(UEFCell cell, RoutineTriggerStatus trigger) {
+		if(cell.getCurrentTriggerStatus() == trigger) return;
 		
-		return result;
+		try {
+			switch(trigger) {
+				case EXECUTE: cell.requestExecute(); break;
+				case PAUSE: cell.requestPause(); break;
+				case STOP: cell.requestStop(); break;
+				default: break;
+			}
+		}
+		catch (AccessControlException e) {
+			log(Level.WARNING, "{}의 트리거 상태를 복구하지 못했습니다. ({})", cell, e.getMessage());
+		}
 	}
 	
 	/**
-	 * UEFManager에서 특정이름을 가진 UEFBranch에서 leaf를 제거하는 메소드 UEFManager에서 해당이름을 가진 UEFBranch가 등록되어 있지 않거나 UEFBranch에 leaf가 등록되어있지 않은경우 실패한다.<br>
-	 * 성공시 leaf는 importatnt가 해제되고 ResultWaitter에서 값을 받을 수 있음 실패할 경우 {@link ResultWaitter}에서 null을 반환함
-	 * @param leaf UEFManager에서 제거하고자 하는 UEFUEFLeaf
-	 * @param branchName UEFManager에서 제거하고자 하는 leaf를 가지고 있는 UEFBranch의 이름
-	 * @return 제거된 UEFLeaf를 받을 수 있도록 대기시켜주는 {@link ResultWaitter}
-	 * @exception NullPointerException leaf가 null이거나, branchName이 null인 경우
+	 * 관리중인 Branch를 이름으로 찾는 메소드
+	 * @param name 찾을 Branch 이름
+	 * @return 찾은 UEFBranch (없으면 null)
 	 * */
-	public ResultWaitter<UEFLeaf> remove(UEFLeaf leaf, String branchName) {
-		ResultWaitter<UEFLeaf> result = new ResultWaitter<UEFLeaf>();
+	private UEFBranch findManagedBranch(String name) {
+		return name == null? null: manageBranchMap.get(name);
+	}
+	
+	/**
+	 * 관리중인 Branch에 등록된 Leaf를 이름으로 찾는 메소드
+	 * @param branchName 찾을 Leaf가 등록된 Branch 이름
+	 * @param leafName 찾을 Leaf 이름
+	 * @return 찾은 UEFLeaf (없으면 null)
+	 * */
+	public UEFLeaf findLeaf(String branchName, String leafName) {
+		UEFBranch branch = findManagedBranch(branchName);
 		
-		if(leaf == null) throw new NullPointerException("leaf is null");
-		else if(branchName == null) throw new NullPointerException("branchName is null");
+		if(branch == null || leafName == null) return null;
 		
-		sendOrder(CoreOrderNumber.REMOVE_LOBN, result, leaf, branchName);
+		for(Object c: branch.list.toArray()) {
+			if(c instanceof UEFLeaf && ((UEFLeaf) c).getName().equals(leafName)) return (UEFLeaf) c;
+		}
 		
-		return result;
+		return null;
 	}
 	
 	/**
-	 * UEFManager의 프레임을 지정하는 메소드로 {@link UEFManager sendOrder(CoreOrderNumber.SET_FRAME, frame)}를 통해 업데이트 되기때문에 호출 즉시 반영되지 않는다.<br>
-	 * <ul>
-	 * <li>MIN_FRAME = 1, MAX_FRAME = 1e+9</li>
-	 * <li></li>
-	 * <li><b>1  frame </b> : this.frame = MIN_FRAME</li>
-	 * <li><b>1  frame  1e+9</b> : this.frame = frame</li>
-	 * <li><b>frame  1e+9</b> : this.frame = MAX_FRAME</li>
-	 * </ul>
-	 * @param frame 지정할 프레임 값
+	 * 관리중인 Branch들에서 클래스 이름과 이름이 같은 Leaf를 찾는 메소드
+	 * @param className 찾을 Leaf의 클래스 이름
+	 * @param name 찾을 Leaf 이름
+	 * @return 찾은 UEFLeaf (없으면 null)
 	 * */
-	@Override
-	public void setFrame(long frame){
-		
-		if(frame < MIN_FRAME) {
-			frame = MIN_FRAME;
-		}
-		else if(frame > MAX_FRAME) {
-			frame = MAX_FRAME;
+	private UEFLeaf findManagedLeaf(String className, String name) {
+		for(Object o: manageCellList.toArray()) {
+			for(Object c: ((UEFBranch) o).list.toArray()) {
+				if(c instanceof UEFLeaf && ((UEFLeaf) c).getName().equals(name) && c.getClass().getName().equals(className)) 
+					return (UEFLeaf) c;
+			}
 		}
 		
-		sendOrder(CoreOrderNumber.SET_FRAME, frame);
+		return null;
 	}
 	
 	/**
-	 * UEFManager의 관리하에있는 UEFBranch들중 패턴이 겹치는 객체를 실행하는 메소드<br>
-	 * @param rts 실행할 Trigger
-	 * @param pattern 실행시킬 UEFBranch 이름패턴("^(.)*$"을 삽입하면 전체를 대상으로 진행)
-	 * @throws IllegalAccessException RoutineTriggerStatus.NEW를 삽입한 경우 예외발생
-	 * 
+	 * 현재 관리중인 구조(Branch, Leaf, 프레임, 설정값, 트리거 상태, 의존관계)를 바이너리 스냅샷 파일로 기록하는 메소드<br>
+	 * (SHUTDOWN 상태인 Branch, Leaf와 기록되지 않는 Cell이 포함된 의존관계는 기록하지 않는다.)
+	 * @param path 스냅샷 파일 경로
+	 * @return 기록한 UEFCell 수
+	 * @throws IOException 파일 기록에 실패한 경우
 	 * */
-	public void requestTrigger(RoutineTriggerStatus rts, String pattern) throws IllegalAccessException {
-		if(pattern == null) throw new NullPointerException("pattern is null");
-		else if(rts == null) throw new NullPointerException("rts is null");
-		else if(rts == RoutineTriggerStatus.NEW) throw new IllegalAccessException("RoutineTriggerStatus.NEW is an invalid request.");
+	public int exportSnapshot(Path path) throws IOException {
+		TopologySnapshot snapshot = new TopologySnapshot(getFrame());
 		
-		switch(rts) {
-		case EXECUTE:
-			sendOrder(CoreOrderNumber.REQUEST_EXECUTE, pattern);
-			break;
-			
-		case PAUSE:
-			sendOrder(CoreOrderNumber.REQUEST_PAUSE, pattern);
-			break;
+		for(Object o: manageCellList.toArray()) {
+			UEFBranch branch = (UEFBranch) o;
 			
-		case STOP:
-			sendOrder(CoreOrderNumber.REQUEST_STOP, pattern);
-			break;
+			if(branch.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) continue;
 			
-		case SHUTDOWN:
-			sendOrder(CoreOrderNumber.REQUEST_SHUTDOWN, pattern);
-			break;
+			TopologySnapshot.BranchEntry entry = snapshot.addBranch(CellDescriptor.of(branch), branch.getCurrentTriggerStatus());
 			
-		default:
-			break;
+			for(Object c: branch.list.toArray()) {
+				if(c instanceof UEFLeaf && ((UEFLeaf) c).getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN) 
+					entry.addLeaf(CellDescriptor.of((UEFLeaf) c));
+			}
 		}
-	}
-	
-	/**
-	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Execute상태로 만든다.
-	 * */
-	@Override
-	public void requestExecute() {
-		try {
-			requestTrigger(RoutineTriggerStatus.EXECUTE, "^(.)*$");
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
+		
+		// 기록한 Cell 사이의 의존관계
+		for(TopologySnapshot.BranchEntry entry: snapshot.getBranches()) {
+			UEFBranch branch = findManagedBranch(entry.getBranch().getName());
+			
+			addSnapshotDependencies(snapshot, branch);
+			
+			for(CellDescriptor leaf: entry.getLeaves()) addSnapshotDependencies(snapshot, findLeaf(branch.getName(), leaf.getName()));
 		}
+		
+		snapshot.write(path);
+		
+		log(Level.INFO, "스냅샷을 기록했습니다. ({}, {}개의 Cell)", path, snapshot.getCellCount());
+		
+		return snapshot.getCellCount();
 	}
 	
 	/**
-	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Pause상태로 만든다.
+	 * {@link #exportSnapshot(Path)}로 기록한 스냅샷을 읽어 구조를 한번에 복구하는 메소드로 반드시 {@link #launch()} 이전에 호출해야한다.<br>
+	 * 명령 큐를 거치지 않고 Branch 색인, 부모 연결, 관리 리스트를 직접 만들기 때문에 Cell 수가 많아도 빠르게 시작할 수 있다.<br>
+	 * 같은 이름의 Branch가 이미 관리중이면 해당 Branch에 Leaf를 추가하며, Leaf를 복구하려면
+	 * {@link #registLeafFactory(String, UEFLeafFactory)}로 생성기를 먼저 등록해야한다.
+	 * (Branch는 {@link #registBranchFactory(String, UEFBranchFactory)}로 등록된 생성기가 없으면 기본 UEFBranch로 복구된다.)<br>
+	 * Branch와 Leaf를 모두 연결한 뒤 트리거 상태를 Branch, Leaf 순서로 복구하고 마지막으로 의존관계를 복구한다.
+	 * @param path 스냅샷 파일 경로
+	 * @return 복구한 UEFCell 수
+	 * @throws IOException 스냅샷 파일을 읽지 못한 경우
+	 * @exception AccessControlException 이미 launch된 경우
 	 * */
-	@Override
-	public void requestPause() {
-		try {
-			requestTrigger(RoutineTriggerStatus.PAUSE, "^(.)*$");
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
+	public synchronized int restoreSnapshot(Path path) throws IOException, AccessControlException {
+		if(isLaunched) throw new AccessControlException("restoreSnapshot() must be called before launch()");
+		
+		TopologySnapshot snapshot = TopologySnapshot.read(path);
+		Set<String> missingFactory = new HashSet<String>();
+		int result = 0;
+		
+		super.setFrame(snapshot.getFrame());
+		
+		for(TopologySnapshot.BranchEntry entry: snapshot.getBranches()) {
+			CellDescriptor descriptor = entry.getBranch();
+			UEFBranch branch = findManagedBranch(descriptor.getName());
+			
+			// 관리중인 Branch가 없으면 새로 만들어 색인과 관리 리스트에 바로 연결
+			if(branch == null) {
+				branch = createBranch(descriptor);
+				
+				addManagedBranch(branch);
+				branch.attachParent(this);
+				result++;
+			}
+			
+			descriptor.applyTo(branch);
+			
+			// Leaf를 모두 만든 뒤 한번에 연결
+			List<UEFLeaf> leafList = new ArrayList<UEFLeaf>(entry.getLeaves().size());
+			List<RoutineTriggerStatus> leafTriggerList = new ArrayList<RoutineTriggerStatus>(entry.getLeaves().size());
+			
+			for(CellDescriptor leafDescriptor: entry.getLeaves()) {
+				UEFLeaf leaf = createLeaf(leafDescriptor.getClassName(), leafDescriptor.getName());
+				
+				if(leaf == null) {
+					if(missingFactory.add(leafDescriptor.getClassName())) 
+						log(Level.WARNING, "{}의 생성기가 등록되지 않아 복구하지 못했습니다.", leafDescriptor.getClassName());
+					
+					continue;
+				}
+				
+				leafDescriptor.applyTo(leaf);
+				leafList.add(leaf);
+				leafTriggerList.add(leafDescriptor.getTrigger());
+			}
+			
+			result += branch.attachAll(leafList);
+			
+			// Branch의 트리거를 먼저 요청해야 Leaf의 트리거 상태가 Branch의 전파로 바뀌지 않음
+			restoreTrigger(branch, entry.getTrigger());
+			
+			for(int i = 0; i < leafList.size(); i++) restoreTrigger(leafList.get(i), leafTriggerList.get(i));
 		}
-	}
-	
-	/**
-	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Stop상태로 만든다.
-	 * */
-	@Override
-	public void requestStop() {
-		try {
-			requestTrigger(RoutineTriggerStatus.STOP, "^(.)*$");
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
+		
+		for(TopologySnapshot.DependencyEntry entry: snapshot.getDependencies()) {
+			UEFCell dependent = findSnapshotCell(entry.getDependent());
+			UEFCell target = findSnapshotCell(entry.getTarget());
+			
+			if(dependent == null || target == null) {
+				log(Level.WARNING, "{} -> {} 의존관계의 Cell을 찾지 못해 복구하지 못했습니다.", entry.getDependent(), entry.getTarget());
+				continue;
+			}
+			
+			try {
+				dependent.addDependency(target);
+			}
+			catch (IllegalArgumentException e) {
+				log(Level.WARNING, "{} -> {} 의존관계를 복구하지 못했습니다. ({})", entry.getDependent(), entry.getTarget(), e.getMessage());
+			}
 		}
+		
+		// 저널을 사용중이면 복구된 구조로 압축
+		compactJournal();
+		
+		log(Level.INFO, "스냅샷을 복구했습니다. ({}, {}/{}개의 Cell)", path, result, snapshot.getCellCount());
+		
+		return result;
 	}
 	
 	/**
-	 * 현재 UEFManager에 등록되어 있는 모든 Brnach를 Shutdown상태로 만든다.
+	 * cell의 의존 대상 중 스냅샷에 기록되는 Cell(관리중인 Branch 또는 그 Branch에 소속된 Leaf)과의 의존관계를 스냅샷에 추가하는 메소드
+	 * @param snapshot 의존관계를 추가할 스냅샷
+	 * @param cell 의존하는 Cell (null이면 무시)
 	 * */
-	@Override
-	public void requestShutdown() {
-		try {
-			requestTrigger(RoutineTriggerStatus.SHUTDOWN, "^(.)*$");
-		} catch (IllegalAccessException e) {
-			e.printStackTrace();
+	private void addSnapshotDependencies(TopologySnapshot snapshot, UEFCell cell) {
+		TopologySnapshot.CellReference dependent = snapshotReference(cell);
+		
+		if(dependent == null) return;
+		
+		for(UEFCell target: cell.getDependencies()) {
+			TopologySnapshot.CellReference reference = snapshotReference(target);
+			
+			if(reference != null) snapshot.addDependency(dependent, reference);
 		}
 	}
 	
 	/**
-	 * UEF 라이브러리가 종료됬는지를 반환하는 메소드
-	 * @return 종료된 경우 true를 반환함
+	 * 스냅샷에 기록되는 Cell을 가리키는 참조를 만드는 메소드
+	 * @param cell 참조할 Cell
+	 * @return 참조 (관리중인 Branch 또는 그 Branch에 소속된 Leaf가 아니거나 SHUTDOWN 상태면 null)
 	 * */
-	public boolean isEnd() {
-		return isEnd;
+	private TopologySnapshot.CellReference snapshotReference(UEFCell cell) {
+		if(cell == null || cell.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) return null;
+		
+		if(cell instanceof UEFBranch) 
+			return findManagedBranch(cell.getName()) == cell? new TopologySnapshot.CellReference(cell.getName(), null): null;
+		
+		UEFCell parent = cell.getParent();
+		
+		if(cell instanceof UEFLeaf && parent instanceof UEFBranch && findManagedBranch(parent.getName()) == parent) 
+			return new TopologySnapshot.CellReference(parent.getName(), cell.getName());
+		
+		return null;
 	}
 	
 	/**
-	 * UEF 라이브러리가 시작됬는지를 반환하는 메소드
-	 * @return 시작된 경우 true를 반환함
+	 * 스냅샷의 참조가 가리키는 관리중인 Cell을 찾는 메소드
+	 * @param reference 찾을 Cell의 참조
+	 * @return 찾은 UEFCell (없으면 null)
 	 * */
-	public boolean isLaunched() {
-		return isLaunched;
+	private UEFCell findSnapshotCell(TopologySnapshot.CellReference reference) {
+		return reference.isLeaf()? findLeaf(reference.getBranchName(), reference.getLeafName()): findManagedBranch(reference.getBranchName());
 	}
 	
 	/*
@@ -700,6 +2405,17 @@ public final class UEFManager extends UEFCell {
 		target.setWaitForEnd(waitForEnd);
 	}
 	
+	/**
+	 * 명령 해석 스레드에서 공통으로 사용되는 메소드로 target이 이 런타임에 소속되어 있는지 확인한다.
+	 * @param target 확인할 UEFCell
+	 * @param argName 예외 메시지에 사용할 인자 이름
+	 * @throws Exception target이 다른 런타임에 소속된 경우
+	 * */
+	private void checkRuntime(UEFCell target, String argName) throws Exception {
+		if(target != null && target.getRuntime() != this) 
+			throw new Exception(target+"("+argName+") belongs to another runtime("+target.getRuntime()+")");
+	}
+	
 	/**
 	 * 명령 해석 스레드에서 사용되는 메소드로 Leaf를 "default" 또는 Leaf의 이름과 같은 Branch에 등록한다.<br>
 	 * 인자: arg0 - UEFLeaf<br>
@@ -721,6 +2437,8 @@ public final class UEFManager extends UEFCell {
 			throw new Exception(leaf+"(arg0) already has "+leaf.getParent()+" as a parent.");
 		}
 		
+		checkRuntime(leaf, "arg0");
+		
 		try {
 			while(itr.hasNext()) { // UEFManager에서 관리하는 Branch중 이름이 "default"인 곳에 등록한다.
 				UEFBranch tempBranch = itr.next();
@@ -760,7 +2478,6 @@ public final class UEFManager extends UEFCell {
 	 * */
 	private void RegistBranch(Order order) throws Exception {
 		Map<String, Object> orderMap = order.getMap();
-		Iterator<UEFBranch> itr = manageCellList.iterator();
 		Object arg0 = orderMap.get("arg0");
 		String name = null;
 		UEFBranch branch = null;
@@ -784,6 +2501,8 @@ public final class UEFManager extends UEFCell {
 			if(branch.getParent() != null)
 				throw new Exception(branch+"(arg0) already has "+branch.getParent()+" as a parent.");
 			
+			checkRuntime(branch, "arg0");
+			
 			findName = branch.getName();
 		}
 		
@@ -793,18 +2512,13 @@ public final class UEFManager extends UEFCell {
 		
 		
 		try {
-			while(itr.hasNext()) {
-				UEFBranch tempBranch = itr.next();
-				
-				// 이름이 같다면  예외호출
-				if(tempBranch.getName().equals(findName)) 
-					throw new Exception("branch name is already used("+branch.getName()+")");
-				
-			}
+			// 이름이 같은 branch가 있다면 예외호출
+			if(findManagedBranch(findName) != null) 
+				throw new Exception("branch name is already used("+findName+")");
 			
 			
 			if(branch != null) { // 인자값이 UEFBranch인 경우
-				if(manageCellList.add(branch)) { // manageCellList에 branch추가 
+				if(addManagedBranch(branch)) { // manageCellList에 branch추가 
 					branch.setParent(this);
 					commonRegist(branch, true);
 				}
@@ -814,9 +2528,9 @@ public final class UEFManager extends UEFCell {
 			}
 			else if(name != null){ // 인자값이 String name인 경우
 				// findName으로 branch추가 
-				UEFBranch tempBranch = new UEFBranch(findName, true, true) {};
+				UEFBranch tempBranch = new UEFBranch(findName, true, true, this) {};
 				
-				if(manageCellList.add(tempBranch)) {
+				if(addManagedBranch(tempBranch)) {
 					commonRegist(tempBranch, true);
 					tempBranch.setParent(this);
 				}
@@ -861,6 +2575,9 @@ public final class UEFManager extends UEFCell {
 			throw new Exception(leaf+"(arg0) already has "+leaf.getParent()+" as a parent.");
 		}
 		
+		checkRuntime(leaf, "arg0");
+		checkRuntime(branch, "arg1");
+		
 		try {
 			if(manageCellList.contains(branch)) { // branch가 UEFManager에 등록되어있는지 확인
 				if(branch.add(leaf)) { // leaf -> branch
@@ -883,7 +2600,7 @@ public final class UEFManager extends UEFCell {
 					
 				}
 				
-				if(manageCellList.add(branch)) { // branch를 UEFManager에 등록하고 여부 확인
+				if(addManagedBranch(branch)) { // branch를 UEFManager에 등록하고 여부 확인
 					commonRegist(branch, true);
 					branch.setParent(this);
 					
@@ -913,7 +2630,6 @@ public final class UEFManager extends UEFCell {
 	 * */
 	private void RegistLeafByBranchName(Order order) throws Exception {
 		Map<String, Object> orderMap = order.getMap();
-		Iterator<UEFBranch> itr = manageCellList.iterator();
 		UEFLeaf leaf = (UEFLeaf) orderMap.get("arg0");
 		String branchName = (String) orderMap.get("arg1");
 		
@@ -927,28 +2643,29 @@ public final class UEFManager extends UEFCell {
 			throw new Exception(leaf+"(arg0) already has "+leaf.getParent()+" as a parent.");
 		}
 		
+		checkRuntime(leaf, "arg0");
+		
 		try {
-			while(itr.hasNext()) { // name과 같은 이름을 가진 branch가 있는지 확인
-				UEFBranch tempBranch = itr.next();
-				
-				// 이름이 같다면 해당 branch에 Leaf추가
-				if(tempBranch.getName().equals(branchName)) {
-					if(tempBranch.add(leaf)) {
-						commonRegist(leaf, true);
-						
-						return;
-					}
-					else {
-						// 넣고자하는 branch에 삽입을 실패하면 예외발생
-						throw new Exception("Failed to register "+leaf+"(arg0) to "+tempBranch.getName());
-					}
+			// name과 같은 이름을 가진 branch가 있는지 색인에서 확인
+			UEFBranch tempBranch = findManagedBranch(branchName);
+			
+			// 이름이 같다면 해당 branch에 Leaf추가
+			if(tempBranch != null) {
+				if(tempBranch.add(leaf)) {
+					commonRegist(leaf, true);
+					
+					return;
+				}
+				else {
+					// 넣고자하는 branch에 삽입을 실패하면 예외발생
+					throw new Exception("Failed to register "+leaf+"(arg0) to "+tempBranch.getName());
 				}
 			}
 			
 			// 해당 이름으로 branch가 존재하지 않는걸 확인
-			UEFBranch tempBranch = new UEFBranch(branchName, true, true) {};
+			tempBranch = new UEFBranch(branchName, true, true, this) {};
 			
-			if(manageCellList.add(tempBranch)) { // tempBranch -> UEFManager
+			if(addManagedBranch(tempBranch)) { // tempBranch -> UEFManager
 				commonRegist(tempBranch, true);
 				tempBranch.setParent(this);
 				
@@ -971,6 +2688,70 @@ public final class UEFManager extends UEFCell {
 		}
 	}
 	
+	/**
+	 * 명령 해석 스레드에서 사용되는 메소드로 이름별로 묶인 Leaf들을 해당 이름을 가진 Branch에 한번에 등록한다. (Branch가 존재하지 않으면 만들어서 등록)<br>
+	 * 검사를 통과한 Leaf들은 {@link UEFBranch#attachAll(List)}로 한번의 잠금 안에서 연결된다.<br>
+	 * 인자: arg0 - ResultWaitter, arg1 - Map[String, List[UEFLeaf]]<br>
+	 * 명령번호: 105
+	 * @param order 처리할 명령
+	 * @throws Exception 
+	 * */
+	private void RegistLeafBatch(Order order) throws Exception {
+		Map<String, Object> orderMap = order.getMap();
+		// REGIST_BATCH의 인자는 registAll()과 저널 복구(resolveJournalLeafMap())에서만 이 타입으로 넣어지므로 확인하지 않음
+		@SuppressWarnings("unchecked")
+		ResultWaitter<Integer> resultWaitter = (ResultWaitter<Integer>) orderMap.get("arg0");
+		@SuppressWarnings("unchecked")
+		Map<String, List<UEFLeaf>> leafMap = (Map<String, List<UEFLeaf>>) orderMap.get("arg1");
+		Set<UEFLeaf> checkedSet = new HashSet<UEFLeaf>();
+		int result = 0, skipped = 0;
+		
+		try {
+			if(leafMap == null) throw new Exception("leafMap(arg1) is null");
+			
+			for(Map.Entry<String, List<UEFLeaf>> entry: leafMap.entrySet()) {
+				List<UEFLeaf> leafList = new ArrayList<UEFLeaf>(entry.getValue().size());
+				
+				// 한번만 검사하고 묶음 안에서 중복된 Leaf는 제외
+				for(UEFLeaf leaf: entry.getValue()) {
+					if(leaf == null || leaf.getParent() != null || leaf.getRuntime() != this 
+							|| leaf.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN || !checkedSet.add(leaf)) {
+						skipped++;
+						continue;
+					}
+					
+					commonRegist(leaf, true);
+					leafList.add(leaf);
+				}
+				
+				if(leafList.isEmpty()) continue;
+				
+				UEFBranch branch = findManagedBranch(entry.getKey());
+				
+				// 해당 이름으로 branch가 존재하지 않으면 한번만 만들어 등록
+				if(branch == null) {
+					branch = new UEFBranch(entry.getKey(), true, true, this) {};
+					
+					if(addManagedBranch(branch)) {
+						commonRegist(branch, true);
+						branch.attachParent(this);
+					}
+					else throw new Exception("Failed to register "+branch+" to UEFManager");
+				}
+				
+				int attached = branch.attachAll(leafList);
+				
+				result += attached;
+				skipped += leafList.size() - attached;
+			}
+			
+			if(skipped > 0) log(Level.WARNING, "{} {}개의 Leaf를 등록하지 못했습니다.", order, skipped);
+		}
+		finally {
+			if(resultWaitter != null) resultWaitter.setResult(result);
+		}
+	}
+	
 	/**
 	 * 명령 해석 스레드에서 사용되는 메소드로 UEFManager의 frame값을 변경한다.<br>
 	 * 인자: arg0 - Long<br>
@@ -1092,7 +2873,7 @@ public final class UEFManager extends UEFCell {
 				 * */
 				if(manageCellList.contains(branch)) { // branch가 등록되있는지 확인
 					try {
-						if(manageCellList.remove(branch)) { // 삭제후 성공여부 확인
+						if(removeManagedBranch(branch)) { // 삭제후 성공여부 확인
 							commonRegist(branch, false);
 							branch.setParent(null);
 							resultWaitter.setResult(branch);
@@ -1121,7 +2902,7 @@ public final class UEFManager extends UEFCell {
 			}
 			
 			if(target != null) { // 삭제할 branch를 찾은경우
-				if(manageCellList.remove(target)) {
+				if(removeManagedBranch(target)) {
 					commonRegist(target, false);
 					target.setParent(null);
 					resultWaitter.setResult(target);
@@ -1272,11 +3053,14 @@ public final class UEFManager extends UEFCell {
 		
 		if(pattern == null) throw new Exception("pattern(arg0) is null");
 		
+		// 관리 리스트의 Branch마다 다시 컴파일하지 않도록 한번만 컴파일
+		Pattern compiledPattern = Pattern.compile(pattern);
+		
 		while(itr.hasNext()) {
 			UEFBranch tempBranch = itr.next();
 			
 			if(tempBranch == null) continue;
-			else if(tempBranch.getName().matches(pattern) && tempBranch.getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN){
+			else if(compiledPattern.matcher(tempBranch.getName()).matches() && tempBranch.getCurrentTriggerStatus() != RoutineTriggerStatus.SHUTDOWN){
 				// 이름과 pattern이 일치하고 종료되지 않은 상태라면 실행한다.
 				try {
 					switch (order.getOrderNumber()) {
@@ -1308,7 +3092,7 @@ public final class UEFManager extends UEFCell {
 					result = "failed.("+e1.getMessage()+")";
 				}
 				finally {
-					log(level, tempBranch+" "+requestTriggerName+" "+result);
+					log(level, "{} {} {}", tempBranch, requestTriggerName, result);
 				}
 			}
 		}
@@ -1333,8 +3117,16 @@ public final class UEFManager extends UEFCell {
 							log(Level.INFO, "UEF 라이브러리를 종료합니다.");
 							
 							try {
-								UEFManager.getInstance().shutdownHook.start();					
-								UEFManager.getInstance().shutdownHook.join();
+								// 직접 실행한 종료 스레드가 JVM 종료시 다시 실행되지 않도록 해제
+								try {
+									Runtime.getRuntime().removeShutdownHook(shutdownHook);
+								}
+								catch (IllegalStateException e) {
+									// JVM이 이미 종료중인 경우
+								}
+								
+								shutdownHook.start();					
+								shutdownHook.join();
 							} catch (InterruptedException e) {
 								e.printStackTrace();
 							}
@@ -1384,7 +3176,7 @@ public final class UEFManager extends UEFCell {
 		
 		return sb.toString();
 	}
-
+	
 	
 	/**
 	 * UEF라이브러리를 정상적으로 종료시킬 때 사용하는 메소드로 org.UEF.core.UEFCell을 상속한 모든 클래스의 인스턴스들을 종료시킨다.<br>
@@ -1393,7 +3185,7 @@ public final class UEFManager extends UEFCell {
 	 * */
 	public synchronized void exit(boolean endProcess) {
 		if(doNotCallThis4exit == false) {
-			UEFManager.getInstance().sendOrder(CoreOrderNumber.EXIT_UEFMANAGER, endProcess);
+			sendOrder(CoreOrderNumber.EXIT_UEFMANAGER, endProcess);
 			doNotCallThis4exit = true;
 		}
 		
@@ -1415,13 +3207,13 @@ public final class UEFManager extends UEFCell {
 	 * 
 	 * ====================================================================================================================================
 	 */
-
+	
 	@Override
 	@Deprecated
 	public void run() {
 		
 	}
-
+	
 	@Override
 	@Deprecated
 	protected void setTrigger(RoutineTriggerStatus afterStatus) {
@@ -1443,7 +3235,7 @@ public final class UEFManager extends UEFCell {
 	@Override
 	@Deprecated
 	public void setUseParentLogeer(boolean useParentLogger) {
-
+	
 	}
 	
 	@Override
@@ -8,6 +8,7 @@ package org.UEF.enu;
  * <li>REGIST_BN: 해당 이름을 가진 Branch를 관리 대상으로 추가</li>
  * <li>REGIST_LOBO: 관리 대상인 Branch에 Leaf객체 추가</li>
  * <li>REGIST_LOBN: 해당 이름을 가진 Branch에 Leaf객체 추가</li>
+ * <li>REGIST_BATCH: 이름별로 묶인 Leaf객체들을 해당 이름을 가진 Branch에 한번에 추가</li>
  * 
  * 
  * <li>REMOVE_LO: 'default' Branch에 Leaf객체 삭제</li>
@@ -27,7 +28,7 @@ package org.UEF.enu;
  * </ul>
  * */
 public enum CoreOrderNumber {
-	REGIST_LO(100), REGIST_BO(101), REGIST_BN(102), REGIST_LOBO(103), REGIST_LOBN(104),
+	REGIST_LO(100), REGIST_BO(101), REGIST_BN(102), REGIST_LOBO(103), REGIST_LOBN(104), REGIST_BATCH(105),
 	REMOVE_LO(200), REMOVE_BO(201), REMOVE_BN(202), REMOVE_LOBO(203), REMOVE_LOBN(204),
 	SET_FRAME(300), SET_STREAM(301), EXIT_UEFMANAGER(302),
 	REQUEST_EXECUTE(400), REQUEST_PAUSE(401), REQUEST_STOP(402), REQUEST_SHUTDOWN(403)
@@ -0,0 +1,17 @@
+package org.UEF.enu;
+
+/**
+ * {@link org.UEF.others.LifecycleRecorder}에 기록되는 수명주기 이벤트의 종류를 열거형으로 제작한것으로 각 종류의 code, arg 값은 다음과 같다.<br>
+ * <ul>
+ * <li>PHASE_START: 루틴 메소드 실행 시작 (code: {@link RoutineStatus#getValue()}, arg: 0)</li>
+ * <li>PHASE_END: 루틴 메소드 실행 종료 (code: {@link RoutineStatus#getValue()}, arg: 실행시간(나노초))</li>
+ * <li>TRIGGER_REQUEST: 트리거 상태 변경 요청 (code: 요청한 {@link RoutineTriggerStatus}의 ordinal, arg: 요청 당시 상태의 ordinal)</li>
+ * <li>EXCEPTION: 루틴 실행중 발생해 exceptionProcessing()으로 전달된 예외 (code: exceptionProcessing()의 결과, arg: {@link RoutineStatus#getValue()}, 상세: 예외 클래스)</li>
+ * <li>ORDER_APPLY: UEFManager가 실행한 명령 (code: 명령번호, arg: 큐 대기시간(나노초))</li>
+ * <li>ORDER_FAILED: 실행에 실패한 명령 (code: 명령번호, arg: 큐 대기시간(나노초), 상세: 예외 클래스)</li>
+ * <li>STALL: {@link org.UEF.others.StallWatchdog}이 발견한 멈춘 루틴 메소드 (code: {@link RoutineStatus#getValue()}, arg: 실행중인 시간(나노초), 상세: {@link StallPolicy})</li>
+ * </ul>
+ * */
+public enum LifecycleEventType {
+	PHASE_START, PHASE_END, TRIGGER_REQUEST, EXCEPTION, ORDER_APPLY, ORDER_FAILED, STALL
+}
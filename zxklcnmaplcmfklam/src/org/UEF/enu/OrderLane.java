@@ -0,0 +1,23 @@
+package org.UEF.enu;
+
+/**
+ * UEFManager의 명령이 처리되는 우선순위 줄을 열거형으로 제작한것으로 각 줄은 다음과 같다.<br>
+ * <ul>
+ * <li>CONTROL: 트리거 조작과 종료 등 UEFManager를 조작하는 명령 (명령번호 3xx, 4xx)</li>
+ * <li>CONFIG: 관리 대상을 추가, 삭제하는 명령 (명령번호 1xx, 2xx)</li>
+ * </ul>
+ * CONTROL 줄의 명령은 CONFIG 줄에 쌓인 명령보다 먼저 처리되며 같은 줄 안에서는 들어온 순서대로 처리된다.<br>
+ * 단, CONTROL 줄의 명령보다 먼저 들어온 CONFIG 줄의 명령 중 대상 Branch가 겹치는 명령은 CONTROL 줄의 명령보다 먼저 처리된다. (등록 후 요청한 순서를 지킴)
+ * */
+public enum OrderLane {
+	CONTROL, CONFIG;
+	
+	/**
+	 * 명령번호가 처리될 줄을 리턴하는 메소드
+	 * @param orderNumber {@link CoreOrderNumber}의 명령번호
+	 * @return 3xx, 4xx이면 CONTROL, 그 외에는 CONFIG
+	 * */
+	public static OrderLane of(int orderNumber) {
+		return orderNumber >= 300 && orderNumber < 500? CONTROL: CONFIG;
+	}
+}
@@ -0,0 +1,13 @@
+package org.UEF.enu;
+
+/**
+ * 크기가 제한된 {@link org.UEF.others.DoubleQueue}가 가득 찼을 때 새로운 값을 처리하는 방법을 열거형으로 제작한것으로 각 방법은 다음과 같다.<br>
+ * <ul>
+ * <li>BLOCK: 자리가 날때까지 넣으려는 스레드를 대기시킴 (소비하는 스레드 자신이 넣는 경우에는 대기하지 않음)</li>
+ * <li>REJECT: {@link java.util.concurrent.RejectedExecutionException}을 발생시켜 넣으려는 쪽에 알림</li>
+ * <li>DROP_OLDEST: 대기중인 값 중 같은 종류의 가장 오래된 값을 버리고 넣음 (같은 종류가 없으면 REJECT와 동일)</li>
+ * </ul>
+ * */
+public enum QueueOverflowPolicy {
+	BLOCK, REJECT, DROP_OLDEST
+}
@@ -0,0 +1,14 @@
+package org.UEF.enu;
+
+/**
+ * {@link org.UEF.others.StallWatchdog}이 멈춘 UEFLeaf를 발견했을 때 처리하는 방법을 열거형으로 제작한것으로 각 방법은 다음과 같다.<br>
+ * <ul>
+ * <li>LOG: 스택 샘플을 기록하고 경고 로그만 남김</li>
+ * <li>INTERRUPT: LOG에 더해 Leaf의 스레드를 인터럽트하여 블로킹 메소드에서 빠져나오도록 함</li>
+ * <li>SHUTDOWN: INTERRUPT에 더해 Leaf의 종료를 요청함</li>
+ * <li>ESCALATE: INTERRUPT에 더해 부모 Branch의 정지를 요청하여 같은 Branch의 Leaf들을 함께 멈춤</li>
+ * </ul>
+ * */
+public enum StallPolicy {
+	LOG, INTERRUPT, SHUTDOWN, ESCALATE
+}
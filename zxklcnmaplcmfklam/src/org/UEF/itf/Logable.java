@@ -1,8 +1,10 @@
 package org.UEF.itf;
 
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import org.UEF.core.UEFCell;
+import org.UEF.others.LogMessage;
 
 public interface Logable {
 	/**
@@ -14,4 +16,54 @@ public interface Logable {
 	 * @param contents 로그의 내용
 	 * */
 	public void log(Level logLevel, String contents);
+	
+	/**
+	 * logLevel의 로그가 남겨지는지 확인하는 메소드로 아래의 로그 메소드는 이 값이 false면 내용을 만들지 않는다.
+	 * @param logLevel 로그의 레벨
+	 * @return 남겨지면 true (기본값은 항상 true)
+	 * */
+	public default boolean isLoggable(Level logLevel) {
+		return true;
+	}
+	
+	/**
+	 * 로그가 남겨지는 경우에만 contents를 호출해 내용을 만드는 메소드
+	 * @param logLevel 로그의 레벨
+	 * @param contents 로그의 내용을 만드는 Supplier
+	 * */
+	public default void log(Level logLevel, Supplier<String> contents) {
+		if(isLoggable(logLevel)) log(logLevel, contents.get());
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드로 로그가 남겨지는 경우에만 내용을 만든다. ({@link LogMessage#format(String, Object...)} 참조)<br>
+	 * 인자가 3개 이하인 메소드는 배열도 만들지 않으므로 레벨이 꺼진 로그는 할당이 없다. (기본형 인자는 박싱되므로 Supplier를 사용)
+	 * @param logLevel 로그의 레벨
+	 * @param pattern 로그의 형식
+	 * @param arg 첫번째 {}에 들어갈 값
+	 * */
+	public default void log(Level logLevel, String pattern, Object arg) {
+		if(isLoggable(logLevel)) log(logLevel, LogMessage.format(pattern, arg));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드 ({@link #log(Level, String, Object)} 참조)
+	 * */
+	public default void log(Level logLevel, String pattern, Object arg1, Object arg2) {
+		if(isLoggable(logLevel)) log(logLevel, LogMessage.format(pattern, arg1, arg2));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드 ({@link #log(Level, String, Object)} 참조)
+	 * */
+	public default void log(Level logLevel, String pattern, Object arg1, Object arg2, Object arg3) {
+		if(isLoggable(logLevel)) log(logLevel, LogMessage.format(pattern, arg1, arg2, arg3));
+	}
+	
+	/**
+	 * pattern의 {}를 인자로 바꿔 로그를 남기는 메소드로 호출할 때 인자 배열이 만들어진다. ({@link #log(Level, String, Object)} 참조)
+	 * */
+	public default void log(Level logLevel, String pattern, Object... args) {
+		if(isLoggable(logLevel)) log(logLevel, LogMessage.format(pattern, args));
+	}
 }
@@ -48,6 +48,7 @@ public interface Routineable{
 	
 	/**
 	 * 스레드를 완전히 종료할 때 실행하는 메소드로 pause(), stop()을 거쳐서 진입함<br>
+	 * (한번도 시작하지 않고 종료되는 경우 init() 없이 종료를 요청한 스레드에서 실행됨)<br>
 	 * 실행중 예외 발생시 다음형태로 예외처리 작업이 실행된다.<br>
 	 * <b>planner.executePlan(this.getName(), '#'+Exception.class, '#DESTROY')</b>
 	 * <br>실행되는 Plan 결과값에 [notend]가 포함된경우 leaf가 종료되지 않고 다시 루틴으로 복귀함
@@ -0,0 +1,20 @@
+package org.UEF.itf;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFManager;
+
+/**
+ * 저장된 기록(저널, 스냅샷)에서 UEFBranch를 다시 만들 때 사용하는 인터페이스로
+ * {@link UEFManager#registBranchFactory(String, UEFBranchFactory)}를 통해 클래스 이름별로 등록한다.<br>
+ * (생성기가 등록되지 않은 클래스의 Branch는 아무것도 거르지 않는 기본 UEFBranch로 복구된다.)
+ * */
+public interface UEFBranchFactory {
+	/**
+	 * name을 가진 UEFBranch를 만드는 메소드로 만들어진 UEFBranch는 반드시 runtime에 소속되어야 한다.
+	 *
+	 * @param name 만들 UEFBranch의 이름
+	 * @param runtime 만들어진 UEFBranch가 소속될 UEFManager
+	 * @return 만들어진 UEFBranch
+	 * */
+	public UEFBranch create(String name, UEFManager runtime);
+}
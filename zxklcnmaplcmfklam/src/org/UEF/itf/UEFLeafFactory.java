@@ -0,0 +1,19 @@
+package org.UEF.itf;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+
+/**
+ * 저장된 기록(저널, 스냅샷)에서 UEFLeaf를 다시 만들 때 사용하는 인터페이스로
+ * {@link UEFManager#registLeafFactory(String, UEFLeafFactory)}를 통해 클래스 이름별로 등록한다.
+ * */
+public interface UEFLeafFactory {
+	/**
+	 * name을 가진 UEFLeaf를 만드는 메소드로 만들어진 UEFLeaf는 반드시 runtime에 소속되어야 한다.
+	 * 
+	 * @param name 만들 UEFLeaf의 이름
+	 * @param runtime 만들어진 UEFLeaf가 소속될 UEFManager
+	 * @return 만들어진 UEFLeaf
+	 * */
+	public UEFLeaf create(String name, UEFManager runtime);
+}
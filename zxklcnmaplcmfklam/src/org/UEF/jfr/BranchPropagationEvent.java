@@ -0,0 +1,35 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * UEFBranch가 자신의 트리거 상태를 자식들에게 전파하는 한번의 과정마다 기록되는 JFR 이벤트<br>
+ * 전파 시간이 기본 임계값(1ms)보다 짧은 과정은 기록하지 않는다. (JFR 설정의 threshold로 변경 가능)
+ * */
+@Name("org.UEF.BranchPropagation")
+@Label("UEF Branch Propagation")
+@Description("UEFBranch 트리거 상태 전파")
+@Category({"UEF", "Trigger"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class BranchPropagationEvent extends Event {
+	@Label("Branch")
+	public String branch;
+	
+	@Label("Trigger")
+	public String trigger;
+	
+	@Label("Visited")
+	@Description("확인한 자식 수")
+	public int visited;
+	
+	@Label("Signaled")
+	@Description("상태 변경을 요청한 자식 수")
+	public int signaled;
+}
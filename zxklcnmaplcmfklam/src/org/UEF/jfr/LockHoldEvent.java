@@ -0,0 +1,32 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * UEFCell의 락을 {@link org.UEF.others.InstrumentedLock#LONG_HOLD_NANOS}보다 오래 잡았다가 놓을 때 기록되는 JFR 이벤트<br>
+ * 락을 잡을 때마다 이벤트를 만들지 않도록 놓는 시점에 잡고 있던 시간을 값으로 기록한다.
+ * */
+@Name("org.UEF.LockHold")
+@Label("UEF Lock Hold")
+@Description("UEFCell 락을 오래 잡은 구간")
+@Category({"UEF", "Lock"})
+@StackTrace(false)
+public class LockHoldEvent extends Event {
+	@Label("Cell")
+	@Description("런타임.Branch.Leaf 형태의 경로")
+	public String cell;
+	
+	@Label("Hold Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long hold;
+	
+	@Label("Contended")
+	@Description("잡고 있는 동안 다른 스레드가 기다렸는지 여부")
+	public boolean contended;
+}
@@ -0,0 +1,32 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 다른 스레드가 잡고 있는 UEFCell의 락을 기다릴 때 기록되는 JFR 이벤트로 이벤트의 시간이 대기시간이다.<br>
+ * 기다리는 스레드의 스택을 함께 기록하므로 어떤 요청이 틱 루프에 막혔는지 확인할 수 있으며
+ * 대기시간이 기본 임계값(1ms)보다 짧으면 기록하지 않는다. (JFR 설정의 threshold로 변경 가능)
+ * */
+@Name("org.UEF.LockWait")
+@Label("UEF Lock Wait")
+@Description("UEFCell 락 대기")
+@Category({"UEF", "Lock"})
+@Threshold("1 ms")
+public class LockWaitEvent extends Event {
+	@Label("Cell")
+	@Description("런타임.Branch.Leaf 형태의 경로")
+	public String cell;
+	
+	@Label("Owner")
+	@Description("대기를 시작할 때 락을 잡고 있던 스레드")
+	public String owner;
+	
+	@Label("Waiting Threads")
+	@Description("대기를 시작할 때 함께 기다리던 스레드 수 (자신 포함)")
+	public int waiters;
+}
@@ -0,0 +1,36 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * UEFManager의 명령 해석 스레드가 명령을 하나 실행할 때 기록되는 JFR 이벤트 (이벤트의 시간은 실행시간이며 대기 시간은 따로 기록한다.)
+ * */
+@Name("org.UEF.OrderApply")
+@Label("UEF Order Apply")
+@Description("UEFManager 명령 실행")
+@Category({"UEF", "Order"})
+@StackTrace(false)
+public class OrderApplyEvent extends Event {
+	@Label("Runtime")
+	public String runtime;
+	
+	@Label("Order Number")
+	public int orderNumber;
+	
+	@Label("Lane")
+	public String lane;
+	
+	@Label("Queue Latency")
+	@Description("명령이 만들어진 시점부터 명령 해석 스레드가 꺼낸 시점까지의 시간")
+	@Timespan(Timespan.NANOSECONDS)
+	public long queueLatency;
+	
+	@Label("Failed")
+	public boolean failed;
+}
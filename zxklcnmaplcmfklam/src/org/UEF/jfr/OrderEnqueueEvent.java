@@ -0,0 +1,33 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UEFManager의 명령 큐에 명령이 들어갈 때 기록되는 JFR 이벤트로 명령 수가 많을 수 있으므로 기본으로 꺼져있다. (JFR 설정의 enabled로 변경 가능)
+ * */
+@Name("org.UEF.OrderEnqueue")
+@Label("UEF Order Enqueue")
+@Description("UEFManager 명령 큐 삽입")
+@Category({"UEF", "Order"})
+@StackTrace(false)
+@Enabled(false)
+public class OrderEnqueueEvent extends Event {
+	@Label("Runtime")
+	public String runtime;
+	
+	@Label("Order Number")
+	public int orderNumber;
+	
+	@Label("Lane")
+	public String lane;
+	
+	@Label("Queue Depth")
+	@Description("명령을 넣은 뒤 해당 줄에 대기중인 명령 수")
+	public int depth;
+}
@@ -0,0 +1,37 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * UEFLeaf의 RoutineCapsule에서 루틴 메소드(init, ready, execute, pause, stop, destroy)를 한번 실행할 때 기록되는 JFR 이벤트<br>
+ * 실행시간이 기본 임계값(1ms)보다 짧은 실행은 기록하지 않는다. (JFR 설정의 threshold로 변경 가능)
+ * */
+@Name("org.UEF.Routine")
+@Label("UEF Routine")
+@Description("UEFLeaf 루틴 메소드 실행")
+@Category({"UEF", "Routine"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class RoutineEvent extends Event {
+	@Label("Leaf")
+	@Description("런타임.Branch.Leaf 형태의 경로")
+	public String leaf;
+	
+	@Label("Phase")
+	public String phase;
+	
+	@Label("Frame")
+	public long frame;
+	
+	@Label("Lateness")
+	@Description("execute() 틱이 예정된 시작시간보다 늦게 시작한 시간")
+	@Timespan(Timespan.NANOSECONDS)
+	public long lateness;
+}
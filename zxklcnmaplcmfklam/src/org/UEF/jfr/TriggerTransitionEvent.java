@@ -0,0 +1,27 @@
+package org.UEF.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UEFCell의 RoutineTriggerStatus가 바뀔 때 기록되는 JFR 이벤트 (누가 상태를 바꿨는지 확인할 수 있도록 호출 스택을 기록한다.)
+ * */
+@Name("org.UEF.TriggerTransition")
+@Label("UEF Trigger Transition")
+@Description("UEFCell 트리거 상태 변경")
+@Category({"UEF", "Trigger"})
+@StackTrace(true)
+public class TriggerTransitionEvent extends Event {
+	@Label("Cell")
+	public String cell;
+	
+	@Label("From")
+	public String from;
+	
+	@Label("To")
+	public String to;
+}
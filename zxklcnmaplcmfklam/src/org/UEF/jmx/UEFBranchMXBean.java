@@ -0,0 +1,27 @@
+package org.UEF.jmx;
+
+/**
+ * UEFBranch를 JMX로 확인, 조작하기 위한 인터페이스 (자식 수는 직계 자식만 센다.)
+ * */
+public interface UEFBranchMXBean extends UEFCellMXBean {
+	public int getChildCount();
+	
+	public int getLeafCount();
+	
+	public int getBranchCount();
+	
+	public boolean isStartupCompleted();
+	
+	/**
+	 * 자식 UEFLeaf들(하위 Branch 포함)의 execute() 실행시간 99백분위수를 리턴하는 메소드
+	 * @return 나노초
+	 * */
+	public long getExecuteP99Nanos();
+	
+	/**
+	 * 지정 프레임을 지키지 못하는 자식 UEFLeaf의 경로를 찾는 메소드
+	 * @param minAccuracy 최소 프레임 정확도 (예: 0.9)
+	 * @return 경로 배열
+	 * */
+	public String[] findLaggingLeaves(double minAccuracy);
+}
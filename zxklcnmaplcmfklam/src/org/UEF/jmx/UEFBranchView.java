@@ -0,0 +1,60 @@
+package org.UEF.jmx;
+
+import java.util.List;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.enu.RoutineStatus;
+
+/**
+ * UEFBranch의 MBean 구현 클래스
+ * */
+class UEFBranchView extends UEFCellView<UEFBranch> implements UEFBranchMXBean {
+	UEFBranchView(UEFBranch branch) {
+		super(branch);
+	}
+	
+	@Override
+	public int getChildCount() {
+		return cell.getChildren().size();
+	}
+	
+	@Override
+	public int getLeafCount() {
+		int result = 0;
+		
+		for(UEFCell child: cell.getChildren()) if(child instanceof UEFLeaf) result++;
+		
+		return result;
+	}
+	
+	@Override
+	public int getBranchCount() {
+		int result = 0;
+		
+		for(UEFCell child: cell.getChildren()) if(child instanceof UEFBranch) result++;
+		
+		return result;
+	}
+	
+	@Override
+	public boolean isStartupCompleted() {
+		return cell.isStartupCompleted();
+	}
+	
+	@Override
+	public long getExecuteP99Nanos() {
+		return cell.getLatencySnapshot(RoutineStatus.EXECUTE).getValueAtPercentile(99);
+	}
+	
+	@Override
+	public String[] findLaggingLeaves(double minAccuracy) {
+		List<UEFLeaf> leaves = cell.findLaggingLeaves(minAccuracy);
+		String[] result = new String[leaves.size()];
+		
+		for(int i = 0; i < result.length; i++) result[i] = leaves.get(i).getPath();
+		
+		return result;
+	}
+}
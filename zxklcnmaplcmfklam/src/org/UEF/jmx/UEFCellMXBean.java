@@ -0,0 +1,40 @@
+package org.UEF.jmx;
+
+/**
+ * UEFBranch, UEFLeaf MBean의 공통 속성과 조작을 정의하는 인터페이스
+ * */
+public interface UEFCellMXBean {
+	public String getName();
+	
+	/**
+	 * 런타임.Branch.Leaf 형태의 경로를 리턴하는 메소드
+	 * @return 경로
+	 * */
+	public String getPath();
+	
+	public String getRuntimeName();
+	
+	public long getFrame();
+	
+	/**
+	 * 프레임을 지정하는 메소드 (부모 프레임 사용이 해제된다.)
+	 * @param frame 지정할 프레임
+	 * */
+	public void setFrame(long frame);
+	
+	public boolean isUseParentFrame();
+	
+	/**
+	 * 현재 트리거 상태를 리턴하는 메소드
+	 * @return RoutineTriggerStatus 이름
+	 * */
+	public String getTriggerStatus();
+	
+	public void requestExecute();
+	
+	public void requestPause();
+	
+	public void requestStop();
+	
+	public void requestShutdown();
+}
@@ -0,0 +1,94 @@
+package org.UEF.jmx;
+
+import java.util.regex.Pattern;
+
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * UEFCell의 공통 MBean 구현 클래스로 속성은 호출될 때마다 객체에서 직접 읽는다.<br>
+ * 런타임이 관리하는 Branch의 트리거 요청은 명령 큐를 거치고(저널, 대체 처리 포함) 그 외의 객체는 직접 요청한다.
+ * */
+abstract class UEFCellView<T extends UEFCell> implements UEFCellMXBean {
+	protected final T cell;
+	
+	UEFCellView(T cell) {
+		this.cell = cell;
+	}
+	
+	@Override
+	public String getName() {
+		return cell.getName();
+	}
+	
+	@Override
+	public String getPath() {
+		return cell.getPath();
+	}
+	
+	@Override
+	public String getRuntimeName() {
+		return cell.getRuntime() == null? null: cell.getRuntime().getName();
+	}
+	
+	@Override
+	public long getFrame() {
+		return cell.getFrame();
+	}
+	
+	@Override
+	public void setFrame(long frame) {
+		cell.setFrame(frame);
+	}
+	
+	@Override
+	public boolean isUseParentFrame() {
+		return cell.isUseParentFrame();
+	}
+	
+	@Override
+	public String getTriggerStatus() {
+		return cell.getCurrentTriggerStatus().name();
+	}
+	
+	@Override
+	public void requestExecute() {
+		if(requestByOrder(RoutineTriggerStatus.EXECUTE) == false) cell.requestExecute();
+	}
+	
+	@Override
+	public void requestPause() {
+		if(requestByOrder(RoutineTriggerStatus.PAUSE) == false) cell.requestPause();
+	}
+	
+	@Override
+	public void requestStop() {
+		if(requestByOrder(RoutineTriggerStatus.STOP) == false) cell.requestStop();
+	}
+	
+	@Override
+	public void requestShutdown() {
+		if(requestByOrder(RoutineTriggerStatus.SHUTDOWN) == false) cell.requestShutdown();
+	}
+	
+	/**
+	 * 런타임이 직접 관리하는 Branch인 경우 이름 패턴으로 트리거 명령을 보내는 메소드
+	 * @param rts 요청할 상태
+	 * @return 명령을 보냈으면 true, 직접 요청해야 하면 false
+	 * */
+	private boolean requestByOrder(RoutineTriggerStatus rts) {
+		UEFManager runtime = cell.getRuntime();
+		
+		if(runtime == null || cell.getParent() != runtime) return false;
+		
+		try {
+			runtime.requestTrigger(rts, "^"+Pattern.quote(cell.getName())+"$");
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e.getMessage());
+		}
+		
+		return true;
+	}
+}
@@ -0,0 +1,41 @@
+package org.UEF.jmx;
+
+import java.util.Map;
+
+/**
+ * UEFLeaf를 JMX로 확인, 조작하기 위한 인터페이스
+ * */
+public interface UEFLeafMXBean extends UEFCellMXBean {
+	public double getRealFrame();
+	
+	/**
+	 * 현재 루틴 진행상태를 리턴하는 메소드
+	 * @return RoutineStatus 이름
+	 * */
+	public String getRoutineStatus();
+	
+	/**
+	 * 루틴 메소드별 마지막 실행시간을 리턴하는 메소드
+	 * @return 루틴 이름과 나노초 (실행되지 않은 루틴은 -1)
+	 * */
+	public Map<String, Long> getRoutineExcutionTimes();
+	
+	public long getExecuteP99Nanos();
+	
+	/**
+	 * 지정 프레임 대비 실제 프레임의 비율을 리턴하는 메소드
+	 * @return 프레임 정확도
+	 * */
+	public double getFrameAccuracy();
+	
+	public long getTickCount();
+	
+	public long getOverrunCount();
+	
+	public long getLatenessP99Nanos();
+	
+	/**
+	 * 실행시간 히스토그램과 틱 측정값을 지우는 메소드
+	 * */
+	public void resetStats();
+}
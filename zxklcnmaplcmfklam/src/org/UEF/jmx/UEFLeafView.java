@@ -0,0 +1,70 @@
+package org.UEF.jmx;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.enu.RoutineStatus;
+
+/**
+ * UEFLeaf의 MBean 구현 클래스
+ * */
+class UEFLeafView extends UEFCellView<UEFLeaf> implements UEFLeafMXBean {
+	UEFLeafView(UEFLeaf leaf) {
+		super(leaf);
+	}
+	
+	@Override
+	public double getRealFrame() {
+		return cell.getRealFrame();
+	}
+	
+	@Override
+	public String getRoutineStatus() {
+		return cell.getCurrentStatus().name();
+	}
+	
+	@Override
+	public Map<String, Long> getRoutineExcutionTimes() {
+		Map<String, Long> result = new LinkedHashMap<String, Long>();
+		
+		for(RoutineStatus status: RoutineStatus.values()) {
+			if(status == RoutineStatus.NEW) continue;
+			
+			result.put(status.name(), cell.getRoutineExcutionTime(status));
+		}
+		
+		return result;
+	}
+	
+	@Override
+	public long getExecuteP99Nanos() {
+		return cell.getRoutineExcutionPercentile(RoutineStatus.EXECUTE, 99);
+	}
+	
+	@Override
+	public double getFrameAccuracy() {
+		return cell.getTickStats().getFrameAccuracy();
+	}
+	
+	@Override
+	public long getTickCount() {
+		return cell.getTickStats().getTickCount();
+	}
+	
+	@Override
+	public long getOverrunCount() {
+		return cell.getTickStats().getOverrunCount();
+	}
+	
+	@Override
+	public long getLatenessP99Nanos() {
+		return cell.getTickStats().getLateness().getValueAtPercentile(99);
+	}
+	
+	@Override
+	public void resetStats() {
+		cell.resetLatencyHistograms();
+		cell.resetTickStats();
+	}
+}
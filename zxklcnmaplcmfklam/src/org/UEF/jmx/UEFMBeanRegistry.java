@@ -0,0 +1,201 @@
+package org.UEF.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * 런타임의 UEFBranch, UEFLeaf를 플랫폼 MBeanServer에 등록하고 해제하는 클래스로 런타임마다 하나씩 만들어진다.<br>
+ * 객체의 부모가 바뀌면 새 경로로 다시 등록되고 부모가 없어지거나 SHUTDOWN 상태가 되면 해제된다.
+ * <ul>
+ * <li>Branch: org.UEF:type=Branch,runtime=런타임,path=경로 (항상 등록)</li>
+ * <li>Leaf: org.UEF:type=Leaf,runtime=런타임,branch=부모 경로,name=이름 ({@link #setLeafEnabled(boolean)}로 켠 경우에만 등록)</li>
+ * </ul>
+ * Leaf가 많으면 등록에 드는 비용과 MBeanServer의 크기가 커지므로 Leaf는 기본으로 등록하지 않는다.
+ * */
+public class UEFMBeanRegistry {
+	// MBean 이름의 도메인
+	public static final String 
+		DOMAIN = "org.UEF";
+	
+	// MBean을 등록할지 정하는 값 (런타임을 만들기 전에 지정)
+	public static boolean 
+		ENABLED = true;
+	
+	private final UEFManager 
+		runtime;
+	
+	// 등록된 객체와 MBean 이름
+	private final Map<UEFCell, ObjectName> 
+		nameMap = new ConcurrentHashMap<UEFCell, ObjectName>();
+	
+	// Leaf도 등록할지 정하는 값
+	private volatile boolean 
+		leafEnabled = false;
+	
+	// 처음 등록할 때 가져오는 플랫폼 MBeanServer
+	private MBeanServer 
+		server = null;
+	
+	public UEFMBeanRegistry(UEFManager runtime) {
+		this.runtime = runtime;
+	}
+	
+	/**
+	 * 객체의 현재 상태에 맞게 MBean을 등록, 재등록, 해제하는 메소드로 부모가 바뀌거나 상태가 바뀐 뒤 호출한다.<br>
+	 * (Leaf 등록이 꺼져있고 등록된 적 없는 Leaf는 잠금없이 바로 리턴한다.)
+	 * @param cell 대상 객체
+	 * */
+	public void update(UEFCell cell) {
+		if(ENABLED == false || cell == null || cell == runtime) return;
+		else if(cell instanceof UEFLeaf && leafEnabled == false && nameMap.containsKey(cell) == false) return;
+		
+		synchronized (this) {
+			ObjectName before = nameMap.get(cell);
+			ObjectName after = isRegistrable(cell)? createName(cell): null;
+			
+			if(before != null && before.equals(after)) return;
+			
+			if(before != null) unregister(cell);
+			
+			if(after != null) register(cell, after);
+			
+			// 경로가 바뀐 Branch는 자식들의 이름도 바뀌므로 함께 갱신
+			if(before != null && cell instanceof UEFBranch) {
+				for(UEFCell child: ((UEFBranch) cell).getChildren()) update(child);
+			}
+		}
+	}
+	
+	/**
+	 * 객체의 MBean을 해제하는 메소드
+	 * @param cell 대상 객체
+	 * */
+	public synchronized void remove(UEFCell cell) {
+		if(nameMap.containsKey(cell)) unregister(cell);
+	}
+	
+	/**
+	 * 등록된 모든 MBean을 해제하는 메소드 (런타임 종료시 호출)
+	 * */
+	public synchronized void removeAll() {
+		for(Object o: nameMap.keySet().toArray()) unregister((UEFCell) o);
+	}
+	
+	/**
+	 * Leaf의 MBean 등록 여부를 지정하는 메소드로 이미 있는 Leaf에는 {@link #update(UEFCell)}를 다시 호출해야 반영된다.
+	 * @param leafEnabled 등록하려면 true
+	 * */
+	public void setLeafEnabled(boolean leafEnabled) {
+		this.leafEnabled = leafEnabled;
+	}
+	
+	public boolean isLeafEnabled() {
+		return leafEnabled;
+	}
+	
+	/**
+	 * 객체가 등록된 MBean 이름을 리턴하는 메소드
+	 * @param cell 대상 객체
+	 * @return MBean 이름 (등록되지 않았으면 null)
+	 * */
+	public ObjectName getObjectName(UEFCell cell) {
+		return cell == null? null: nameMap.get(cell);
+	}
+	
+	public int getRegisteredCount() {
+		return nameMap.size();
+	}
+	
+	private boolean isRegistrable(UEFCell cell) {
+		if(cell.getParent() == null || cell.getCurrentTriggerStatus() == RoutineTriggerStatus.SHUTDOWN) return false;
+		
+		return cell instanceof UEFBranch || (cell instanceof UEFLeaf && leafEnabled);
+	}
+	
+	private ObjectName createName(UEFCell cell) {
+		StringBuffer name = new StringBuffer(DOMAIN);
+		
+		if(cell instanceof UEFBranch) {
+			name.append(":type=Branch,runtime=").append(quote(runtime.getName()));
+			name.append(",path=").append(quote(cell.getPath()));
+		}
+		else {
+			name.append(":type=Leaf,runtime=").append(quote(runtime.getName()));
+			name.append(",branch=").append(quote(cell.getParent().getPath()));
+			name.append(",name=").append(quote(cell.getName()));
+		}
+		
+		try {
+			return new ObjectName(name.toString());
+		}
+		catch (MalformedObjectNameException e) {
+			runtime.log(Level.WARNING, "{}의 MBean 이름을 만들지 못했습니다. ({})", cell, e.getMessage());
+			
+			return null;
+		}
+	}
+	
+	private void register(UEFCell cell, ObjectName name) {
+		try {
+			if(server == null) server = ManagementFactory.getPlatformMBeanServer();
+			
+			StandardMBean mbean = cell instanceof UEFBranch
+					? new StandardMBean(new UEFBranchView((UEFBranch) cell), UEFBranchMXBean.class, true)
+					: new StandardMBean(new UEFLeafView((UEFLeaf) cell), UEFLeafMXBean.class, true);
+			
+			server.registerMBean(mbean, name);
+			nameMap.put(cell, name);
+		}
+		catch (InstanceAlreadyExistsException e) {
+			runtime.log(Level.WARNING, "{} MBean이 이미 등록되어 있습니다. (같은 경로의 객체가 있음)", name);
+		}
+		catch (Exception e) {
+			runtime.log(Level.WARNING, "{}의 MBean 등록에 실패했습니다. ({})", cell, e.getMessage());
+		}
+	}
+	
+	private void unregister(UEFCell cell) {
+		ObjectName name = nameMap.remove(cell);
+		
+		if(name == null || server == null) return;
+		
+		try {
+			server.unregisterMBean(name);
+		}
+		catch (InstanceNotFoundException e) {
+			// 이미 해제된 경우
+		}
+		catch (Exception e) {
+			runtime.log(Level.WARNING, "{} MBean 해제에 실패했습니다. ({})", name, e.getMessage());
+		}
+	}
+	
+	/**
+	 * MBean 이름의 값에 쓸 수 없는 문자가 있으면 따옴표로 감싸는 메소드
+	 * */
+	private static String quote(String value) {
+		for(int i = 0; i < value.length(); i++) {
+			switch(value.charAt(i)) {
+			case ',': case '=': case ':': case '"': case '*': case '?': case '\n':
+				return ObjectName.quote(value);
+			}
+		}
+		
+		return value;
+	}
+}
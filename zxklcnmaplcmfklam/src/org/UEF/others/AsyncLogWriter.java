@@ -0,0 +1,309 @@
+package org.UEF.others;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFManager;
+
+/**
+ * 런타임의 로그를 비동기로 남기는 클래스로 {@link UEFCell#log(Level, String)}는 로그를 크기가 고정된 링 버퍼에 넣기만 하고
+ * 하나의 데몬 스레드가 메시지를 만들어 객체의 Logger(핸들러)에 넘긴다. ({@link UEFManager#startAsyncLogging()}으로 시작)<br>
+ * 로그를 넣을 때는 잠금 없이 칸 하나를 CAS로 받아 레벨, 시각, 스레드, 객체, 내용의 참조만 쓰므로 execute() 안에서도 핸들러를 기다리지 않는다.<br>
+ * 버퍼가 가득 차면 WARNING 이상의 로그는 호출한 스레드에서 바로 남기고 그 외의 로그는 버리며 버린 수는 {@link #getDroppedCount()}와 주기적인 경고 로그로 알린다.
+ * */
+public class AsyncLogWriter implements Closeable {
+	// 새로 시작하는 비동기 로그의 버퍼 크기 (2의 거듭제곱으로 올림)
+	public static int
+		CAPACITY = 8_192;
+	
+	// 로그가 없을 때 쓰는 스레드가 대기하는 최대 시간(밀리초)
+	public static long
+		IDLE_PARK_MILLIS = 100l;
+	
+	// 버린 로그 수를 경고로 남기는 최소 간격(나노초)
+	public static long
+		DROP_REPORT_INTERVAL_NANOS = 1_000_000_000l;
+	
+	// close()에서 남은 로그를 기다리는 최대 시간(밀리초)
+	public static long
+		CLOSE_TIMEOUT_MILLIS = 1_000l;
+	
+	// 객체의 Logger(핸들러)가 로그를 남기지 못했을 때 그 예외를 남기는 Logger
+	private static final Logger
+		FALLBACK_LOGGER = Logger.getLogger(AsyncLogWriter.class.getName());
+	
+	private final UEFManager runtime;
+	private final Thread writerThread;
+	private final int capacity;
+	private final int mask;
+	
+	/*
+	 * 칸마다의 순서값 (Vyukov 방식의 bounded queue)
+	 * 순서값 == 넣을 번호: 비어있음, 순서값 == 넣은 번호 + 1: 채워짐
+	 * */
+	private final AtomicLongArray sequences;
+	private final UEFCell[] cells;
+	private final Level[] levels;
+	private final String[] contents;
+	private final long[] millis;
+	private final long[] threadIds;
+	
+	// 다음에 넣을 번호 (로그를 남기는 스레드들이 CAS로 받음)
+	private final AtomicLong
+		tail = new AtomicLong();
+	
+	// 다음에 꺼낼 번호 (쓰는 스레드에서만 사용)
+	private long
+		head = 0l;
+	
+	private final AtomicLong
+		droppedCount = new AtomicLong(),
+		failedCount = new AtomicLong();
+	
+	private volatile long
+		writtenCount = 0l;
+	
+	private volatile boolean
+		isClosed = false,
+		isWriterParked = false;
+	
+	/**
+	 * 비동기 로그를 시작하는 생성자
+	 * @param runtime 로그를 남길 런타임
+	 * @param capacity 버퍼 크기 (2의 거듭제곱으로 올림, 최소 16)
+	 * */
+	public AsyncLogWriter(UEFManager runtime, int capacity) {
+		int tempCapacity = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+		
+		this.runtime = runtime;
+		this.capacity = tempCapacity;
+		this.mask = tempCapacity - 1;
+		this.sequences = new AtomicLongArray(tempCapacity);
+		this.cells = new UEFCell[tempCapacity];
+		this.levels = new Level[tempCapacity];
+		this.contents = new String[tempCapacity];
+		this.millis = new long[tempCapacity];
+		this.threadIds = new long[tempCapacity];
+		
+		for(int i = 0; i < tempCapacity; i++) sequences.lazySet(i, i);
+		
+		writerThread = new Thread(this::runWriter);
+		writerThread.setName(runtime.getName()+"-AsyncLogThread");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+	
+	/**
+	 * 로그를 버퍼에 넣는 메소드로 잠금 없이 처리되며 기다리지 않는다.<br>
+	 * 버퍼가 가득 찬 경우 WARNING 미만의 로그는 버리고 true를 리턴한다.
+	 * @param cell 로그를 남기는 객체
+	 * @param level 로그 레벨
+	 * @param content 로그 내용 (메시지는 쓰는 스레드에서 만들어짐)
+	 * @return 처리되었으면 true, 닫혔거나 버퍼가 가득 차 호출한 스레드에서 바로 남겨야 하면 false
+	 * */
+	public boolean offer(UEFCell cell, Level level, String content) {
+		if(isClosed) return false;
+		
+		long position = tail.get();
+		int slot;
+		
+		while(true) {
+			slot = (int) (position & mask);
+			
+			long difference = sequences.get(slot) - position;
+			
+			if(difference == 0l) {
+				if(tail.compareAndSet(position, position + 1)) break;
+				
+				position = tail.get();
+			}
+			// 쓰는 스레드가 아직 꺼내지 않은 칸 (가득 참)
+			else if(difference < 0l) {
+				if(level.intValue() >= Level.WARNING.intValue()) return false;
+				
+				droppedCount.incrementAndGet();
+				return true;
+			}
+			else position = tail.get();
+		}
+		
+		cells[slot] = cell;
+		levels[slot] = level;
+		contents[slot] = content;
+		millis[slot] = System.currentTimeMillis();
+		threadIds[slot] = Thread.currentThread().getId();
+		
+		// 값을 쓴 뒤 순서값을 바꿔 쓰는 스레드에 공개 (대기 표시를 읽기 전에 보이도록 volatile로 씀)
+		sequences.set(slot, position + 1);
+		
+		if(isWriterParked) LockSupport.unpark(writerThread);
+		
+		return true;
+	}
+	
+	/**
+	 * 쓰는 스레드에서 실행되는 메소드
+	 * */
+	private void runWriter() {
+		long reportedDropped = 0l, lastReportNanos = System.nanoTime();
+		
+		while(!isClosed) {
+			if(drain() == 0) {
+				// 대기 표시를 한 뒤 다시 확인해야 표시 전에 들어온 로그를 놓치지 않음
+				isWriterParked = true;
+				
+				if(!hasPending() && !isClosed) LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(IDLE_PARK_MILLIS));
+				
+				isWriterParked = false;
+			}
+			
+			long dropped = droppedCount.get();
+			
+			if(dropped != reportedDropped && System.nanoTime() - lastReportNanos >= DROP_REPORT_INTERVAL_NANOS) {
+				writeDirect(runtime, Level.WARNING, "비동기 로그 버퍼가 가득 차 로그 "+(dropped - reportedDropped)+"개를 버렸습니다. (capacity: "+capacity+")");
+				
+				reportedDropped = dropped;
+				lastReportNanos = System.nanoTime();
+			}
+		}
+		
+		// 마지막 drain() 이후 닫히기 전까지 들어온 로그와 아직 알리지 않은 버림 수를 남기고 종료
+		drain();
+		
+		long dropped = droppedCount.get();
+		
+		if(dropped != reportedDropped) 
+			writeDirect(runtime, Level.WARNING, "비동기 로그 버퍼가 가득 차 로그 "+(dropped - reportedDropped)+"개를 버렸습니다. (capacity: "+capacity+")");
+	}
+	
+	private boolean hasPending() {
+		return sequences.get((int) (head & mask)) == head + 1;
+	}
+	
+	/**
+	 * 버퍼에 들어온 로그를 모두 꺼내 남기는 메소드 (한번에 하나의 스레드만 호출해야 함)
+	 * @return 남긴 로그 수
+	 * */
+	private int drain() {
+		int count = 0;
+		
+		while(true) {
+			int slot = (int) (head & mask);
+			
+			if(sequences.get(slot) != head + 1) break;
+			
+			UEFCell cell = cells[slot];
+			Level level = levels[slot];
+			String content = contents[slot];
+			long time = millis[slot];
+			long threadId = threadIds[slot];
+			
+			cells[slot] = null;
+			levels[slot] = null;
+			contents[slot] = null;
+			
+			// 칸을 다음 바퀴에 넣을 번호로 바꿔 비움
+			sequences.lazySet(slot, head + capacity);
+			head++;
+			
+			write(cell, level, content, time, threadId);
+			writtenCount = head;
+			count++;
+		}
+		
+		return count;
+	}
+	
+	private void write(UEFCell cell, Level level, String content, long time, long threadId) {
+		try {
+			Logger logger = cell.getLogger();
+			LogRecord record = new LogRecord(level, cell+": "+content.trim()+"\n");
+			
+			record.setInstant(Instant.ofEpochMilli(time));
+			record.setThreadID((int) threadId);
+			record.setLoggerName(logger.getName());
+			
+			logger.log(record);
+		}
+		catch (RuntimeException e) {
+			// 쓰는 스레드가 끝나지 않도록 예외는 여기서 처리함 (객체의 Logger는 다시 사용하지 않음)
+			failedCount.incrementAndGet();
+			FALLBACK_LOGGER.log(Level.WARNING, "로그를 남기지 못했습니다. ("+level+" "+content.trim()+")", e);
+		}
+	}
+	
+	private void writeDirect(UEFCell cell, Level level, String content) {
+		write(cell, level, content, System.currentTimeMillis(), Thread.currentThread().getId());
+	}
+	
+	/**
+	 * 쓰는 스레드를 종료하는 메소드로 버퍼에 남은 로그를 모두 남긴 뒤 리턴한다. (이후의 로그는 호출한 스레드에서 바로 남겨짐)<br>
+	 * 핸들러가 느려 {@link #CLOSE_TIMEOUT_MILLIS}안에 끝나지 않으면 기다리지 않고 리턴하며 남은 로그는 쓰는 스레드가 계속 남긴다.
+	 * */
+	@Override
+	public void close() {
+		if(isClosed) return;
+		
+		isClosed = true;
+		LockSupport.unpark(writerThread);
+		
+		try {
+			writerThread.join(Math.max(1l, CLOSE_TIMEOUT_MILLIS));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		// 쓰는 스레드가 마지막으로 비운 뒤 닫힌 것을 보지 못한 스레드가 넣은 로그는 이 스레드에서 남김
+		if(!writerThread.isAlive()) drain();
+	}
+	
+	public boolean isClosed() {
+		return isClosed;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * 버퍼에 들어와 아직 남기지 않은 로그 수를 리턴하는 메소드
+	 * @return 대기중인 로그 수 (근사값)
+	 * */
+	public long getPendingCount() {
+		return Math.max(0l, tail.get() - writtenCount);
+	}
+	
+	public long getWrittenCount() {
+		return writtenCount;
+	}
+	
+	/**
+	 * 버퍼가 가득 차 버린 로그 수를 리턴하는 메소드
+	 * @return 버린 로그 수
+	 * */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+	
+	/**
+	 * 객체의 Logger에서 예외가 발생해 남기지 못한 로그 수를 리턴하는 메소드 (예외는 이 클래스 이름의 Logger로 남겨짐)
+	 * @return 남기지 못한 로그 수
+	 * */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+	
+	@Override
+	public String toString() {
+		return "[capacity: "+capacity+", pending: "+getPendingCount()+", written: "+writtenCount+", dropped: "+droppedCount.get()+", failed: "+failedCount.get()+"]";
+	}
+}
@@ -0,0 +1,352 @@
+package org.UEF.others;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFCell;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * UEFLeaf가 루틴 메소드를 실행할 때마다 하나씩 만들어 넘기는 취소 토큰으로 루틴 메소드 안에서 {@link org.UEF.core.UEFLeaf#getCancellationToken()}으로 얻는다.<br>
+ * 요청 메소드가 트리거를 바꾸면 실행중인 루틴의 토큰이 취소되며 사용자 코드는 {@link #isCancellationRequested()}를 확인하거나
+ * {@link #register(Runnable)}로 콜백을 등록해 루틴을 빨리 끝낼 수 있다.<br>
+ * 토큰이 제공하는 블로킹 메소드({@link #sleep(long, TimeUnit)}, {@link #poll(BlockingQueue, long, TimeUnit)} 등)는 취소되면 바로 빠져나오며
+ * 인터럽트는 이 메소드 안에서 대기하는 동안에만 사용하므로 그 외의 사용자 코드는 인터럽트되지 않는다.<br>
+ * 마감시간은 execute()의 주기(프레임의 역수)로 정해지며 마감시간이 지나도 취소되지는 않는다. (시간을 받지 않는 블로킹 메소드의 최대 대기시간으로 사용)
+ * */
+public class CancellationToken {
+	/**
+	 * 취소되지 않는 토큰으로 실행중인 루틴이 없을 때 사용된다.
+	 * */
+	public static final CancellationToken
+		NONE = new CancellationToken(null, 0l, Long.MAX_VALUE, false);
+	
+	// 콜백 예외를 남길 객체 (없으면 무시)
+	private final UEFCell owner;
+	private final long startNanos;
+	// 마감시간(System.nanoTime() 기준, 없으면 Long.MAX_VALUE)
+	private final long deadlineNanos;
+	private final boolean cancellable;
+	
+	private volatile boolean
+		cancelled = false;
+	
+	// 취소 원인 (트리거 변경이 아니면 null)
+	private volatile RoutineTriggerStatus
+		reason = null;
+	
+	// 등록된 콜백 (처음 등록할 때 만들어짐, this로 동기화)
+	private List<Runnable>
+		callbacks = null;
+	
+	// 블로킹 메소드에서 대기중인 스레드와 취소하는 쪽의 인터럽트 전달 여부
+	private final AtomicReference<Thread>
+		blockedThread = new AtomicReference<Thread>();
+	
+	private volatile boolean
+		interruptDelivered = false;
+	
+	/**
+	 * @param owner 토큰을 사용하는 객체 (콜백 예외를 로그로 남김, null 가능)
+	 * @param deadlineNanos 마감시간({@link System#nanoTime()} 기준, 없으면 Long.MAX_VALUE)
+	 * */
+	public CancellationToken(UEFCell owner, long deadlineNanos) {
+		this(owner, System.nanoTime(), deadlineNanos, true);
+	}
+	
+	/**
+	 * 루틴 메소드 하나에 묶인 토큰을 만드는 생성자
+	 * @param owner 토큰을 사용하는 객체 (콜백 예외를 로그로 남김, null 가능)
+	 * @param startNanos 토큰이 속한 루틴 메소드의 시작시간 ({@link org.UEF.core.UEFLeaf#getPhaseStartNanos()})
+	 * @param deadlineNanos 마감시간({@link System#nanoTime()} 기준, 없으면 Long.MAX_VALUE)
+	 * */
+	public CancellationToken(UEFCell owner, long startNanos, long deadlineNanos) {
+		this(owner, startNanos, deadlineNanos, true);
+	}
+	
+	private CancellationToken(UEFCell owner, long startNanos, long deadlineNanos, boolean cancellable) {
+		this.owner = owner;
+		this.startNanos = startNanos;
+		this.deadlineNanos = deadlineNanos;
+		this.cancellable = cancellable;
+	}
+	
+	/**
+	 * 토큰을 취소하는 메소드로 등록된 콜백을 호출한 스레드에서 실행하고 블로킹 메소드에서 대기중인 스레드를 깨운다.<br>
+	 * 두번째 호출부터는 아무것도 하지 않는다.
+	 * @param reason 취소 원인이 된 트리거 (트리거 변경이 아니면 null)
+	 * @return 이 호출로 취소되었으면 true
+	 * */
+	public boolean cancel(RoutineTriggerStatus reason) {
+		List<Runnable> tempCallbacks;
+		
+		if(!cancellable) return false;
+		
+		synchronized (this) {
+			if(cancelled) return false;
+			
+			this.reason = reason;
+			cancelled = true;
+			tempCallbacks = callbacks;
+			callbacks = null;
+		}
+		
+		// 블로킹 메소드에서 대기중인 스레드만 인터럽트 (가져간 쪽이 인터럽트를 책임짐)
+		Thread tempThread = blockedThread.getAndSet(null);
+		
+		if(tempThread != null) {
+			tempThread.interrupt();
+			interruptDelivered = true;
+		}
+		
+		if(tempCallbacks != null) {
+			for(Runnable callback: tempCallbacks) runCallback(callback);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 취소되었을 때 실행할 콜백을 등록하는 메소드로 이미 취소된 경우에는 바로 실행한다.<br>
+	 * 콜백은 취소를 요청한 스레드(요청 메소드를 호출한 스레드)에서 실행되므로 짧게 끝나야 한다.
+	 * @param callback 실행할 콜백
+	 * @throws NullPointerException callback이 null인 경우
+	 * */
+	public void register(Runnable callback) throws NullPointerException {
+		if(callback == null) throw new NullPointerException("callback is null");
+		else if(!cancellable) return;
+		
+		synchronized (this) {
+			if(!cancelled) {
+				if(callbacks == null) callbacks = new ArrayList<Runnable>(2);
+				
+				callbacks.add(callback);
+				return;
+			}
+		}
+		
+		runCallback(callback);
+	}
+	
+	/**
+	 * 등록한 콜백을 지우는 메소드
+	 * @param callback 지울 콜백
+	 * @return 지웠으면 true
+	 * */
+	public synchronized boolean unregister(Runnable callback) {
+		return callbacks != null && callbacks.remove(callback);
+	}
+	
+	public boolean isCancellationRequested() {
+		return cancelled;
+	}
+	
+	/**
+	 * 취소된 경우 CancellationException을 던지는 메소드로 루틴 메소드를 바로 끝낼 때 사용한다.
+	 * (던져진 예외는 다른 예외와 같이 exceptionProcessing()으로 전달되므로 0을 리턴하도록 처리해야 루틴으로 복귀한다.)
+	 * @throws CancellationException 취소된 경우
+	 * */
+	public void throwIfCancellationRequested() throws CancellationException {
+		if(cancelled) throw new CancellationException("cancelled by "+reason);
+	}
+	
+	/**
+	 * 취소 원인을 리턴하는 메소드
+	 * @return 바뀐 트리거 (취소되지 않았거나 트리거 변경이 아닌 경우 null)
+	 * */
+	public RoutineTriggerStatus getReason() {
+		return reason;
+	}
+	
+	/**
+	 * 토큰이 속한 루틴 메소드의 시작시간을 리턴하는 메소드
+	 * @return 시작시간 (루틴에 묶이지 않은 토큰은 만들어진 시간, {@link #NONE}은 0)
+	 * */
+	public long getStartNanos() {
+		return startNanos;
+	}
+	
+	public long getDeadlineNanos() {
+		return deadlineNanos;
+	}
+	
+	public boolean hasDeadline() {
+		return deadlineNanos != Long.MAX_VALUE;
+	}
+	
+	/**
+	 * 마감시간까지 남은 시간을 리턴하는 메소드
+	 * @return 남은 나노초 (지났으면 0 이하, 마감시간이 없으면 Long.MAX_VALUE)
+	 * */
+	public long getRemainingNanos() {
+		return hasDeadline()? deadlineNanos - System.nanoTime(): Long.MAX_VALUE;
+	}
+	
+	public boolean isDeadlineExceeded() {
+		return hasDeadline() && deadlineNanos - System.nanoTime() <= 0;
+	}
+	
+	/**
+	 * 지정한 시간동안 대기하는 메소드로 취소되면 바로 빠져나온다.
+	 * @param timeout 대기시간
+	 * @param unit 시간 단위
+	 * @return 지정한 시간을 모두 대기했으면 true, 취소되었으면 false
+	 * */
+	public boolean sleep(long timeout, TimeUnit unit) {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		long remaining;
+		
+		if(!enterBlocking()) return false;
+		
+		try {
+			while(!cancelled && (remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+				
+				// 취소가 아닌 인터럽트는 대기를 끝내고 상태를 유지함
+				if(Thread.currentThread().isInterrupted() && !cancelled) break;
+			}
+		}
+		finally {
+			exitBlocking();
+		}
+		
+		return !cancelled && deadline - System.nanoTime() <= 0;
+	}
+	
+	/**
+	 * queue에서 값을 꺼내는 메소드로 취소되면 바로 빠져나온다.
+	 * @param queue 값을 꺼낼 큐
+	 * @param timeout 최대 대기시간
+	 * @param unit 시간 단위
+	 * @return 꺼낸 값 (시간이 지났거나 취소되었으면 null)
+	 * @throws InterruptedException 취소가 아닌 인터럽트가 발생한 경우
+	 * */
+	public <T> T poll(BlockingQueue<T> queue, long timeout, TimeUnit unit) throws InterruptedException {
+		if(!enterBlocking()) return null;
+		
+		try {
+			return queue.poll(timeout, unit);
+		}
+		catch (InterruptedException e) {
+			if(!cancelled) throw e;
+			
+			return null;
+		}
+		finally {
+			exitBlocking();
+		}
+	}
+	
+	/**
+	 * queue에서 값을 꺼내는 메소드로 마감시간까지 대기하며 취소되면 바로 빠져나온다. (마감시간이 없으면 취소될 때까지 대기)
+	 * @param queue 값을 꺼낼 큐
+	 * @return 꺼낸 값 (마감시간이 지났거나 취소되었으면 null)
+	 * @throws InterruptedException 취소가 아닌 인터럽트가 발생한 경우
+	 * */
+	public <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+		return poll(queue, getRemainingNanos(), TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * latch가 0이 될 때까지 대기하는 메소드로 취소되면 바로 빠져나온다.
+	 * @param latch 대기할 래치
+	 * @param timeout 최대 대기시간
+	 * @param unit 시간 단위
+	 * @return 0이 되었으면 true, 시간이 지났거나 취소되었으면 false
+	 * @throws InterruptedException 취소가 아닌 인터럽트가 발생한 경우
+	 * */
+	public boolean await(CountDownLatch latch, long timeout, TimeUnit unit) throws InterruptedException {
+		if(!enterBlocking()) return latch.getCount() == 0;
+		
+		try {
+			return latch.await(timeout, unit);
+		}
+		catch (InterruptedException e) {
+			if(!cancelled) throw e;
+			
+			return latch.getCount() == 0;
+		}
+		finally {
+			exitBlocking();
+		}
+	}
+	
+	/**
+	 * condition에서 신호를 기다리는 메소드로 취소되면 바로 빠져나온다. (condition의 락을 잡고 호출해야 함)
+	 * @param condition 대기할 조건 ({@link UEFCell}의 getCommonCondition() 등)
+	 * @param timeout 최대 대기시간
+	 * @param unit 시간 단위
+	 * @return 신호를 받았으면 true, 시간이 지났거나 취소되었으면 false
+	 * @throws InterruptedException 취소가 아닌 인터럽트가 발생한 경우
+	 * */
+	public boolean await(Condition condition, long timeout, TimeUnit unit) throws InterruptedException {
+		if(!enterBlocking()) return false;
+		
+		try {
+			return condition.await(timeout, unit) && !cancelled;
+		}
+		catch (InterruptedException e) {
+			if(!cancelled) throw e;
+			
+			return false;
+		}
+		finally {
+			exitBlocking();
+		}
+	}
+	
+	/**
+	 * 블로킹 메소드에 들어갈 때 호출하는 메소드로 대기중인 스레드를 등록한다.
+	 * @return 이미 취소되었으면 false
+	 * */
+	private boolean enterBlocking() {
+		if(cancelled || !cancellable) return !cancelled;
+		
+		blockedThread.set(Thread.currentThread());
+		
+		// 등록하는 사이에 취소된 경우
+		if(cancelled) {
+			exitBlocking();
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 블로킹 메소드에서 나올 때 호출하는 메소드로 취소하는 쪽이 스레드를 가져갔으면 인터럽트가 도착할 때까지 기다린 뒤 지운다.
+	 * (취소에 쓰인 인터럽트가 사용자 코드로 새어나가지 않도록 함)
+	 * */
+	private void exitBlocking() {
+		if(!cancellable) return;
+		
+		if(!blockedThread.compareAndSet(Thread.currentThread(), null)) {
+			while(!interruptDelivered) Thread.onSpinWait();
+			
+			Thread.interrupted();
+		}
+	}
+	
+	private void runCallback(Runnable callback) {
+		try {
+			callback.run();
+		}
+		catch (Exception e) {
+			if(owner != null) owner.log(Level.WARNING, "취소 콜백에서 예외가 발생했습니다. {} ({})", e.getMessage(), e.getClass());
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "[cancelled: "+cancelled+(cancelled? ", reason: "+reason: "")
+				+", remaining: "+(hasDeadline()? getRemainingNanos() / 1_000+"us": "-")+"]";
+	}
+}
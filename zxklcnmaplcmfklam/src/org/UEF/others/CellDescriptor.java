@@ -0,0 +1,109 @@
+package org.UEF.others;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * 저장된 기록에서 UEFCell을 다시 만들기 위해 필요한 정보(클래스 이름, 이름, 프레임, 설정값, 트리거 상태)를 가지는 클래스<br>
+ * {@link OrderJournal}, {@link TopologySnapshot}에서 UEFLeaf, UEFBranch를 기록하고 복구할 때 사용한다.
+ * */
+public class CellDescriptor {
+	// 설정값 비트
+	public static final byte
+		FLAG_USE_PARENT_FRAME = 1,
+		FLAG_USE_PARENT_LOGGER = 1 << 1,
+		FLAG_WAIT_FOR_END = 1 << 2;
+	
+	private final boolean isBranch;
+	private final String className;
+	private final String name;
+	private final long frame;
+	private final byte flags;
+	private final RoutineTriggerStatus trigger;
+	
+	public CellDescriptor(boolean isBranch, String className, String name, long frame, byte flags) {
+		this(isBranch, className, name, frame, flags, RoutineTriggerStatus.NEW);
+	}
+	
+	public CellDescriptor(boolean isBranch, String className, String name, long frame, byte flags, RoutineTriggerStatus trigger) {
+		this.isBranch = isBranch;
+		this.className = className;
+		this.name = name;
+		this.frame = frame;
+		this.flags = flags;
+		this.trigger = trigger == null? RoutineTriggerStatus.NEW: trigger;
+	}
+	
+	/**
+	 * cell의 현재 정보로 CellDescriptor를 만드는 메소드
+	 * @param cell 정보를 가져올 UEFCell
+	 * @return 만들어진 CellDescriptor
+	 * */
+	public static CellDescriptor of(UEFCell cell) {
+		byte flags = 0;
+		
+		if(cell.isUseParentFrame()) flags |= FLAG_USE_PARENT_FRAME;
+		if(cell.isUseParentLogger()) flags |= FLAG_USE_PARENT_LOGGER;
+		if(cell.isWaitForEnd()) flags |= FLAG_WAIT_FOR_END;
+		
+		return new CellDescriptor(cell instanceof UEFBranch, cell.getClass().getName(), cell.getName(), cell.getFrame(), flags, cell.getCurrentTriggerStatus());
+	}
+	
+	public boolean isBranch() {
+		return isBranch;
+	}
+	
+	public String getClassName() {
+		return className;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	public byte getFlags() {
+		return flags;
+	}
+	
+	/**
+	 * 기록할 때의 트리거 상태를 리턴하는 메소드 ({@link #applyTo(UEFCell)}는 트리거를 적용하지 않으므로 부모에 연결한 뒤 따로 요청해야한다.)
+	 * @return 기록된 트리거 상태
+	 * */
+	public RoutineTriggerStatus getTrigger() {
+		return trigger;
+	}
+	
+	public boolean isUseParentFrame() {
+		return (flags & FLAG_USE_PARENT_FRAME) != 0;
+	}
+	
+	public boolean isUseParentLogger() {
+		return (flags & FLAG_USE_PARENT_LOGGER) != 0;
+	}
+	
+	public boolean isWaitForEnd() {
+		return (flags & FLAG_WAIT_FOR_END) != 0;
+	}
+	
+	/**
+	 * 만들어진 UEFCell에 기록된 프레임과 설정값을 적용하는 메소드
+	 * @param cell 설정값을 적용할 UEFCell
+	 * */
+	public void applyTo(UEFCell cell) {
+		if(isUseParentFrame()) cell.setUseParentFrame(true);
+		else cell.setFrame(frame);
+		
+		cell.setUseParentLogeer(isUseParentLogger());
+		cell.setWaitForEnd(isWaitForEnd());
+	}
+	
+	@Override
+	public String toString() {
+		return (isBranch? "Branch": "Leaf")+"["+className+":"+name+"]";
+	}
+}
@@ -1,22 +1,98 @@
 package org.UEF.others;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.UEF.enu.QueueOverflowPolicy;
 
 
 /**
- * UEFManager의 명령 해석 스레드를 위해 제작된 클래스로 T를 보관하는{@link ConcurrentLinkedQueue}를 두개 가진다.
+ * UEFManager의 명령 해석 스레드를 위해 제작된 클래스로 T를 보관하는{@link ConcurrentLinkedQueue}를 두개 가진다.<br>
+ * 크기 제한(capacity)을 지정하면 두 Queue에 대기중인 값의 합이 제한을 넘지 않도록 {@link QueueOverflowPolicy}에 따라 새로운 값을 처리한다.
  * */
 public class DoubleQueue<T> {
+	// BLOCK 정책에서 대기중인 스레드가 자리가 났는지 다시 확인하는 주기(밀리초)
+	public static long BLOCK_CHECK_MILLIS = 10l;
+	
 	private ConcurrentLinkedQueue<T> queue1 = new ConcurrentLinkedQueue<T>();
 	private ConcurrentLinkedQueue<T> queue2 = new ConcurrentLinkedQueue<T>();
-	private boolean isUsedFirstQueue = false;
+	private volatile boolean isUsedFirstQueue = false;
 	private ReentrantLock lock = new ReentrantLock();
+	// 값을 꺼내 자리가 났음을 알리는 Condition
+	private Condition notFull = lock.newCondition();
+	
+	/*
+	 * 대기중인 값의 최대 수 (0 이하면 제한 없음)
+	 * 가득 찼을 때 새로운 값을 처리하는 방법
+	 * DROP_OLDEST에서 같은 종류인지 판단하기 위한 함수 (null이면 모든 값을 같은 종류로 판단)
+	 * DROP_OLDEST로 버려진 값을 처리하는 함수
+	 * */
+	private final int capacity;
+	private final QueueOverflowPolicy policy;
+	private final Function<? super T, ?> kindFunction;
+	private final Consumer<? super T> dropHandler;
+	
+	// 값을 꺼내는 스레드 (BLOCK 정책에서 자기 자신을 대기시키지 않기 위해 사용)
+	private volatile Thread consumerThread = null;
+	
+	// 대기중인 값 수와 그 최대치
+	private final AtomicInteger depth = new AtomicInteger();
+	private volatile int maxDepth = 0;
+	
+	// 넣은 횟수, 거부된 횟수, 버려진 횟수, 가득 차서 대기한 횟수
+	private final AtomicLong
+		offeredCount = new AtomicLong(),
+		rejectedCount = new AtomicLong(),
+		droppedCount = new AtomicLong(),
+		blockedCount = new AtomicLong();
+	
+	/**
+	 * 크기 제한이 없는 DoubleQueue를 만드는 생성자
+	 * */
+	public DoubleQueue() {
+		this(0, QueueOverflowPolicy.BLOCK, null, null);
+	}
+	
+	/**
+	 * 크기가 제한된 DoubleQueue를 만드는 생성자로 DROP_OLDEST 정책은 가장 오래된 값을 버린다.
+	 * @param capacity 대기중인 값의 최대 수 (0 이하면 제한 없음)
+	 * @param policy 가득 찼을 때 새로운 값을 처리하는 방법
+	 * */
+	public DoubleQueue(int capacity, QueueOverflowPolicy policy) {
+		this(capacity, policy, null, null);
+	}
+	
+	/**
+	 * 크기가 제한된 DoubleQueue를 만드는 생성자
+	 * @param capacity 대기중인 값의 최대 수 (0 이하면 제한 없음)
+	 * @param policy 가득 찼을 때 새로운 값을 처리하는 방법
+	 * @param kindFunction DROP_OLDEST에서 같은 종류인지 판단하기 위해 값의 종류를 리턴하는 함수 (null이면 모든 값을 같은 종류로 판단)
+	 * @param dropHandler DROP_OLDEST로 버려진 값을 처리하는 함수 (null 가능)
+	 * @exception NullPointerException policy가 null인 경우
+	 * */
+	public DoubleQueue(int capacity, QueueOverflowPolicy policy, Function<? super T, ?> kindFunction, Consumer<? super T> dropHandler) {
+		if(policy == null) throw new NullPointerException("policy is null");
+		
+		this.capacity = Math.max(capacity, 0);
+		this.policy = policy;
+		this.kindFunction = kindFunction;
+		this.dropHandler = dropHandler;
+	}
 	
 	/**
 	 * 해당 메소드는 현재 사용되지 않는 Queue를 리턴하는 메소드이다.<br>
-	 * (Queue의 사용권을 빼앗지 않기 때문에 해당 메소드를 사용해 Queue를 사용하고 다시 빌리는 경우 이전에 빌린 Queue는 사용하지 않아야한다.)
+	 * (Queue의 사용권을 빼앗지 않기 때문에 해당 메소드를 사용해 Queue를 사용하고 다시 빌리는 경우 이전에 빌린 Queue는 사용하지 않아야한다.)<br>
+	 * 빌린 Queue의 값은 대기중인 값 수를 맞추기 위해 {@link #poll()}로 꺼내야한다.
 	 * @return 현재 사용되지 않는 Queue
 	 * */
 	public Queue<T> borrowQueue(){
@@ -25,6 +101,7 @@ public class DoubleQueue<T> {
 		try {
 			lock.lock();
 			
+			consumerThread = Thread.currentThread();
 			isUsedFirstQueue = !isUsedFirstQueue;
 			
 			// 맨처음에는 queue1을 사용함
@@ -42,18 +119,66 @@ public class DoubleQueue<T> {
 	}
 	
 	/**
-	 * 현재 사용되지 않는 Queue에 T를 집어넣는 메소드
+	 * 현재 사용되지 않는 Queue에 T를 집어넣는 메소드<br>
+	 * 크기 제한에 도달한 경우 BLOCK은 자리가 날때까지 대기하고, REJECT는 예외를 발생시키며, DROP_OLDEST는 같은 종류의 가장 오래된 값을 버린다.
+	 * @param T 넣고자 하는 객체
+	 * @return order를 제대로 삽입한 경우 true, 실패한 경우 false
+	 * @exception RejectedExecutionException 가득 차서 거부되었거나 대기중 인터럽트가 발생한 경우
+	 * */
+	public boolean offer(T t) throws RejectedExecutionException {
+		return offer(t, true);
+	}
+	
+	/**
+	 * 대기하지 않고 현재 사용되지 않는 Queue에 T를 집어넣는 메소드<br>
+	 * 크기 제한에 도달한 경우 BLOCK도 대기하지 않고 REJECT와 같이 예외를 발생시키며 DROP_OLDEST는 {@link #offer(Object)}와 같다.
+	 * @param T 넣고자 하는 객체
+	 * @return order를 제대로 삽입한 경우 true, 실패한 경우 false
+	 * @exception RejectedExecutionException 가득 차서 거부된 경우
+	 * */
+	public boolean offerWithoutWait(T t) throws RejectedExecutionException {
+		return offer(t, false);
+	}
+	
+	/**
+	 * 크기 제한을 무시하고 현재 사용되지 않는 Queue에 T를 집어넣는 메소드로 가득 찬 상태에서도 버려지면 안되는 값(종료 명령 등)에 사용한다.
 	 * @param T 넣고자 하는 객체
 	 * @return order를 제대로 삽입한 경우 true, 실패한 경우 false
 	 * */
-	public boolean offer(T t) {
+	public boolean offerOverCapacity(T t) {
+		return offer(t, false, false);
+	}
+	
+	private boolean offer(T t, boolean mayWait) throws RejectedExecutionException {
+		return offer(t, mayWait, true);
+	}
+	
+	/**
+	 * @param mayWait false면 BLOCK 정책에서도 대기하지 않음
+	 * @param bounded false면 크기 제한을 무시함
+	 * */
+	private boolean offer(T t, boolean mayWait, boolean bounded) throws RejectedExecutionException {
 		boolean result = false;
 		
 		try {
 			lock.lock();
 			
+			// 가득 찬 경우 정책에 따라 자리를 만듦
+			if(bounded && capacity > 0 && depth.get() >= capacity) makeRoom(t, mayWait);
+			
 			if(isUsedFirstQueue) result = queue2.offer(t);
 			else result = queue1.offer(t);
+			
+			if(result) {
+				int tempDepth = depth.incrementAndGet();
+				
+				offeredCount.incrementAndGet();
+				if(tempDepth > maxDepth) maxDepth = tempDepth;
+			}
+		}
+		catch (RejectedExecutionException e) {
+			rejectedCount.incrementAndGet();
+			throw e;
 		}
 		catch (Exception e) {
 			e.printStackTrace();
@@ -65,11 +190,142 @@ public class DoubleQueue<T> {
 		return result;
 	}
 	
+	/**
+	 * {@link #borrowQueue()}로 빌린 Queue에서 값을 하나 꺼내는 메소드로 꺼낸 만큼 자리가 생긴것을 대기중인 스레드에게 알린다.
+	 * @return 꺼낸 값 (빌린 Queue가 비었으면 null)
+	 * */
+	public T poll() {
+		T result = isUsedFirstQueue? queue1.poll(): queue2.poll();
+		
+		if(result != null) {
+			depth.decrementAndGet();
+			
+			// 대기중인 스레드가 있다면 깨움 (락을 얻지 못하면 대기중인 스레드가 주기적으로 다시 확인함)
+			if(capacity > 0 && policy == QueueOverflowPolicy.BLOCK && lock.tryLock()) {
+				try {
+					notFull.signalAll();
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 빌린 Queue에서 값을 하나 꺼내고, 빌린 Queue가 비었지만 새로 들어온 값이 있다면 Queue를 다시 빌려서 꺼내는 메소드<br>
+	 * (빌린 Queue가 빈 상태에서만 다시 빌리므로 값을 꺼내는 스레드만 사용해야한다.)
+	 * @return 꺼낸 값 (두 Queue가 모두 비었으면 null)
+	 * */
+	public T pollOrBorrow() {
+		T result = poll();
+		
+		if(result == null && !isEmpty()) {
+			borrowQueue();
+			result = poll();
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * 현재 값이 존재하는 Queue가 있는지 리턴하는 메소드
 	 * @return Queue가 둘중에 하나라도 안 비어있으면 false, 둘다 비었으면 true
 	 * */
 	public boolean isEmpty() {
-		return queue1.isEmpty() && queue2.isEmpty(); 
+		return queue1.isEmpty() && queue2.isEmpty();
+	}
+	
+	/**
+	 * 처리되지 않고 대기중인 값 수를 리턴하는 메소드
+	 * @return 대기중인 값 수
+	 * */
+	public int getDepth() {
+		return depth.get();
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public QueueOverflowPolicy getPolicy() {
+		return policy;
+	}
+	
+	/**
+	 * 현재 큐의 상태를 리턴하는 메소드
+	 * @return 크기 제한, 대기중인 값 수, 거부/버림/대기 횟수를 담은 {@link OrderQueueStats}
+	 * */
+	public OrderQueueStats getStats() {
+		return new OrderQueueStats(capacity, policy, depth.get(), maxDepth,
+				offeredCount.get(), rejectedCount.get(), droppedCount.get(), blockedCount.get());
+	}
+	
+	/**
+	 * 가득 찬 상태에서 정책에 따라 자리를 만드는 메소드 (lock을 얻은 상태에서 호출된다.)
+	 * @param t 넣으려는 값
+	 * @param mayWait false면 BLOCK 정책에서도 대기하지 않고 거부함
+	 * @exception RejectedExecutionException 자리를 만들지 못한 경우
+	 * */
+	private void makeRoom(T t, boolean mayWait) throws RejectedExecutionException {
+		switch(policy) {
+			case BLOCK:
+				// 값을 꺼내는 스레드가 대기하면 영원히 자리가 나지 않으므로 제한을 넘겨서 넣는다.
+				if(Thread.currentThread() == consumerThread) return;
+				else if(!mayWait) throw new RejectedExecutionException("Queue is full(capacity: "+capacity+")");
+				
+				blockedCount.incrementAndGet();
+				
+				while(depth.get() >= capacity) {
+					try {
+						notFull.await(BLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException("Interrupted while waiting for queue space(capacity: "+capacity+")");
+					}
+				}
+				break;
+			
+			case DROP_OLDEST:
+				T dropped = removeOldest(kindFunction == null? null: kindFunction.apply(t));
+				
+				if(dropped != null) {
+					depth.decrementAndGet();
+					droppedCount.incrementAndGet();
+					
+					if(dropHandler != null) dropHandler.accept(dropped);
+					break;
+				}
+				
+				throw new RejectedExecutionException("Queue is full and has no value of the same kind to drop(capacity: "+capacity+")");
+			
+			case REJECT:
+			default:
+				throw new RejectedExecutionException("Queue is full(capacity: "+capacity+")");
+		}
+	}
+	
+	/**
+	 * 대기중인 값 중 kind와 같은 종류의 가장 오래된 값을 제거하는 메소드로 빌려간 Queue부터 확인한다.
+	 * @param kind 찾을 종류 (kindFunction이 null이면 무시)
+	 * @return 제거된 값 (없으면 null)
+	 * */
+	private T removeOldest(Object kind) {
+		ConcurrentLinkedQueue<T> borrowed = isUsedFirstQueue? queue1: queue2;
+		ConcurrentLinkedQueue<T> pending = isUsedFirstQueue? queue2: queue1;
+		
+		for(ConcurrentLinkedQueue<T> queue: Arrays.asList(borrowed, pending)) {
+			for(T value: queue) {
+				if(kindFunction != null && !Objects.equals(kind, kindFunction.apply(value))) continue;
+				
+				// 꺼내는 스레드와 경쟁하므로 실제로 제거에 성공한 경우에만 리턴
+				if(queue.remove(value)) return value;
+			}
+		}
+		
+		return null;
 	}
 }
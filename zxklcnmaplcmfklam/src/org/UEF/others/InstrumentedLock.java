@@ -0,0 +1,368 @@
+package org.UEF.others;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.UEF.jfr.LockHoldEvent;
+import org.UEF.jfr.LockWaitEvent;
+
+/**
+ * 락을 잡고 있던 시간, 기다린 시간, 기다리는 스레드 수를 측정하는 ReentrantLock으로 UEFCell의 락으로 사용된다.<br>
+ * 다른 스레드가 잡고 있지 않으면 {@link ReentrantLock#tryLock()}으로 바로 잡으므로 경합이 없을 때는 잡는 횟수와 잡고 있던 시간만 기록된다.
+ * 측정값은 락을 잡은 스레드만 쓰며 다른 스레드는 {@link #getStats()}로 읽는다.<br>
+ * {@link #newCondition()}으로 만든 Condition은 await()에서 락을 놓는 동안을 잡고 있던 시간에서 뺀다.
+ * 기다린 시간이 1ms를 넘으면 {@link LockWaitEvent}, 잡고 있던 시간이 {@link #LONG_HOLD_NANOS}를 넘으면 {@link LockHoldEvent}가 JFR에 기록된다.
+ * */
+public class InstrumentedLock extends ReentrantLock {
+	private static final long serialVersionUID = 1L;
+	
+	// LockHoldEvent를 기록하는 최소 시간(나노초)
+	public static long
+		LONG_HOLD_NANOS = 10_000_000l;
+	
+	// 락을 사용하는 객체 (JFR 이벤트의 이름에만 사용)
+	private final Object cell;
+	
+	// 지금 기다리고 있는 스레드 수 (경합이 있을 때만 바뀜)
+	private final AtomicInteger
+		waitingThreads = new AtomicInteger();
+	
+	// 가장 바깥쪽 잡기의 시작시간 (락을 잡은 스레드만 사용)
+	private long
+		holdStartNanos = 0l;
+	
+	/*
+	 * 잡은 횟수(재진입 제외), 기다린 뒤 잡은 횟수
+	 * 기다린 시간의 합과 최대값
+	 * 잡고 있던 시간의 합과 최대값
+	 * 다른 스레드가 기다리는 중에 놓은 구간의 잡고 있던 시간 합
+	 * 동시에 기다린 스레드 수의 최대값
+	 * */
+	private volatile long
+		acquireCount = 0l,
+		contendedCount = 0l,
+		totalWaitNanos = 0l,
+		maxWaitNanos = 0l,
+		totalHoldNanos = 0l,
+		maxHoldNanos = 0l,
+		blockingHoldNanos = 0l;
+	private volatile int
+		maxWaitingThreads = 0;
+	
+	/**
+	 * @param cell 락을 사용하는 객체 (toString으로 이름을 얻음)
+	 * */
+	public InstrumentedLock(Object cell) {
+		this.cell = cell;
+	}
+	
+	@Override
+	public void lock() {
+		if(super.tryLock()) {
+			beginHold();
+			
+			return;
+		}
+		
+		LockWaitEvent event = beginWait();
+		long start = System.nanoTime();
+		
+		try {
+			super.lock();
+		}
+		finally {
+			waitingThreads.decrementAndGet();
+		}
+		
+		endWait(event, System.nanoTime() - start);
+	}
+	
+	@Override
+	public void lockInterruptibly() throws InterruptedException {
+		if(super.tryLock()) {
+			beginHold();
+			
+			return;
+		}
+		
+		LockWaitEvent event = beginWait();
+		long start = System.nanoTime();
+		
+		try {
+			super.lockInterruptibly();
+		}
+		finally {
+			waitingThreads.decrementAndGet();
+		}
+		
+		endWait(event, System.nanoTime() - start);
+	}
+	
+	@Override
+	public boolean tryLock() {
+		if(!super.tryLock()) return false;
+		
+		beginHold();
+		
+		return true;
+	}
+	
+	@Override
+	public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+		if(super.tryLock()) {
+			beginHold();
+			
+			return true;
+		}
+		
+		LockWaitEvent event = beginWait();
+		long start = System.nanoTime();
+		boolean result;
+		
+		try {
+			result = super.tryLock(timeout, unit);
+		}
+		finally {
+			waitingThreads.decrementAndGet();
+		}
+		
+		if(result) endWait(event, System.nanoTime() - start);
+		
+		return result;
+	}
+	
+	@Override
+	public void unlock() {
+		// 가장 바깥쪽 잡기를 놓는 경우에만 잡고 있던 시간을 기록 (잡지 않은 스레드의 호출은 super에서 예외 발생)
+		if(isHeldByCurrentThread() && getHoldCount() == 1) endHold();
+		
+		super.unlock();
+	}
+	
+	@Override
+	public Condition newCondition() {
+		return new InstrumentedCondition(super.newCondition());
+	}
+	
+	/**
+	 * 기다리기 시작할 때 호출되는 메소드
+	 * @return 기록할 JFR 이벤트
+	 * */
+	private LockWaitEvent beginWait() {
+		int waiting = waitingThreads.incrementAndGet();
+		LockWaitEvent event = new LockWaitEvent();
+		
+		if(event.isEnabled()) {
+			Thread holder = getOwner();
+			
+			event.owner = holder == null? null: holder.getName();
+			event.waiters = waiting;
+			event.begin();
+		}
+		
+		return event;
+	}
+	
+	/**
+	 * 기다린 뒤 락을 잡았을 때 호출되는 메소드 (락을 잡은 상태)
+	 * */
+	private void endWait(LockWaitEvent event, long waitNanos) {
+		beginHold();
+		
+		contendedCount++;
+		totalWaitNanos += waitNanos;
+		
+		if(waitNanos > maxWaitNanos) maxWaitNanos = waitNanos;
+		
+		int waiting = waitingThreads.get() + 1;
+		
+		if(waiting > maxWaitingThreads) maxWaitingThreads = waiting;
+		
+		event.end();
+		
+		if(event.shouldCommit()) {
+			event.cell = String.valueOf(cell);
+			event.commit();
+		}
+	}
+	
+	/**
+	 * 락을 잡았을 때 호출되는 메소드 (재진입은 무시)
+	 * */
+	private void beginHold() {
+		if(getHoldCount() != 1) return;
+		
+		acquireCount++;
+		holdStartNanos = System.nanoTime();
+	}
+	
+	/**
+	 * 락을 놓기 직전에 호출되는 메소드로 잡고 있던 시간을 기록한다.
+	 * */
+	private void endHold() {
+		long hold = System.nanoTime() - holdStartNanos;
+		boolean contended = hasQueuedThreads();
+		
+		totalHoldNanos += hold;
+		
+		if(hold > maxHoldNanos) maxHoldNanos = hold;
+		if(contended) blockingHoldNanos += hold;
+		
+		if(hold >= LONG_HOLD_NANOS) {
+			LockHoldEvent event = new LockHoldEvent();
+			
+			if(event.shouldCommit()) {
+				event.cell = String.valueOf(cell);
+				event.hold = hold;
+				event.contended = contended;
+				event.commit();
+			}
+		}
+	}
+	
+	/**
+	 * 현재 측정값으로 스냅샷을 만드는 메소드
+	 * @return 측정값을 담은 {@link LockStats}
+	 * */
+	public LockStats getStats() {
+		Thread holder = getOwner();
+		
+		return new LockStats(acquireCount, contendedCount, totalWaitNanos, maxWaitNanos, totalHoldNanos, maxHoldNanos,
+				blockingHoldNanos, waitingThreads.get(), maxWaitingThreads, holder == null? null: holder.getName());
+	}
+	
+	public long getContendedCount() {
+		return contendedCount;
+	}
+	
+	public long getTotalWaitNanos() {
+		return totalWaitNanos;
+	}
+	
+	public long getTotalHoldNanos() {
+		return totalHoldNanos;
+	}
+	
+	/**
+	 * 지금 락을 기다리고 있는 스레드 수를 리턴하는 메소드 (Condition에서 신호를 기다리는 스레드는 제외)
+	 * @return 스레드 수
+	 * */
+	public int getWaitingThreadCount() {
+		return waitingThreads.get();
+	}
+	
+	/**
+	 * 측정값을 모두 지우는 메소드 (락을 잡고 있는 스레드가 동시에 기록하면 일부 값이 남을 수 있다.)
+	 * */
+	public void resetStats() {
+		acquireCount = 0l;
+		contendedCount = 0l;
+		totalWaitNanos = 0l;
+		maxWaitNanos = 0l;
+		totalHoldNanos = 0l;
+		maxHoldNanos = 0l;
+		blockingHoldNanos = 0l;
+		maxWaitingThreads = 0;
+	}
+	
+	/**
+	 * await()에서 락을 놓는 동안을 잡고 있던 시간에서 빼는 Condition
+	 * */
+	private final class InstrumentedCondition implements Condition {
+		private final Condition condition;
+		
+		private InstrumentedCondition(Condition condition) {
+			this.condition = condition;
+		}
+		
+		/**
+		 * 락을 놓기 전에 호출되는 메소드 (await()는 재진입 횟수와 관계없이 락을 모두 놓음)
+		 * */
+		private void beforeAwait() {
+			if(isHeldByCurrentThread()) endHold();
+		}
+		
+		/**
+		 * 락을 다시 잡은 뒤 호출되는 메소드
+		 * */
+		private void afterAwait() {
+			if(isHeldByCurrentThread()) {
+				acquireCount++;
+				holdStartNanos = System.nanoTime();
+			}
+		}
+		
+		@Override
+		public void await() throws InterruptedException {
+			beforeAwait();
+			
+			try {
+				condition.await();
+			}
+			finally {
+				afterAwait();
+			}
+		}
+		
+		@Override
+		public void awaitUninterruptibly() {
+			beforeAwait();
+			
+			try {
+				condition.awaitUninterruptibly();
+			}
+			finally {
+				afterAwait();
+			}
+		}
+		
+		@Override
+		public long awaitNanos(long nanosTimeout) throws InterruptedException {
+			beforeAwait();
+			
+			try {
+				return condition.awaitNanos(nanosTimeout);
+			}
+			finally {
+				afterAwait();
+			}
+		}
+		
+		@Override
+		public boolean await(long time, TimeUnit unit) throws InterruptedException {
+			beforeAwait();
+			
+			try {
+				return condition.await(time, unit);
+			}
+			finally {
+				afterAwait();
+			}
+		}
+		
+		@Override
+		public boolean awaitUntil(Date deadline) throws InterruptedException {
+			beforeAwait();
+			
+			try {
+				return condition.awaitUntil(deadline);
+			}
+			finally {
+				afterAwait();
+			}
+		}
+		
+		@Override
+		public void signal() {
+			condition.signal();
+		}
+		
+		@Override
+		public void signalAll() {
+			condition.signalAll();
+		}
+	}
+}
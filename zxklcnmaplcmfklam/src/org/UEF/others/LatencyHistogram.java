@@ -0,0 +1,165 @@
+package org.UEF.others;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 나노초 단위의 실행시간을 고정된 크기의 로그-선형 구간에 기록하는 히스토그램 클래스로 기록할 때 잠금과 객체 생성이 없다.<br>
+ * 2의 거듭제곱 구간마다 {@link #SUB_BUCKET_COUNT}개의 하위 구간을 가지므로 값의 상대 오차는 1 / {@link #SUB_BUCKET_COUNT} 이내이며
+ * {@link #MAX_TRACKABLE_NANOS}보다 큰 값은 마지막 구간에 기록된다. (최대값은 정확하게 기록된다.)<br>
+ * 누적 스냅샷({@link #snapshot()})과 마지막 구간 스냅샷 이후의 변화만 담은 구간 스냅샷({@link #intervalSnapshot()})을 만들 수 있다.
+ * */
+public class LatencyHistogram {
+	/*
+	 * 2의 거듭제곱 구간마다 나누는 하위 구간 수의 비트 수
+	 * 구분할 수 있는 최대값의 비트 수 (2^36ns = 약 68초)
+	 * */
+	public static final int
+		SUB_BUCKET_BITS = 4,
+		MAX_VALUE_BITS = 36;
+	
+	public static final int
+		SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS,
+		BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1);
+	
+	public static final long
+		MAX_TRACKABLE_NANOS = (1l << MAX_VALUE_BITS) - 1;
+	
+	private final AtomicLongArray
+		counts = new AtomicLongArray(BUCKET_COUNT);
+	
+	// 기록된 값의 합과 최대값
+	private final AtomicLong
+		totalNanos = new AtomicLong(),
+		maxNanos = new AtomicLong();
+	
+	// 마지막 구간 스냅샷을 만들때의 누적값 (구간 스냅샷을 처음 만들때 생성)
+	private long[] lastIntervalCounts = null;
+	private long
+		lastIntervalTotal = 0l;
+	
+	/**
+	 * 값을 기록하는 메소드로 잠금과 객체 생성 없이 처리된다.
+	 * @param nanos 기록할 나노초 (음수는 0으로 기록)
+	 * */
+	public void record(long nanos) {
+		if(nanos < 0) nanos = 0;
+		
+		counts.incrementAndGet(indexOf(nanos));
+		totalNanos.addAndGet(nanos);
+		
+		long max = maxNanos.get();
+		
+		while(nanos > max && !maxNanos.compareAndSet(max, nanos)) max = maxNanos.get();
+	}
+	
+	/**
+	 * 지금까지 기록된 모든 값의 스냅샷을 만드는 메소드
+	 * @return 누적 스냅샷
+	 * */
+	public LatencySnapshot snapshot() {
+		long[] copy = new long[BUCKET_COUNT];
+		
+		for(int i = 0; i < BUCKET_COUNT; i++) copy[i] = counts.get(i);
+		
+		return new LatencySnapshot(copy, totalNanos.get(), maxNanos.get());
+	}
+	
+	/**
+	 * 마지막으로 구간 스냅샷을 만든 이후에 기록된 값의 스냅샷을 만드는 메소드 (처음 호출하면 누적 스냅샷과 같다.)<br>
+	 * 구간의 최대값은 구간에 기록된 값의 가장 높은 구간으로 계산된다.
+	 * @return 구간 스냅샷
+	 * */
+	public synchronized LatencySnapshot intervalSnapshot() {
+		long[] current = new long[BUCKET_COUNT];
+		long[] interval = new long[BUCKET_COUNT];
+		long total = totalNanos.get();
+		long max = 0l;
+		
+		if(lastIntervalCounts == null) lastIntervalCounts = new long[BUCKET_COUNT];
+		
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			current[i] = counts.get(i);
+			interval[i] = current[i] - lastIntervalCounts[i];
+			
+			if(interval[i] > 0) max = highestEquivalentValue(i);
+		}
+		
+		LatencySnapshot result = new LatencySnapshot(interval, total - lastIntervalTotal, Math.min(max, maxNanos.get()));
+		
+		lastIntervalCounts = current;
+		lastIntervalTotal = total;
+		
+		return result;
+	}
+	
+	/**
+	 * 기록된 값들을 경계값별 누적 수로 더하는 메소드로 스냅샷을 만들지 않고 여러 히스토그램을 합칠 때 사용한다.<br>
+	 * 경계값과 같은 구간에 기록된 값은 경계값 이하로 센다.
+	 * @param boundaries 오름차순으로 정렬된 경계값(나노초)
+	 * @param cumulative 경계값 이하로 기록된 수를 더할 배열 (boundaries.length + 1 크기, 마지막 칸에는 전체 수를 더함)
+	 * @return 기록된 값의 합(나노초)
+	 * */
+	public long accumulate(long[] boundaries, long[] cumulative) {
+		long seen = 0l;
+		int index = 0;
+		
+		for(int b = 0; b < boundaries.length; b++) {
+			int last = indexOf(Math.max(0l, boundaries[b]));
+			
+			for(; index <= last; index++) seen += counts.get(index);
+			
+			cumulative[b] += seen;
+		}
+		
+		for(; index < BUCKET_COUNT; index++) seen += counts.get(index);
+		
+		cumulative[boundaries.length] += seen;
+		
+		return totalNanos.get();
+	}
+	
+	/**
+	 * 기록된 값을 모두 지우는 메소드 (기록중에 호출하면 일부 값이 남을 수 있다.)
+	 * */
+	public synchronized void reset() {
+		for(int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+		
+		totalNanos.set(0);
+		maxNanos.set(0);
+		lastIntervalCounts = null;
+		lastIntervalTotal = 0l;
+	}
+	
+	/**
+	 * 값이 기록될 구간 번호를 리턴하는 메소드
+	 * @param nanos 0 이상의 값
+	 * @return 구간 번호
+	 * */
+	static int indexOf(long nanos) {
+		if(nanos > MAX_TRACKABLE_NANOS) return BUCKET_COUNT - 1;
+		
+		int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+		
+		// 하위 구간 수보다 작은 값은 그대로 구간 번호가 됨
+		if(exponent < SUB_BUCKET_BITS) return (int) nanos;
+		
+		int shift = exponent - SUB_BUCKET_BITS;
+		
+		return SUB_BUCKET_COUNT * shift + (int) (nanos >>> shift);
+	}
+	
+	/**
+	 * 구간에 기록되는 가장 큰 값을 리턴하는 메소드
+	 * @param index 구간 번호
+	 * @return 구간의 최대값
+	 * */
+	static long highestEquivalentValue(int index) {
+		if(index < SUB_BUCKET_COUNT * 2) return index;
+		
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,101 @@
+package org.UEF.others;
+
+import java.util.Collection;
+
+/**
+ * {@link LatencyHistogram}의 특정 시점 구간별 기록 수를 담는 클래스로 백분위수, 평균, 최대값을 계산하며 여러 스냅샷을 합칠 수 있다.
+ * */
+public class LatencySnapshot {
+	// 아무것도 기록되지 않은 스냅샷
+	public static final LatencySnapshot
+		EMPTY = new LatencySnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0l, 0l);
+	
+	private final long[] counts;
+	private final long count;
+	private final long totalNanos;
+	private final long maxNanos;
+	
+	LatencySnapshot(long[] counts, long totalNanos, long maxNanos) {
+		long tempCount = 0l;
+		
+		for(long c: counts) tempCount += c;
+		
+		this.counts = counts;
+		this.count = tempCount;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+	}
+	
+	/**
+	 * 여러 스냅샷을 하나로 합치는 메소드로 Branch의 Leaf들을 모아서 보는데 사용한다.
+	 * @param snapshots 합칠 스냅샷들 (null은 무시)
+	 * @return 합쳐진 스냅샷
+	 * */
+	public static LatencySnapshot merge(Collection<LatencySnapshot> snapshots) {
+		long[] tempCounts = new long[LatencyHistogram.BUCKET_COUNT];
+		long total = 0l, max = 0l;
+		
+		for(LatencySnapshot snapshot: snapshots) {
+			if(snapshot == null || snapshot.count == 0) continue;
+			
+			for(int i = 0; i < tempCounts.length; i++) tempCounts[i] += snapshot.counts[i];
+			
+			total += snapshot.totalNanos;
+			max = Math.max(max, snapshot.maxNanos);
+		}
+		
+		return new LatencySnapshot(tempCounts, total, max);
+	}
+	
+	/**
+	 * 기록된 값의 수를 리턴하는 메소드
+	 * @return 기록 수
+	 * */
+	public long getCount() {
+		return count;
+	}
+	
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+	
+	/**
+	 * 기록된 값의 평균을 리턴하는 메소드
+	 * @return 평균 나노초 (기록이 없으면 0)
+	 * */
+	public long getMeanNanos() {
+		return count == 0? 0: totalNanos / count;
+	}
+	
+	/**
+	 * 백분위수에 해당하는 값을 리턴하는 메소드로 값이 속한 구간의 최대값을 리턴한다. (최대값을 넘지 않는다.)
+	 * @param percentile 0 ~ 100 사이의 백분위 (예: 99.9)
+	 * @return 백분위수에 해당하는 나노초 (기록이 없으면 0)
+	 * */
+	public long getValueAtPercentile(double percentile) {
+		if(count == 0) return 0l;
+		
+		double tempPercentile = Math.max(0.0, Math.min(100.0, percentile));
+		long target = Math.max(1l, (long) Math.ceil(tempPercentile / 100.0 * count));
+		long seen = 0l;
+		
+		for(int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			
+			if(seen >= target) return Math.min(LatencyHistogram.highestEquivalentValue(i), maxNanos);
+		}
+		
+		return maxNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return "[count: "+count+", mean: "+getMeanNanos() / 1_000+"us, p50: "+getValueAtPercentile(50) / 1_000
+				+"us, p99: "+getValueAtPercentile(99) / 1_000+"us, p99.9: "+getValueAtPercentile(99.9) / 1_000
+				+"us, max: "+maxNanos / 1_000+"us]";
+	}
+}
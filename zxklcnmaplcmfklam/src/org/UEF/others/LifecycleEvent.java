@@ -0,0 +1,139 @@
+package org.UEF.others;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.UEF.core.UEFCell;
+import org.UEF.enu.LifecycleEventType;
+import org.UEF.enu.RoutineStatus;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * {@link LifecycleRecorder}에서 읽어낸 수명주기 이벤트 하나를 담는 클래스 (code, arg의 의미는 {@link LifecycleEventType} 참조)
+ * */
+public class LifecycleEvent {
+	private final long sequence;
+	private final long timeMillis;
+	private final long nanoTime;
+	private final LifecycleEventType type;
+	private final int code;
+	private final long arg;
+	private final long threadId;
+	private final UEFCell cell;
+	private final Object detail;
+	
+	LifecycleEvent(long sequence, long timeMillis, long nanoTime, LifecycleEventType type, int code, long arg,
+			long threadId, UEFCell cell, Object detail) {
+		this.sequence = sequence;
+		this.timeMillis = timeMillis;
+		this.nanoTime = nanoTime;
+		this.type = type;
+		this.code = code;
+		this.arg = arg;
+		this.threadId = threadId;
+		this.cell = cell;
+		this.detail = detail;
+	}
+	
+	/**
+	 * 런타임에서 기록된 순서를 리턴하는 메소드
+	 * @return 0부터 시작하는 기록 번호
+	 * */
+	public long getSequence() {
+		return sequence;
+	}
+	
+	/**
+	 * 기록된 시각을 리턴하는 메소드 ({@link System#nanoTime()}으로 기록된 값을 기록기가 만들어진 시각 기준으로 변환)
+	 * @return 밀리초 단위의 시각
+	 * */
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+	
+	public long getNanoTime() {
+		return nanoTime;
+	}
+	
+	public LifecycleEventType getType() {
+		return type;
+	}
+	
+	public int getCode() {
+		return code;
+	}
+	
+	public long getArg() {
+		return arg;
+	}
+	
+	public long getThreadId() {
+		return threadId;
+	}
+	
+	/**
+	 * 이벤트를 기록한 객체를 리턴하는 메소드
+	 * @return UEFCell (UEFManager의 명령 이벤트는 UEFManager)
+	 * */
+	public UEFCell getCell() {
+		return cell;
+	}
+	
+	/**
+	 * 이벤트의 상세값을 리턴하는 메소드
+	 * @return EXCEPTION, ORDER_FAILED는 예외 클래스, STALL은 {@link org.UEF.enu.StallPolicy}, 그 외는 null
+	 * */
+	public Object getDetail() {
+		return detail;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuffer result = new StringBuffer(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timeMillis)));
+		
+		result.append(" #").append(sequence).append(" [t").append(threadId).append("] ").append(type);
+		result.append(' ').append(cell == null? "-": cell.getPath());
+		
+		switch(type) {
+		case PHASE_START:
+			result.append(' ').append(RoutineStatus.findByValue(code));
+			break;
+		
+		case PHASE_END:
+			result.append(' ').append(RoutineStatus.findByValue(code)).append(' ').append(arg / 1_000).append("us");
+			break;
+		
+		case TRIGGER_REQUEST:
+			result.append(' ').append(triggerName((int) arg)).append(" -> ").append(triggerName(code));
+			break;
+		
+		case EXCEPTION:
+			result.append(' ').append(RoutineStatus.findByValue((int) arg)).append(" result=").append(code).append(' ').append(detailName());
+			break;
+		
+		case ORDER_APPLY:
+			result.append(" order=").append(code).append(" wait=").append(arg / 1_000).append("us");
+			break;
+		
+		case ORDER_FAILED:
+			result.append(" order=").append(code).append(" wait=").append(arg / 1_000).append("us ").append(detailName());
+			break;
+		
+		case STALL:
+			result.append(' ').append(RoutineStatus.findByValue(code)).append(' ').append(arg / 1_000_000).append("ms policy=").append(detail);
+			break;
+		}
+		
+		return result.toString();
+	}
+	
+	private String detailName() {
+		return detail instanceof Class? ((Class<?>) detail).getName(): String.valueOf(detail);
+	}
+	
+	private static String triggerName(int ordinal) {
+		RoutineTriggerStatus[] values = RoutineTriggerStatus.values();
+		
+		return ordinal >= 0 && ordinal < values.length? values[ordinal].name(): String.valueOf(ordinal);
+	}
+}
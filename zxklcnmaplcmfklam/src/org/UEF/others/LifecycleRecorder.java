@@ -0,0 +1,252 @@
+package org.UEF.others;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.LifecycleEventType;
+
+/**
+ * 런타임의 수명주기 이벤트(루틴 시작/종료, 트리거 요청, 예외, 명령 실행)를 크기가 고정된 링 버퍼에 기록하는 클래스로 런타임마다 하나씩 만들어진다.<br>
+ * 기록은 잠금 없이 번호를 하나 받아 해당 칸에 원시값으로 쓰므로 항상 켜두고 사용할 수 있으며 버퍼가 가득 차면 가장 오래된 이벤트부터 덮어쓴다.
+ * 칸마다 기록 번호를 함께 써서 읽는 쪽은 쓰는 중이거나 덮어써진 칸을 건너뛴다.<br>
+ * execute() 틱은 양이 많아 다른 이벤트를 금방 밀어내므로 {@link #RECORD_EXECUTE_TICKS}를 켠 경우에만 기록된다.
+ * UEFLeaf가 처리되지 않은 예외로 종료되면 {@link #dumpOnFailure(UEFCell, Throwable)}가 호출되어 버퍼의 내용을 파일로 남긴다.
+ * */
+public class LifecycleRecorder {
+	// 새로 만들어지는 런타임의 버퍼 크기 (2의 거듭제곱으로 올림)
+	public static int
+		CAPACITY = 16_384;
+	
+	// execute()의 시작/종료도 기록할지 정하는 값
+	public static boolean
+		RECORD_EXECUTE_TICKS = false;
+	
+	// 자동으로 파일을 남기는 최소 간격(나노초), 여러 Leaf가 한번에 종료되어도 파일이 한번만 만들어지도록 함
+	public static long
+		AUTO_DUMP_INTERVAL_NANOS = 1_000_000_000l;
+	
+	/*
+	 * 칸 하나의 long 수
+	 * 0: 기록 번호 + 1 (쓰는 중이면 0), 1: nanoTime, 2: 종류(8비트) | code(24비트) | 스레드 id(32비트), 3: arg
+	 * */
+	private static final int
+		SLOT_LONGS = 4;
+	
+	private final UEFManager runtime;
+	private final int capacity;
+	private final int mask;
+	private final AtomicLongArray slots;
+	private final AtomicReferenceArray<UEFCell> cells;
+	private final AtomicReferenceArray<Object> details;
+	
+	// 다음 기록 번호
+	private final AtomicLong
+		cursor = new AtomicLong();
+	
+	// nanoTime을 시각으로 바꾸기 위한 기준값
+	private final long
+		originNanos = System.nanoTime(),
+		originMillis = System.currentTimeMillis();
+	
+	// 마지막으로 자동 파일을 남긴 시간
+	private final AtomicLong
+		lastAutoDumpNanos = new AtomicLong(System.nanoTime() - AUTO_DUMP_INTERVAL_NANOS);
+	
+	private volatile boolean
+		enabled = true;
+	
+	// 자동으로 남기는 파일의 폴더
+	private volatile Path
+		dumpDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+	
+	/**
+	 * @param runtime 기록기를 사용하는 런타임
+	 * @param capacity 버퍼 크기 (2의 거듭제곱으로 올림, 최소 16)
+	 * */
+	public LifecycleRecorder(UEFManager runtime, int capacity) {
+		int tempCapacity = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+		
+		this.runtime = runtime;
+		this.capacity = tempCapacity;
+		this.mask = tempCapacity - 1;
+		this.slots = new AtomicLongArray(tempCapacity * SLOT_LONGS);
+		this.cells = new AtomicReferenceArray<UEFCell>(tempCapacity);
+		this.details = new AtomicReferenceArray<Object>(tempCapacity);
+	}
+	
+	/**
+	 * 이벤트를 하나 기록하는 메소드로 잠금 없이 처리된다.
+	 * @param cell 이벤트가 발생한 객체
+	 * @param type 이벤트 종류
+	 * @param code 종류별 값 (24비트를 넘는 값은 잘림)
+	 * @param arg 종류별 값
+	 * @param detail 종류별 상세값 (없으면 null)
+	 * */
+	public void record(UEFCell cell, LifecycleEventType type, int code, long arg, Object detail) {
+		if(enabled == false) return;
+		
+		long sequence = cursor.getAndIncrement();
+		int slot = (int) (sequence & mask);
+		int base = slot * SLOT_LONGS;
+		long packed = ((long) type.ordinal() << 56) | ((code & 0xFF_FFFFl) << 32) | (Thread.currentThread().getId() & 0xFFFF_FFFFl);
+		
+		// 쓰는 중임을 표시한 뒤 값을 쓰고 마지막에 기록 번호를 씀 (표시가 값보다 먼저 보이도록 순서를 보장)
+		slots.lazySet(base, 0l);
+		VarHandle.storeStoreFence();
+		slots.lazySet(base + 1, System.nanoTime());
+		slots.lazySet(base + 2, packed);
+		slots.lazySet(base + 3, arg);
+		cells.lazySet(slot, cell);
+		details.lazySet(slot, detail);
+		slots.lazySet(base, sequence + 1);
+	}
+	
+	/**
+	 * 버퍼에 남아있는 이벤트를 기록된 순서대로 읽는 메소드로 기록을 멈추지 않고 읽으므로 읽는 중에 덮어써진 이벤트는 빠진다.
+	 * @return 이벤트 리스트
+	 * */
+	public List<LifecycleEvent> snapshot() {
+		LifecycleEventType[] types = LifecycleEventType.values();
+		long end = cursor.get();
+		long start = Math.max(0l, end - capacity);
+		List<LifecycleEvent> result = new ArrayList<LifecycleEvent>((int) (end - start));
+		
+		for(long sequence = start; sequence < end; sequence++) {
+			int slot = (int) (sequence & mask);
+			int base = slot * SLOT_LONGS;
+			
+			if(slots.get(base) != sequence + 1) continue;
+			
+			long nanoTime = slots.get(base + 1);
+			long packed = slots.get(base + 2);
+			long arg = slots.get(base + 3);
+			UEFCell cell = cells.get(slot);
+			Object detail = details.get(slot);
+			
+			// 읽는 중에 덮어써진 경우
+			if(slots.get(base) != sequence + 1) continue;
+			
+			result.add(new LifecycleEvent(sequence, originMillis + (nanoTime - originNanos) / 1_000_000, nanoTime,
+					types[(int) (packed >>> 56)], (int) ((packed << 8) >> 40), arg, packed & 0xFFFF_FFFFl, cell, detail));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * 버퍼에 남아있는 이벤트를 한 줄씩 쓰는 메소드
+	 * @param writer 쓸 대상
+	 * @return 쓴 이벤트 수
+	 * @throws IOException 쓰기에 실패한 경우
+	 * */
+	public int dump(Writer writer) throws IOException {
+		List<LifecycleEvent> events = snapshot();
+		
+		writer.write("# UEF lifecycle dump: runtime="+runtime.getName()+", events="+events.size()+", recorded="+cursor.get()+"\n");
+		
+		for(LifecycleEvent event: events) {
+			writer.write(event.toString());
+			writer.write('\n');
+		}
+		
+		writer.flush();
+		
+		return events.size();
+	}
+	
+	/**
+	 * 버퍼에 남아있는 이벤트를 파일로 쓰는 메소드 (파일이 있으면 덮어씀)
+	 * @param path 쓸 파일
+	 * @return 쓴 이벤트 수
+	 * @throws IOException 쓰기에 실패한 경우
+	 * */
+	public int dump(Path path) throws IOException {
+		try(BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			return dump(writer);
+		}
+	}
+	
+	/**
+	 * 처리되지 않은 예외로 종료되는 객체가 있을 때 버퍼의 내용을 {@link #getDumpDirectory()}에 파일로 남기는 메소드<br>
+	 * 마지막으로 파일을 남긴 뒤 {@link #AUTO_DUMP_INTERVAL_NANOS}가 지나지 않았으면 남기지 않는다.
+	 * @param cell 종료되는 객체
+	 * @param cause 종료 원인
+	 * @return 파일을 남겼으면 파일 경로, 아니면 null
+	 * */
+	public Path dumpOnFailure(UEFCell cell, Throwable cause) {
+		long now = System.nanoTime();
+		long last = lastAutoDumpNanos.get();
+		
+		if(enabled == false || now - last < AUTO_DUMP_INTERVAL_NANOS || !lastAutoDumpNanos.compareAndSet(last, now)) return null;
+		
+		String fileName = runtime.getName()+"-"+cell.getName()+"-"+new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())+".lifecycle.txt";
+		Path path = dumpDirectory.resolve(fileName.replaceAll("[^0-9A-Za-z._-]", "_"));
+		
+		try {
+			int count = dump(path);
+			
+			runtime.log(Level.WARNING, "{}가 처리되지 않은 예외({})로 종료되어 수명주기 이벤트 {}개를 {}에 남겼습니다.", cell, cause.getClass().getName(), count, path);
+			
+			return path;
+		}
+		catch (IOException e) {
+			runtime.log(Level.WARNING, "수명주기 이벤트를 {}에 남기지 못했습니다. ({})", path, e.getMessage());
+			
+			return null;
+		}
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * 지금까지 기록된 이벤트 수를 리턴하는 메소드 (덮어써진 이벤트 포함)
+	 * @return 기록 수
+	 * */
+	public long getRecordedCount() {
+		return cursor.get();
+	}
+	
+	/**
+	 * 기록 여부를 지정하는 메소드로 기본값은 true이다.
+	 * @param enabled 기록하려면 true
+	 * */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	
+	public boolean isEnabled() {
+		return enabled;
+	}
+	
+	public Path getDumpDirectory() {
+		return dumpDirectory;
+	}
+	
+	/**
+	 * 자동으로 남기는 파일의 폴더를 지정하는 메소드로 기본값은 java.io.tmpdir이다.
+	 * @param dumpDirectory 폴더 경로
+	 * */
+	public void setDumpDirectory(Path dumpDirectory) {
+		if(dumpDirectory == null) throw new NullPointerException("dumpDirectory is null");
+		
+		this.dumpDirectory = dumpDirectory;
+	}
+}
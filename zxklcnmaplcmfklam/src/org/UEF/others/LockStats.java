@@ -0,0 +1,109 @@
+package org.UEF.others;
+
+/**
+ * {@link InstrumentedLock}의 특정 시점 측정값(잡은 횟수, 기다린 시간, 잡고 있던 시간, 기다리는 스레드 수)을 담는 클래스
+ * */
+public class LockStats {
+	public static final LockStats
+		EMPTY = new LockStats(0l, 0l, 0l, 0l, 0l, 0l, 0l, 0, 0, null);
+	
+	private final long acquireCount;
+	private final long contendedCount;
+	private final long totalWaitNanos;
+	private final long maxWaitNanos;
+	private final long totalHoldNanos;
+	private final long maxHoldNanos;
+	private final long blockingHoldNanos;
+	private final int waitingThreads;
+	private final int maxWaitingThreads;
+	private final String ownerThread;
+	
+	public LockStats(long acquireCount, long contendedCount, long totalWaitNanos, long maxWaitNanos, long totalHoldNanos,
+			long maxHoldNanos, long blockingHoldNanos, int waitingThreads, int maxWaitingThreads, String ownerThread) {
+		this.acquireCount = acquireCount;
+		this.contendedCount = contendedCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+		this.totalHoldNanos = totalHoldNanos;
+		this.maxHoldNanos = maxHoldNanos;
+		this.blockingHoldNanos = blockingHoldNanos;
+		this.waitingThreads = waitingThreads;
+		this.maxWaitingThreads = maxWaitingThreads;
+		this.ownerThread = ownerThread;
+	}
+	
+	/**
+	 * 락을 잡은 횟수를 리턴하는 메소드 (재진입은 제외, Condition에서 깨어나 다시 잡은 경우 포함)
+	 * @return 잡은 횟수
+	 * */
+	public long getAcquireCount() {
+		return acquireCount;
+	}
+	
+	/**
+	 * 다른 스레드가 잡고 있어 기다린 뒤 잡은 횟수를 리턴하는 메소드
+	 * @return 경합 횟수
+	 * */
+	public long getContendedCount() {
+		return contendedCount;
+	}
+	
+	public long getTotalWaitNanos() {
+		return totalWaitNanos;
+	}
+	
+	public long getMaxWaitNanos() {
+		return maxWaitNanos;
+	}
+	
+	/**
+	 * 경합 한 번의 평균 대기시간을 리턴하는 메소드
+	 * @return 나노초 (경합이 없으면 0)
+	 * */
+	public double getMeanWaitNanos() {
+		return contendedCount == 0l? 0.0: (double) totalWaitNanos / contendedCount;
+	}
+	
+	public long getTotalHoldNanos() {
+		return totalHoldNanos;
+	}
+	
+	public long getMaxHoldNanos() {
+		return maxHoldNanos;
+	}
+	
+	/**
+	 * 다른 스레드가 기다리는 중에 놓은 구간의 잡고 있던 시간 합을 리턴하는 메소드로 다른 스레드를 막은 시간을 가늠하는데 사용한다.
+	 * @return 나노초
+	 * */
+	public long getBlockingHoldNanos() {
+		return blockingHoldNanos;
+	}
+	
+	/**
+	 * 측정할 때 락을 기다리고 있던 스레드 수를 리턴하는 메소드
+	 * @return 스레드 수
+	 * */
+	public int getWaitingThreads() {
+		return waitingThreads;
+	}
+	
+	public int getMaxWaitingThreads() {
+		return maxWaitingThreads;
+	}
+	
+	/**
+	 * 측정할 때 락을 잡고 있던 스레드의 이름을 리턴하는 메소드
+	 * @return 스레드 이름 (잡은 스레드가 없으면 null)
+	 * */
+	public String getOwnerThread() {
+		return ownerThread;
+	}
+	
+	@Override
+	public String toString() {
+		return "[acquires: "+acquireCount+", contended: "+contendedCount+", wait total: "+totalWaitNanos / 1_000+"us, wait max: "+maxWaitNanos / 1_000
+				+"us, hold total: "+totalHoldNanos / 1_000+"us, hold max: "+maxHoldNanos / 1_000+"us, blocking hold: "+blockingHoldNanos / 1_000
+				+"us, waiting: "+waitingThreads+", max waiting: "+maxWaitingThreads+", owner: "+ownerThread+"]";
+	}
+}
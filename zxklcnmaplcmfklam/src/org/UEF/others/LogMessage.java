@@ -0,0 +1,43 @@
+package org.UEF.others;
+
+/**
+ * {@link org.UEF.itf.Logable}의 형식 로그에서 사용하는 클래스로 pattern의 {}를 순서대로 인자의 문자열로 바꾼다.<br>
+ * \{}는 바꾸지 않고 {}로 남기며 인자보다 {}가 많으면 남은 {}는 그대로, 적으면 남은 인자는 무시한다.
+ * */
+public final class LogMessage {
+	private LogMessage() {
+		
+	}
+	
+	/**
+	 * pattern의 {}를 args로 바꾼 문자열을 리턴하는 메소드
+	 * @param pattern 형식 (null이면 "null")
+	 * @param args 인자
+	 * @return 바꾼 문자열
+	 * */
+	public static String format(String pattern, Object... args) {
+		if(pattern == null) return "null";
+		
+		int index = pattern.indexOf("{}");
+		
+		if(index < 0 || args == null || args.length == 0) return pattern;
+		
+		StringBuilder buffer = new StringBuilder(pattern.length() + 16 * args.length);
+		int start = 0, argIndex = 0;
+		
+		while(index >= 0 && argIndex < args.length) {
+			// \{}는 바꾸지 않음
+			if(index > 0 && pattern.charAt(index - 1) == '\\') {
+				buffer.append(pattern, start, index - 1).append("{}");
+			}
+			else {
+				buffer.append(pattern, start, index).append(args[argIndex++]);
+			}
+			
+			start = index + 2;
+			index = pattern.indexOf("{}", start);
+		}
+		
+		return buffer.append(pattern, start, pattern.length()).toString();
+	}
+}
@@ -0,0 +1,332 @@
+package org.UEF.others;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFBranch;
+
+/**
+ * 같은 로그가 짧은 시간에 몰릴 때 남기는 수를 제한하는 클래스로 {@link UEFBranch#setLogRateLimiter(LogRateLimiter)}로 지정하면
+ * 그 Branch와 Branch의 Logger를 사용하는 하위 객체의 로그에 적용된다.<br>
+ * 로그는 키(형식 로그는 형식 문자열, Supplier 로그는 Supplier의 클래스, 그 외는 내용)마다 토큰 버킷으로 제한되며
+ * 초당 {@link #getPermitsPerSecond()}개씩 최대 {@link #getBurst()}개까지 토큰이 찬다.
+ * {@link #getSampleEvery()}를 지정하면 같은 키의 로그 중 N번째마다 하나만 토큰을 확인한다.<br>
+ * 생략된 로그는 키마다 세어두었다가 같은 키의 로그가 다시 남겨질 때나 {@link #getSummaryIntervalNanos()}가 지난 뒤 다른 로그가 들어올 때
+ * "비슷한 로그 N개를 생략" 요약으로 남긴다. ({@link #flushSummaries(SummaryListener)}로 바로 남길 수 있음)<br>
+ * {@link #getExemptLevel()} 이상의 로그는 제한하지 않으며 키가 {@link #getMaxKeys()}개를 넘으면 새 키는 하나의 버킷을 함께 사용한다.<br>
+ * 버킷은 잠금 없이 CAS로 갱신되므로 많은 스레드가 같은 키(또는 넘친 키의 버킷)로 로그를 남겨도 서로 대기하지 않는다.
+ * */
+public class LogRateLimiter {
+	// 키가 너무 많을 때 함께 사용하는 버킷의 키
+	public static final String
+		OVERFLOW_KEY = "(overflow)";
+	
+	// 생략한 로그가 없는 버킷을 지우는 최소 유휴 시간(나노초)
+	public static long
+		IDLE_BUCKET_NANOS = 60_000_000_000l;
+	
+	private final ConcurrentHashMap<Object, Bucket>
+		buckets = new ConcurrentHashMap<Object, Bucket>();
+	
+	private volatile double
+		permitsPerSecond;
+	
+	private volatile int
+		burst,
+		sampleEvery = 1,
+		maxKeys = 1_024;
+	
+	private volatile long
+		summaryIntervalNanos = 1_000_000_000l;
+	
+	private volatile Level
+		exemptLevel = Level.SEVERE;
+	
+	// 다음 요약 확인 시각 (로그를 남기는 스레드 중 하나만 CAS로 확인함)
+	private final AtomicLong
+		nextSweepNanos = new AtomicLong(System.nanoTime());
+	
+	private final AtomicLong
+		passedCount = new AtomicLong(),
+		suppressedCount = new AtomicLong();
+	
+	/**
+	 * 생략된 로그의 요약을 받는 인터페이스
+	 * */
+	@FunctionalInterface
+	public interface SummaryListener {
+		/**
+		 * @param key 생략된 로그의 키
+		 * @param level 생략된 로그 중 가장 높은 레벨
+		 * @param count 생략된 로그 수
+		 * */
+		public void suppressed(Object key, Level level, long count);
+	}
+	
+	/**
+	 * @param permitsPerSecond 키마다 초당 남기는 로그 수 (0보다 커야 함)
+	 * @param burst 키마다 한번에 남길 수 있는 최대 로그 수 (최소 1)
+	 * */
+	public LogRateLimiter(double permitsPerSecond, int burst) {
+		setPermitsPerSecond(permitsPerSecond);
+		setBurst(burst);
+	}
+	
+	/**
+	 * 로그를 남길지 정하는 메소드로 키의 버킷에서 토큰을 하나 꺼낸다.
+	 * @param key 로그의 키
+	 * @param level 로그 레벨
+	 * @param nanos 현재 시각 (System.nanoTime())
+	 * @return 생략해야 하면 -1, 남겨야 하면 이전에 생략된 같은 키의 로그 수 (요약을 먼저 남겨야 함)
+	 * */
+	public long tryAcquire(Object key, Level level, long nanos) {
+		if(level.intValue() >= exemptLevel.intValue()) {
+			passedCount.incrementAndGet();
+			return 0l;
+		}
+		
+		Bucket bucket;
+		
+		// 요약 확인 중 지워진 버킷이면 다시 가져옴
+		do {
+			bucket = getBucket(key, nanos);
+		} while(bucket.isRemoved);
+		
+		bucket.lastUsedNanos = nanos;
+		
+		int tempSampleEvery = sampleEvery;
+		boolean isSampled = tempSampleEvery <= 1 || bucket.sampleCount.getAndIncrement() % tempSampleEvery == 0;
+		
+		if(isSampled && bucket.tryTake(nanos, permitsPerSecond, burst)) {
+			long suppressed = bucket.suppressed.getAndSet(0l);
+			
+			bucket.suppressedLevel.set(null);
+			passedCount.incrementAndGet();
+			
+			return suppressed;
+		}
+		
+		// 요약에서 레벨을 찾을 수 있도록 레벨을 먼저 기록한 뒤 생략 수를 올림
+		bucket.lastSuppressedLevel = level;
+		bucket.suppressedLevel.accumulateAndGet(level, (before, current) -> before == null || before.intValue() < current.intValue()? current: before);
+		
+		if(bucket.suppressed.getAndIncrement() == 0l) bucket.firstSuppressedNanos = nanos;
+		
+		suppressedCount.incrementAndGet();
+		
+		return -1l;
+	}
+	
+	private Bucket getBucket(Object key, long nanos) {
+		Bucket bucket = buckets.get(key);
+		
+		if(bucket != null) return bucket;
+		// 키가 너무 많으면 새 키는 하나의 버킷으로 제한
+		else if(buckets.size() >= maxKeys) key = OVERFLOW_KEY;
+		
+		// 처음 사용하는 버킷은 가득 찬 상태
+		return buckets.computeIfAbsent(key, k -> new Bucket(k, nanos - Bucket.toIntervalNanos(permitsPerSecond) * burst));
+	}
+	
+	/**
+	 * {@link #getSummaryIntervalNanos()}가 지났으면 오래 생략된 로그의 요약을 listener에 넘기고 오래 사용하지 않은 버킷을 지우는 메소드<br>
+	 * 로그를 남기는 스레드에서 매번 호출해도 되며 주기마다 하나의 스레드만 처리한다.
+	 * @param nanos 현재 시각 (System.nanoTime())
+	 * @param listener 요약을 받을 리스너
+	 * */
+	public void sweepSummaries(long nanos, SummaryListener listener) {
+		long next = nextSweepNanos.get();
+		
+		if(nanos - next < 0l || !nextSweepNanos.compareAndSet(next, nanos + summaryIntervalNanos)) return;
+		
+		sweep(nanos, summaryIntervalNanos, listener);
+	}
+	
+	/**
+	 * 생략된 로그의 요약을 모두 바로 listener에 넘기는 메소드
+	 * @param listener 요약을 받을 리스너
+	 * */
+	public void flushSummaries(SummaryListener listener) {
+		sweep(System.nanoTime(), 0l, listener);
+	}
+	
+	private void sweep(long nanos, long minimumNanos, SummaryListener listener) {
+		Iterator<Bucket> iterator = buckets.values().iterator();
+		
+		while(iterator.hasNext()) {
+			Bucket bucket = iterator.next();
+			long suppressed = 0l;
+			Level level = null;
+			
+			if(bucket.suppressed.get() > 0l) {
+				if(nanos - bucket.firstSuppressedNanos < minimumNanos) continue;
+				
+				suppressed = bucket.suppressed.getAndSet(0l);
+				level = bucket.suppressedLevel.getAndSet(null);
+				
+				// 다른 스레드가 최대 레벨을 먼저 비운 경우 마지막으로 생략된 로그의 레벨을 사용
+				if(level == null) level = bucket.lastSuppressedLevel;
+			}
+			/*
+			 * 오래 사용하지 않은 버킷은 지움
+			 * 지우는 순간 버킷을 가져간 스레드의 생략 수는 요약에서 빠질 수 있지만 전체 생략 수(suppressedCount)에는 포함된다.
+			 * */
+			else if(nanos - bucket.lastUsedNanos >= IDLE_BUCKET_NANOS) {
+				bucket.isRemoved = true;
+				iterator.remove();
+			}
+			
+			// 남겨야 하는 로그가 그 사이에 생략 수를 가져갔을 수 있음
+			if(suppressed > 0l) listener.suppressed(bucket.key, level, suppressed);
+		}
+	}
+	
+	public double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+	
+	/**
+	 * @param permitsPerSecond 키마다 초당 남기는 로그 수 (0보다 커야 함)
+	 * */
+	public void setPermitsPerSecond(double permitsPerSecond) {
+		if(!(permitsPerSecond > 0.0)) throw new IllegalArgumentException("permitsPerSecond must be positive: "+permitsPerSecond);
+		
+		this.permitsPerSecond = permitsPerSecond;
+	}
+	
+	public int getBurst() {
+		return burst;
+	}
+	
+	/**
+	 * @param burst 키마다 한번에 남길 수 있는 최대 로그 수 (최소 1)
+	 * */
+	public void setBurst(int burst) {
+		this.burst = Math.max(1, burst);
+	}
+	
+	public int getSampleEvery() {
+		return sampleEvery;
+	}
+	
+	/**
+	 * 같은 키의 로그 중 N번째마다 하나만 토큰을 확인하도록 지정하는 메소드로 나머지는 생략된 것으로 센다.
+	 * @param sampleEvery N (1이면 모든 로그가 토큰을 확인함)
+	 * */
+	public void setSampleEvery(int sampleEvery) {
+		this.sampleEvery = Math.max(1, sampleEvery);
+	}
+	
+	public int getMaxKeys() {
+		return maxKeys;
+	}
+	
+	/**
+	 * @param maxKeys 따로 버킷을 만드는 키의 최대 수 (넘는 키는 {@link #OVERFLOW_KEY}의 버킷을 사용)
+	 * */
+	public void setMaxKeys(int maxKeys) {
+		this.maxKeys = Math.max(1, maxKeys);
+	}
+	
+	public long getSummaryIntervalNanos() {
+		return summaryIntervalNanos;
+	}
+	
+	/**
+	 * @param summaryInterval 생략된 로그의 요약을 남기는 최소 간격
+	 * @param unit summaryInterval의 단위
+	 * */
+	public void setSummaryInterval(long summaryInterval, TimeUnit unit) {
+		this.summaryIntervalNanos = Math.max(1l, unit.toNanos(summaryInterval));
+	}
+	
+	public Level getExemptLevel() {
+		return exemptLevel;
+	}
+	
+	/**
+	 * @param exemptLevel 제한하지 않는 최소 레벨 (기본값은 SEVERE, OFF면 모든 레벨을 제한함)
+	 * */
+	public void setExemptLevel(Level exemptLevel) {
+		if(exemptLevel == null) throw new NullPointerException("exemptLevel is null");
+		
+		this.exemptLevel = exemptLevel;
+	}
+	
+	/**
+	 * 현재 버킷 수를 리턴하는 메소드
+	 * @return 버킷 수
+	 * */
+	public int getKeyCount() {
+		return buckets.size();
+	}
+	
+	public long getPassedCount() {
+		return passedCount.get();
+	}
+	
+	public long getSuppressedCount() {
+		return suppressedCount.get();
+	}
+	
+	@Override
+	public String toString() {
+		return "[permitsPerSecond: "+permitsPerSecond+", burst: "+burst+", sampleEvery: "+sampleEvery+", keys: "+buckets.size()
+			+", passed: "+passedCount.get()+", suppressed: "+suppressedCount.get()+"]";
+	}
+	
+	/**
+	 * 키 하나의 토큰 버킷으로 잠금 없이 갱신된다.<br>
+	 * 토큰 수 대신 토큰이 0개가 되는 시각(emptyNanos)을 기록하므로 현재 토큰 수는 (현재 시각 - emptyNanos) / 토큰 하나가 차는 시간이며
+	 * 토큰을 채우고 꺼내는 과정이 emptyNanos에 대한 CAS 한번으로 끝난다.
+	 * */
+	private static class Bucket {
+		private final Object key;
+		private final AtomicLong 
+			emptyNanos,
+			sampleCount = new AtomicLong(),
+			suppressed = new AtomicLong();
+		private final AtomicReference<Level> 
+			suppressedLevel = new AtomicReference<Level>();
+		private volatile Level 
+			lastSuppressedLevel = null;
+		private volatile long 
+			lastUsedNanos = 0l,
+			firstSuppressedNanos = 0l;
+		private volatile boolean 
+			isRemoved = false;
+		
+		Bucket(Object key, long emptyNanos) {
+			this.key = key;
+			this.emptyNanos = new AtomicLong(emptyNanos);
+		}
+		
+		static long toIntervalNanos(double permitsPerSecond) {
+			return Math.max(1l, (long) (1e9 / permitsPerSecond));
+		}
+		
+		/**
+		 * 토큰을 하나 꺼내는 메소드
+		 * @return 토큰이 있어 꺼냈으면 true
+		 * */
+		boolean tryTake(long nanos, double permitsPerSecond, int burst) {
+			long interval = toIntervalNanos(permitsPerSecond);
+			// 가득 찬 버킷의 emptyNanos (이보다 이르면 burst를 넘게 찬 것이므로 맞춤)
+			long full = nanos - interval * burst;
+			
+			while(true) {
+				long before = emptyNanos.get();
+				long current = before - full < 0l? full: before;
+				
+				// 토큰 하나가 차지 않음 (먼저 읽은 시각이 앞선 스레드의 시각보다 이른 경우도 포함)
+				if(nanos - current < interval) return false;
+				
+				if(emptyNanos.compareAndSet(before, current + interval)) return true;
+			}
+		}
+	}
+}
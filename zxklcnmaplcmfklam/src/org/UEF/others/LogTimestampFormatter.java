@@ -0,0 +1,71 @@
+package org.UEF.others;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * 로그 시각을 yyyy-MM-dd HH:mm:ss.SSS 형태로 쓰는 클래스로 스레드마다 하나씩 만들어 사용한다. ({@link #get()})<br>
+ * 초 단위까지의 문자열을 기억해두고 같은 초 안에서는 밀리초만 붙이므로 SimpleDateFormat과 Date는 초가 바뀔 때만 사용된다.
+ * */
+public final class LogTimestampFormatter {
+	private static final ThreadLocal<LogTimestampFormatter>
+		CACHE = ThreadLocal.withInitial(LogTimestampFormatter::new);
+	
+	private final SimpleDateFormat
+		secondFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.");
+	
+	private final Date
+		date = new Date();
+	
+	// 기억해둔 초 (millis / 1000)와 그 초의 문자열
+	private long
+		cachedSecond = Long.MIN_VALUE;
+	
+	private String
+		cachedPrefix = null;
+	
+	private LogTimestampFormatter() {
+	
+	}
+	
+	/**
+	 * 호출한 스레드의 포맷터를 리턴하는 메소드로 리턴된 객체는 다른 스레드와 공유하면 안된다.
+	 * @return 스레드 전용 포맷터
+	 * */
+	public static LogTimestampFormatter get() {
+		return CACHE.get();
+	}
+	
+	/**
+	 * 시각을 buffer 뒤에 붙이는 메소드
+	 * @param millis 시각 (에포크 밀리초)
+	 * @param buffer 붙일 대상
+	 * @return buffer
+	 * */
+	public StringBuilder formatTo(long millis, StringBuilder buffer) {
+		long second = Math.floorDiv(millis, 1000l);
+		int milli = (int) Math.floorMod(millis, 1000l);
+		
+		if(second != cachedSecond) {
+			date.setTime(second * 1000l);
+			cachedPrefix = secondFormat.format(date);
+			cachedSecond = second;
+		}
+		
+		buffer.append(cachedPrefix);
+		
+		if(milli < 100) buffer.append('0');
+		if(milli < 10) buffer.append('0');
+		
+		return buffer.append(milli);
+	}
+	
+	/**
+	 * 시각을 문자열로 바꾸는 메소드
+	 * @param millis 시각 (에포크 밀리초)
+	 * @return yyyy-MM-dd HH:mm:ss.SSS
+	 * */
+	public String format(long millis) {
+		return formatTo(millis, new StringBuilder(23)).toString();
+	}
+}
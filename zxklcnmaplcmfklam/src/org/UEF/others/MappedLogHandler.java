@@ -0,0 +1,534 @@
+package org.UEF.others;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import org.UEF.core.UEFCell;
+
+/**
+ * 로그를 메모리 맵 파일(세그먼트)에 쓰는 java.util.logging Handler로 기록마다 write 시스템 콜을 하지 않고 매핑된 메모리에 복사만 한다.<br>
+ * 기본 형식은 {@link UEFCell#COMMON_FORMATTER}이며 세그먼트는 {@link #getSegmentBytes()}가 차거나 {@link #getRollIntervalMillis()}가 지나면
+ * 사용한 크기로 잘라 닫고 [이름-yyyyMMdd-HHmmss-번호.log] 파일을 새로 만든다. (세그먼트마다 포맷터의 head, 닫을 때 tail을 씀)<br>
+ * 디스크 반영(force)과 다 쓴 세그먼트를 닫고 자르는 일은 하나의 데몬 스레드가 {@link #getForceIntervalMillis()}마다 처리하므로
+ * 로그를 남기는 스레드는 세그먼트가 바뀔 때에도 새 파일을 만들어 매핑하는 것 외에는 기다리지 않는다.
+ * 매핑된 내용은 프로세스가 종료되어도 운영체제가 파일에 반영하며 force는 운영체제가 종료되는 경우에 대비한 것이다.<br>
+ * 세그먼트는 채널을 닫고 매핑을 놓은 뒤 새 채널로 자르며 매핑이 남아있는 동안 자를 수 없는 운영체제(Windows)에서는
+ * 매핑이 해제될 때까지 다음 주기에 다시 자른다. (자르기 전의 세그먼트는 쓴 내용 뒤가 0으로 채워져 있음)<br>
+ * {@link #getMaxSegments()}를 지정하면 이 Handler가 만든 세그먼트 중 닫힌 세그먼트를 오래된 것부터 지운다.
+ * */
+public class MappedLogHandler extends Handler {
+	// 세그먼트 하나의 기본 크기 (64MB)
+	public static long
+		DEFAULT_SEGMENT_BYTES = 64l << 20;
+	
+	// 세그먼트를 바꾸는 기본 주기(밀리초), 0이면 크기로만 바꿈
+	public static long
+		DEFAULT_ROLL_INTERVAL_MILLIS = 0l;
+	
+	// 디스크에 반영하는 기본 주기(밀리초)
+	public static long
+		DEFAULT_FORCE_INTERVAL_MILLIS = 1_000l;
+	
+	private final Path directory;
+	private final String baseName;
+	private final long segmentBytes;
+	private final long rollIntervalMillis;
+	private final Thread forceThread;
+	
+	private volatile long
+		forceIntervalMillis = DEFAULT_FORCE_INTERVAL_MILLIS;
+	
+	private volatile int
+		maxSegments = 0;
+	
+	// 현재 세그먼트 (this로 동기화)
+	private FileChannel channel = null;
+	private MappedByteBuffer mapped = null;
+	private Path segmentPath = null;
+	private long segmentOpenMillis = 0l;
+	private int segmentSequence = 0;
+	
+	// 이 Handler가 만든 세그먼트 (maxSegments 처리에 사용)
+	private final ArrayDeque<Path>
+		segments = new ArrayDeque<Path>();
+	
+	// 다 써서 닫기를 기다리는 세그먼트 (force 스레드가 force, 닫기, 자르기를 처리함)
+	private final ArrayDeque<RetiredSegment>
+		retiredSegments = new ArrayDeque<RetiredSegment>();
+	
+	// 닫았지만 아직 자르지 못한 세그먼트 (maintenanceLock으로 동기화)
+	private final List<RetiredSegment>
+		untruncatedSegments = new ArrayList<RetiredSegment>();
+	
+	// 다 쓴 세그먼트를 닫고 자르고 지우는 작업과 force를 force 스레드와 close(), flush()가 함께 처리하지 않도록 하는 잠금
+	private final Object
+		maintenanceLock = new Object();
+	
+	// 마지막 force 이후 쓰여진 내용이 있는지 나타내는 값
+	private volatile boolean
+		isDirty = false,
+		isClosed = false;
+	
+	private volatile long
+		recordCount = 0l,
+		byteCount = 0l,
+		rollCount = 0l;
+	
+	/**
+	 * 기본 세그먼트 크기와 주기로 Handler를 만드는 생성자
+	 * @param directory 세그먼트를 만들 폴더 (없으면 만듦)
+	 * @param baseName 세그먼트 파일 이름 앞부분
+	 * @throws IOException 첫 세그먼트를 만들지 못한 경우
+	 * */
+	public MappedLogHandler(Path directory, String baseName) throws IOException {
+		this(directory, baseName, DEFAULT_SEGMENT_BYTES, DEFAULT_ROLL_INTERVAL_MILLIS);
+	}
+	
+	/**
+	 * @param directory 세그먼트를 만들 폴더 (없으면 만듦)
+	 * @param baseName 세그먼트 파일 이름 앞부분
+	 * @param segmentBytes 세그먼트 하나의 크기 (4KB ~ Integer.MAX_VALUE)
+	 * @param rollIntervalMillis 세그먼트를 바꾸는 주기(밀리초), 0이면 크기로만 바꿈
+	 * @throws IOException 첫 세그먼트를 만들지 못한 경우
+	 * */
+	public MappedLogHandler(Path directory, String baseName, long segmentBytes, long rollIntervalMillis) throws IOException {
+		if(directory == null) throw new NullPointerException("directory is null");
+		else if(baseName == null) throw new NullPointerException("baseName is null");
+		else if(segmentBytes < 4_096 || segmentBytes > Integer.MAX_VALUE) throw new IllegalArgumentException("segmentBytes must be between 4096 and "+Integer.MAX_VALUE);
+		
+		this.directory = directory;
+		this.baseName = baseName;
+		this.segmentBytes = segmentBytes;
+		this.rollIntervalMillis = Math.max(0l, rollIntervalMillis);
+		
+		setFormatter(UEFCell.COMMON_FORMATTER);
+		Files.createDirectories(directory);
+		
+		synchronized (this) {
+			openSegment();
+		}
+		
+		forceThread = new Thread(this::runForce);
+		forceThread.setName(baseName+"-MappedLogForceThread");
+		forceThread.setDaemon(true);
+		forceThread.start();
+	}
+	
+	@Override
+	public void publish(LogRecord record) {
+		if(!isLoggable(record)) return;
+		
+		String message;
+		
+		// 형식 변환은 잠금 밖에서 처리
+		try {
+			message = getFormatter().format(record);
+		}
+		catch (Exception e) {
+			reportError(null, e, ErrorManager.FORMAT_FAILURE);
+			return;
+		}
+		
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		
+		synchronized (this) {
+			if(isClosed) return;
+			
+			try {
+				if(rollIntervalMillis > 0 && System.currentTimeMillis() - segmentOpenMillis >= rollIntervalMillis) rollSegment();
+				
+				put(bytes);
+				recordCount++;
+			}
+			catch (IOException e) {
+				reportError(null, e, ErrorManager.WRITE_FAILURE);
+			}
+		}
+	}
+	
+	/**
+	 * 현재 세그먼트에 bytes를 쓰는 메소드로 남은 공간이 부족하면 나머지는 다음 세그먼트에 이어서 쓴다.
+	 * */
+	private void put(byte[] bytes) throws IOException {
+		int offset = 0;
+		
+		while(offset < bytes.length) {
+			if(mapped == null || !mapped.hasRemaining()) rollSegment();
+			
+			int length = Math.min(mapped.remaining(), bytes.length - offset);
+			
+			mapped.put(bytes, offset, length);
+			offset += length;
+		}
+		
+		byteCount += bytes.length;
+		isDirty = true;
+	}
+	
+	/**
+	 * 새 세그먼트 파일을 만들어 매핑하고 포맷터의 head를 쓰는 메소드 (this로 동기화된 상태에서 호출)
+	 * */
+	private void openSegment() throws IOException {
+		long now = System.currentTimeMillis();
+		String prefix = baseName+"-"+new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(now))+"-";
+		Path tempPath;
+		FileChannel tempChannel;
+		MappedByteBuffer tempMapped;
+		
+		// 같은 이름의 파일이 있으면 번호를 올려 다시 만듦
+		while(true) {
+			tempPath = directory.resolve(prefix+(segmentSequence++)+".log");
+			
+			try {
+				tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				break;
+			}
+			catch (FileAlreadyExistsException e) {
+				continue;
+			}
+		}
+		
+		// 매핑하지 못하면 만든 파일을 지우고 현재 세그먼트가 없는 상태로 둠 (다음 로그에서 다시 만듦)
+		try {
+			tempMapped = tempChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+		}
+		catch (IOException | RuntimeException e) {
+			try {
+				tempChannel.close();
+				Files.deleteIfExists(tempPath);
+			}
+			catch (IOException e1) {
+				e.addSuppressed(e1);
+			}
+			
+			throw e;
+		}
+		
+		channel = tempChannel;
+		mapped = tempMapped;
+		segmentPath = tempPath;
+		segmentOpenMillis = now;
+		segments.addLast(tempPath);
+		
+		String head = getFormatter().getHead(this);
+		
+		if(head != null && !head.isEmpty()) put(head.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * 현재 세그먼트를 닫을 목록에 넘기는 메소드 (this로 동기화된 상태에서 호출)
+	 * */
+	private void retireSegment() {
+		// 세그먼트를 만들지 못했던 경우
+		if(channel == null) return;
+		
+		retiredSegments.addLast(new RetiredSegment(segmentPath, channel, mapped, mapped.position()));
+		
+		channel = null;
+		mapped = null;
+	}
+	
+	/**
+	 * 다 쓴 세그먼트를 force 스레드에 넘기고 새 세그먼트를 여는 메소드 (this로 동기화된 상태에서 호출)
+	 * */
+	private void rollSegment() throws IOException {
+		retireSegment();
+		openSegment();
+		rollCount++;
+		
+		LockSupport.unpark(forceThread);
+	}
+	
+	/**
+	 * force 스레드에서 실행되는 메소드
+	 * */
+	private void runForce() {
+		while(!isClosed) {
+			LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1l, forceIntervalMillis)));
+			
+			maintainSegments(false);
+			
+			if(isDirty && !isClosed) forceCurrent();
+		}
+	}
+	
+	/**
+	 * 다 쓴 세그먼트를 닫고 자른 뒤 maxSegments를 넘는 오래된 세그먼트를 지우는 메소드
+	 * @param isClosing close()에서 호출한 경우 true (자르지 못한 세그먼트를 다시 시도하지 않고 오류로 알림)
+	 * */
+	private void maintainSegments(boolean isClosing) {
+		synchronized (maintenanceLock) {
+			closeRetiredSegments();
+			truncateClosedSegments(isClosing);
+			removeOldSegments();
+		}
+	}
+	
+	/**
+	 * 다 쓴 세그먼트를 디스크에 반영하고 닫는 메소드 (maintenanceLock으로 동기화된 상태에서 호출)
+	 * */
+	private void closeRetiredSegments() {
+		while(true) {
+			RetiredSegment segment;
+			
+			synchronized (this) {
+				segment = retiredSegments.pollFirst();
+			}
+			
+			if(segment == null) return;
+			
+			try {
+				segment.close();
+			}
+			catch (IOException | RuntimeException e) {
+				reportError(null, e, ErrorManager.CLOSE_FAILURE);
+			}
+			
+			untruncatedSegments.add(segment);
+		}
+	}
+	
+	/**
+	 * 닫은 세그먼트를 쓴 크기로 자르는 메소드로 자르지 못한 세그먼트는 다음 주기에 다시 자른다. (maintenanceLock으로 동기화된 상태에서 호출)
+	 * @param isClosing 자르지 못한 세그먼트를 오류로 알리고 목록에서 지우려면 true
+	 * */
+	private void truncateClosedSegments(boolean isClosing) {
+		Iterator<RetiredSegment> iterator = untruncatedSegments.iterator();
+		
+		while(iterator.hasNext()) {
+			RetiredSegment segment = iterator.next();
+			
+			try {
+				segment.truncate();
+				iterator.remove();
+			}
+			catch (IOException e) {
+				if(!isClosing) continue;
+				
+				reportError("failed to truncate "+segment.path, e, ErrorManager.CLOSE_FAILURE);
+				iterator.remove();
+			}
+		}
+	}
+	
+	/**
+	 * maxSegments를 넘는 오래된 세그먼트를 지우는 메소드로 닫고 자르기 전의 세그먼트는 지우지 않는다. (maintenanceLock으로 동기화된 상태에서 호출)
+	 * */
+	private void removeOldSegments() {
+		List<Path> oldSegments = new ArrayList<Path>();
+		int max = maxSegments;
+		
+		synchronized (this) {
+			// 세그먼트는 만든 순서대로 닫히므로 가장 오래된 세그먼트가 열려있으면 그 뒤도 열려있음
+			while(max > 0 && segments.size() > max && !isOpenSegment(segments.peekFirst())) oldSegments.add(segments.pollFirst());
+		}
+		
+		for(Path oldest: oldSegments) {
+			try {
+				Files.deleteIfExists(oldest);
+			}
+			catch (IOException e) {
+				reportError("failed to delete "+oldest, e, ErrorManager.GENERIC_FAILURE);
+			}
+		}
+	}
+	
+	/**
+	 * 세그먼트가 현재 쓰고 있거나 닫고 자르기를 기다리는 세그먼트인지 확인하는 메소드 (this와 maintenanceLock으로 동기화된 상태에서 호출)
+	 * */
+	private boolean isOpenSegment(Path path) {
+		if(channel != null && path.equals(segmentPath)) return true;
+		
+		for(RetiredSegment segment: retiredSegments) {
+			if(path.equals(segment.path)) return true;
+		}
+		
+		for(RetiredSegment segment: untruncatedSegments) {
+			if(path.equals(segment.path)) return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * 현재 세그먼트를 디스크에 반영하는 메소드로 force는 this 잠금 밖에서 호출하므로 로그를 남기는 스레드를 막지 않는다.
+	 * (그 사이에 세그먼트가 바뀌어도 maintenanceLock을 잡고 있으므로 이전 세그먼트는 force가 끝날 때까지 닫히거나 잘리지 않음)
+	 * */
+	private void forceCurrent() {
+		synchronized (maintenanceLock) {
+			MappedByteBuffer tempMapped;
+			
+			synchronized (this) {
+				tempMapped = mapped;
+				isDirty = false;
+			}
+			
+			if(tempMapped != null) tempMapped.force();
+		}
+	}
+	
+	/**
+	 * 현재 세그먼트를 바로 디스크에 반영하는 메소드
+	 * */
+	@Override
+	public void flush() {
+		if(!isClosed) forceCurrent();
+	}
+	
+	/**
+	 * 포맷터의 tail을 쓰고 현재 세그먼트를 쓴 크기로 잘라 닫는 메소드 (이후의 로그는 무시됨)
+	 * */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if(isClosed) return;
+			
+			isClosed = true;
+			
+			String tail = getFormatter().getTail(this);
+			byte[] bytes = tail == null? new byte[0]: tail.getBytes(StandardCharsets.UTF_8);
+			
+			// tail은 다음 세그먼트로 넘기지 않음
+			if(mapped != null && bytes.length <= mapped.remaining()) {
+				mapped.put(bytes);
+				byteCount += bytes.length;
+			}
+			
+			retireSegment();
+		}
+		
+		LockSupport.unpark(forceThread);
+		
+		// force 스레드가 처리중인 세그먼트가 있으면 끝날 때까지 기다림
+		maintainSegments(true);
+	}
+	
+	public boolean isClosed() {
+		return isClosed;
+	}
+	
+	public Path getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * 현재 쓰고 있는 세그먼트 파일을 리턴하는 메소드
+	 * @return 세그먼트 경로 (닫힌 경우 마지막 세그먼트)
+	 * */
+	public synchronized Path getSegmentPath() {
+		return segmentPath;
+	}
+	
+	/**
+	 * 이 Handler가 만들고 지우지 않은 세그먼트 파일을 리턴하는 메소드
+	 * @return 오래된 순서의 세그먼트 경로 리스트
+	 * */
+	public synchronized List<Path> getSegments() {
+		return new ArrayList<Path>(segments);
+	}
+	
+	public long getSegmentBytes() {
+		return segmentBytes;
+	}
+	
+	public long getRollIntervalMillis() {
+		return rollIntervalMillis;
+	}
+	
+	public long getForceIntervalMillis() {
+		return forceIntervalMillis;
+	}
+	
+	/**
+	 * 디스크에 반영하는 주기를 지정하는 메소드로 기본값은 {@link #DEFAULT_FORCE_INTERVAL_MILLIS}이다.
+	 * @param forceIntervalMillis 주기(밀리초, 최소 1)
+	 * */
+	public void setForceIntervalMillis(long forceIntervalMillis) {
+		this.forceIntervalMillis = Math.max(1l, forceIntervalMillis);
+	}
+	
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+	
+	/**
+	 * 남겨둘 세그먼트 수를 지정하는 메소드로 넘는 세그먼트는 force 스레드가 다 쓴 세그먼트를 닫은 뒤 오래된 것부터 지운다.
+	 * @param maxSegments 세그먼트 수 (0이면 지우지 않음)
+	 * */
+	public void setMaxSegments(int maxSegments) {
+		this.maxSegments = Math.max(0, maxSegments);
+	}
+	
+	public long getRecordCount() {
+		return recordCount;
+	}
+	
+	public long getByteCount() {
+		return byteCount;
+	}
+	
+	public long getRollCount() {
+		return rollCount;
+	}
+	
+	/**
+	 * 다 쓴 세그먼트의 경로, 채널, 매핑, 쓴 크기를 담는 클래스
+	 * */
+	private static class RetiredSegment {
+		private final Path path;
+		private final FileChannel channel;
+		private MappedByteBuffer mapped;
+		private final int size;
+		
+		RetiredSegment(Path path, FileChannel channel, MappedByteBuffer mapped, int size) {
+			this.path = path;
+			this.channel = channel;
+			this.mapped = mapped;
+			this.size = size;
+		}
+		
+		/**
+		 * 매핑을 디스크에 반영하고 채널을 닫는 메소드로 매핑은 참조만 놓는다. (매핑은 GC가 해제함)
+		 * */
+		void close() throws IOException {
+			try {
+				mapped.force();
+			}
+			finally {
+				mapped = null;
+				channel.close();
+			}
+		}
+		
+		/**
+		 * 새 채널로 세그먼트를 쓴 크기로 자르는 메소드 (이미 지워진 세그먼트는 무시함)
+		 * @throws IOException 자르지 못한 경우 (매핑이 아직 해제되지 않은 경우 등)
+		 * */
+		void truncate() throws IOException {
+			try(FileChannel tempChannel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				tempChannel.truncate(size);
+			}
+			catch (NoSuchFileException e) {
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,540 @@
+package org.UEF.others;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.OrderLane;
+import org.UEF.enu.RoutineStatus;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * UEFManager의 측정값을 Prometheus 텍스트 형식(0.0.4)으로 내보내는 HTTP 서버 클래스로 JDK의 HttpServer를 루프백 주소에 연다.<br>
+ * 요청마다 런타임의 객체들을 {@link UEFManager#forEachCell(java.util.function.Consumer)}로 직접 순회하며 응답에 바로 쓰므로
+ * 객체 트리나 스냅샷을 복사하지 않는다. (히스토그램도 {@link LatencyHistogram#accumulate(long[], long[])}로 경계값별 수만 더한다.)
+ * <ul>
+ * <b>내보내는 값</b>
+ * <li>uef_cells: 종류(leaf, branch), 트리거 상태별 객체 수</li>
+ * <li>uef_leaf_ticks_total, uef_leaf_overruns_total, uef_leaf_real_frame: execute()를 실행한 적 있는 Leaf별 값 (틱 수와 초과 수는 {@link UEFLeaf#setTickTrackingEnabled(boolean)}로 켠 경우)</li>
+ * <li>uef_leaf_cpu_seconds_total, uef_leaf_allocated_bytes_total: 루틴 메소드에서 사용한 CPU 시간과 할당량이 있는 Leaf별 값 ({@link UEFLeaf#setResourceTrackingEnabled(boolean)}로 켠 경우)</li>
+ * <li>uef_phase_latency_seconds: 부모 Branch, 루틴 메소드별 실행시간 히스토그램 ({@link UEFLeaf#setLatencyHistogramEnabled(boolean)}로 켠 경우)</li>
+ * <li>uef_branch_propagation_seconds: Branch별 트리거 전파 시간 히스토그램</li>
+ * <li>uef_lock_*: 락 경합이 있었던 객체별 경합 수, 기다린 시간, 잡고 있던 시간, 기다리는 스레드 수 ({@link UEFCell#setLockInstrumentationEnabled(boolean)}로 켠 뒤 만들어진 락)</li>
+ * <li>uef_order_*: 명령 줄별 대기 수, 처리 수, 대기 시간과 거부, 버림, 대기, 대체된 명령 수</li>
+ * </ul>
+ * 요청은 하나의 데몬 스레드가 차례로 처리한다.
+ * */
+public class MetricsExporter implements Closeable {
+	// 측정값을 내보내는 경로
+	public static final String
+		CONTEXT_PATH = "/metrics";
+	
+	// 히스토그램 경계값(나노초)
+	private static final long[]
+		BUCKET_NANOS = {10_000l, 50_000l, 100_000l, 500_000l, 1_000_000l, 5_000_000l,
+				10_000_000l, 50_000_000l, 100_000_000l, 500_000_000l, 1_000_000_000l, 5_000_000_000l};
+	
+	// 경계값의 초 단위 표기 (마지막은 +Inf)
+	private static final String[]
+		BUCKET_LABELS = new String[BUCKET_NANOS.length + 1];
+	
+	static {
+		for(int i = 0; i < BUCKET_NANOS.length; i++) BUCKET_LABELS[i] = toSeconds(BUCKET_NANOS[i]);
+		
+		BUCKET_LABELS[BUCKET_NANOS.length] = "+Inf";
+	}
+	
+	private final UEFManager runtime;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private volatile boolean isClosed = false;
+	
+	// 처리한 요청 수, 마지막 요청을 쓰는데 걸린 시간
+	private final AtomicLong
+		scrapeCount = new AtomicLong();
+	private volatile long
+		lastScrapeNanos = 0l;
+	
+	/**
+	 * 루프백 주소의 port에 HTTP 서버를 열고 {@link #CONTEXT_PATH}로 측정값을 내보내는 생성자
+	 * @param runtime 측정값을 내보낼 UEFManager
+	 * @param port 열 포트 (0이면 비어있는 포트를 사용)
+	 * @throws IOException 포트를 열지 못한 경우
+	 * */
+	public MetricsExporter(UEFManager runtime, int port) throws IOException {
+		if(runtime == null) throw new NullPointerException("runtime is null");
+		
+		this.runtime = runtime;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.executor = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r);
+			
+			thread.setName(runtime.getName()+"-MetricsExporterThread");
+			thread.setDaemon(true);
+			
+			return thread;
+		});
+		
+		server.createContext(CONTEXT_PATH, this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+	
+	/**
+	 * 서버가 열린 포트를 리턴하는 메소드
+	 * @return 포트 번호
+	 * */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+	
+	public boolean isClosed() {
+		return isClosed;
+	}
+	
+	public long getScrapeCount() {
+		return scrapeCount.get();
+	}
+	
+	/**
+	 * 마지막 요청의 측정값을 쓰는데 걸린 시간을 리턴하는 메소드
+	 * @return 나노초
+	 * */
+	public long getLastScrapeNanos() {
+		return lastScrapeNanos;
+	}
+	
+	/**
+	 * 서버를 닫는 메소드로 처리중인 요청은 최대 1초까지 기다린다.
+	 * */
+	@Override
+	public void close() {
+		if(isClosed) return;
+		
+		isClosed = true;
+		server.stop(0);
+		executor.shutdown();
+		
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * HTTP 요청을 처리하는 메소드로 길이를 정하지 않고(chunked) 응답을 보내면서 측정값을 쓴다.
+	 * */
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			
+			if(!"GET".equals(method) && !"HEAD".equals(method)) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				exchange.sendResponseHeaders(405, -1);
+				
+				return;
+			}
+			
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			
+			if("HEAD".equals(method)) {
+				exchange.sendResponseHeaders(200, -1);
+				
+				return;
+			}
+			
+			exchange.sendResponseHeaders(200, 0);
+			
+			long startNanos = System.nanoTime();
+			Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 16);
+			
+			write(writer);
+			writer.flush();
+			
+			lastScrapeNanos = System.nanoTime() - startNanos;
+			scrapeCount.incrementAndGet();
+		}
+		catch (IOException e) {
+			// 요청한 쪽이 연결을 끊은 경우
+			runtime.log(Level.FINE, "측정값을 보내지 못했습니다. ({})", e.getMessage());
+		}
+		catch (Exception e) {
+			runtime.log(Level.WARNING, "측정값을 쓰는 중 예외가 발생했습니다. {} ({})", e.getMessage(), e.getClass());
+		}
+		finally {
+			exchange.close();
+		}
+	}
+	
+	/**
+	 * 런타임의 측정값을 Prometheus 텍스트 형식으로 쓰는 메소드 (HTTP 서버 없이 파일 등에 쓸 때도 사용할 수 있다.)
+	 * @param writer 측정값을 쓸 대상
+	 * @throws IOException 쓰기에 실패한 경우
+	 * */
+	public void write(Writer writer) throws IOException {
+		String runtimeLabel = "runtime=\""+escape(runtime.getName())+"\"";
+		
+		writeCells(writer, runtimeLabel);
+		writeLeaves(writer, runtimeLabel);
+		writePhaseLatency(writer, runtimeLabel);
+		writePropagation(writer, runtimeLabel);
+		writeLocks(writer, runtimeLabel);
+		writeOrders(writer, runtimeLabel);
+	}
+	
+	/**
+	 * 종류, 트리거 상태별 객체 수를 쓰는 메소드
+	 * */
+	private void writeCells(Writer writer, String runtimeLabel) throws IOException {
+		RoutineTriggerStatus[] statuses = RoutineTriggerStatus.values();
+		// [0]: leaf, [1]: branch
+		long[][] counts = new long[2][statuses.length];
+		
+		runtime.forEachCell(cell -> {
+			if(cell instanceof UEFLeaf) counts[0][cell.getCurrentTriggerStatus().ordinal()]++;
+			else if(cell instanceof UEFBranch) counts[1][cell.getCurrentTriggerStatus().ordinal()]++;
+		});
+		
+		writeHeader(writer, "uef_cells", "gauge", "Live cells by kind and trigger status");
+		
+		for(int kind = 0; kind < 2; kind++) {
+			for(RoutineTriggerStatus status: statuses) {
+				writer.write("uef_cells{");
+				writer.write(runtimeLabel);
+				writer.write(kind == 0? ",kind=\"leaf\",status=\"": ",kind=\"branch\",status=\"");
+				writer.write(status.name());
+				writer.write("\"} ");
+				writer.write(Long.toString(counts[kind][status.ordinal()]));
+				writer.write('\n');
+			}
+		}
+		
+		writeSample(writer, "uef_running_threads", "gauge", "Cell threads currently running", runtimeLabel, runtime.getRunningThreadCount());
+	}
+	
+	/**
+	 * execute()를 실행한 적 있는 Leaf별 틱 수, 초과 수, 실제 프레임과 사용량이 있는 Leaf별 CPU 시간, 할당량을 쓰는 메소드 (같은 이름의 값이 모이도록 이름마다 한번씩 순회한다.)
+	 * */
+	private void writeLeaves(Writer writer, String runtimeLabel) throws IOException {
+		writeHeader(writer, "uef_leaf_ticks_total", "counter", "execute() ticks recorded per leaf");
+		forEachTickedLeaf(writer, runtimeLabel, "uef_leaf_ticks_total", 0);
+		
+		writeHeader(writer, "uef_leaf_overruns_total", "counter", "execute() ticks that took longer than the frame period");
+		forEachTickedLeaf(writer, runtimeLabel, "uef_leaf_overruns_total", 1);
+		
+		writeHeader(writer, "uef_leaf_real_frame", "gauge", "Current real frame (ticks per second) per leaf");
+		forEachTickedLeaf(writer, runtimeLabel, "uef_leaf_real_frame", 2);
+		
+		writeHeader(writer, "uef_leaf_cpu_seconds_total", "counter", "CPU time used by routine methods per leaf");
+		forEachTickedLeaf(writer, runtimeLabel, "uef_leaf_cpu_seconds_total", 3);
+		
+		writeHeader(writer, "uef_leaf_allocated_bytes_total", "counter", "Bytes allocated by routine methods per leaf");
+		forEachTickedLeaf(writer, runtimeLabel, "uef_leaf_allocated_bytes_total", 4);
+	}
+	
+	/**
+	 * @param value 0: 틱 수, 1: 초과 수, 2: 실제 프레임, 3: CPU 시간, 4: 할당량 (3, 4는 값이 0인 Leaf를 건너뜀)
+	 * */
+	private void forEachTickedLeaf(Writer writer, String runtimeLabel, String name, int value) throws IOException {
+		try {
+			runtime.forEachCell(cell -> {
+				if(!(cell instanceof UEFLeaf)) return;
+				
+				UEFLeaf leaf = (UEFLeaf) cell;
+				long amount = value == 3? leaf.getCpuNanos(): value == 4? leaf.getAllocatedBytes(): leaf.getTickCount();
+				
+				if(amount == 0l) return;
+				
+				try {
+					writer.write(name);
+					writer.write('{');
+					writer.write(runtimeLabel);
+					writer.write(",leaf=\"");
+					writer.write(escape(leaf.getPath()));
+					writer.write("\"} ");
+					writer.write(value == 0 || value == 4? Long.toString(amount): value == 1? Long.toString(leaf.getOverrunCount())
+							: value == 3? toSeconds(amount): Double.toString(leaf.getRealFrame()));
+					writer.write('\n');
+				}
+				catch (IOException e) {
+					throw new WriteFailedException(e);
+				}
+			});
+		}
+		catch (WriteFailedException e) {
+			throw e.getCause();
+		}
+	}
+	
+	/**
+	 * Leaf의 루틴 메소드 실행시간을 부모 Branch별로 합쳐서 히스토그램으로 쓰는 메소드
+	 * */
+	private void writePhaseLatency(Writer writer, String runtimeLabel) throws IOException {
+		RoutineStatus[] phases = RoutineStatus.values();
+		// 부모 Branch별 [루틴][경계값] 누적 수와 [루틴] 합
+		Map<UEFCell, long[][]> bucketMap = new IdentityHashMap<UEFCell, long[][]>();
+		Map<UEFCell, long[]> sumMap = new IdentityHashMap<UEFCell, long[]>();
+		
+		runtime.forEachCell(cell -> {
+			if(!(cell instanceof UEFLeaf) || cell.getParent() == null) return;
+			
+			UEFLeaf leaf = (UEFLeaf) cell;
+			long[][] buckets = bucketMap.get(leaf.getParent());
+			long[] sums = sumMap.get(leaf.getParent());
+			
+			if(buckets == null) {
+				buckets = new long[phases.length][BUCKET_NANOS.length + 1];
+				sums = new long[phases.length];
+				bucketMap.put(leaf.getParent(), buckets);
+				sumMap.put(leaf.getParent(), sums);
+			}
+			
+			for(RoutineStatus phase: phases) {
+				if(phase == RoutineStatus.NEW) continue;
+				
+				sums[phase.ordinal()] += leaf.accumulateLatency(phase, BUCKET_NANOS, buckets[phase.ordinal()]);
+			}
+		});
+		
+		writeHeader(writer, "uef_phase_latency_seconds", "histogram", "Routine method execution time of the leaves under a branch");
+		
+		for(Map.Entry<UEFCell, long[][]> entry: bucketMap.entrySet()) {
+			long[] sums = sumMap.get(entry.getKey());
+			String branchLabel = runtimeLabel+",branch=\""+escape(entry.getKey().getPath())+"\"";
+			
+			for(RoutineStatus phase: phases) {
+				long[] buckets = entry.getValue()[phase.ordinal()];
+				
+				if(buckets[BUCKET_NANOS.length] == 0l) continue;
+				
+				writeHistogram(writer, "uef_phase_latency_seconds", branchLabel+",phase=\""+phase.name()+"\"", buckets, sums[phase.ordinal()]);
+			}
+		}
+	}
+	
+	/**
+	 * Branch별 트리거 전파 시간을 히스토그램으로 쓰는 메소드
+	 * */
+	private void writePropagation(Writer writer, String runtimeLabel) throws IOException {
+		long[] buckets = new long[BUCKET_NANOS.length + 1];
+		
+		writeHeader(writer, "uef_branch_propagation_seconds", "histogram", "Branch passes that signalled at least one child");
+		
+		try {
+			runtime.forEachCell(cell -> {
+				if(!(cell instanceof UEFBranch)) return;
+				
+				Arrays.fill(buckets, 0l);
+				
+				long sum = ((UEFBranch) cell).accumulatePropagation(BUCKET_NANOS, buckets);
+				
+				if(buckets[BUCKET_NANOS.length] == 0l) return;
+				
+				try {
+					writeHistogram(writer, "uef_branch_propagation_seconds", runtimeLabel+",branch=\""+escape(cell.getPath())+"\"", buckets, sum);
+				}
+				catch (IOException e) {
+					throw new WriteFailedException(e);
+				}
+			});
+		}
+		catch (WriteFailedException e) {
+			throw e.getCause();
+		}
+	}
+	
+	/**
+	 * 락 경합이 있었던 객체별 락 측정값을 쓰는 메소드 (경합이 없었던 객체는 건너뛰므로 경합이 있었던 객체만 한번 모은다.)
+	 * */
+	private void writeLocks(Writer writer, String runtimeLabel) throws IOException {
+		List<String> labels = new ArrayList<String>();
+		List<LockStats> stats = new ArrayList<LockStats>();
+		
+		runtime.forEachCell(cell -> {
+			if(cell.getLockContendedCount() == 0l) return;
+			
+			labels.add(runtimeLabel+",cell=\""+escape(cell.getPath())+"\"");
+			stats.add(cell.getLockStats());
+		});
+		
+		writeHeader(writer, "uef_lock_contended_total", "counter", "Cell lock acquisitions that had to wait for another thread");
+		
+		for(int i = 0; i < stats.size(); i++) writeLockSample(writer, "uef_lock_contended_total", labels.get(i), Long.toString(stats.get(i).getContendedCount()));
+		
+		writeHeader(writer, "uef_lock_wait_seconds_total", "counter", "Time threads spent waiting for a cell lock");
+		
+		for(int i = 0; i < stats.size(); i++) writeLockSample(writer, "uef_lock_wait_seconds_total", labels.get(i), toSeconds(stats.get(i).getTotalWaitNanos()));
+		
+		writeHeader(writer, "uef_lock_hold_seconds_total", "counter", "Time a cell lock was held");
+		
+		for(int i = 0; i < stats.size(); i++) writeLockSample(writer, "uef_lock_hold_seconds_total", labels.get(i), toSeconds(stats.get(i).getTotalHoldNanos()));
+		
+		writeHeader(writer, "uef_lock_blocking_hold_seconds_total", "counter", "Time a cell lock was held while other threads were waiting");
+		
+		for(int i = 0; i < stats.size(); i++) writeLockSample(writer, "uef_lock_blocking_hold_seconds_total", labels.get(i), toSeconds(stats.get(i).getBlockingHoldNanos()));
+		
+		writeHeader(writer, "uef_lock_waiting_threads", "gauge", "Threads currently waiting for a cell lock");
+		
+		for(int i = 0; i < stats.size(); i++) writeLockSample(writer, "uef_lock_waiting_threads", labels.get(i), Integer.toString(stats.get(i).getWaitingThreads()));
+	}
+	
+	private static void writeLockSample(Writer writer, String name, String labels, String value) throws IOException {
+		writer.write(name);
+		writer.write('{');
+		writer.write(labels);
+		writer.write("} ");
+		writer.write(value);
+		writer.write('\n');
+	}
+	
+	/**
+	 * 명령 줄별 처리 현황과 명령 큐의 거부, 버림, 대기, 대체 수를 쓰는 메소드
+	 * */
+	private void writeOrders(Writer writer, String runtimeLabel) throws IOException {
+		OrderLane[] lanes = OrderLane.values();
+		OrderLaneStats[] laneStats = new OrderLaneStats[lanes.length];
+		OrderQueueStats queueStats = runtime.getOrderQueueStats();
+		
+		for(OrderLane lane: lanes) laneStats[lane.ordinal()] = runtime.getOrderLaneStats(lane);
+		
+		writeHeader(writer, "uef_order_queue_depth", "gauge", "Orders waiting per lane");
+		
+		for(OrderLane lane: lanes) writeLaneSample(writer, "uef_order_queue_depth", runtimeLabel, lane, Long.toString(laneStats[lane.ordinal()].getDepth()));
+		
+		writeHeader(writer, "uef_orders_processed_total", "counter", "Orders taken by the interpreter per lane");
+		
+		for(OrderLane lane: lanes) writeLaneSample(writer, "uef_orders_processed_total", runtimeLabel, lane, Long.toString(laneStats[lane.ordinal()].getProcessedCount()));
+		
+		writeHeader(writer, "uef_order_wait_seconds_total", "counter", "Total time orders waited in the queue per lane");
+		
+		for(OrderLane lane: lanes) writeLaneSample(writer, "uef_order_wait_seconds_total", runtimeLabel, lane, toSeconds(laneStats[lane.ordinal()].getTotalWaitNanos()));
+		
+		writeHeader(writer, "uef_order_wait_max_seconds", "gauge", "Longest time an order waited in the queue per lane");
+		
+		for(OrderLane lane: lanes) writeLaneSample(writer, "uef_order_wait_max_seconds", runtimeLabel, lane, toSeconds(laneStats[lane.ordinal()].getMaxWaitNanos()));
+		
+		writeHeader(writer, "uef_order_queue_capacity", "gauge", "Capacity of the order queue per lane");
+		
+		for(OrderLane lane: lanes) writeLaneSample(writer, "uef_order_queue_capacity", runtimeLabel, lane, Long.toString(runtime.getOrderQueueStats(lane).getCapacity()));
+		
+		writeSample(writer, "uef_orders_rejected_total", "counter", "Orders rejected because the queue was full", runtimeLabel, queueStats.getRejectedCount());
+		writeSample(writer, "uef_orders_dropped_total", "counter", "Orders dropped to make room in the queue", runtimeLabel, queueStats.getDroppedCount());
+		writeSample(writer, "uef_orders_blocked_total", "counter", "Times a sender waited for room in the queue", runtimeLabel, queueStats.getBlockedCount());
+		writeSample(writer, "uef_orders_collapsed_total", "counter", "Orders superseded by a newer order for the same target", runtimeLabel, runtime.getCollapsedOrderCount());
+	}
+	
+	private static void writeHeader(Writer writer, String name, String type, String help) throws IOException {
+		writer.write("# HELP ");
+		writer.write(name);
+		writer.write(' ');
+		writer.write(help);
+		writer.write("\n# TYPE ");
+		writer.write(name);
+		writer.write(' ');
+		writer.write(type);
+		writer.write('\n');
+	}
+	
+	private static void writeSample(Writer writer, String name, String type, String help, String labels, long value) throws IOException {
+		writeHeader(writer, name, type, help);
+		writer.write(name);
+		writer.write('{');
+		writer.write(labels);
+		writer.write("} ");
+		writer.write(Long.toString(value));
+		writer.write('\n');
+	}
+	
+	private static void writeLaneSample(Writer writer, String name, String runtimeLabel, OrderLane lane, String value) throws IOException {
+		writer.write(name);
+		writer.write('{');
+		writer.write(runtimeLabel);
+		writer.write(",lane=\"");
+		writer.write(lane.name());
+		writer.write("\"} ");
+		writer.write(value);
+		writer.write('\n');
+	}
+	
+	/**
+	 * 경계값별 누적 수로 히스토그램의 _bucket, _sum, _count를 쓰는 메소드
+	 * */
+	private static void writeHistogram(Writer writer, String name, String labels, long[] buckets, long sumNanos) throws IOException {
+		for(int i = 0; i < buckets.length; i++) {
+			writer.write(name);
+			writer.write("_bucket{");
+			writer.write(labels);
+			writer.write(",le=\"");
+			writer.write(BUCKET_LABELS[i]);
+			writer.write("\"} ");
+			writer.write(Long.toString(buckets[i]));
+			writer.write('\n');
+		}
+		
+		writer.write(name);
+		writer.write("_sum{");
+		writer.write(labels);
+		writer.write("} ");
+		writer.write(toSeconds(sumNanos));
+		writer.write('\n');
+		writer.write(name);
+		writer.write("_count{");
+		writer.write(labels);
+		writer.write("} ");
+		writer.write(Long.toString(buckets[buckets.length - 1]));
+		writer.write('\n');
+	}
+	
+	private static String toSeconds(long nanos) {
+		return Double.toString(nanos / 1e9);
+	}
+	
+	/**
+	 * 라벨 값의 역슬래시, 따옴표, 줄바꿈을 이스케이프하는 메소드
+	 * */
+	private static String escape(String value) {
+		if(value.indexOf('\\') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+		
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+	
+	/**
+	 * forEachCell의 동작 안에서 발생한 IOException을 밖으로 전달하기 위한 예외
+	 * */
+	private static class WriteFailedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		
+		WriteFailedException(IOException cause) {
+			super(cause);
+		}
+		
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException) super.getCause();
+		}
+	}
+}
@@ -21,6 +21,18 @@ public class Order {
 	private boolean isEnd = false;
 	private Map<String, Object> map = new HashMap<String, Object>();
 	
+	// 처리 상태 (대기중, 처리하기 위해 꺼냄, 같은 대상의 새로운 명령으로 대체됨)
+	private static final int PENDING = 0, CLAIMED = 1, SUPERSEDED = 2;
+	private int state = PENDING;
+	
+	/*
+	 * 명령이 들어온 순서번호 (UEFManager가 지정)
+	 * CONTROL 줄의 명령이 처리되기 전에 처리되어야 하는 CONFIG 줄 명령의 가장 큰 순서번호 (0이면 없음)
+	 * */
+	private volatile long 
+		sequence = 0l,
+		barrier = 0l;
+	
 	
 	public Order(int orderNumber) {
 		id = System.nanoTime();
@@ -53,6 +65,26 @@ public class Order {
 		return id;
 	}
 
+	public long getSequence() {
+		return sequence;
+	}
+	
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+	
+	/**
+	 * CONTROL 줄의 Order가 처리되기 전에 처리되어야 하는 CONFIG 줄 Order의 가장 큰 순서번호를 리턴하는 메소드
+	 * @return 순서번호 (0이면 기다리지 않음)
+	 * */
+	public long getBarrier() {
+		return barrier;
+	}
+	
+	public void setBarrier(long barrier) {
+		this.barrier = barrier;
+	}
+	
 	/**
 	 * Order의 map을 리턴하는 메소드
 	 * @return map[String, Object]
@@ -69,6 +101,36 @@ public class Order {
 		return requestThread;
 	}
 	
+	/**
+	 * 대기중인 Order를 같은 대상에 대한 새로운 Order로 대체되었다고 표시하는 메소드로 표시된 Order는 실행되지 않는다.
+	 * @return 대기중이던 Order를 표시한 경우 true, 이미 처리하기 위해 꺼냈거나 대체된 경우 false
+	 * */
+	public synchronized boolean supersede() {
+		if(state != PENDING) return false;
+		
+		state = SUPERSEDED;
+		return true;
+	}
+	
+	/**
+	 * 명령 해석 스레드가 Order를 실행하기 전에 호출하는 메소드로 호출된 이후에는 대체될 수 없다.
+	 * @return 실행해야 하는 경우 true, 이미 대체된 경우 false
+	 * */
+	public synchronized boolean claim() {
+		if(state != PENDING) return state == CLAIMED;
+		
+		state = CLAIMED;
+		return true;
+	}
+	
+	/**
+	 * 같은 대상에 대한 새로운 Order로 대체되었는지 리턴하는 메소드
+	 * @return 대체되었으면 true
+	 * */
+	public synchronized boolean isSuperseded() {
+		return state == SUPERSEDED;
+	}
+	
 	@Override
 	public String toString() {
 		
@@ -0,0 +1,673 @@
+package org.UEF.others;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.CoreOrderNumber;
+import org.UEF.enu.OrderLane;
+
+/**
+ * UEFManager에 프로세스 밖에서 명령을 보낼 수 있도록 루프백 TCP 포트로 줄 단위 텍스트 명령을 받는 NIO 서버 클래스<br>
+ * 하나의 셀렉터 스레드가 모든 연결을 처리하며 받은 명령은 UEFManager의 명령 큐를 거쳐 실행된다.
+ * (응답 "OK"는 명령이 큐에 들어갔다는 의미이며 실행 결과는 기다리지 않는다.)<br>
+ * 셀렉터 스레드는 대기하지 않도록 명령 큐가 가득 차면 정책과 관계없이 "ERR busy"로 응답하며({@link UEFManager#trySendOrder(CoreOrderNumber, Object...)} 참조)
+ * Leaf를 만드는 명령(REGIST_LO, REGIST_LOBO, REGIST_LOBN, REGIST_BATCH)은 생성기가 오래 걸릴 수 있고
+ * BRANCHES는 모든 Branch와 Leaf를 훑으므로 하나의 작업 스레드에서 처리한다.
+ * (작업 스레드에 대기중인 명령이 {@link #MAX_PENDING_WORKS}개면 "ERR busy"로 응답함)<br>
+ * 한 연결에서 여러 명령을 응답을 기다리지 않고 연속으로 보낼 수 있으며 응답은 보낸 순서대로 한 줄씩 돌아온다.
+ * (작업 스레드에서 처리중인 명령이 있는 연결은 그 명령이 처리될 때까지 다음 줄을 처리하지 않음)
+ * <ul>
+ * <b>명령 형식 (이름에는 공백을 사용할 수 없고, 패턴은 줄의 나머지 전체를 사용)</b>
+ * <li>REGIST_LO [클래스 이름] [Leaf 이름]</li>
+ * <li>REGIST_BO, REGIST_BN [Branch 이름]</li>
+ * <li>REGIST_LOBO, REGIST_LOBN [Branch 이름] [클래스 이름] [Leaf 이름]</li>
+ * <li>REGIST_BATCH [Branch 이름] [클래스 이름] [Leaf 이름] [Leaf 이름]...</li>
+ * <li>REMOVE_LO [Leaf 이름] ('default' Branch에서 찾음)</li>
+ * <li>REMOVE_BO, REMOVE_BN [Branch 이름]</li>
+ * <li>REMOVE_LOBO, REMOVE_LOBN [Branch 이름] [Leaf 이름]</li>
+ * <li>SET_FRAME [프레임]</li>
+ * <li>EXIT_UEFMANAGER [true|false]</li>
+ * <li>REQUEST_EXECUTE, REQUEST_PAUSE, REQUEST_STOP, REQUEST_SHUTDOWN [패턴]</li>
+ * <li>PING, STATUS, BRANCHES, QUIT</li>
+ * </ul>
+ * Leaf를 만드는 명령은 {@link UEFManager#registLeafFactory(String, org.UEF.itf.UEFLeafFactory)}로 등록된 생성기를 사용한다.
+ * 응답은 "OK ..." 또는 "ERR ..." 한 줄이며 BRANCHES는 "OK [줄 수]" 뒤에 Branch마다 한 줄씩 이어진다.
+ * */
+public class OrderEndpoint implements Closeable {
+	// 한 줄의 최대 길이(바이트)
+	public static final int
+		MAX_LINE_LENGTH = 8_192;
+	
+	// 보내지 못한 응답이 이 크기를 넘으면 해당 연결의 명령을 더 읽지 않음
+	public static int
+		MAX_PENDING_OUTPUT = 1 << 20;
+	
+	// 작업 스레드에 대기할 수 있는 최대 명령 수
+	public static final int
+		MAX_PENDING_WORKS = 1_024;
+	
+	private final UEFManager runtime;
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final Thread selectorThread;
+	private volatile boolean isClosed = false;
+	
+	// Leaf를 만드는 명령과 BRANCHES를 처리하는 작업 스레드와 처리가 끝나 셀렉터 스레드에 넘길 응답
+	private final ThreadPoolExecutor worker;
+	private final ConcurrentLinkedQueue<Completion>
+		completions = new ConcurrentLinkedQueue<Completion>();
+	
+	// 받은 연결 수, 처리한 명령 수, 실패한 명령 수
+	private final AtomicLong
+		acceptedCount = new AtomicLong(),
+		commandCount = new AtomicLong(),
+		errorCount = new AtomicLong();
+	
+	/**
+	 * 루프백 주소의 port에 명령을 받는 서버를 열고 셀렉터 스레드를 시작하는 생성자
+	 * @param runtime 명령을 보낼 UEFManager
+	 * @param port 열 포트 (0이면 비어있는 포트를 사용)
+	 * @throws IOException 포트를 열지 못한 경우
+	 * */
+	public OrderEndpoint(UEFManager runtime, int port) throws IOException {
+		if(runtime == null) throw new NullPointerException("runtime is null");
+		
+		this.runtime = runtime;
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		
+		try {
+			serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		}
+		catch (IOException e) {
+			serverChannel.close();
+			selector.close();
+			throw e;
+		}
+		
+		worker = new ThreadPoolExecutor(1, 1, 0l, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(MAX_PENDING_WORKS), r -> {
+			Thread thread = new Thread(r);
+			
+			thread.setName(runtime.getName()+"-OrderEndpointWorkerThread");
+			thread.setDaemon(true);
+			
+			return thread;
+		});
+		
+		selectorThread = new Thread(this::runSelector);
+		selectorThread.setName(runtime.getName()+"-OrderEndpointThread");
+		selectorThread.setDaemon(true);
+		selectorThread.start();
+	}
+	
+	/**
+	 * 서버가 열린 포트를 리턴하는 메소드
+	 * @return 포트 번호 (닫혔으면 -1)
+	 * */
+	public int getPort() {
+		try {
+			return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+		}
+		catch (Exception e) {
+			return -1;
+		}
+	}
+	
+	public boolean isClosed() {
+		return isClosed;
+	}
+	
+	public long getAcceptedCount() {
+		return acceptedCount.get();
+	}
+	
+	public long getCommandCount() {
+		return commandCount.get();
+	}
+	
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+	
+	/**
+	 * 서버와 모든 연결을 닫고 셀렉터 스레드와 작업 스레드를 종료하는 메소드 (작업 스레드에서 처리중인 명령의 응답은 보내지 않음)
+	 * */
+	@Override
+	public void close() {
+		if(isClosed) return;
+		
+		isClosed = true;
+		selector.wakeup();
+		
+		try {
+			selectorThread.join(1_000);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 셀렉터 스레드에서 실행되는 메소드로 연결을 받고 읽을 수 있거나 쓸 수 있는 연결을 처리한다.
+	 * */
+	private void runSelector() {
+		try {
+			while(isClosed == false) {
+				selector.select();
+				
+				completeWorks();
+				
+				Iterator<SelectionKey> itr = selector.selectedKeys().iterator();
+				
+				while(itr.hasNext()) {
+					SelectionKey key = itr.next();
+					itr.remove();
+					
+					try {
+						if(key.isValid() && key.isAcceptable()) accept();
+						if(key.isValid() && key.isReadable()) read(key);
+						if(key.isValid() && key.isWritable()) write(key);
+					}
+					catch (IOException e) {
+						// 연결이 끊어진 경우
+						closeConnection(key);
+					}
+				}
+			}
+		}
+		catch (ClosedSelectorException e) {
+			// 정상적인 종료인 경우
+		}
+		catch (Exception e) {
+			runtime.log(Level.SEVERE, "OrderEndpoint 오류: {}", e.getMessage());
+		}
+		finally {
+			worker.shutdownNow();
+			
+			for(SelectionKey key: selector.keys()) closeConnection(key);
+			
+			try {
+				serverChannel.close();
+				selector.close();
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+	
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		
+		if(channel == null) return;
+		
+		channel.configureBlocking(false);
+		channel.register(selector, SelectionKey.OP_READ, new Connection());
+		acceptedCount.incrementAndGet();
+	}
+	
+	/**
+	 * 연결에서 읽은 내용을 버퍼에 넣고 완성된 줄을 처리하는 메소드
+	 * */
+	private void read(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		
+		if(channel.read(connection.in) < 0) {
+			closeConnection(key);
+			return;
+		}
+		
+		processLines(key);
+	}
+	
+	/**
+	 * 작업 스레드에서 처리가 끝난 명령의 응답을 보내고 그 연결에서 기다리던 줄을 이어서 처리하는 메소드
+	 * */
+	private void completeWorks() {
+		Completion completion;
+		
+		while((completion = completions.poll()) != null) {
+			SelectionKey key = completion.key;
+			
+			// 처리중에 연결이 끊어진 경우
+			if(!key.isValid()) continue;
+			
+			Connection connection = (Connection) key.attachment();
+			
+			connection.isWaiting = false;
+			connection.append(completion.response);
+			
+			try {
+				processLines(key);
+			}
+			catch (IOException e) {
+				closeConnection(key);
+			}
+		}
+	}
+	
+	/**
+	 * 버퍼에 읽어둔 내용중 완성된 줄을 모두 처리하고 응답을 보내는 메소드 (작업 스레드에 넘긴 명령이 있으면 그 뒤의 줄은 남겨둠)
+	 * */
+	private void processLines(SelectionKey key) throws IOException {
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer in = connection.in;
+		
+		in.flip();
+		
+		int lineStart = in.position();
+		
+		for(int i = in.position(); i < in.limit() && connection.closeAfterFlush == false && connection.isWaiting == false; i++) {
+			if(in.get(i) != '\n') continue;
+			
+			int lineEnd = i;
+			
+			// "\r\n"으로 끝나는 경우
+			if(lineEnd > lineStart && in.get(lineEnd - 1) == '\r') lineEnd--;
+			
+			byte[] bytes = new byte[lineEnd - lineStart];
+			
+			in.position(lineStart);
+			in.get(bytes);
+			lineStart = i + 1;
+			
+			connection.append(handle(new String(bytes, StandardCharsets.UTF_8), key));
+		}
+		
+		in.position(lineStart);
+		in.compact();
+		
+		// 줄바꿈 없이 버퍼가 가득 찬 경우 (기다리는 명령이 있으면 남은 줄을 처리하지 않았으므로 제외)
+		if(in.position() == in.capacity() && connection.isWaiting == false) {
+			in.clear();
+			connection.append("ERR line too long(max "+MAX_LINE_LENGTH+" bytes)");
+			connection.closeAfterFlush = true;
+		}
+		
+		write(key);
+	}
+	
+	/**
+	 * 보내지 못한 응답을 보내고 남은 크기에 따라 관심 이벤트를 바꾸는 메소드
+	 * */
+	private void write(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer out = connection.out;
+		
+		out.flip();
+		channel.write(out);
+		out.compact();
+		
+		// 작업 스레드에서 처리중인 명령이 있으면 응답 순서를 지키기 위해 읽지 않음
+		int readOps = connection.isWaiting? 0: SelectionKey.OP_READ;
+		
+		if(out.position() == 0) {
+			if(connection.closeAfterFlush) {
+				closeConnection(key);
+				return;
+			}
+			
+			key.interestOps(readOps);
+		}
+		// 응답이 많이 쌓이면 다 보낼때까지 읽지 않음
+		else if(out.position() > MAX_PENDING_OUTPUT || connection.closeAfterFlush) key.interestOps(SelectionKey.OP_WRITE);
+		else key.interestOps(readOps | SelectionKey.OP_WRITE);
+	}
+	
+	private void closeConnection(SelectionKey key) {
+		key.cancel();
+		
+		try {
+			key.channel().close();
+		}
+		catch (IOException e) {
+			// 이미 닫힌 경우
+		}
+	}
+	
+	/**
+	 * 한 줄의 명령을 해석해 UEFManager에 전달하는 메소드
+	 * @param line 받은 줄
+	 * @param key 명령을 보낸 연결의 키
+	 * @return 응답 (빈 줄이거나 작업 스레드에 넘긴 경우 null)
+	 * */
+	private String handle(String line, SelectionKey key) {
+		Connection connection = (Connection) key.attachment();
+		String[] head = line.trim().split("\\s+", 2);
+		String command = head[0].toUpperCase();
+		String rest = head.length > 1? head[1].trim(): "";
+		
+		if(command.isEmpty()) return null;
+		
+		commandCount.incrementAndGet();
+		
+		try {
+			switch(command) {
+				case "PING":
+					return "OK PONG";
+				
+				case "STATUS":
+					return "OK "+status();
+				
+				case "BRANCHES":
+					submit(key, this::branches);
+					return null;
+				
+				case "QUIT":
+					connection.closeAfterFlush = true;
+					return "OK BYE";
+				
+				default:
+					CoreOrderNumber con = CoreOrderNumber.valueOf(command);
+					
+					if(createsLeaf(con) == false) return order(con, rest);
+					
+					submit(key, () -> order(con, rest));
+					return null;
+			}
+		}
+		catch (RejectedExecutionException e) {
+			// 작업 스레드에 대기중인 명령이 가득 찬 경우
+			errorCount.incrementAndGet();
+			return "ERR busy";
+		}
+		catch (IllegalArgumentException e) {
+			errorCount.incrementAndGet();
+			
+			// CoreOrderNumber.valueOf에서 찾지 못한 경우
+			if(e.getMessage() != null && e.getMessage().startsWith("No enum constant")) return "ERR unknown command "+command;
+			
+			return "ERR "+e.getMessage();
+		}
+		catch (Exception e) {
+			errorCount.incrementAndGet();
+			return "ERR "+e.getMessage();
+		}
+	}
+	
+	/**
+	 * 작업 스레드에서 응답을 만들도록 넘기는 메소드로 처리가 끝나면 응답과 함께 셀렉터 스레드를 깨운다.<br>
+	 * (응답 순서를 지키기 위해 처리가 끝날 때까지 해당 연결의 다음 줄을 처리하지 않음)
+	 * @param key 명령을 보낸 연결의 키
+	 * @param work 응답을 만드는 작업
+	 * @exception RejectedExecutionException 작업 스레드에 대기중인 명령이 가득 찬 경우
+	 * */
+	private void submit(SelectionKey key, Supplier<String> work) throws RejectedExecutionException {
+		worker.execute(() -> {
+			completions.offer(new Completion(key, work.get()));
+			selector.wakeup();
+		});
+		
+		((Connection) key.attachment()).isWaiting = true;
+	}
+	
+	/**
+	 * 관리중인 Branch 목록으로 BRANCHES의 응답을 만드는 메소드 (작업 스레드에서 호출)
+	 * @return "OK [줄 수]" 뒤에 Branch마다 한 줄씩 이어지는 응답
+	 * */
+	private String branches() {
+		try {
+			String list = runtime.printAllManageList(false);
+			int count = 0;
+			
+			for(int i = 0; i < list.length(); i++) if(list.charAt(i) == '\n') count++;
+			
+			return "OK "+count+(count > 0? "\n"+list.substring(0, list.length() - 1): "");
+		}
+		catch (Exception e) {
+			errorCount.incrementAndGet();
+			return "ERR "+e.getMessage();
+		}
+	}
+	
+	/**
+	 * 명령을 UEFManager에 전달하고 응답을 만드는 메소드 (셀렉터 스레드 또는 작업 스레드에서 호출)
+	 * @param con 명령번호
+	 * @param rest 명령 이름 뒤의 내용
+	 * @return 응답
+	 * */
+	private String order(CoreOrderNumber con, String rest) {
+		try {
+			sendOrder(con, rest);
+			return "OK";
+		}
+		catch (RejectedExecutionException e) {
+			// 명령 큐가 가득 찬 경우
+			errorCount.incrementAndGet();
+			return "ERR busy";
+		}
+		catch (Exception e) {
+			errorCount.incrementAndGet();
+			return "ERR "+e.getMessage();
+		}
+	}
+	
+	/**
+	 * Leaf를 만드는 명령인지 확인하는 메소드 (작업 스레드에서 처리함)
+	 * */
+	private static boolean createsLeaf(CoreOrderNumber con) {
+		switch(con) {
+			case REGIST_LO:
+			case REGIST_LOBO:
+			case REGIST_LOBN:
+			case REGIST_BATCH:
+				return true;
+			
+			default:
+				return false;
+		}
+	}
+	
+	/**
+	 * 명령번호에 따라 인자를 해석해 UEFManager의 명령 큐에 넣는 메소드 (명령 큐가 가득 차도 대기하지 않음)
+	 * @param con 명령번호
+	 * @param rest 명령 이름 뒤의 내용
+	 * @exception IllegalArgumentException 인자가 잘못된 경우
+	 * @exception RejectedExecutionException 명령 큐가 가득 찬 경우
+	 * */
+	private void sendOrder(CoreOrderNumber con, String rest) throws IllegalArgumentException, RejectedExecutionException {
+		String[] args = rest.isEmpty()? new String[0]: rest.split("\\s+");
+		
+		switch(con) {
+			case REGIST_LO:
+				checkArgs(con, args, 2);
+				send(CoreOrderNumber.REGIST_LO, createLeaf(args[0], args[1]));
+				break;
+			
+			case REGIST_BO:
+			case REGIST_BN:
+				checkArgs(con, args, 1);
+				send(CoreOrderNumber.REGIST_BN, args[0]);
+				break;
+			
+			case REGIST_LOBO:
+			case REGIST_LOBN:
+				checkArgs(con, args, 3);
+				send(CoreOrderNumber.REGIST_LOBN, createLeaf(args[1], args[2]), args[0]);
+				break;
+			
+			case REGIST_BATCH:
+				if(args.length < 3) throw new IllegalArgumentException("usage: "+con+" [branch] [class] [leaf]...");
+				
+				List<UEFLeaf> leafList = new ArrayList<UEFLeaf>(args.length - 2);
+				Map<String, List<UEFLeaf>> leafMap = new LinkedHashMap<String, List<UEFLeaf>>();
+				
+				for(int i = 2; i < args.length; i++) leafList.add(createLeaf(args[1], args[i]));
+				
+				leafMap.put(args[0], leafList);
+				send(CoreOrderNumber.REGIST_BATCH, new ResultWaitter<Integer>(), leafMap);
+				break;
+			
+			case REMOVE_LO:
+				checkArgs(con, args, 1);
+				send(CoreOrderNumber.REMOVE_LO, new ResultWaitter<UEFLeaf>(), findLeaf(UEFManager.DEFAULT_BRANCH_NAME, args[0]));
+				break;
+			
+			case REMOVE_BO:
+			case REMOVE_BN:
+				checkArgs(con, args, 1);
+				send(CoreOrderNumber.REMOVE_BN, new ResultWaitter<UEFBranch>(), args[0]);
+				break;
+			
+			case REMOVE_LOBO:
+			case REMOVE_LOBN:
+				checkArgs(con, args, 2);
+				send(CoreOrderNumber.REMOVE_LOBN, new ResultWaitter<UEFLeaf>(), findLeaf(args[0], args[1]), args[0]);
+				break;
+			
+			case SET_FRAME:
+				checkArgs(con, args, 1);
+				
+				try {
+					runtime.setFrame(Long.parseLong(args[0]));
+				}
+				catch (NumberFormatException e) {
+					throw new IllegalArgumentException("invalid frame "+args[0]);
+				}
+				break;
+			
+			case EXIT_UEFMANAGER:
+				checkArgs(con, args, 1);
+				runtime.exit(Boolean.parseBoolean(args[0]));
+				break;
+			
+			case REQUEST_EXECUTE:
+			case REQUEST_PAUSE:
+			case REQUEST_STOP:
+			case REQUEST_SHUTDOWN:
+				if(rest.isEmpty()) throw new IllegalArgumentException("usage: "+con+" [pattern]");
+				
+				// 명령 해석 스레드에서 실패하지 않도록 미리 확인
+				try {
+					Pattern.compile(rest);
+				}
+				catch (PatternSyntaxException e) {
+					throw new IllegalArgumentException("invalid pattern "+rest);
+				}
+				
+				send(con, rest);
+				break;
+			
+			default:
+				throw new IllegalArgumentException(con+" is not supported");
+		}
+	}
+	
+	/**
+	 * 대기하지 않고 명령을 명령 큐에 넣는 메소드
+	 * @exception RejectedExecutionException 명령 큐가 가득 찬 경우
+	 * */
+	private void send(CoreOrderNumber con, Object ... args) throws RejectedExecutionException {
+		if(runtime.trySendOrder(con, args) == false) throw new RejectedExecutionException("order queue is full");
+	}
+	
+	private static void checkArgs(CoreOrderNumber con, String[] args, int count) throws IllegalArgumentException {
+		if(args.length != count) throw new IllegalArgumentException(con+" needs "+count+" argument(s)");
+	}
+	
+	private UEFLeaf createLeaf(String className, String name) throws IllegalArgumentException {
+		UEFLeaf result = runtime.createLeaf(className, name);
+		
+		if(result == null) throw new IllegalArgumentException("no factory for "+className);
+		
+		return result;
+	}
+	
+	private UEFLeaf findLeaf(String branchName, String name) throws IllegalArgumentException {
+		UEFLeaf result = runtime.findLeaf(branchName, name);
+		
+		if(result == null) throw new IllegalArgumentException("no leaf "+name+" in "+branchName);
+		
+		return result;
+	}
+	
+	/**
+	 * STATUS 명령의 응답 내용을 만드는 메소드
+	 * @return 런타임 상태를 나타내는 한 줄
+	 * */
+	private String status() {
+		return "runtime="+runtime.getName()
+			+" launched="+runtime.isLaunched()
+			+" end="+runtime.isEnd()
+			+" runningThreads="+runtime.getRunningThreadCount()
+			+" queue="+runtime.getOrderQueueStats()
+			+" control="+runtime.getOrderLaneStats(OrderLane.CONTROL)
+			+" config="+runtime.getOrderLaneStats(OrderLane.CONFIG)
+			+" collapsed="+runtime.getCollapsedOrderCount();
+	}
+	
+	/**
+	 * 작업 스레드에서 처리가 끝난 명령의 연결과 응답을 담는 클래스
+	 * */
+	private static class Completion {
+		private final SelectionKey key;
+		private final String response;
+		
+		Completion(SelectionKey key, String response) {
+			this.key = key;
+			this.response = response;
+		}
+	}
+	
+	/**
+	 * 연결별로 읽은 내용과 보내지 못한 응답을 보관하는 클래스 (셀렉터 스레드에서만 사용)
+	 * */
+	private static class Connection {
+		private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE_LENGTH);
+		private ByteBuffer out = ByteBuffer.allocate(4_096);
+		private boolean closeAfterFlush = false;
+		// 작업 스레드에서 처리중인 명령이 있는지 나타내는 값
+		private boolean isWaiting = false;
+		
+		/**
+		 * 응답 한 줄을 보낼 버퍼에 추가하는 메소드 (버퍼가 부족하면 크기를 늘림)
+		 * @param response 응답 (null이면 무시)
+		 * */
+		private void append(String response) {
+			if(response == null) return;
+			
+			byte[] bytes = (response+"\n").getBytes(StandardCharsets.UTF_8);
+			
+			if(out.remaining() < bytes.length) {
+				ByteBuffer bigger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes.length));
+				
+				out.flip();
+				bigger.put(out);
+				out = bigger;
+			}
+			
+			out.put(bytes);
+		}
+	}
+}
@@ -0,0 +1,595 @@
+package org.UEF.others;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * UEFManager에서 처리된 {@link Order}를 메모리 맵 파일에 순서대로 기록하는 클래스로 재시작시 기록된 명령을 한번에 다시 실행하여 구조를 복구하는데 사용된다.<br>
+ * 각 명령은 [길이(int), 명령번호(int), 인자 개수(byte), 인자...]의 형태로 기록되며 길이는 내용을 모두 쓴 뒤에 기록하기 때문에
+ * 쓰는 도중 프로세스가 종료되어도 완성되지 않은 마지막 기록은 무시되며, 손상된 기록을 만나면 그 뒤의 기록은 읽지 않는다.<br>
+ * (메모리 맵에 쓰여진 내용은 프로세스가 종료되어도 유지되며 {@link #force()}를 호출해야 디스크에 반영되는 것이 보장된다.)<br>
+ * 매핑된 파일은 자르거나 교체하지 않으므로(Windows에서는 GC가 매핑을 해제하기 전까지 실패함) 압축한 기록은 임시 파일에 먼저 완성한 뒤 파일 앞부분에 덮어쓴다.
+ * <ul>
+ * <b>인자 형태</b>
+ * <li>NULL, String, Long, Boolean</li>
+ * <li>UEFLeaf, UEFBranch - {@link CellDescriptor}(트리거 상태 포함)로 기록되며 읽을 때도 {@link CellDescriptor}로 복구된다.</li>
+ * <li>ResultWaitter - 내용 없이 자리만 기록되며 읽을 때 새로운 ResultWaitter로 복구된다.</li>
+ * <li>Map[String, Collection[UEFLeaf]] - REGIST_BATCH의 인자로 [이름, Leaf 개수, {@link CellDescriptor}...]로 기록되며 읽을 때 Map[String, List[{@link CellDescriptor}]]로 복구된다.</li>
+ * </ul>
+ * */
+public class OrderJournal {
+	// 파일 구분값 'UEJ1'
+	public static final int
+		MAGIC = 0x55454A31,
+		VERSION = 2,
+		HEADER_SIZE = 16;
+	
+	// 처음 매핑할 파일 크기 (1MB)
+	public static long
+		DEFAULT_MAP_SIZE = 1l << 20;
+	
+	// 인자 형태 구분값
+	private static final byte
+		TAG_NULL = 0,
+		TAG_STRING = 1,
+		TAG_LONG = 2,
+		TAG_BOOLEAN = 3,
+		TAG_LEAF = 4,
+		TAG_BRANCH = 5,
+		TAG_RESULT_WAITTER = 6,
+		TAG_LEAF_MAP = 7;
+	
+	// 손상된 기록을 알리는 Logger
+	private static final Logger
+		LOGGER = Logger.getLogger(OrderJournal.class.getName());
+	
+	private final Path path;
+	private FileChannel channel = null;
+	private MappedByteBuffer mapped = null;
+	// 명령을 인코딩할 때 재사용하는 버퍼
+	private ByteBuffer encodeBuffer = ByteBuffer.allocate(256);
+	// 다음 기록을 쓸 위치
+	private int position = HEADER_SIZE;
+	// 현재 파일에 기록된 명령 수
+	private int recordCount = 0;
+	
+	/**
+	 * path의 저널 파일을 여는 생성자로 파일이 없으면 새로 만들고 존재하면 마지막 기록 뒤부터 이어서 기록한다.
+	 * @param path 저널 파일 경로
+	 * @throws IOException 파일을 열지 못했거나 저널 파일이 아닌 경우
+	 * */
+	public OrderJournal(Path path) throws IOException {
+		if(path == null) throw new NullPointerException("path is null");
+		
+		this.path = path;
+		open();
+	}
+	
+	private void open() throws IOException {
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		long size = channel.size();
+		
+		// 저널 파일이 아니면 매핑(파일 확장)이나 자르기 없이 닫음
+		if(size > 0) {
+			ByteBuffer header = ByteBuffer.allocate(8);
+			
+			if(size >= header.capacity()) readFully(channel, header, 0);
+			
+			if(size < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+				channel.close();
+				throw new IOException(path+(size >= header.capacity() && header.getInt(0) == MAGIC? " has unsupported order journal version": " is not an order journal"));
+			}
+		}
+		
+		mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, DEFAULT_MAP_SIZE));
+		
+		if(size == 0) { // 새로운 파일이면 헤더 기록
+			mapped.putInt(0, MAGIC);
+			mapped.putInt(4, VERSION);
+			mapped.putLong(8, 0l);
+		}
+		
+		// 압축한 기록을 덮어쓰는 도중 종료된 경우 다시 덮어씀
+		recoverCompaction();
+		
+		// 마지막 기록의 위치 찾기
+		readRecords(mapped.limit());
+	}
+	
+	/**
+	 * 명령을 저널 끝에 기록하는 메소드 (명령 해석 스레드 하나에서만 호출해야 한다.)
+	 * @param order 기록할 명령
+	 * @throws IOException 파일 확장에 실패한 경우
+	 * @throws IllegalArgumentException 기록할 수 없는 형태의 인자를 가진 경우
+	 * */
+	public synchronized void append(Order order) throws IOException, IllegalArgumentException {
+		encodeBuffer.clear();
+		encode(order);
+		encodeBuffer.flip();
+		
+		int length = encodeBuffer.remaining();
+		
+		ensureCapacity(position + 4 + length + 4);
+		
+		// 내용을 먼저 쓰고 길이를 마지막에 써서 기록을 완성한다.
+		mapped.position(position + 4);
+		mapped.put(encodeBuffer);
+		mapped.putInt(position + 4 + length, 0);
+		mapped.putInt(position, length);
+		
+		position += 4 + length;
+		recordCount++;
+	}
+	
+	/**
+	 * 저널에 기록된 모든 명령을 순서대로 읽어 리턴하는 메소드
+	 * @return 읽어들인 명령 리스트 (UEFCell 인자는 {@link CellDescriptor}로 복구됨)
+	 * */
+	public synchronized List<Order> readAll() {
+		return readRecords(position);
+	}
+	
+	/**
+	 * 처음부터 end까지 기록을 읽어 명령 리스트로 만들고 다음 기록을 쓸 위치를 정하는 메소드<br>
+	 * 손상된 기록을 만나면 경고를 남기고 멈추며 다음 기록은 그 자리에 쓴다. (손상된 기록 뒤의 기록은 명령 순서를 보장할 수 없으므로 버림)
+	 * @param end 읽을 범위의 끝 (파일을 열 때는 매핑의 끝, 이후에는 다음 기록을 쓸 위치)
+	 * @return 손상된 기록 전까지 읽어들인 명령 리스트
+	 * */
+	private List<Order> readRecords(int end) {
+		List<Order> result = new ArrayList<Order>();
+		int readPosition = HEADER_SIZE;
+		
+		while(readPosition + 4 <= end) {
+			int length = mapped.getInt(readPosition);
+			
+			// 기록의 끝 (마지막 기록 뒤에는 항상 0이 쓰여있음)
+			if(length == 0) break;
+			
+			try {
+				if(length < 0 || readPosition + 4 + length > end) 
+					throw new IllegalArgumentException("Broken journal record length "+length);
+				
+				ByteBuffer record = mapped.duplicate();
+				
+				record.limit(readPosition + 4 + length);
+				record.position(readPosition + 4);
+				
+				result.add(decode(record));
+			}
+			catch (BufferUnderflowException | IllegalArgumentException e) {
+				LOGGER.log(Level.WARNING, path+"의 "+(result.size() + 1)+"번째 기록(위치 "+readPosition+")이 손상되어 이후의 기록은 읽지 않습니다. ("+e.getMessage()+")");
+				break;
+			}
+			
+			readPosition += 4 + length;
+		}
+		
+		position = readPosition;
+		recordCount = result.size();
+		
+		return result;
+	}
+	
+	/**
+	 * 저널의 내용을 orders로 교체하는 메소드로 압축(compaction)에 사용된다.<br>
+	 * 압축한 기록을 임시 파일에 완성한 뒤 현재 파일 앞부분에 덮어쓰며, 덮어쓰는 도중 종료되면 다음에 열 때 임시 파일로 다시 덮어쓴다.
+	 * @param orders 새로운 저널에 기록할 명령 리스트 (현재 상태를 만들 수 있는 최소한의 명령)
+	 * @throws IOException 임시 파일 기록에 실패한 경우
+	 * */
+	public synchronized void rewrite(List<Order> orders) throws IOException {
+		ByteBuffer records = encodeRecords(orders);
+		Path tempPath = getCompactPath();
+		
+		writeCompactFile(tempPath, records);
+		copyRecords(records);
+		Files.delete(tempPath);
+		
+		position = HEADER_SIZE + records.remaining();
+		recordCount = orders.size();
+	}
+	
+	/**
+	 * 메모리 맵에 기록된 내용을 디스크에 반영하는 메소드
+	 * */
+	public synchronized void force() {
+		if(mapped != null) mapped.force();
+	}
+	
+	/**
+	 * 저널 파일을 닫는 메소드로 매핑의 참조를 놓고 채널을 닫은 뒤 새 채널로 사용하지 않은 뒷부분을 잘라낸다.<br>
+	 * (매핑은 GC가 해제하므로 Windows에서는 자르지 못할 수 있으며, 이 경우에도 기록의 끝 뒤의 내용은 다시 열 때 무시된다.)
+	 * */
+	public synchronized void close() throws IOException {
+		if(channel == null || !channel.isOpen()) return;
+		
+		try {
+			mapped.force();
+		}
+		finally {
+			mapped = null;
+			channel.close();
+		}
+		
+		try(FileChannel tempChannel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			tempChannel.truncate(position + 4);
+		}
+		catch (IOException e) {
+			// 매핑이 아직 해제되지 않은 경우
+		}
+	}
+	
+	/**
+	 * 현재 저널 파일에 기록된 명령 수를 리턴하는 메소드
+	 * @return 기록된 명령 수 (압축 후에는 압축된 명령 수)
+	 * */
+	public int getRecordCount() {
+		return recordCount;
+	}
+	
+	/**
+	 * 저널 파일의 경로를 리턴하는 메소드
+	 * @return 저널 파일 경로
+	 * */
+	public Path getPath() {
+		return path;
+	}
+	
+	/**
+	 * 압축한 기록을 먼저 완성해두는 임시 파일의 경로를 리턴하는 메소드
+	 * @return 임시 파일 경로
+	 * */
+	private Path getCompactPath() {
+		return path.resolveSibling(path.getFileName()+".compact");
+	}
+	
+	/**
+	 * 압축한 기록을 임시 파일에 쓰는 메소드로 기록을 먼저 디스크에 반영한 뒤 헤더에 기록 길이를 써서 완성을 표시한다. (매핑하지 않고 채널로 씀)
+	 * @param tempPath 임시 파일 경로
+	 * @param records 압축한 기록
+	 * */
+	private static void writeCompactFile(Path tempPath, ByteBuffer records) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		
+		try(FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			writeFully(tempChannel, records.duplicate(), HEADER_SIZE);
+			tempChannel.force(true);
+			
+			header.putInt(MAGIC).putInt(VERSION).putLong(records.remaining()).flip();
+			writeFully(tempChannel, header, 0);
+			tempChannel.force(true);
+		}
+	}
+	
+	/**
+	 * 완성된 압축 임시 파일의 기록을 읽는 메소드 (헤더를 마지막에 쓰므로 구분값이 없으면 완성되지 않은 파일)
+	 * @param tempPath 임시 파일 경로
+	 * @return 압축한 기록 (완성되지 않은 파일이면 null)
+	 * */
+	private static ByteBuffer readCompactFile(Path tempPath) throws IOException {
+		try(FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.READ)) {
+			long size = tempChannel.size();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			
+			if(size < HEADER_SIZE) return null;
+			
+			readFully(tempChannel, header, 0);
+			
+			long length = header.getLong(8);
+			
+			if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION || length < 0 || length > Integer.MAX_VALUE - HEADER_SIZE || HEADER_SIZE + length > size) 
+				return null;
+			
+			ByteBuffer records = ByteBuffer.allocate((int) length);
+			
+			readFully(tempChannel, records, HEADER_SIZE);
+			records.flip();
+			
+			return records;
+		}
+	}
+	
+	/**
+	 * 압축 임시 파일이 남아있으면 완성된 경우 현재 파일에 다시 덮어쓰고 임시 파일을 지우는 메소드
+	 * (완성되지 않은 임시 파일은 현재 파일을 건드리기 전에 종료된 것이므로 지우기만 함)
+	 * */
+	private void recoverCompaction() throws IOException {
+		Path tempPath = getCompactPath();
+		
+		if(!Files.exists(tempPath)) return;
+		
+		ByteBuffer records = readCompactFile(tempPath);
+		
+		if(records != null) copyRecords(records);
+		
+		Files.delete(tempPath);
+	}
+	
+	/**
+	 * 압축한 기록을 현재 파일의 앞부분에 덮어쓰고 기록의 끝을 표시하는 메소드
+	 * @param records 압축한 기록
+	 * */
+	private void copyRecords(ByteBuffer records) throws IOException {
+		int end = HEADER_SIZE + records.remaining();
+		
+		ensureCapacity(end + 4);
+		
+		mapped.position(HEADER_SIZE);
+		mapped.put(records.duplicate());
+		mapped.putInt(end, 0);
+		mapped.force();
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while(buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+	
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while(buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			
+			if(read < 0) throw new IOException("unexpected end of "+channel);
+			
+			position += read;
+		}
+	}
+	
+	/**
+	 * 파일 크기가 부족하면 두배씩 늘려 다시 매핑하는 메소드
+	 * */
+	private void ensureCapacity(long required) throws IOException {
+		if(required <= mapped.limit()) return;
+		
+		long size = mapped.limit();
+		
+		while(size < required) size <<= 1;
+		
+		if(size > Integer.MAX_VALUE) throw new IOException("order journal is full("+path+")");
+		
+		mapped.force();
+		mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+	}
+	
+	/*
+	 * ====================================================================================================================================
+	 * 인코딩, 디코딩
+	 * ====================================================================================================================================
+	 */
+	
+	/**
+	 * 명령들을 [길이, 내용] 형태의 기록으로 이어서 인코딩하는 메소드
+	 * @param orders 인코딩할 명령 리스트
+	 * @return 인코딩된 기록 (읽기 상태)
+	 * */
+	private ByteBuffer encodeRecords(List<Order> orders) {
+		ByteBuffer result = ByteBuffer.allocate(Math.max(orders.size() * 64, 256));
+		
+		for(Order order: orders) {
+			encodeBuffer.clear();
+			encode(order);
+			encodeBuffer.flip();
+			
+			result = ensureRemaining(result, 4 + encodeBuffer.remaining());
+			result.putInt(encodeBuffer.remaining());
+			result.put(encodeBuffer);
+		}
+		
+		result.flip();
+		
+		return result;
+	}
+	
+	private void encode(Order order) {
+		Map<String, Object> map = order.getMap();
+		int count = 0, found = 0;
+		
+		// null인 인자는 map에 들어가지 않으므로 마지막 인자 번호까지 기록하고 빈 번호는 NULL로 기록
+		for(int i = 0; found < map.size() && i < 255; i++) {
+			if(map.containsKey("arg"+i)) {
+				found++;
+				count = i + 1;
+			}
+		}
+		
+		reserve(5);
+		encodeBuffer.putInt(order.getOrderNumber());
+		encodeBuffer.put((byte) count);
+		
+		for(int i = 0; i < count; i++) {
+			encodeArg(map.get("arg"+i));
+		}
+	}
+	
+	private void encodeArg(Object arg) {
+		if(arg == null) {
+			reserve(1);
+			encodeBuffer.put(TAG_NULL);
+		}
+		else if(arg instanceof String) {
+			reserve(1);
+			encodeBuffer.put(TAG_STRING);
+			putString((String) arg);
+		}
+		else if(arg instanceof Long || arg instanceof Integer) {
+			reserve(9);
+			encodeBuffer.put(TAG_LONG);
+			encodeBuffer.putLong(((Number) arg).longValue());
+		}
+		else if(arg instanceof Boolean) {
+			reserve(2);
+			encodeBuffer.put(TAG_BOOLEAN);
+			encodeBuffer.put((byte) ((Boolean) arg? 1: 0));
+		}
+		else if(arg instanceof UEFLeaf || arg instanceof UEFBranch) {
+			reserve(1);
+			encodeBuffer.put(arg instanceof UEFLeaf? TAG_LEAF: TAG_BRANCH);
+			putCell(CellDescriptor.of((UEFCell) arg));
+		}
+		else if(arg instanceof CellDescriptor) {
+			CellDescriptor descriptor = (CellDescriptor) arg;
+			
+			reserve(1);
+			encodeBuffer.put(descriptor.isBranch()? TAG_BRANCH: TAG_LEAF);
+			putCell(descriptor);
+		}
+		else if(arg instanceof ResultWaitter) {
+			reserve(1);
+			encodeBuffer.put(TAG_RESULT_WAITTER);
+		}
+		else if(arg instanceof Map) {
+			Map<?, ?> leafMap = (Map<?, ?>) arg;
+			
+			reserve(5);
+			encodeBuffer.put(TAG_LEAF_MAP);
+			encodeBuffer.putInt(leafMap.size());
+			
+			for(Map.Entry<?, ?> entry: leafMap.entrySet()) {
+				if(!(entry.getKey() instanceof String) || !(entry.getValue() instanceof Collection)) 
+					throw new IllegalArgumentException("Can't journal map entry "+entry.getKey());
+				
+				Collection<?> leaves = (Collection<?>) entry.getValue();
+				
+				putString((String) entry.getKey());
+				reserve(4);
+				encodeBuffer.putInt(leaves.size());
+				
+				for(Object leaf: leaves) {
+					if(leaf instanceof UEFLeaf) putCell(CellDescriptor.of((UEFLeaf) leaf));
+					else if(leaf instanceof CellDescriptor) putCell((CellDescriptor) leaf);
+					else throw new IllegalArgumentException("Can't journal map value type "+(leaf == null? "null": leaf.getClass().getName()));
+				}
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Can't journal argument type "+arg.getClass().getName());
+		}
+	}
+	
+	private Order decode(ByteBuffer record) {
+		Order result = new Order(record.getInt());
+		int count = record.get() & 0xFF;
+		
+		for(int i = 0; i < count; i++) {
+			byte tag = record.get();
+			Object arg = null;
+			
+			switch(tag) {
+				case TAG_NULL: arg = null; break;
+				case TAG_STRING: arg = getString(record); break;
+				case TAG_LONG: arg = record.getLong(); break;
+				case TAG_BOOLEAN: arg = record.get() != 0; break;
+				case TAG_LEAF: arg = getCell(record, false); break;
+				case TAG_BRANCH: arg = getCell(record, true); break;
+				case TAG_RESULT_WAITTER: arg = new ResultWaitter<Object>(); break;
+				case TAG_LEAF_MAP: arg = getLeafMap(record); break;
+				default: throw new IllegalArgumentException("Unknown journal tag "+tag);
+			}
+			
+			result.put("arg"+i, arg);
+		}
+		
+		return result;
+	}
+	
+	private void putCell(CellDescriptor descriptor) {
+		putString(descriptor.getClassName());
+		putString(descriptor.getName());
+		reserve(10);
+		encodeBuffer.putLong(descriptor.getFrame());
+		encodeBuffer.put(descriptor.getFlags());
+		encodeBuffer.put((byte) descriptor.getTrigger().ordinal());
+	}
+	
+	private CellDescriptor getCell(ByteBuffer record, boolean isBranch) {
+		String className = getString(record);
+		String name = getString(record);
+		long frame = record.getLong();
+		byte flags = record.get();
+		int trigger = record.get();
+		
+		if(trigger < 0 || trigger >= RoutineTriggerStatus.values().length) throw new IllegalArgumentException("Broken journal trigger "+trigger);
+		
+		return new CellDescriptor(isBranch, className, name, frame, flags, RoutineTriggerStatus.values()[trigger]);
+	}
+	
+	private LinkedHashMap<String, List<CellDescriptor>> getLeafMap(ByteBuffer record) {
+		LinkedHashMap<String, List<CellDescriptor>> result = new LinkedHashMap<String, List<CellDescriptor>>();
+		int size = record.getInt();
+		
+		for(int i = 0; i < size; i++) {
+			String name = getString(record);
+			int count = record.getInt();
+			
+			if(count < 0) throw new IllegalArgumentException("Broken journal leaf count");
+			
+			List<CellDescriptor> leaves = new ArrayList<CellDescriptor>(Math.min(count, 1024));
+			
+			for(int j = 0; j < count; j++) leaves.add(getCell(record, false));
+			
+			result.put(name, leaves);
+		}
+		
+		return result;
+	}
+	
+	private void putString(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		
+		reserve(4 + bytes.length);
+		encodeBuffer.putInt(bytes.length);
+		encodeBuffer.put(bytes);
+	}
+	
+	private static String getString(ByteBuffer record) {
+		int length = record.getInt();
+		
+		if(length < 0 || length > record.remaining()) throw new IllegalArgumentException("Broken journal string");
+		
+		byte[] bytes = new byte[length];
+		record.get(bytes);
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * 인코딩 버퍼에 size만큼의 공간을 확보하는 메소드
+	 * */
+	private void reserve(int size) {
+		encodeBuffer = ensureRemaining(encodeBuffer, size);
+	}
+	
+	/**
+	 * buffer에 size만큼의 공간이 없으면 내용을 옮긴 더 큰 버퍼를 리턴하는 메소드
+	 * */
+	private static ByteBuffer ensureRemaining(ByteBuffer buffer, int size) {
+		if(buffer.remaining() >= size) return buffer;
+		
+		ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + size));
+		
+		buffer.flip();
+		bigger.put(buffer);
+		
+		return bigger;
+	}
+}
@@ -0,0 +1,61 @@
+package org.UEF.others;
+
+import org.UEF.enu.OrderLane;
+
+/**
+ * UEFManager의 명령 줄({@link OrderLane})별 처리 현황(대기중인 명령 수, 처리한 명령 수, 대기 시간)을 담는 클래스<br>
+ * 대기 시간은 명령이 만들어진 시점부터 명령 해석 스레드가 꺼낸 시점까지의 시간이다.
+ * */
+public class OrderLaneStats {
+	private final OrderLane lane;
+	private final int depth;
+	private final long processedCount;
+	private final long totalWaitNanos;
+	private final long maxWaitNanos;
+	
+	public OrderLaneStats(OrderLane lane, int depth, long processedCount, long totalWaitNanos, long maxWaitNanos) {
+		this.lane = lane;
+		this.depth = depth;
+		this.processedCount = processedCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+	}
+	
+	public OrderLane getLane() {
+		return lane;
+	}
+	
+	/**
+	 * 처리되지 않고 대기중인 명령 수를 리턴하는 메소드
+	 * @return 대기중인 명령 수
+	 * */
+	public int getDepth() {
+		return depth;
+	}
+	
+	public long getProcessedCount() {
+		return processedCount;
+	}
+	
+	public long getTotalWaitNanos() {
+		return totalWaitNanos;
+	}
+	
+	/**
+	 * 처리한 명령의 평균 대기 시간을 리턴하는 메소드
+	 * @return 평균 대기 시간(나노초), 처리한 명령이 없으면 0
+	 * */
+	public long getAverageWaitNanos() {
+		return processedCount == 0? 0: totalWaitNanos / processedCount;
+	}
+	
+	public long getMaxWaitNanos() {
+		return maxWaitNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return "["+lane+" depth: "+depth+", processed: "+processedCount
+				+", avgWait: "+getAverageWaitNanos() / 1_000+"us, maxWait: "+maxWaitNanos / 1_000+"us]";
+	}
+}
@@ -0,0 +1,97 @@
+package org.UEF.others;
+
+import org.UEF.enu.QueueOverflowPolicy;
+
+/**
+ * {@link DoubleQueue}의 특정 시점 상태(크기 제한, 대기중인 값 수, 거부/버림/대기 횟수)를 담는 클래스
+ * */
+public class OrderQueueStats {
+	private final int capacity;
+	private final QueueOverflowPolicy policy;
+	private final int depth;
+	private final int maxDepth;
+	private final long offeredCount;
+	private final long rejectedCount;
+	private final long droppedCount;
+	private final long blockedCount;
+
+	public OrderQueueStats(int capacity, QueueOverflowPolicy policy, int depth, int maxDepth,
+			long offeredCount, long rejectedCount, long droppedCount, long blockedCount) {
+		this.capacity = capacity;
+		this.policy = policy;
+		this.depth = depth;
+		this.maxDepth = maxDepth;
+		this.offeredCount = offeredCount;
+		this.rejectedCount = rejectedCount;
+		this.droppedCount = droppedCount;
+		this.blockedCount = blockedCount;
+	}
+
+	/**
+	 * 큐의 크기 제한을 리턴하는 메소드
+	 * @return 크기 제한 (제한이 없으면 0)
+	 * */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public QueueOverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * 처리되지 않고 대기중인 값 수를 리턴하는 메소드
+	 * @return 대기중인 값 수
+	 * */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * 지금까지 대기중이었던 값 수의 최대치를 리턴하는 메소드
+	 * @return 최대 대기 수
+	 * */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public long getOfferedCount() {
+		return offeredCount;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount;
+	}
+
+	public long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * 큐가 가득 차서 넣으려는 스레드가 대기한 횟수를 리턴하는 메소드
+	 * @return 대기 횟수
+	 * */
+	public long getBlockedCount() {
+		return blockedCount;
+	}
+
+	/**
+	 * 다른 큐의 상태를 더한 상태를 만드는 메소드로 크기 제한은 둘 중 하나라도 제한이 없으면 0이 되고, 최대 대기 수는 각 최대치의 합이다.
+	 * @param other 더할 큐의 상태 (정책이 다르면 이 상태의 정책을 따름)
+	 * @return 두 상태를 더한 {@link OrderQueueStats}
+	 * @exception NullPointerException other가 null인 경우
+	 * */
+	public OrderQueueStats plus(OrderQueueStats other) {
+		int tempCapacity = capacity > 0 && other.capacity > 0? capacity + other.capacity: 0;
+		
+		return new OrderQueueStats(tempCapacity, policy, depth + other.depth, maxDepth + other.maxDepth,
+				offeredCount + other.offeredCount, rejectedCount + other.rejectedCount,
+				droppedCount + other.droppedCount, blockedCount + other.blockedCount);
+	}
+
+	@Override
+	public String toString() {
+		return "[capacity: "+capacity+", policy: "+policy+", depth: "+depth+", maxDepth: "+maxDepth
+				+", offered: "+offeredCount+", rejected: "+rejectedCount+", dropped: "+droppedCount+", blocked: "+blockedCount+"]";
+	}
+}
@@ -0,0 +1,151 @@
+package org.UEF.others;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * UEFLeaf의 루틴 메소드마다 사용한 CPU 시간과 할당한 메모리(바이트)를 누적하는 클래스로 Leaf마다 처음 기록할 때 만들어진다.<br>
+ * 값은 루틴 메소드를 실행한 스레드의 {@link ThreadMXBean} 측정값을 루틴 전후로 읽은 차이이므로 스레드를 공유하더라도 루틴 메소드별로 나뉘어 기록된다.
+ * 한 스레드(UEFLeaf의 스레드)만 기록하며 다른 스레드는 {@link #snapshot(String)}과 합계 메소드로 값을 읽는다.<br>
+ * JVM이 스레드 CPU 시간이나 할당량 측정을 지원하지 않으면 해당 값은 0으로 기록된다.
+ * */
+public class ResourceMeter {
+	private static final ThreadMXBean
+		THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	
+	// 할당량 측정은 HotSpot 확장 인터페이스에만 있음 (없으면 null)
+	private static final com.sun.management.ThreadMXBean
+		ALLOCATION_BEAN;
+	
+	private static final boolean
+		CPU_TIME_SUPPORTED,
+		ALLOCATION_SUPPORTED;
+	
+	static {
+		boolean cpuTime = false, allocation = false;
+		com.sun.management.ThreadMXBean allocationBean = null;
+		
+		try {
+			if(THREAD_BEAN.isCurrentThreadCpuTimeSupported()) {
+				if(!THREAD_BEAN.isThreadCpuTimeEnabled()) THREAD_BEAN.setThreadCpuTimeEnabled(true);
+				
+				cpuTime = true;
+			}
+			
+			if(THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+				allocationBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+				
+				if(allocationBean.isThreadAllocatedMemorySupported()) {
+					if(!allocationBean.isThreadAllocatedMemoryEnabled()) allocationBean.setThreadAllocatedMemoryEnabled(true);
+					
+					allocation = true;
+				}
+			}
+		}
+		catch (UnsupportedOperationException | SecurityException e) {
+			// 측정을 켤 수 없는 경우 (켜진 항목만 사용)
+			cpuTime = cpuTime && THREAD_BEAN.isThreadCpuTimeEnabled();
+			allocation = allocation && allocationBean.isThreadAllocatedMemoryEnabled();
+		}
+		
+		ALLOCATION_BEAN = allocationBean;
+		CPU_TIME_SUPPORTED = cpuTime;
+		ALLOCATION_SUPPORTED = allocation;
+	}
+	
+	/*
+	 * 루틴 메소드별 누적 CPU 시간(나노초), 할당량(바이트), 실행 횟수 (기록하는 스레드만 씀)
+	 * */
+	private final long[]
+		cpuNanos,
+		allocatedBytes,
+		counts;
+	
+	/*
+	 * 모든 루틴 메소드의 합계 (다른 스레드가 스냅샷 없이 읽음)
+	 * */
+	private volatile long
+		totalCpuNanos = 0l,
+		totalAllocatedBytes = 0l;
+	
+	/**
+	 * @param phases 루틴 메소드 수
+	 * */
+	public ResourceMeter(int phases) {
+		cpuNanos = new long[phases];
+		allocatedBytes = new long[phases];
+		counts = new long[phases];
+	}
+	
+	/**
+	 * 현재 스레드가 지금까지 사용한 CPU 시간을 리턴하는 메소드
+	 * @return 나노초 (지원하지 않으면 0)
+	 * */
+	public static long currentCpuNanos() {
+		return CPU_TIME_SUPPORTED? THREAD_BEAN.getCurrentThreadCpuTime(): 0l;
+	}
+	
+	/**
+	 * 현재 스레드가 지금까지 할당한 메모리를 리턴하는 메소드
+	 * @return 바이트 (지원하지 않으면 0)
+	 * */
+	public static long currentAllocatedBytes() {
+		return ALLOCATION_SUPPORTED? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()): 0l;
+	}
+	
+	public static boolean isCpuTimeSupported() {
+		return CPU_TIME_SUPPORTED;
+	}
+	
+	public static boolean isAllocationSupported() {
+		return ALLOCATION_SUPPORTED;
+	}
+	
+	/**
+	 * 루틴 메소드 한 번의 사용량을 기록하는 메소드
+	 * @param phase 루틴 메소드 번호 ({@link org.UEF.enu.RoutineStatus#getValue()})
+	 * @param cpu 사용한 CPU 시간(나노초)
+	 * @param allocated 할당한 메모리(바이트)
+	 * */
+	public void record(int phase, long cpu, long allocated) {
+		cpuNanos[phase] += cpu;
+		allocatedBytes[phase] += allocated;
+		counts[phase]++;
+		// 합계를 마지막에 써서 합계를 읽은 스레드가 배열의 값도 볼 수 있도록 함
+		totalAllocatedBytes += allocated;
+		totalCpuNanos += cpu;
+	}
+	
+	public long getTotalCpuNanos() {
+		return totalCpuNanos;
+	}
+	
+	public long getTotalAllocatedBytes() {
+		return totalAllocatedBytes;
+	}
+	
+	/**
+	 * 현재까지의 사용량으로 스냅샷을 만드는 메소드
+	 * @param path 사용량을 기록한 Leaf의 경로
+	 * @return 사용량을 담은 {@link ResourceUsage}
+	 * */
+	public ResourceUsage snapshot(String path) {
+		long cpu = totalCpuNanos;
+		
+		return new ResourceUsage(path, cpu, totalAllocatedBytes, cpuNanos.clone(), allocatedBytes.clone(), counts.clone());
+	}
+	
+	/**
+	 * 사용량을 모두 지우는 메소드 (기록하는 스레드와 동시에 호출하면 일부 값이 남을 수 있다.)
+	 * */
+	public void reset() {
+		for(int i = 0; i < counts.length; i++) {
+			cpuNanos[i] = 0l;
+			allocatedBytes[i] = 0l;
+			counts[i] = 0l;
+		}
+		
+		totalCpuNanos = 0l;
+		totalAllocatedBytes = 0l;
+	}
+}
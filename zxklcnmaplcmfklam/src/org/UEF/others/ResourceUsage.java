@@ -0,0 +1,93 @@
+package org.UEF.others;
+
+import org.UEF.enu.RoutineStatus;
+
+/**
+ * {@link ResourceMeter}의 특정 시점 사용량(루틴 메소드별 CPU 시간, 할당량, 실행 횟수)을 담는 클래스
+ * */
+public class ResourceUsage {
+	private final String path;
+	private final long totalCpuNanos;
+	private final long totalAllocatedBytes;
+	private final long[] cpuNanos;
+	private final long[] allocatedBytes;
+	private final long[] counts;
+	
+	public ResourceUsage(String path, long totalCpuNanos, long totalAllocatedBytes, long[] cpuNanos, long[] allocatedBytes, long[] counts) {
+		this.path = path;
+		this.totalCpuNanos = totalCpuNanos;
+		this.totalAllocatedBytes = totalAllocatedBytes;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.counts = counts;
+	}
+	
+	/**
+	 * 사용량을 기록한 Leaf의 경로를 리턴하는 메소드
+	 * @return Leaf 경로
+	 * */
+	public String getPath() {
+		return path;
+	}
+	
+	public long getTotalCpuNanos() {
+		return totalCpuNanos;
+	}
+	
+	public long getTotalAllocatedBytes() {
+		return totalAllocatedBytes;
+	}
+	
+	/**
+	 * 루틴 메소드가 사용한 CPU 시간을 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 누적 나노초
+	 * */
+	public long getCpuNanos(RoutineStatus status) {
+		return status.getValue() < cpuNanos.length? cpuNanos[status.getValue()]: 0l;
+	}
+	
+	/**
+	 * 루틴 메소드가 할당한 메모리를 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 누적 바이트
+	 * */
+	public long getAllocatedBytes(RoutineStatus status) {
+		return status.getValue() < allocatedBytes.length? allocatedBytes[status.getValue()]: 0l;
+	}
+	
+	/**
+	 * 루틴 메소드가 실행된 횟수를 리턴하는 메소드
+	 * @param status 찾고자 하는 루틴 메소드
+	 * @return 실행 횟수
+	 * */
+	public long getCount(RoutineStatus status) {
+		return status.getValue() < counts.length? counts[status.getValue()]: 0l;
+	}
+	
+	/**
+	 * execute() 틱 하나의 평균 CPU 시간을 리턴하는 메소드
+	 * @return 나노초 (틱이 없으면 0)
+	 * */
+	public double getCpuNanosPerTick() {
+		long ticks = getCount(RoutineStatus.EXECUTE);
+		
+		return ticks == 0l? 0.0: (double) getCpuNanos(RoutineStatus.EXECUTE) / ticks;
+	}
+	
+	/**
+	 * execute() 틱 하나의 평균 할당량을 리턴하는 메소드
+	 * @return 바이트 (틱이 없으면 0)
+	 * */
+	public double getAllocatedBytesPerTick() {
+		long ticks = getCount(RoutineStatus.EXECUTE);
+		
+		return ticks == 0l? 0.0: (double) getAllocatedBytes(RoutineStatus.EXECUTE) / ticks;
+	}
+	
+	@Override
+	public String toString() {
+		return "["+path+" cpu: "+totalCpuNanos / 1_000+"us, allocated: "+totalAllocatedBytes+"B, ticks: "+getCount(RoutineStatus.EXECUTE)
+				+", cpu/tick: "+String.format("%.1f", getCpuNanosPerTick() / 1_000)+"us, allocated/tick: "+String.format("%.1f", getAllocatedBytesPerTick())+"B]";
+	}
+}
@@ -1,5 +1,7 @@
 package org.UEF.others;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * UEFManager에 전송된 Order의 결과값을 받기위한 클래스<br>
  * setResult를 호출하여 결과값을 지정하면 getResult, getResultNow로 값을 받는다.
@@ -45,6 +47,19 @@ public class ResultWaitter<T> {
 		return tempResult;
 	}
 	
+	/**
+	 * 결과 값을 리턴하는 메소드로 결과값이 지정되거나 token이 취소될 때까지 대기한다. (루틴 메소드 안에서 사용)
+	 * @param token 대기를 중단할 취소 토큰 ({@link org.UEF.core.UEFLeaf#getCancellationToken()})
+	 * @return 결과 값 (취소되거나 인터럽트된 경우 null)
+	 * */
+	public T getResult(CancellationToken token) {
+		while(!isResultReturn){
+			if(!token.sleep(1, TimeUnit.MILLISECONDS)) return null;
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * 결과 값을 즉시 리턴하는 메소드로 결과 값이 지정되지 않아도 대기상태에 걸리지 않도록 만들었다.
 	 * @return 결과 값 (결과 값이 지정되지 않으면 예외발생)
@@ -0,0 +1,107 @@
+package org.UEF.others;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.UEF.enu.RoutineStatus;
+import org.UEF.enu.StallPolicy;
+
+/**
+ * {@link StallWatchdog}이 멈춘 UEFLeaf를 발견했을 때 만드는 보고서 클래스로 멈춘 루틴 메소드와 그 스레드의 스택 샘플을 담는다.
+ * */
+public class StallReport {
+	private final String path;
+	private final RoutineStatus status;
+	private final long timeMillis;
+	private final long elapsedNanos;
+	private final long limitNanos;
+	private final StallPolicy policy;
+	private final List<StackTraceElement[]> samples;
+	
+	StallReport(String path, RoutineStatus status, long elapsedNanos, long limitNanos, StallPolicy policy, List<StackTraceElement[]> samples) {
+		this.path = path;
+		this.status = status;
+		this.timeMillis = System.currentTimeMillis();
+		this.elapsedNanos = elapsedNanos;
+		this.limitNanos = limitNanos;
+		this.policy = policy;
+		this.samples = samples;
+	}
+	
+	public String getPath() {
+		return path;
+	}
+	
+	/**
+	 * 멈춘 루틴 메소드를 리턴하는 메소드
+	 * @return 루틴 진행상태
+	 * */
+	public RoutineStatus getStatus() {
+		return status;
+	}
+	
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+	
+	/**
+	 * 발견했을 때 루틴 메소드가 실행되고 있던 시간을 리턴하는 메소드
+	 * @return 나노초
+	 * */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * 넘어선 한계시간을 리턴하는 메소드
+	 * @return 나노초
+	 * */
+	public long getLimitNanos() {
+		return limitNanos;
+	}
+	
+	public StallPolicy getPolicy() {
+		return policy;
+	}
+	
+	/**
+	 * 샘플링한 스택을 순서대로 리턴하는 메소드
+	 * @return 스택 샘플 리스트
+	 * */
+	public List<StackTraceElement[]> getSamples() {
+		return samples;
+	}
+	
+	/**
+	 * 모든 샘플의 맨 위 프레임이 같은지 리턴하는 메소드로 true이면 한 곳에서 블로킹되어 있을 가능성이 높다.
+	 * @return 같으면 true (샘플이 없으면 false)
+	 * */
+	public boolean isSameTopFrame() {
+		if(samples.isEmpty() || samples.get(0).length == 0) return false;
+		
+		StackTraceElement top = samples.get(0)[0];
+		
+		for(StackTraceElement[] sample: samples) {
+			if(sample.length == 0 || !top.equals(sample[0])) return false;
+		}
+		
+		return true;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuffer result = new StringBuffer(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timeMillis)));
+		
+		result.append(' ').append(path).append(' ').append(status).append(' ').append(elapsedNanos / 1_000_000).append("ms > ")
+			.append(limitNanos / 1_000_000).append("ms policy=").append(policy).append(isSameTopFrame()? " (same top frame)": "");
+		
+		for(int i = 0; i < samples.size(); i++) {
+			result.append("\n  sample ").append(i + 1).append(':');
+			
+			for(StackTraceElement element: samples.get(i)) result.append("\n    at ").append(element);
+		}
+		
+		return result.toString();
+	}
+}
@@ -0,0 +1,311 @@
+package org.UEF.others;
+
+import java.io.Closeable;
+import java.security.AccessControlException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.LifecycleEventType;
+import org.UEF.enu.RoutineStatus;
+import org.UEF.enu.StallPolicy;
+
+/**
+ * 런타임의 UEFLeaf 중 루틴 메소드가 끝나지 않는 Leaf를 찾아 처리하는 감시 클래스로 하나의 데몬 스레드에서 {@link #getCheckIntervalMillis()}마다 검사한다.<br>
+ * execute()는 주기({@link UEFCell#getFrame()}의 역수)의 {@link #getBudgetMultiple()}배, 그 외 루틴 메소드는 {@link #getAbsoluteLimitNanos()}를 넘기면 멈춘 것으로 보며
+ * (execute()도 절대 한계시간을 넘길 수 없음) 스레드의 스택을 {@link #getSampleCount()}번 샘플링해 {@link StallReport}를 만들고
+ * 경고 로그와 {@link LifecycleEventType#STALL} 이벤트를 남긴 뒤 {@link StallPolicy}에 따라 처리한다.<br>
+ * 같은 루틴 실행에 대해서는 한번만 보고하며 감시 스레드는 멈춘 Leaf만 따로 기억하므로 객체 수와 관계없이 추가 메모리를 쓰지 않는다.
+ * */
+public class StallWatchdog implements Closeable {
+	// 보관하는 최근 보고서 수
+	public static int
+		MAX_REPORTS = 64;
+	
+	private final UEFManager runtime;
+	private final Thread watchdogThread;
+	private volatile boolean isClosed = false;
+	
+	private volatile StallPolicy policy;
+	
+	private volatile double
+		budgetMultiple = 10.0;
+	
+	private volatile long
+		absoluteLimitNanos = 30_000_000_000l,
+		checkIntervalMillis = 100l,
+		sampleIntervalMillis = 10l;
+	
+	private volatile int
+		sampleCount = 3;
+	
+	// 보고한 Leaf와 보고한 루틴의 시작시간 (감시 스레드에서만 사용)
+	private final Map<UEFLeaf, Long>
+		stalledLeaves = new IdentityHashMap<UEFLeaf, Long>();
+	
+	// 최근 보고서 (reports로 동기화)
+	private final ArrayDeque<StallReport>
+		reports = new ArrayDeque<StallReport>();
+	
+	private volatile long
+		stallCount = 0l;
+	
+	/**
+	 * 감시를 시작하는 생성자
+	 * @param runtime 감시할 런타임
+	 * @param policy 멈춘 Leaf를 처리하는 방법
+	 * */
+	public StallWatchdog(UEFManager runtime, StallPolicy policy) {
+		if(policy == null) throw new NullPointerException("policy is null");
+		
+		this.runtime = runtime;
+		this.policy = policy;
+		
+		watchdogThread = new Thread(this::runWatchdog);
+		watchdogThread.setName(runtime.getName()+"-StallWatchdogThread");
+		watchdogThread.setDaemon(true);
+		watchdogThread.start();
+	}
+	
+	/**
+	 * 감시 스레드에서 실행되는 메소드
+	 * */
+	private void runWatchdog() {
+		while(!isClosed) {
+			try {
+				Thread.sleep(checkIntervalMillis);
+			}
+			catch (InterruptedException e) {
+				// close()로 깨운 경우
+				continue;
+			}
+			
+			// 멈춘 루틴이 끝났거나 다음 루틴으로 넘어간 Leaf는 잊음
+			for(Iterator<Map.Entry<UEFLeaf, Long>> iterator = stalledLeaves.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<UEFLeaf, Long> entry = iterator.next();
+				
+				if(entry.getKey().getPhaseStartNanos() != entry.getValue().longValue()) iterator.remove();
+			}
+			
+			runtime.forEachCell(cell -> {
+				if(cell instanceof UEFLeaf && !isClosed) check((UEFLeaf) cell);
+			});
+		}
+	}
+	
+	/**
+	 * Leaf 하나를 검사하는 메소드
+	 * @param leaf 검사할 Leaf
+	 * */
+	private void check(UEFLeaf leaf) {
+		long start = leaf.getPhaseStartNanos();
+		
+		if(start == 0l) return;
+		
+		long elapsed = System.nanoTime() - start;
+		RoutineStatus status = leaf.getCurrentStatus();
+		long limit = absoluteLimitNanos;
+		
+		if(status == RoutineStatus.EXECUTE && leaf.getFrame() > 0) limit = Math.min(limit, (long) (budgetMultiple * UEFCell.ONE_NANO_SECONED / leaf.getFrame()));
+		
+		if(elapsed <= limit) return;
+		
+		Long reported = stalledLeaves.get(leaf);
+		
+		if(reported != null && reported.longValue() == start) return;
+		
+		stalledLeaves.put(leaf, start);
+		
+		// 스택 샘플링 (샘플링 중에 루틴이 끝나면 중단)
+		List<StackTraceElement[]> samples = new ArrayList<StackTraceElement[]>(sampleCount);
+		
+		for(int i = 0; i < sampleCount; i++) {
+			if(i > 0) {
+				try {
+					Thread.sleep(sampleIntervalMillis);
+				}
+				catch (InterruptedException e) {
+					break;
+				}
+			}
+			
+			if(leaf.getPhaseStartNanos() != start) break;
+			
+			samples.add(leaf.getThreadStackTrace());
+		}
+		
+		// 샘플링 중에 끝난 경우 멈춘 것이 아님
+		if(samples.isEmpty()) return;
+		
+		StallPolicy tempPolicy = policy;
+		StallReport report = new StallReport(leaf.getPath(), status, elapsed, limit, tempPolicy, samples);
+		
+		synchronized (reports) {
+			while(reports.size() >= Math.max(1, MAX_REPORTS)) reports.pollFirst();
+			
+			reports.addLast(report);
+		}
+		
+		stallCount++;
+		runtime.getLifecycleRecorder().record(leaf, LifecycleEventType.STALL, status.getValue(), elapsed, tempPolicy);
+		runtime.log(Level.WARNING, "멈춘 루틴이 감지되었습니다. {}", report);
+		
+		apply(leaf, tempPolicy, start);
+	}
+	
+	/**
+	 * 멈춘 Leaf에 처리 방법을 적용하는 메소드<br>
+	 * Leaf의 트리거 요청은 락을 잡지 않고 다음 루틴 경계에서 적용되므로 블로킹 메소드에서 빠져나오도록 먼저 취소 토큰을 취소하고 스레드를 인터럽트한다.<br>
+	 * (샘플링한 루틴이 그 사이 끝났으면 다음 루틴의 토큰을 취소하거나 인터럽트하지 않음)
+	 * @param leaf 멈춘 Leaf
+	 * @param policy 처리 방법
+	 * @param start 샘플링한 루틴 메소드의 시작시간
+	 * */
+	private void apply(UEFLeaf leaf, StallPolicy policy, long start) {
+		if(policy == StallPolicy.LOG) return;
+		
+		leaf.cancelPhase(start);
+		
+		if(leaf.getPhaseStartNanos() == start) leaf.interruptThread();
+		
+		try {
+			if(policy == StallPolicy.SHUTDOWN) {
+				leaf.requestShutdown();
+			}
+			else if(policy == StallPolicy.ESCALATE) {
+				UEFCell parent = leaf.getParent();
+				
+				// 런타임 바로 아래의 Leaf는 런타임 전체를 멈추지 않고 Leaf만 종료
+				if(parent instanceof UEFBranch) parent.requestStop();
+				else leaf.requestShutdown();
+			}
+		}
+		catch (AccessControlException e) {
+			// 이미 요청된 상태인 경우
+		}
+	}
+	
+	/**
+	 * 감시 스레드를 종료하는 메소드
+	 * */
+	@Override
+	public void close() {
+		if(isClosed) return;
+		
+		isClosed = true;
+		watchdogThread.interrupt();
+		
+		try {
+			watchdogThread.join(1_000);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	public boolean isClosed() {
+		return isClosed;
+	}
+	
+	/**
+	 * 최근 보고서를 오래된 순서로 리턴하는 메소드 (최대 {@link #MAX_REPORTS}개)
+	 * @return 보고서 리스트의 복사본
+	 * */
+	public List<StallReport> getReports() {
+		synchronized (reports) {
+			return new ArrayList<StallReport>(reports);
+		}
+	}
+	
+	/**
+	 * 지금까지 보고한 수를 리턴하는 메소드
+	 * @return 보고 수
+	 * */
+	public long getStallCount() {
+		return stallCount;
+	}
+	
+	public StallPolicy getPolicy() {
+		return policy;
+	}
+	
+	/**
+	 * 이후 발견되는 Leaf에 적용할 처리 방법을 지정하는 메소드
+	 * @param policy 처리 방법
+	 * */
+	public void setPolicy(StallPolicy policy) {
+		if(policy == null) throw new NullPointerException("policy is null");
+		
+		this.policy = policy;
+	}
+	
+	public double getBudgetMultiple() {
+		return budgetMultiple;
+	}
+	
+	/**
+	 * execute()의 한계시간을 주기의 몇 배로 할지 지정하는 메소드로 기본값은 10이다.
+	 * @param budgetMultiple 배수 (0보다 커야 함)
+	 * */
+	public void setBudgetMultiple(double budgetMultiple) {
+		if(!(budgetMultiple > 0.0)) throw new IllegalArgumentException("budgetMultiple must be positive: "+budgetMultiple);
+		
+		this.budgetMultiple = budgetMultiple;
+	}
+	
+	public long getAbsoluteLimitNanos() {
+		return absoluteLimitNanos;
+	}
+	
+	/**
+	 * 모든 루틴 메소드에 적용되는 한계시간을 지정하는 메소드로 기본값은 30초이다.
+	 * @param absoluteLimitNanos 나노초 (0보다 커야 함)
+	 * */
+	public void setAbsoluteLimitNanos(long absoluteLimitNanos) {
+		if(absoluteLimitNanos <= 0l) throw new IllegalArgumentException("absoluteLimitNanos must be positive: "+absoluteLimitNanos);
+		
+		this.absoluteLimitNanos = absoluteLimitNanos;
+	}
+	
+	public long getCheckIntervalMillis() {
+		return checkIntervalMillis;
+	}
+	
+	/**
+	 * 검사 간격을 지정하는 메소드로 기본값은 100ms이다.
+	 * @param checkIntervalMillis 밀리초 (0보다 커야 함)
+	 * */
+	public void setCheckIntervalMillis(long checkIntervalMillis) {
+		if(checkIntervalMillis <= 0l) throw new IllegalArgumentException("checkIntervalMillis must be positive: "+checkIntervalMillis);
+		
+		this.checkIntervalMillis = checkIntervalMillis;
+	}
+	
+	public int getSampleCount() {
+		return sampleCount;
+	}
+	
+	/**
+	 * 스택 샘플 수와 간격을 지정하는 메소드로 기본값은 10ms 간격 3번이다.
+	 * @param sampleCount 샘플 수 (1 이상)
+	 * @param sampleIntervalMillis 샘플 간격(밀리초, 0 이상)
+	 * */
+	public void setSampling(int sampleCount, long sampleIntervalMillis) {
+		if(sampleCount < 1 || sampleIntervalMillis < 0l) throw new IllegalArgumentException("sampleCount: "+sampleCount+", sampleIntervalMillis: "+sampleIntervalMillis);
+		
+		this.sampleCount = sampleCount;
+		this.sampleIntervalMillis = sampleIntervalMillis;
+	}
+	
+	public long getSampleIntervalMillis() {
+		return sampleIntervalMillis;
+	}
+}
@@ -0,0 +1,100 @@
+package org.UEF.others;
+
+/**
+ * {@link TickTracker}의 특정 시점 측정값(틱 수, 초과 수, 실제 프레임, 지연 분포)을 담는 클래스
+ * */
+public class TickStats {
+	private final long frame;
+	private final long tickCount;
+	private final long overrunCount;
+	private final double ewmaFrame;
+	private final double windowFrame;
+	private final long lastLatenessNanos;
+	private final long lastTickAgeNanos;
+	private final LatencySnapshot lateness;
+	
+	public TickStats(long frame, long tickCount, long overrunCount, double ewmaFrame, double windowFrame,
+			long lastLatenessNanos, long lastTickAgeNanos, LatencySnapshot lateness) {
+		this.frame = frame;
+		this.tickCount = tickCount;
+		this.overrunCount = overrunCount;
+		this.ewmaFrame = ewmaFrame;
+		this.windowFrame = windowFrame;
+		this.lastLatenessNanos = lastLatenessNanos;
+		this.lastTickAgeNanos = lastTickAgeNanos;
+		this.lateness = lateness;
+	}
+	
+	/**
+	 * 측정할 때 지정되어 있던 프레임을 리턴하는 메소드
+	 * @return 지정 프레임
+	 * */
+	public long getFrame() {
+		return frame;
+	}
+	
+	public long getTickCount() {
+		return tickCount;
+	}
+	
+	/**
+	 * execute()의 실행시간이 주기보다 길었던 틱 수를 리턴하는 메소드
+	 * @return 초과된 틱 수
+	 * */
+	public long getOverrunCount() {
+		return overrunCount;
+	}
+	
+	/**
+	 * 틱 간격의 지수이동평균으로 계산한 실제 프레임을 리턴하는 메소드
+	 * @return 초당 틱 수 (측정값이 없으면 0)
+	 * */
+	public double getEwmaFrame() {
+		return ewmaFrame;
+	}
+	
+	/**
+	 * 마지막으로 끝난 구간({@link TickTracker#WINDOW_NANOS})의 실제 프레임을 리턴하는 메소드
+	 * @return 초당 틱 수 (끝난 구간이 없으면 0)
+	 * */
+	public double getWindowFrame() {
+		return windowFrame;
+	}
+	
+	/**
+	 * 지정 프레임 대비 실제 프레임의 비율을 리턴하는 메소드로 1.0에 가까울수록 프레임을 잘 지키고 있다.
+	 * @return 구간 프레임 / 지정 프레임 (구간 프레임이 없으면 지수이동평균 프레임 사용)
+	 * */
+	public double getFrameAccuracy() {
+		double real = windowFrame > 0.0? windowFrame: ewmaFrame;
+		
+		return frame <= 0? 0.0: real / frame;
+	}
+	
+	public long getLastLatenessNanos() {
+		return lastLatenessNanos;
+	}
+	
+	/**
+	 * 마지막 틱이 시작된 후 지난 시간을 리턴하는 메소드로 일시정지되었거나 멈춘 Leaf를 구분하는데 사용한다.
+	 * @return 지난 나노초 (기록된 틱이 없으면 -1)
+	 * */
+	public long getLastTickAgeNanos() {
+		return lastTickAgeNanos;
+	}
+	
+	/**
+	 * 틱 지연시간의 분포를 리턴하는 메소드
+	 * @return 지연시간 스냅샷
+	 * */
+	public LatencySnapshot getLateness() {
+		return lateness;
+	}
+	
+	@Override
+	public String toString() {
+		return "[frame: "+frame+", ewmaFrame: "+String.format("%.2f", ewmaFrame)+", windowFrame: "+String.format("%.2f", windowFrame)
+				+", ticks: "+tickCount+", overruns: "+overrunCount+", lateness p99: "+lateness.getValueAtPercentile(99) / 1_000
+				+"us, lateness max: "+lateness.getMaxNanos() / 1_000+"us]";
+	}
+}
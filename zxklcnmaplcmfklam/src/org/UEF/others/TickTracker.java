@@ -0,0 +1,137 @@
+package org.UEF.others;
+
+/**
+ * UEFLeaf의 execute() 주기(틱)마다 예정된 시작시간과 실제 시작시간을 비교하여 프레임을 지키고 있는지 측정하는 클래스<br>
+ * 한 스레드(UEFLeaf의 스레드)만 기록하며 다른 스레드는 {@link #snapshot()}으로 값을 읽는다.
+ * 기록할 때 잠금과 객체 생성이 없으므로 항상 켜두고 사용할 수 있다.
+ * <ul>
+ * <li>지연(lateness): 이전 틱의 시작시간 + 프레임에 따른 주기보다 늦게 시작한 시간 ({@link LatencyHistogram}에 기록)</li>
+ * <li>초과(overrun): execute()의 실행시간이 주기보다 길어 프레임을 지킬 수 없었던 틱</li>
+ * <li>실제 프레임: 틱 간격의 지수이동평균(EWMA)과 {@link #WINDOW_NANOS}마다 계산한 구간 프레임</li>
+ * </ul>
+ * */
+public class TickTracker {
+	// 구간 프레임을 계산하는 구간 길이(나노초)
+	public static long
+		WINDOW_NANOS = 1_000_000_000l;
+	
+	// 틱 간격 지수이동평균의 새로운 값 비중
+	public static double
+		EWMA_ALPHA = 0.2;
+	
+	private final LatencyHistogram
+		latenessHistogram = new LatencyHistogram();
+	
+	/*
+	 * 이전 틱의 시작시간 (연속된 틱이 아니면 0)
+	 * 이전 틱의 주기
+	 * */
+	private long
+		lastStartNanos = 0l,
+		lastPeriodNanos = 0l;
+	
+	/*
+	 * 현재 구간의 시작시간과 틱 수
+	 * */
+	private long
+		windowStartNanos = 0l,
+		windowTicks = 0l;
+	
+	/*
+	 * 기록된 틱 수, 초과된 틱 수
+	 * 마지막 틱의 시작시간, 마지막 틱의 지연시간
+	 * 틱 간격의 지수이동평균(나노초), 마지막 구간 프레임
+	 * */
+	private volatile long
+		tickCount = 0l,
+		overrunCount = 0l,
+		lastTickNanos = 0l,
+		lastLatenessNanos = 0l;
+	private volatile double
+		ewmaIntervalNanos = 0.0,
+		windowFrame = 0.0;
+	
+	/**
+	 * execute() 틱 하나를 기록하는 메소드
+	 * @param startNanos 틱의 시작시간 ({@link System#nanoTime()})
+	 * @param periodNanos 프레임에 따른 틱의 주기
+	 * @param executeNanos execute()의 실행시간
+	 * */
+	public void record(long startNanos, long periodNanos, long executeNanos) {
+		if(lastStartNanos != 0l) {
+			long interval = startNanos - lastStartNanos;
+			long lateness = Math.max(0l, startNanos - (lastStartNanos + lastPeriodNanos));
+			
+			latenessHistogram.record(lateness);
+			lastLatenessNanos = lateness;
+			ewmaIntervalNanos = ewmaIntervalNanos == 0.0? interval: EWMA_ALPHA * interval + (1.0 - EWMA_ALPHA) * ewmaIntervalNanos;
+		}
+		
+		if(windowStartNanos == 0l) windowStartNanos = startNanos;
+		else if(startNanos - windowStartNanos >= WINDOW_NANOS) {
+			windowFrame = windowTicks * 1e9 / (startNanos - windowStartNanos);
+			windowStartNanos = startNanos;
+			windowTicks = 0l;
+		}
+		
+		windowTicks++;
+		
+		if(executeNanos > periodNanos) overrunCount++;
+		
+		tickCount++;
+		lastStartNanos = startNanos;
+		lastPeriodNanos = periodNanos;
+		lastTickNanos = startNanos;
+	}
+	
+	/**
+	 * 틱이 이어지지 않았음을 알리는 메소드로 execute()가 아닌 루틴이 실행되면 호출된다. (일시정지 시간이 지연으로 기록되지 않도록 함)
+	 * */
+	public void breakChain() {
+		lastStartNanos = 0l;
+		windowStartNanos = 0l;
+		windowTicks = 0l;
+	}
+	
+	/**
+	 * 현재까지의 측정값으로 스냅샷을 만드는 메소드
+	 * @param frame 현재 지정된 프레임
+	 * @return 측정값을 담은 {@link TickStats}
+	 * */
+	public TickStats snapshot(long frame) {
+		double ewma = ewmaIntervalNanos;
+		
+		return new TickStats(frame, tickCount, overrunCount, ewma == 0.0? 0.0: 1e9 / ewma, windowFrame,
+				lastLatenessNanos, lastTickNanos == 0l? -1l: System.nanoTime() - lastTickNanos, latenessHistogram.snapshot());
+	}
+	
+	public long getTickCount() {
+		return tickCount;
+	}
+	
+	public long getOverrunCount() {
+		return overrunCount;
+	}
+	
+	/**
+	 * 마지막 틱의 지연시간을 리턴하는 메소드로 스냅샷을 만들지 않고 현재 틱의 지연만 확인할 때 사용한다.
+	 * @return 지연 나노초 (이어진 틱이 없었으면 마지막으로 기록된 값)
+	 * */
+	public long getLastLatenessNanos() {
+		return lastLatenessNanos;
+	}
+	
+	/**
+	 * 측정값을 모두 지우는 메소드
+	 * */
+	public void reset() {
+		breakChain();
+		latenessHistogram.reset();
+		tickCount = 0l;
+		overrunCount = 0l;
+		lastTickNanos = 0l;
+		lastLatenessNanos = 0l;
+		ewmaIntervalNanos = 0.0;
+		windowFrame = 0.0;
+	}
+}
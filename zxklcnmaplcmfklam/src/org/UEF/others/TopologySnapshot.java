@@ -0,0 +1,327 @@
+package org.UEF.others;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * UEFManager가 관리하는 구조(Branch, Leaf, 프레임, 설정값, 트리거 상태, 의존관계)를 한번에 저장하고 읽어오기 위한 바이너리 스냅샷 클래스<br>
+ * 명령을 하나씩 기록하는 {@link OrderJournal}과 달리 현재 구조만을 기록하며 복구시 명령 큐를 거치지 않고 한번에 구조를 만드는데 사용된다.
+ * <ul>
+ * <b>파일 형태</b>
+ * <li>헤더 - [MAGIC(int), VERSION(int), 프레임(long)]</li>
+ * <li>클래스 이름 테이블 - [개수(int), 이름...] (Leaf들은 같은 클래스를 공유하는 경우가 많으므로 번호로 기록한다.)</li>
+ * <li>Branch - [개수(int)] 이후 [클래스 번호(int), 이름, 프레임(long), 설정값(byte), 트리거 상태(byte), Leaf 개수(int), Leaf...]</li>
+ * <li>Leaf - [클래스 번호(int), 이름, 프레임(long), 설정값(byte), 트리거 상태(byte)]</li>
+ * <li>의존관계 - [개수(int)] 이후 [의존하는 Cell, 의존 대상 Cell]</li>
+ * <li>Cell 참조 - [Branch 이름, Leaf 여부(boolean), Leaf 이름(Leaf인 경우)] (스냅샷에 기록된 Cell 사이의 의존관계만 기록한다.)</li>
+ * </ul>
+ * */
+public class TopologySnapshot {
+	// 파일 구분값 'UES1'
+	public static final int
+		MAGIC = 0x55455331,
+		VERSION = 2;
+	
+	/**
+	 * 스냅샷에 기록된 Branch 하나와 그 Branch에 소속된 Leaf들의 정보
+	 * */
+	public static class BranchEntry {
+		private final CellDescriptor branch;
+		private final RoutineTriggerStatus trigger;
+		private final List<CellDescriptor> leafList = new ArrayList<CellDescriptor>();
+		
+		private BranchEntry(CellDescriptor branch, RoutineTriggerStatus trigger) {
+			this.branch = branch;
+			this.trigger = trigger;
+		}
+		
+		/**
+		 * Branch에 소속된 Leaf 정보를 추가하는 메소드
+		 * @param leaf 추가할 Leaf 정보
+		 * */
+		public void addLeaf(CellDescriptor leaf) {
+			if(leaf == null) throw new NullPointerException("leaf is null");
+			
+			leafList.add(leaf);
+		}
+		
+		public CellDescriptor getBranch() {
+			return branch;
+		}
+		
+		public RoutineTriggerStatus getTrigger() {
+			return trigger;
+		}
+		
+		public List<CellDescriptor> getLeaves() {
+			return leafList;
+		}
+	}
+	
+	/**
+	 * 스냅샷에 기록된 UEFCell을 Branch 이름과 Leaf 이름으로 가리키는 참조
+	 * */
+	public static class CellReference {
+		private final String branchName;
+		private final String leafName;
+		
+		/**
+		 * @param branchName Cell이 Branch면 그 이름, Leaf면 소속된 Branch 이름
+		 * @param leafName Leaf 이름 (Branch를 가리키면 null)
+		 * */
+		public CellReference(String branchName, String leafName) {
+			if(branchName == null) throw new NullPointerException("branchName is null");
+			
+			this.branchName = branchName;
+			this.leafName = leafName;
+		}
+		
+		public String getBranchName() {
+			return branchName;
+		}
+		
+		public String getLeafName() {
+			return leafName;
+		}
+		
+		public boolean isLeaf() {
+			return leafName != null;
+		}
+		
+		@Override
+		public String toString() {
+			return leafName == null? branchName: branchName+"/"+leafName;
+		}
+	}
+	
+	/**
+	 * 스냅샷에 기록된 의존관계 하나 (dependent가 target에 의존)
+	 * */
+	public static class DependencyEntry {
+		private final CellReference dependent;
+		private final CellReference target;
+		
+		private DependencyEntry(CellReference dependent, CellReference target) {
+			this.dependent = dependent;
+			this.target = target;
+		}
+		
+		public CellReference getDependent() {
+			return dependent;
+		}
+		
+		public CellReference getTarget() {
+			return target;
+		}
+	}
+	
+	private final long frame;
+	private final List<BranchEntry> branchList = new ArrayList<BranchEntry>();
+	private final List<DependencyEntry> dependencyList = new ArrayList<DependencyEntry>();
+	
+	/**
+	 * 런타임의 프레임을 가지는 빈 스냅샷을 만드는 생성자
+	 * @param frame 런타임(UEFManager)의 프레임
+	 * */
+	public TopologySnapshot(long frame) {
+		this.frame = frame;
+	}
+	
+	/**
+	 * 스냅샷에 Branch 정보를 추가하는 메소드
+	 * @param branch 추가할 Branch 정보
+	 * @param trigger Branch의 트리거 상태
+	 * @return 추가된 Branch 항목 (Leaf 정보를 추가하는데 사용)
+	 * */
+	public BranchEntry addBranch(CellDescriptor branch, RoutineTriggerStatus trigger) {
+		if(branch == null) throw new NullPointerException("branch is null");
+		else if(trigger == null) throw new NullPointerException("trigger is null");
+		
+		BranchEntry result = new BranchEntry(branch, trigger);
+		
+		branchList.add(result);
+		
+		return result;
+	}
+	
+	/**
+	 * 스냅샷에 의존관계를 추가하는 메소드
+	 * @param dependent 의존하는 Cell
+	 * @param target 의존 대상 Cell
+	 * */
+	public void addDependency(CellReference dependent, CellReference target) {
+		if(dependent == null) throw new NullPointerException("dependent is null");
+		else if(target == null) throw new NullPointerException("target is null");
+		
+		dependencyList.add(new DependencyEntry(dependent, target));
+	}
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	public List<BranchEntry> getBranches() {
+		return branchList;
+	}
+	
+	public List<DependencyEntry> getDependencies() {
+		return dependencyList;
+	}
+	
+	/**
+	 * 스냅샷에 기록된 전체 UEFCell 수를 리턴하는 메소드
+	 * @return Branch와 Leaf 수의 합
+	 * */
+	public int getCellCount() {
+		int result = branchList.size();
+		
+		for(BranchEntry entry: branchList) result += entry.leafList.size();
+		
+		return result;
+	}
+	
+	/**
+	 * 스냅샷을 path에 기록하는 메소드로 임시 파일에 기록한 뒤 원래 파일을 교체하므로 기록 도중 종료되어도 이전 스냅샷은 유지된다.
+	 * @param path 기록할 파일 경로
+	 * @throws IOException 기록에 실패한 경우
+	 * */
+	public void write(Path path) throws IOException {
+		Path tempPath = path.resolveSibling(path.getFileName()+".tmp");
+		Map<String, Integer> classIndex = new HashMap<String, Integer>();
+		List<String> classList = new ArrayList<String>();
+		
+		// 클래스 이름 테이블 만들기
+		for(BranchEntry entry: branchList) {
+			indexClass(entry.branch.getClassName(), classIndex, classList);
+			
+			for(CellDescriptor leaf: entry.leafList) indexClass(leaf.getClassName(), classIndex, classList);
+		}
+		
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(frame);
+			
+			out.writeInt(classList.size());
+			for(String className: classList) out.writeUTF(className);
+			
+			out.writeInt(branchList.size());
+			for(BranchEntry entry: branchList) {
+				writeCell(out, entry.branch, classIndex);
+				out.writeByte(entry.trigger.ordinal());
+				out.writeInt(entry.leafList.size());
+				
+				for(CellDescriptor leaf: entry.leafList) {
+					writeCell(out, leaf, classIndex);
+					out.writeByte(leaf.getTrigger().ordinal());
+				}
+			}
+			
+			out.writeInt(dependencyList.size());
+			for(DependencyEntry entry: dependencyList) {
+				writeReference(out, entry.dependent);
+				writeReference(out, entry.target);
+			}
+		}
+		
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * path에 기록된 스냅샷을 읽어오는 메소드
+	 * @param path 읽어올 파일 경로
+	 * @return 읽어온 스냅샷
+	 * @throws IOException 파일을 읽지 못했거나 스냅샷 파일이 아닌 경우
+	 * */
+	public static TopologySnapshot read(Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+			if(in.readInt() != MAGIC) throw new IOException(path+" is not a topology snapshot");
+			else if(in.readInt() != VERSION) throw new IOException(path+" has unsupported snapshot version");
+			
+			TopologySnapshot result = new TopologySnapshot(in.readLong());
+			RoutineTriggerStatus[] triggers = RoutineTriggerStatus.values();
+			String[] classNames = new String[in.readInt()];
+			
+			for(int i = 0; i < classNames.length; i++) classNames[i] = in.readUTF();
+			
+			int branchCount = in.readInt();
+			
+			for(int i = 0; i < branchCount; i++) {
+				CellDescriptor branch = readCell(in, true, classNames, null);
+				BranchEntry entry = result.addBranch(branch, readTrigger(in, triggers));
+				int leafCount = in.readInt();
+				
+				for(int j = 0; j < leafCount; j++) entry.leafList.add(readCell(in, false, classNames, triggers));
+			}
+			
+			int dependencyCount = in.readInt();
+			
+			for(int i = 0; i < dependencyCount; i++) result.addDependency(readReference(in), readReference(in));
+			
+			return result;
+		}
+	}
+	
+	private static void indexClass(String className, Map<String, Integer> classIndex, List<String> classList) {
+		if(!classIndex.containsKey(className)) {
+			classIndex.put(className, classList.size());
+			classList.add(className);
+		}
+	}
+	
+	private static void writeCell(DataOutputStream out, CellDescriptor cell, Map<String, Integer> classIndex) throws IOException {
+		out.writeInt(classIndex.get(cell.getClassName()));
+		out.writeUTF(cell.getName());
+		out.writeLong(cell.getFrame());
+		out.writeByte(cell.getFlags());
+	}
+	
+	private static void writeReference(DataOutputStream out, CellReference reference) throws IOException {
+		out.writeUTF(reference.branchName);
+		out.writeBoolean(reference.isLeaf());
+		
+		if(reference.isLeaf()) out.writeUTF(reference.leafName);
+	}
+	
+	private static CellReference readReference(DataInputStream in) throws IOException {
+		String branchName = in.readUTF();
+		
+		return new CellReference(branchName, in.readBoolean()? in.readUTF(): null);
+	}
+	
+	private static RoutineTriggerStatus readTrigger(DataInputStream in, RoutineTriggerStatus[] triggers) throws IOException {
+		int trigger = in.readByte();
+		
+		if(trigger < 0 || trigger >= triggers.length) throw new IOException("Broken snapshot trigger "+trigger);
+		
+		return triggers[trigger];
+	}
+	
+	/**
+	 * @param triggers null이 아니면 설정값 뒤에 기록된 트리거 상태를 함께 읽음 (Leaf)
+	 * */
+	private static CellDescriptor readCell(DataInputStream in, boolean isBranch, String[] classNames, RoutineTriggerStatus[] triggers) throws IOException {
+		int classNumber = in.readInt();
+		
+		if(classNumber < 0 || classNumber >= classNames.length) throw new IOException("Broken snapshot class index "+classNumber);
+		
+		String name = in.readUTF();
+		long frame = in.readLong();
+		byte flags = in.readByte();
+		RoutineTriggerStatus trigger = triggers == null? RoutineTriggerStatus.NEW: readTrigger(in, triggers);
+		
+		return new CellDescriptor(isBranch, classNames[classNumber], name, frame, flags, trigger);
+	}
+}
@@ -0,0 +1,72 @@
+package org.UEF.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.tests.SnapshotStartupBenchmark.IdleLeaf;
+
+/**
+ * 100,000개의 Leaf를 1,000개의 Branch에 등록할 때 Leaf마다 명령을 보내는 경우와 하나의 명령으로 한번에 등록하는 경우를 비교하는 벤치마크
+ * */
+public class BulkRegistBenchmark {
+	static final int
+		BRANCH_COUNT = 1_000,
+		LEAF_PER_BRANCH = 100;
+	
+	public static void main(String[] args) throws Exception {
+		// Leaf마다 명령을 보내는 경우
+		UEFManager single = UEFManager.create("SingleRegist", UEFManager.UNLIMITED_THREAD_BUDGET);
+		Map<String, List<UEFLeaf>> leafMap = createLeaves(single);
+		
+		single.launch();
+		
+		long start = System.nanoTime();
+		
+		for(Map.Entry<String, List<UEFLeaf>> entry: leafMap.entrySet()) {
+			for(UEFLeaf leaf: entry.getValue()) single.regist(leaf, entry.getKey());
+		}
+		
+		// 명령은 순서대로 처리되므로 빈 묶음의 결과를 기다리면 앞의 등록이 모두 끝난것
+		single.registAll(Collections.<String, List<UEFLeaf>>emptyMap()).getResult();
+		
+		long singleMillis = (System.nanoTime() - start) / 1_000_000;
+		
+		// 하나의 명령으로 등록하는 경우
+		UEFManager batch = UEFManager.create("BatchRegist", UEFManager.UNLIMITED_THREAD_BUDGET);
+		
+		leafMap = createLeaves(batch);
+		batch.launch();
+		
+		start = System.nanoTime();
+		
+		int registered = batch.registAll(leafMap).getResult();
+		
+		long batchMillis = (System.nanoTime() - start) / 1_000_000;
+		
+		System.out.println("leaves: "+BRANCH_COUNT * LEAF_PER_BRANCH+", branches: "+BRANCH_COUNT+", batch registered: "+registered);
+		System.out.println("regist per leaf: "+singleMillis+"ms");
+		System.out.println("registAll: "+batchMillis+"ms");
+		
+		single.exit(false);
+		batch.exit(true);
+	}
+	
+	private static Map<String, List<UEFLeaf>> createLeaves(UEFManager runtime) {
+		Map<String, List<UEFLeaf>> result = new HashMap<String, List<UEFLeaf>>();
+		
+		for(int i = 0; i < BRANCH_COUNT; i++) {
+			List<UEFLeaf> leafList = new ArrayList<UEFLeaf>(LEAF_PER_BRANCH);
+			
+			for(int j = 0; j < LEAF_PER_BRANCH; j++) leafList.add(new IdleLeaf("leaf"+j, runtime));
+			
+			result.put("branch"+i, leafList);
+		}
+		
+		return result;
+	}
+}
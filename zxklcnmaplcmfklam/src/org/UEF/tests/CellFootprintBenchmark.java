@@ -0,0 +1,53 @@
+package org.UEF.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFManager;
+import org.UEF.tests.SnapshotStartupBenchmark.IdleLeaf;
+
+/**
+ * 실행되지 않는 UEFLeaf를 많이 만들었을 때 객체 하나가 차지하는 힙 크기와 만드는데 걸리는 시간을 측정하는 벤치마크
+ * */
+public class CellFootprintBenchmark {
+	static final int
+		CELL_COUNT = 100_000;
+	
+	public static void main(String[] args) throws Exception {
+		UEFManager runtime = UEFManager.create("FootprintRuntime", UEFManager.UNLIMITED_THREAD_BUDGET);
+		List<IdleLeaf> pool = new ArrayList<IdleLeaf>(CELL_COUNT);
+		
+		long before = usedMemory();
+		long start = System.nanoTime();
+		
+		for(int i = 0; i < CELL_COUNT; i++) {
+			pool.add(new IdleLeaf("leaf"+i, runtime));
+		}
+		
+		long createMillis = (System.nanoTime() - start) / 1_000_000;
+		long after = usedMemory();
+		
+		// 이름 문자열과 풀 리스트를 포함한 값
+		System.out.println("cells: "+pool.size()+", create: "+createMillis+"ms");
+		System.out.println("idle cell: "+(after - before) / CELL_COUNT+" bytes");
+		System.out.println("idle report: "+pool.get(0).getFootprintReport());
+		
+		// 로그를 한번 남기면 로거만 만들어짐
+		pool.get(1).log(Level.FINE, "footprint");
+		System.out.println("logged report: "+pool.get(1).getFootprintReport());
+		
+		runtime.exit(true);
+	}
+	
+	private static long usedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
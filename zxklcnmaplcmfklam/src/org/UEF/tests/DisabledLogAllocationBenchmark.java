@@ -0,0 +1,134 @@
+package org.UEF.tests;
+
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.others.ResourceMeter;
+
+/**
+ * execute() 안에서 꺼진 레벨(FINE)의 로그를 남길 때 호출 방식별로 할당되는 바이트를 측정하는 벤치마크<br>
+ * 방식마다 {@link #WARMUP_TICKS}틱 동안 JIT 컴파일을 기다린 뒤 {@link #MEASURE_TICKS}틱 동안 틱마다 {@link #CALLS}번 호출하며
+ * 할당량은 execute() 스레드의 {@link ResourceMeter#currentAllocatedBytes()}로 측정한다. (측정 자체의 할당은 EMPTY로 보정)
+ * */
+public class DisabledLogAllocationBenchmark {
+	static final int
+		FRAME = 200,
+		CALLS = 1_000,
+		WARMUP_TICKS = 200,
+		MEASURE_TICKS = 200;
+	
+	enum Style {
+		// 측정 보정용 (로그 호출 없음)
+		EMPTY,
+		// 이전 방식: 문자열을 만든 뒤 호출
+		CONCAT,
+		SUPPLIER,
+		PATTERN_1,
+		PATTERN_3
+	}
+	
+	// 캡처하지 않는 Supplier는 한번만 만들어짐
+	static final Supplier<String>
+		TICK_MESSAGE = () -> "tick";
+	
+	public static class LoggingLeaf extends UEFLeaf {
+		volatile Style style = Style.EMPTY;
+		volatile int ticks = 0;
+		volatile long allocatedBytes = 0l;
+		
+		public LoggingLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+		
+		@Override
+		public void init() {}
+		
+		@Override
+		public void ready() {}
+		
+		@Override
+		public void execute() {
+			Style tempStyle = style;
+			long before = ResourceMeter.currentAllocatedBytes();
+			
+			for(int i = 0; i < CALLS; i++) {
+				switch(tempStyle) {
+					case EMPTY:
+						break;
+					
+					case CONCAT:
+						log(Level.FINE, "tick "+this+" frame "+getFrame());
+						break;
+					
+					case SUPPLIER:
+						log(Level.FINE, TICK_MESSAGE);
+						break;
+					
+					case PATTERN_1:
+						log(Level.FINE, "tick {}", this);
+						break;
+					
+					case PATTERN_3:
+						log(Level.FINE, "tick {} status {} trigger {}", this, getCurrentStatus(), getCurrentTriggerStatus());
+						break;
+				}
+			}
+			
+			long after = ResourceMeter.currentAllocatedBytes();
+			int tempTicks = ++ticks;
+			
+			// 워밍업이 끝난 틱만 합산 (일시정지가 적용되기 전의 틱은 제외)
+			if(tempTicks > WARMUP_TICKS && tempTicks <= WARMUP_TICKS + MEASURE_TICKS) allocatedBytes += after - before;
+		}
+		
+		@Override
+		public void pause() {}
+		
+		@Override
+		public void stop() {}
+		
+		@Override
+		public void destroy() {}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		if(!ResourceMeter.isAllocationSupported()) {
+			System.out.println("thread allocation measurement is not supported on this JVM");
+			return;
+		}
+		
+		UEFManager runtime = UEFManager.create("DisabledLogAllocation", UEFManager.UNLIMITED_THREAD_BUDGET);
+		LoggingLeaf leaf = new LoggingLeaf("logging", runtime);
+		double overhead = 0.0;
+		
+		runtime.launch();
+		runtime.regist(leaf, "bench");
+		runtime.setFrame(FRAME);
+		
+		// 기본 레벨(INFO)에서 FINE은 꺼져 있음
+		System.out.println("FINE loggable: "+leaf.isLoggable(Level.FINE));
+		
+		for(Style style: Style.values()) {
+			leaf.style = style;
+			leaf.allocatedBytes = 0l;
+			leaf.ticks = 0;
+			
+			runtime.requestExecute();
+			
+			while(leaf.ticks < WARMUP_TICKS + MEASURE_TICKS) Thread.sleep(10);
+			
+			runtime.requestPause();
+			Thread.sleep(100);
+			
+			double perTick = (double) leaf.allocatedBytes / MEASURE_TICKS;
+			
+			if(style == Style.EMPTY) overhead = perTick;
+			
+			System.out.println(String.format("%-10s %10.1f bytes/tick %8.3f bytes/call", style, perTick - overhead, (perTick - overhead) / CALLS));
+		}
+		
+		runtime.exit(true);
+	}
+}
@@ -0,0 +1,126 @@
+package org.UEF.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.RoutineStatus;
+import org.UEF.others.LatencySnapshot;
+import org.UEF.others.LogRateLimiter;
+
+/**
+ * 하나의 Branch에 속한 모든 Leaf가 매 틱마다 같은 경고를 Branch의 Logger(FileHandler)로 남기는 경우
+ * 로그 제한({@link LogRateLimiter})이 없을 때와 있을 때의 execute() 시간과 처리한 틱 수를 비교하는 벤치마크
+ * */
+public class LogStormBenchmark {
+	static final int
+		LEAF_COUNT = 200,
+		FRAME = 100;
+	
+	static final long
+		WARMUP_MILLIS = 1_000l,
+		MEASURE_MILLIS = 3_000l;
+	
+	public static class FailingLeaf extends UEFLeaf {
+		volatile long ticks = 0l;
+		
+		public FailingLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+		
+		@Override
+		public void init() {}
+		
+		@Override
+		public void ready() {}
+		
+		@Override
+		public void execute() {
+			ticks++;
+			log(Level.WARNING, "upstream {} is not responding (retry {})", "db-primary", 3);
+		}
+		
+		@Override
+		public void pause() {}
+		
+		@Override
+		public void stop() {}
+		
+		@Override
+		public void destroy() {}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		// execute() 시간을 비교하기 위해 실행시간 히스토그램을 기록
+		UEFLeaf.setLatencyHistogramEnabled(true);
+		
+		Path directory = Files.createTempDirectory("uef-log-storm");
+		
+		measure("unlimited", directory, null, false);
+		System.out.println("log files: "+directory);
+		
+		measure("limited", directory, new LogRateLimiter(10.0, 20), true);
+	}
+	
+	static void measure(String name, Path directory, LogRateLimiter limiter, boolean endProcess) throws Exception {
+		UEFManager runtime = UEFManager.create("LogStorm-"+name, UEFManager.UNLIMITED_THREAD_BUDGET);
+		UEFBranch branch = new UEFBranch("storm", runtime) {};
+		FailingLeaf[] leaves = new FailingLeaf[LEAF_COUNT];
+		Path path = directory.resolve(name+".log");
+		FileHandler handler = new FileHandler(path.toString(), false);
+		
+		handler.setFormatter(UEFCell.COMMON_FORMATTER);
+		handler.setEncoding("UTF-8");
+		branch.getLogger().addHandler(handler);
+		branch.setLogRateLimiter(limiter);
+		
+		runtime.launch();
+		runtime.regist(branch);
+		
+		for(int i = 0; i < LEAF_COUNT; i++) {
+			leaves[i] = new FailingLeaf("leaf"+i, runtime);
+			runtime.regist(leaves[i], branch);
+		}
+		
+		// 명령은 순서대로 처리되므로 빈 묶음의 결과를 기다리면 앞의 등록이 모두 끝난것
+		runtime.registAll(Collections.<String, List<UEFLeaf>>emptyMap()).getResult();
+		runtime.setFrame(FRAME);
+		runtime.requestExecute();
+		
+		Thread.sleep(WARMUP_MILLIS);
+		
+		// 워밍업 구간을 넘김
+		branch.getIntervalLatencySnapshot(RoutineStatus.EXECUTE);
+		
+		long before = 0l;
+		
+		for(FailingLeaf leaf: leaves) before += leaf.ticks;
+		
+		Thread.sleep(MEASURE_MILLIS);
+		
+		long after = 0l;
+		
+		for(FailingLeaf leaf: leaves) after += leaf.ticks;
+		
+		LatencySnapshot snapshot = branch.getIntervalLatencySnapshot(RoutineStatus.EXECUTE);
+		
+		runtime.requestPause();
+		
+		if(limiter != null) branch.flushLogSummaries();
+		
+		handler.close();
+		
+		System.out.println(String.format("%-10s %,10.0f ticks/s (ideal %,d) execute mean %,8d ns p99 %,10d ns max %,12d ns log file %,12d bytes%s",
+			name, (after - before) * 1_000.0 / MEASURE_MILLIS, LEAF_COUNT * FRAME, snapshot.getMeanNanos(), snapshot.getValueAtPercentile(99.0), snapshot.getMaxNanos(), Files.size(path),
+			limiter == null? "": " "+limiter));
+		
+		runtime.exit(endProcess);
+	}
+}
@@ -0,0 +1,87 @@
+package org.UEF.tests;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.UEF.core.UEFCell;
+import org.UEF.others.MappedLogHandler;
+
+/**
+ * 같은 형식({@link UEFCell#COMMON_FORMATTER})의 로그를 java.util.logging.FileHandler와 {@link MappedLogHandler}로 남길 때의 처리량을 비교하는 벤치마크<br>
+ * Handler마다 {@link #WARMUP_RECORDS}개를 남겨 JIT 컴파일을 기다린 뒤 {@link #RECORDS}개를 남기는 시간과 close()까지의 시간을 측정한다.
+ * */
+public class MappedLogHandlerBenchmark {
+	static final int
+		WARMUP_RECORDS = 50_000,
+		RECORDS = 500_000,
+		ROUNDS = 3;
+	
+	static final long
+		SEGMENT_BYTES = 16l << 20;
+	
+	interface HandlerFactory {
+		Handler create(Path directory) throws IOException;
+	}
+	
+	public static void main(String[] args) throws Exception {
+		Path directory = Files.createTempDirectory("uef-mapped-log");
+		
+		for(int round = 0; round < ROUNDS; round++) {
+			measure("FileHandler", directory.resolve("file"+round), path -> {
+				Files.createDirectories(path);
+				
+				FileHandler handler = new FileHandler(path.resolve("bench-%g.log").toString(), (int) SEGMENT_BYTES, 1_000, false);
+				
+				handler.setFormatter(UEFCell.COMMON_FORMATTER);
+				handler.setEncoding("UTF-8");
+				
+				return handler;
+			});
+			
+			measure("MappedLogHandler", directory.resolve("mapped"+round), path -> new MappedLogHandler(path, "bench", SEGMENT_BYTES, 0l));
+		}
+		
+		System.out.println("log files: "+directory);
+	}
+	
+	static void measure(String name, Path directory, HandlerFactory factory) throws IOException {
+		Handler handler = factory.create(directory);
+		
+		for(int i = 0; i < WARMUP_RECORDS; i++) handler.publish(record(i));
+		
+		long start = System.nanoTime();
+		
+		for(int i = 0; i < RECORDS; i++) handler.publish(record(i));
+		
+		long published = System.nanoTime();
+		
+		handler.close();
+		
+		long closed = System.nanoTime();
+		long bytes = 0l;
+		
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for(Path path: files) {
+				if(!path.toString().endsWith(".lck")) bytes += Files.size(path);
+			}
+		}
+		
+		double seconds = (published - start) / 1e9;
+		
+		System.out.println(String.format("%-16s %,12.0f records/s %8.1f MB/s %8.3f ms/close %,14d bytes", name, RECORDS / seconds, bytes / seconds / (1 << 20), (closed - published) / 1e6, bytes));
+	}
+	
+	static LogRecord record(int index) {
+		LogRecord record = new LogRecord(Level.INFO, "[Leaf] branch/leaf"+(index & 63)+": tick "+index+" status EXECUTE trigger EXECUTE\n");
+		
+		record.setLoggerName("bench");
+		
+		return record;
+	}
+}
@@ -0,0 +1,100 @@
+package org.UEF.tests;
+
+import java.util.Collections;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.RoutineTriggerStatus;
+
+/**
+ * 런타임을 시작하기 전에 등록한 뒤 바로 요청한 경우 등록이 먼저 처리되는지 확인하는 테스터<br>
+ * (CONTROL 줄의 요청이 먼저 들어온 CONFIG 줄의 등록을 넘어서면 요청할 Branch가 없어 요청이 사라짐)
+ * 모든 경우가 통과하면 0, 하나라도 실패하면 1로 종료한다.
+ * */
+public class OrderCausalityTester {
+	static final int
+		FRAME = 100;
+
+	static final long
+		WAIT_MILLIS = 1_000l;
+
+	public static class CountingLeaf extends UEFLeaf {
+		volatile int ticks = 0;
+
+		public CountingLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+
+		@Override
+		public void init() {}
+
+		@Override
+		public void ready() {}
+
+		@Override
+		public void execute() {
+			ticks++;
+		}
+
+		@Override
+		public void pause() {}
+
+		@Override
+		public void stop() {}
+
+		@Override
+		public void destroy() {}
+	}
+
+	public static void main(String[] args) throws Exception {
+		boolean passed = true;
+
+		// 이름으로 등록한 뒤 전체 요청
+		UEFManager named = UEFManager.create("CausalityNamed", UEFManager.UNLIMITED_THREAD_BUDGET);
+		CountingLeaf namedLeaf = new CountingLeaf("leaf", named);
+
+		named.regist(namedLeaf, "bench");
+		named.setFrame(FRAME);
+		named.requestExecute();
+		named.launch();
+
+		passed &= check("regist(leaf, name) -> requestExecute()", named, namedLeaf);
+
+		// 묶음으로 등록한 뒤 패턴 요청
+		UEFManager batch = UEFManager.create("CausalityBatch", UEFManager.UNLIMITED_THREAD_BUDGET);
+		CountingLeaf batchLeaf = new CountingLeaf("leaf", batch);
+
+		batch.registAll(Collections.singletonMap("batch", Collections.singletonList(batchLeaf)));
+		batch.setFrame(FRAME);
+		batch.requestTrigger(RoutineTriggerStatus.EXECUTE, "^batch$");
+		batch.launch();
+
+		passed &= check("registAll() -> requestTrigger(^batch$)", batch, batchLeaf);
+
+		// 기본 Branch에 등록한 뒤 전체 요청
+		UEFManager standard = UEFManager.create("CausalityDefault", UEFManager.UNLIMITED_THREAD_BUDGET);
+		CountingLeaf defaultLeaf = new CountingLeaf("leaf", standard);
+
+		standard.regist(defaultLeaf);
+		standard.setFrame(FRAME);
+		standard.requestExecute();
+		standard.launch();
+
+		passed &= check("regist(leaf) -> requestExecute()", standard, defaultLeaf);
+
+		System.out.println(passed? "PASSED": "FAILED");
+		System.exit(passed? 0: 1);
+	}
+
+	static boolean check(String name, UEFManager runtime, CountingLeaf leaf) throws InterruptedException {
+		Thread.sleep(WAIT_MILLIS);
+
+		boolean result = leaf.getCurrentTriggerStatus() == RoutineTriggerStatus.EXECUTE && leaf.ticks > 0;
+
+		System.out.println(String.format("%-40s leafTrigger=%s ticks=%d %s", name, leaf.getCurrentTriggerStatus(), leaf.ticks, result? "ok": "FAILED"));
+
+		runtime.exit(false);
+
+		return result;
+	}
+}
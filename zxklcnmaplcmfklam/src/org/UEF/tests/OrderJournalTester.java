@@ -0,0 +1,208 @@
+package org.UEF.tests;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.UEF.core.UEFBranch;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.CoreOrderNumber;
+import org.UEF.enu.RoutineTriggerStatus;
+import org.UEF.others.CellDescriptor;
+import org.UEF.others.Order;
+import org.UEF.others.OrderJournal;
+import org.UEF.others.ResultWaitter;
+
+/**
+ * 저널에 명령을 기록하고 다시 열어 읽은 뒤 새로운 런타임에서 복구하는 테스터<br>
+ * (다시 열기, 손상된 기록에서 멈추기, 압축, 완성되지 않은 압축 임시 파일 무시, 런타임 복구를 순서대로 확인한다.)
+ * 모든 경우가 통과하면 0, 하나라도 실패하면 1로 종료한다.
+ * */
+public class OrderJournalTester {
+	static final long
+		WAIT_MILLIS = 1_000l;
+
+	public static class CountingLeaf extends UEFLeaf {
+		volatile int ticks = 0;
+
+		public CountingLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+
+		@Override
+		public void init() {}
+
+		@Override
+		public void ready() {}
+
+		@Override
+		public void execute() {
+			ticks++;
+		}
+
+		@Override
+		public void pause() {}
+
+		@Override
+		public void stop() {}
+
+		@Override
+		public void destroy() {}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Path directory = Files.createTempDirectory("uef-journal");
+		Path path = directory.resolve("orders.journal");
+		boolean passed = true;
+
+		// 기록한 뒤 다시 열기
+		OrderJournal journal = new OrderJournal(path);
+
+		for(Order order: createOrders()) journal.append(order);
+
+		journal.close();
+		journal = new OrderJournal(path);
+
+		List<Order> orders = journal.readAll();
+
+		passed &= check("append -> close -> reopen", orders.size() == 4 && journal.getRecordCount() == 4
+				&& orders.get(0).getOrderNumber() == CoreOrderNumber.SET_FRAME.getValue() && Long.valueOf(50l).equals(orders.get(0).getMap().get("arg0"))
+				&& leafTrigger(orders.get(3), "beta") == RoutineTriggerStatus.STOP, orders);
+
+		journal.close();
+
+		// 손상된 기록 뒤에 정상 기록을 붙인 뒤 다시 열면 손상된 기록에서 멈추고 그 자리에 이어서 기록
+		corruptTail(path);
+		journal = new OrderJournal(path);
+		orders = journal.readAll();
+
+		passed &= check("corrupt record stops reading", orders.size() == 4 && journal.getRecordCount() == 4, orders);
+
+		journal.append(frameOrder(70l));
+		journal.close();
+		journal = new OrderJournal(path);
+		orders = journal.readAll();
+
+		passed &= check("append overwrites corrupt record", orders.size() == 5 && Long.valueOf(70l).equals(orders.get(4).getMap().get("arg0")), orders);
+
+		// 압축한 뒤 다시 열기
+		journal.rewrite(createOrders());
+		journal.append(frameOrder(90l));
+		journal.close();
+		journal = new OrderJournal(path);
+		orders = journal.readAll();
+
+		passed &= check("rewrite -> append -> reopen", orders.size() == 5 && Long.valueOf(90l).equals(orders.get(4).getMap().get("arg0")), orders);
+
+		journal.close();
+
+		// 헤더를 쓰기 전에 종료된 압축 임시 파일은 무시하고 지움
+		Path compactPath = path.resolveSibling(path.getFileName()+".compact");
+
+		Files.write(compactPath, new byte[OrderJournal.HEADER_SIZE + 8]);
+		journal = new OrderJournal(path);
+		orders = journal.readAll();
+
+		passed &= check("incomplete compaction is ignored", orders.size() == 5 && !Files.exists(compactPath), orders);
+
+		journal.rewrite(createOrders());
+		journal.close();
+
+		// 새로운 런타임에서 복구
+		UEFManager runtime = UEFManager.create("JournalReplay", UEFManager.UNLIMITED_THREAD_BUDGET);
+
+		runtime.registLeafFactory(CountingLeaf.class.getName(), CountingLeaf::new);
+
+		int applied = runtime.enableJournal(path, 0);
+
+		runtime.launch();
+		Thread.sleep(WAIT_MILLIS);
+
+		UEFLeaf alpha = runtime.findLeaf("alpha", "alpha");
+		UEFLeaf beta = runtime.findLeaf("alpha", "beta");
+
+		passed &= check("enableJournal replays orders", applied == 4 && runtime.getFrame() == 50l
+				&& alpha != null && alpha.getCurrentTriggerStatus() == RoutineTriggerStatus.PAUSE
+				&& beta != null && beta.getCurrentTriggerStatus() == RoutineTriggerStatus.STOP,
+				"applied="+applied+" frame="+runtime.getFrame()+" alpha="+(alpha == null? null: alpha.getCurrentTriggerStatus())+" beta="+(beta == null? null: beta.getCurrentTriggerStatus()));
+
+		runtime.exit(false);
+
+		while(!runtime.isEnd()) Thread.sleep(10);
+
+		System.out.println(passed? "PASSED": "FAILED");
+		System.exit(passed? 0: 1);
+	}
+
+	/**
+	 * [프레임 50, alpha Branch 등록, alpha Branch 일시중지, alpha Branch에 Leaf 2개 등록(beta는 STOP)] 명령을 만드는 메소드
+	 * */
+	static List<Order> createOrders() {
+		Map<String, List<CellDescriptor>> leafMap = new LinkedHashMap<String, List<CellDescriptor>>();
+		String className = CountingLeaf.class.getName();
+		Order regist = new Order(CoreOrderNumber.REGIST_BO.getValue());
+		Order pause = new Order(CoreOrderNumber.REQUEST_PAUSE.getValue());
+		Order batch = new Order(CoreOrderNumber.REGIST_BATCH.getValue());
+
+		regist.put("arg0", new CellDescriptor(true, UEFBranch.class.getName(), "alpha", 0l, CellDescriptor.FLAG_USE_PARENT_FRAME));
+		pause.put("arg0", "^alpha$");
+		leafMap.put("alpha", Arrays.asList(
+				new CellDescriptor(false, className, "alpha", 0l, CellDescriptor.FLAG_USE_PARENT_FRAME, RoutineTriggerStatus.NEW),
+				new CellDescriptor(false, className, "beta", 0l, CellDescriptor.FLAG_USE_PARENT_FRAME, RoutineTriggerStatus.STOP)));
+		batch.put("arg0", new ResultWaitter<Integer>());
+		batch.put("arg1", leafMap);
+
+		return Arrays.asList(frameOrder(50l), regist, pause, batch);
+	}
+
+	static Order frameOrder(long frame) {
+		Order result = new Order(CoreOrderNumber.SET_FRAME.getValue());
+
+		result.put("arg0", frame);
+
+		return result;
+	}
+
+	/**
+	 * REGIST_BATCH 명령에서 name을 가진 Leaf의 트리거 상태를 찾는 메소드
+	 * */
+	static RoutineTriggerStatus leafTrigger(Order order, String name) {
+		for(Object o: ((Map<?, ?>) order.getMap().get("arg1")).values()) {
+			for(Object descriptor: (List<?>) o) {
+				if(((CellDescriptor) descriptor).getName().equals(name)) return ((CellDescriptor) descriptor).getTrigger();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * 마지막 기록 뒤에 알 수 없는 인자 형태를 가진 기록과 정상 기록(인자 없는 SET_FRAME)을 붙이는 메소드
+	 * */
+	static void corruptTail(Path path) throws Exception {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer records = ByteBuffer.allocate(4 + 6 + 4 + 5 + 4);
+
+			records.putInt(6).putInt(CoreOrderNumber.SET_FRAME.getValue()).put((byte) 1).put((byte) 99);
+			records.putInt(5).putInt(CoreOrderNumber.SET_FRAME.getValue()).put((byte) 0);
+			records.putInt(0);
+			records.flip();
+
+			// 파일 끝의 종료 표시(0) 자리부터 씀
+			channel.write(records, channel.size() - 4);
+		}
+	}
+
+	static boolean check(String name, boolean result, Object detail) {
+		System.out.println(String.format("%-40s %s %s", name, result? "ok": "FAILED", result? "": detail));
+
+		return result;
+	}
+}
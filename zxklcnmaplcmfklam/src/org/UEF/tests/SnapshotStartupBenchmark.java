@@ -0,0 +1,85 @@
+package org.UEF.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+
+/**
+ * 50,000개의 Cell을 명령 큐를 통해 하나씩 등록하는 경우와 스냅샷으로 한번에 복구하는 경우의 시작 시간을 비교하는 벤치마크
+ * */
+public class SnapshotStartupBenchmark {
+	static final int
+		BRANCH_COUNT = 500,
+		LEAF_PER_BRANCH = 100;
+	
+	public static class IdleLeaf extends UEFLeaf {
+		public IdleLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+		
+		@Override
+		public void init() {}
+		
+		@Override
+		public void ready() {}
+		
+		@Override
+		public void execute() {}
+		
+		@Override
+		public void pause() {}
+		
+		@Override
+		public void stop() {}
+		
+		@Override
+		public void destroy() {}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		Path path = Files.createTempFile("uef-topology", ".snapshot");
+		
+		// 명령 큐를 통한 등록
+		UEFManager source = UEFManager.create("SnapshotSource", UEFManager.UNLIMITED_THREAD_BUDGET);
+		long start = System.nanoTime();
+		
+		source.launch();
+		
+		for(int i = 0; i < BRANCH_COUNT; i++) {
+			for(int j = 0; j < LEAF_PER_BRANCH; j++) {
+				source.regist(new IdleLeaf("leaf"+j, source), "branch"+i);
+			}
+		}
+		
+		// 명령은 순서대로 처리되므로 빈 묶음의 결과를 기다리면 앞의 등록이 모두 끝난것
+		source.registAll(Collections.<String, List<UEFLeaf>>emptyMap()).getResult();
+		
+		long orderMillis = (System.nanoTime() - start) / 1_000_000;
+		int exported = source.exportSnapshot(path);
+		
+		// 스냅샷을 통한 복구
+		UEFManager target = UEFManager.create("SnapshotTarget", UEFManager.UNLIMITED_THREAD_BUDGET);
+		
+		target.registLeafFactory(IdleLeaf.class.getName(), (name, runtime) -> new IdleLeaf(name, runtime));
+		start = System.nanoTime();
+		
+		int restored = target.restoreSnapshot(path);
+		
+		target.launch();
+		
+		long snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+		
+		System.out.println("cells: "+exported+" exported, "+restored+" restored, snapshot "+Files.size(path)+" bytes");
+		System.out.println("order queue startup: "+orderMillis+"ms");
+		System.out.println("snapshot startup: "+snapshotMillis+"ms");
+		
+		Files.deleteIfExists(path);
+		
+		source.exit(false);
+		target.exit(true);
+	}
+}
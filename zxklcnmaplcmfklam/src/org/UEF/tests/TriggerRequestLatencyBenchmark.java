@@ -0,0 +1,105 @@
+package org.UEF.tests;
+
+import org.UEF.core.UEFCell;
+import org.UEF.core.UEFLeaf;
+import org.UEF.core.UEFManager;
+import org.UEF.enu.RoutineStatus;
+import org.UEF.others.LatencyHistogram;
+import org.UEF.others.LatencySnapshot;
+
+/**
+ * 30프레임으로 execute()에서 주기의 대부분(25ms)을 사용하는 Leaf에 다른 스레드가 일시정지/재개를 요청할 때
+ * 요청 메소드가 리턴될 때까지 걸린 시간(호출 지연)과 Leaf가 pause()/execute()를 시작할 때까지 걸린 시간(적용 지연)을 측정하는 벤치마크<br>
+ * Branch는 자식의 트리거를 자신의 트리거에 맞추므로 Leaf에 요청한 뒤 부모 Branch에도 같은 요청을 보내 되돌려지지 않도록 한다. (Branch 요청은 측정하지 않음)
+ * */
+public class TriggerRequestLatencyBenchmark {
+	static final int
+		FRAME = 30,
+		ROUNDS = 200;
+	
+	static final long
+		BUSY_NANOS = 25_000_000l;
+	
+	public static class BusyLeaf extends UEFLeaf {
+		public BusyLeaf(String name, UEFManager runtime) {
+			super(name, runtime);
+		}
+		
+		@Override
+		public void init() {}
+		
+		@Override
+		public void ready() {}
+		
+		@Override
+		public void execute() {
+			long end = System.nanoTime() + BUSY_NANOS;
+			
+			while(System.nanoTime() < end);
+		}
+		
+		@Override
+		public void pause() {}
+		
+		@Override
+		public void stop() {}
+		
+		@Override
+		public void destroy() {}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		// 워밍업이 끝났는지 틱 수로 확인
+		UEFLeaf.setTickTrackingEnabled(true);
+		
+		UEFManager runtime = UEFManager.create("TriggerLatency", UEFManager.UNLIMITED_THREAD_BUDGET);
+		BusyLeaf leaf = new BusyLeaf("busy", runtime);
+		LatencyHistogram
+			callLatency = new LatencyHistogram(),
+			applyLatency = new LatencyHistogram();
+		
+		runtime.launch();
+		runtime.regist(leaf, "bench");
+		runtime.setFrame(FRAME);
+		runtime.requestExecute();
+		
+		while(leaf.getTickCount() < FRAME) Thread.sleep(10);
+		
+		UEFCell branch = leaf.getParent();
+		
+		for(int i = 0; i < ROUNDS; i++) {
+			// 주기 안의 여러 위치에서 요청하도록 요청 시점을 바꿈
+			Thread.sleep(1 + i % 33);
+			
+			long start = System.nanoTime();
+			
+			leaf.requestPause();
+			callLatency.record(System.nanoTime() - start);
+			branch.requestPause();
+			
+			while(leaf.getCurrentStatus() != RoutineStatus.PAUSE) Thread.onSpinWait();
+			
+			applyLatency.record(System.nanoTime() - start);
+			
+			start = System.nanoTime();
+			leaf.requestExecute();
+			callLatency.record(System.nanoTime() - start);
+			branch.requestExecute();
+			
+			while(leaf.getCurrentStatus() != RoutineStatus.EXECUTE) Thread.onSpinWait();
+			
+			applyLatency.record(System.nanoTime() - start);
+		}
+		
+		System.out.println("frame: "+FRAME+", execute: "+BUSY_NANOS / 1_000_000+"ms, requests: "+ROUNDS * 2);
+		print("request call", callLatency.snapshot());
+		print("request apply", applyLatency.snapshot());
+		
+		runtime.exit(true);
+	}
+	
+	private static void print(String name, LatencySnapshot snapshot) {
+		System.out.println(name+" p50: "+snapshot.getValueAtPercentile(50) / 1_000+"us, p99: "+snapshot.getValueAtPercentile(99) / 1_000
+				+"us, max: "+snapshot.getMaxNanos() / 1_000+"us");
+	}
+}